@@ -6,6 +6,9 @@ import com.trendyol.shoppingcart.core.domain.discount.validation.DiscountValidat
 import com.trendyol.shoppingcart.core.domain.value.Quantity;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
+import java.util.Collections;
+import java.util.Set;
+
 public class ProductTypeBasedMockDiscountValidationStrategy implements DiscountValidationStrategy {
 
     private final Product product;
@@ -23,6 +26,11 @@ public class ProductTypeBasedMockDiscountValidationStrategy implements DiscountV
         return shoppingCart.getQuantityOfProductInCart(product).isGreaterThan(Quantity.ofZero());
     }
 
+    @Override
+    public Set<Product> getRequiredProducts() {
+        return Collections.singleton(product);
+    }
+
     public Product getProduct() {
         return product;
     }
@@ -87,4 +87,16 @@ public class ProductTypeBasedMockDiscountValidationStrategyTest {
         //then
         assertThat(result).isFalse();
     }
+
+    @Test
+    public void givenProductTypeBasedMockDiscountValidationStrategy_whenGetRequiredProducts_thenReturnProduct() {
+        //given
+        Product product = new Product(Title.valueOf("Product"), Amount.valueOf(10D), new Category(Title.valueOf("Category")));
+        ProductTypeBasedMockDiscountValidationStrategy validationStrategy = new ProductTypeBasedMockDiscountValidationStrategy(product);
+
+        //when
+        //then
+        assertThat(validationStrategy.getRequiredProducts()).containsExactly(product);
+        assertThat(validationStrategy.getRequiredCategories()).isEmpty();
+    }
 }
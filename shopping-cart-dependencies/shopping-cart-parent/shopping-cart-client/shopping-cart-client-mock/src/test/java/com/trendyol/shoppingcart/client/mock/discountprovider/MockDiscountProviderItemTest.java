@@ -1,6 +1,7 @@
 package com.trendyol.shoppingcart.client.mock.discountprovider;
 
 import com.trendyol.shoppingcart.client.mock.discount.ProductQuantityBasedMockDiscount;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
 import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
 import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
@@ -10,6 +11,9 @@ import org.mockito.ArgumentMatchers;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -133,6 +137,21 @@ public class MockDiscountProviderItemTest {
         Assertions.assertThat(mockDiscountProviderItem.getDiscountProviderEventListenerList()).contains(shoppingCart);
     }
 
+    @Test
+    public void givenMockDiscountProvider_whenRegisterListenersTwice_thenKeepOneOfEachInRegistrationOrder() {
+        //given
+        ProductQuantityBasedMockDiscount discount = mock(ProductQuantityBasedMockDiscount.class);
+        MockDiscountProviderItem mockDiscountProviderItem = new MockDiscountProviderItem(discount);
+        List<ShoppingCart> shoppingCarts = IntStream.range(0, 10).mapToObj(i -> mock(ShoppingCart.class)).collect(Collectors.toList());
+
+        //when
+        shoppingCarts.forEach(mockDiscountProviderItem::registerDiscountProviderEventListener);
+        shoppingCarts.forEach(mockDiscountProviderItem::registerDiscountProviderEventListener);
+
+        //then
+        Assertions.assertThat(mockDiscountProviderItem.getDiscountProviderEventListenerList()).containsExactlyElementsOf(shoppingCarts);
+    }
+
     @Test
     public void givenMockDiscountProvider_whenUnregisterShoppingCartAsListener_thenRemoveShoppingCartToListenerList() {
         //given
@@ -217,4 +236,21 @@ public class MockDiscountProviderItemTest {
         verify(shoppingCart, never()).discountProvided(ArgumentMatchers.any(DiscountProvidedEvent.class));
     }
 
+    @Test
+    public void givenMockDiscountProvider_whenProvideDiscountToContext_thenProvideDiscountWithoutRegisteringCart() {
+        //given
+        ProductQuantityBasedMockDiscount discount = mock(ProductQuantityBasedMockDiscount.class);
+        MockDiscountProviderItem mockDiscountProviderItem = new MockDiscountProviderItem(discount);
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        DiscountEvaluationContext context = new DiscountEvaluationContext(shoppingCart);
+
+        //when
+        Assertions.assertThat(mockDiscountProviderItem.isValid()).isTrue();
+        mockDiscountProviderItem.provideDiscount(context);
+
+        //then
+        Assertions.assertThat(mockDiscountProviderItem.getDiscountProviderEventListenerList()).isEmpty();
+        Assertions.assertThat(context.getProvidedDiscounts()).containsExactly(discount);
+        verify(shoppingCart, times(1)).discountProvided(ArgumentMatchers.any(DiscountProvidedEvent.class));
+    }
 }
@@ -8,23 +8,59 @@ import com.trendyol.shoppingcart.client.trendyol.service.CampaignService;
 import com.trendyol.shoppingcart.client.trendyol.service.CouponService;
 import com.trendyol.shoppingcart.client.trendyol.service.TrendyolDeliveryCostService;
 import com.trendyol.shoppingcart.core.client.ShoppingCartClient;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountActivationScheduler;
 import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderGroup;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 import com.trendyol.shoppingcart.core.service.ShoppingCartService;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
 
+/*
+Trendyol shopping cart client
+
+Added campaigns and coupons are scheduled by their start, finish and expire times, only the ones active on the clock
+at submission take part in pricing. Every add and remove looks the item up in its service, wrap the services in
+CachingCampaignService and CachingCouponService when they are remote, and the coupon service in a
+BloomFilteredCouponService as well so unknown coupon codes are rejected without a lookup.
+ */
 public class TrendyolShoppingCartClient extends ShoppingCartClient {
 
     private final CampaignService campaignService;
     private final CouponService couponService;
 
-    private final DiscountProviderGroup campaigns = new DiscountProviderGroup();
-    private final DiscountProviderGroup coupons = new DiscountProviderGroup();
+    private final Clock clock;
+
+    private final DiscountActivationScheduler campaignScheduler;
+    private final DiscountActivationScheduler couponScheduler;
+
+    private final DiscountProviderGroup campaigns;
+    private final DiscountProviderGroup coupons;
 
     public TrendyolShoppingCartClient(TrendyolDeliveryCostService trendyolDeliveryCostService, ShoppingCartService shoppingCartService, CampaignService campaignService, CouponService couponService) {
-        super(trendyolDeliveryCostService, shoppingCartService);
+        this(trendyolDeliveryCostService, shoppingCartService, campaignService, couponService, null);
+    }
+
+    public TrendyolShoppingCartClient(TrendyolDeliveryCostService trendyolDeliveryCostService, ShoppingCartService shoppingCartService, CampaignService campaignService, CouponService couponService, Executor submitExecutor) {
+        this(trendyolDeliveryCostService, shoppingCartService, campaignService, couponService, submitExecutor, Clock.systemUTC());
+    }
+
+    public TrendyolShoppingCartClient(TrendyolDeliveryCostService trendyolDeliveryCostService, ShoppingCartService shoppingCartService, CampaignService campaignService, CouponService couponService, Executor submitExecutor, Clock clock) {
+        super(trendyolDeliveryCostService, shoppingCartService, submitExecutor);
+
+        if (clock == null) {
+            throw new InvalidValueException("Clock can not be null!");
+        }
+
         this.campaignService = campaignService;
         this.couponService = couponService;
+        this.clock = clock;
+        this.campaignScheduler = new DiscountActivationScheduler(clock);
+        this.couponScheduler = new DiscountActivationScheduler(clock);
+        this.campaigns = campaignScheduler.getActiveDiscountProviders();
+        this.coupons = couponScheduler.getActiveDiscountProviders();
         createClientRuleDiscountProviderGroup();
     }
 
@@ -36,21 +72,41 @@ public class TrendyolShoppingCartClient extends ShoppingCartClient {
 
     public void addCampaign(CampaignName campaignName) {
         Campaign campaign = campaignService.get(campaignName).orElseThrow(NoSuchElementException::new);
-        campaigns.addDiscountProvider(campaign);
+        campaignScheduler.schedule(campaign);
     }
 
     public void removeCampaign(CampaignName campaignName) {
         Campaign campaign = campaignService.get(campaignName).orElseThrow(NoSuchElementException::new);
-        campaigns.removeDiscountProvider(campaign);
+        campaignScheduler.unschedule(campaign);
     }
 
     public void addCoupon(CouponCode couponCode) {
         Coupon coupon = couponService.get(couponCode).orElseThrow(NoSuchElementException::new);
-        campaigns.addDiscountProvider(coupon);
+        couponScheduler.schedule(coupon);
     }
 
     public void removeCoupon(CouponCode couponCode) {
         Coupon coupon = couponService.get(couponCode).orElseThrow(NoSuchElementException::new);
-        campaigns.removeDiscountProvider(coupon);
+        couponScheduler.unschedule(coupon);
+    }
+
+    @Override
+    protected void refreshRuleDiscountProvider() {
+        campaignScheduler.advance();
+        couponScheduler.advance();
+    }
+
+    //priced on the clock of the schedulers, so a provider is validated at the same time it was activated by
+    @Override
+    protected Instant pricingTime() {
+        return clock.instant();
+    }
+
+    public DiscountActivationScheduler getCampaignScheduler() {
+        return campaignScheduler;
+    }
+
+    public DiscountActivationScheduler getCouponScheduler() {
+        return couponScheduler;
     }
 }
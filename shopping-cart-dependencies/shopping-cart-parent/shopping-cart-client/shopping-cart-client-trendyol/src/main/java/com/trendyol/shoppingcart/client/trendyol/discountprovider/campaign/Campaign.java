@@ -3,13 +3,14 @@ package com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign;
 
 import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
 import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderItem;
+import com.trendyol.shoppingcart.core.discountprovider.ScheduledDiscountProvider;
 import com.trendyol.shoppingcart.core.domain.discount.Discount;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
 import java.time.Instant;
 import java.util.Objects;
 
-public abstract class Campaign extends DiscountProviderItem {
+public abstract class Campaign extends DiscountProviderItem implements ScheduledDiscountProvider {
 
     private final CampaignName campaignName;
     private final Instant startTime;
@@ -33,12 +34,23 @@ public abstract class Campaign extends DiscountProviderItem {
 
     @Override
     public boolean isValid() {
-        if (finishTime == null) {
-            //if the finish time is null, the campaign is valid forever until the beginning
-            return true;
-        }
-        Instant now = Instant.now();
-        return now.isAfter(startTime) && now.isBefore(finishTime);
+        return isValidAt(Instant.now());
+    }
+
+    @Override
+    public boolean isValidAt(Instant instant) {
+        //if the finish time is null, the campaign is valid forever until the beginning
+        return finishTime == null || isActiveAt(instant);
+    }
+
+    @Override
+    public Instant getActivationTime() {
+        return finishTime != null ? startTime : null;
+    }
+
+    @Override
+    public Instant getDeactivationTime() {
+        return finishTime;
     }
 
     public CampaignName getCampaignName() {
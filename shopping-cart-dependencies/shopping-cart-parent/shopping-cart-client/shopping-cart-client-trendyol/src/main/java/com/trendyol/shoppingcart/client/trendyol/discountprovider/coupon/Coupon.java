@@ -2,13 +2,14 @@ package com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon;
 
 import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
 import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderItem;
+import com.trendyol.shoppingcart.core.discountprovider.ScheduledDiscountProvider;
 import com.trendyol.shoppingcart.core.domain.discount.Discount;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
 import java.time.Instant;
 import java.util.Objects;
 
-public abstract class Coupon extends DiscountProviderItem {
+public abstract class Coupon extends DiscountProviderItem implements ScheduledDiscountProvider {
 
     protected final CouponCode couponCode;
     protected final Instant expireTime;
@@ -30,11 +31,23 @@ public abstract class Coupon extends DiscountProviderItem {
 
     @Override
     public boolean isValid() {
-        if (expireTime == null) {
-            //if the expire time is null, the coupon is valid forever
-            return true;
-        }
-        return Instant.now().isBefore(expireTime);
+        return isValidAt(Instant.now());
+    }
+
+    @Override
+    public boolean isValidAt(Instant instant) {
+        //if the expire time is null, the coupon is valid forever
+        return expireTime == null || isActiveAt(instant);
+    }
+
+    @Override
+    public Instant getActivationTime() {
+        return null;
+    }
+
+    @Override
+    public Instant getDeactivationTime() {
+        return expireTime;
     }
 
     public Instant getExpireTime() {
@@ -1,14 +1,17 @@
 package com.trendyol.shoppingcart.client.trendyol.domain.discount;
 
 import com.trendyol.shoppingcart.client.trendyol.domain.discount.validation.MinimumCartAmountValidationStrategy;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
 import com.trendyol.shoppingcart.core.domain.discount.calculation.AmountDiscountStrategy;
 import com.trendyol.shoppingcart.core.domain.value.Amount;
 import com.trendyol.shoppingcart.core.domain.value.DiscountName;
 
 import java.util.Comparator;
+import java.util.List;
 
-public class MinimumCartAmountBasedAmountDiscount extends Discount {
+public class MinimumCartAmountBasedAmountDiscount extends Discount implements ThresholdRankedDiscount {
 
     public MinimumCartAmountBasedAmountDiscount(Amount minimumCartAmount, Amount discountAmount) {
         super(discountName(), validationStrategy(minimumCartAmount), amountBasedCalculationStrategy(discountAmount));
@@ -37,6 +40,21 @@ public class MinimumCartAmountBasedAmountDiscount extends Discount {
         return (MinimumCartAmountValidationStrategy) super.getValidationStrategy();
     }
 
+    @Override
+    public Object getCompetitionKey() {
+        return List.of(getClass(), discountName);
+    }
+
+    @Override
+    public long getThreshold() {
+        return getValidationStrategy().getMinimumCartAmount().minorUnitValue();
+    }
+
+    @Override
+    public long getCartAggregate(ShoppingCart shoppingCart) {
+        return shoppingCart.getCartAmount().minorUnitValue();
+    }
+
     @Override
     public boolean isGreaterThan(Discount other) {
         if (other == null) {
@@ -3,13 +3,16 @@ package com.trendyol.shoppingcart.client.trendyol.domain.discount;
 import com.trendyol.shoppingcart.client.trendyol.domain.discount.calculation.RateDiscountStrategy;
 import com.trendyol.shoppingcart.client.trendyol.domain.discount.validation.MinimumCartAmountValidationStrategy;
 import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
 import com.trendyol.shoppingcart.core.domain.value.Amount;
 import com.trendyol.shoppingcart.core.domain.value.DiscountName;
 
 import java.util.Comparator;
+import java.util.List;
 
-public class MinimumCartAmountBasedRateDiscount extends Discount {
+public class MinimumCartAmountBasedRateDiscount extends Discount implements ThresholdRankedDiscount {
 
     public MinimumCartAmountBasedRateDiscount(Amount minimumCartAmount, Rate discountRate) {
         super(discountName(), validationStrategy(minimumCartAmount), rateBasedCalculationStrategy(discountRate));
@@ -38,6 +41,21 @@ public class MinimumCartAmountBasedRateDiscount extends Discount {
         return (MinimumCartAmountValidationStrategy) super.getValidationStrategy();
     }
 
+    @Override
+    public Object getCompetitionKey() {
+        return List.of(getClass(), discountName);
+    }
+
+    @Override
+    public long getThreshold() {
+        return getValidationStrategy().getMinimumCartAmount().minorUnitValue();
+    }
+
+    @Override
+    public long getCartAggregate(ShoppingCart shoppingCart) {
+        return shoppingCart.getCartAmount().minorUnitValue();
+    }
+
     @Override
     public boolean isGreaterThan(Discount other) {
         if (other == null) {
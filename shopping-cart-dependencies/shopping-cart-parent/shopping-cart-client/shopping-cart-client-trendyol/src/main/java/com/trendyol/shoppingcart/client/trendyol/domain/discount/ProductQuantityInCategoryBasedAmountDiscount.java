@@ -2,7 +2,9 @@ package com.trendyol.shoppingcart.client.trendyol.domain.discount;
 
 import com.trendyol.shoppingcart.client.trendyol.domain.discount.validation.ProductQuantityInCategoryValidationStrategy;
 import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
 import com.trendyol.shoppingcart.core.domain.discount.calculation.AmountDiscountStrategy;
 import com.trendyol.shoppingcart.core.domain.value.Amount;
 import com.trendyol.shoppingcart.core.domain.value.DiscountName;
@@ -10,8 +12,9 @@ import com.trendyol.shoppingcart.core.domain.value.Quantity;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
 import java.util.Comparator;
+import java.util.List;
 
-public class ProductQuantityInCategoryBasedAmountDiscount extends Discount {
+public class ProductQuantityInCategoryBasedAmountDiscount extends Discount implements ThresholdRankedDiscount {
 
     public ProductQuantityInCategoryBasedAmountDiscount(Category category, Quantity minimumProductQuantityInCategory, Amount discountAmount) {
         super(discountName(category), validationStrategy(category, minimumProductQuantityInCategory), amountBasedCalculationStrategy(discountAmount));
@@ -43,6 +46,21 @@ public class ProductQuantityInCategoryBasedAmountDiscount extends Discount {
         return (ProductQuantityInCategoryValidationStrategy) super.getValidationStrategy();
     }
 
+    @Override
+    public Object getCompetitionKey() {
+        return List.of(getClass(), getValidationStrategy().getCategory());
+    }
+
+    @Override
+    public long getThreshold() {
+        return getValidationStrategy().getMinimumProductQuantityInCategory().intValue();
+    }
+
+    @Override
+    public long getCartAggregate(ShoppingCart shoppingCart) {
+        return shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(getValidationStrategy().getCategory()).intValue();
+    }
+
     @Override
     public boolean isGreaterThan(Discount other) {
         if (other == null) {
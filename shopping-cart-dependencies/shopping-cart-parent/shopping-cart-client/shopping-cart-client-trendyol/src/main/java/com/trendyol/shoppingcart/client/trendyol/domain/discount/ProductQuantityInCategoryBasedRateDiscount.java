@@ -4,14 +4,17 @@ import com.trendyol.shoppingcart.client.trendyol.domain.discount.calculation.Cat
 import com.trendyol.shoppingcart.client.trendyol.domain.discount.validation.ProductQuantityInCategoryValidationStrategy;
 import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
 import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
 import com.trendyol.shoppingcart.core.domain.value.DiscountName;
 import com.trendyol.shoppingcart.core.domain.value.Quantity;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
 import java.util.Comparator;
+import java.util.List;
 
-public class ProductQuantityInCategoryBasedRateDiscount extends Discount {
+public class ProductQuantityInCategoryBasedRateDiscount extends Discount implements ThresholdRankedDiscount {
 
     public ProductQuantityInCategoryBasedRateDiscount(Category category, Quantity minimumProductQuantityInCategory, Rate discountRate) {
         super(discountName(category), validationStrategy(category, minimumProductQuantityInCategory), categoryBasedRateDiscountCalculationStrategy(category, discountRate));
@@ -43,6 +46,21 @@ public class ProductQuantityInCategoryBasedRateDiscount extends Discount {
         return (ProductQuantityInCategoryValidationStrategy) super.getValidationStrategy();
     }
 
+    @Override
+    public Object getCompetitionKey() {
+        return List.of(getClass(), getValidationStrategy().getCategory());
+    }
+
+    @Override
+    public long getThreshold() {
+        return getValidationStrategy().getMinimumProductQuantityInCategory().intValue();
+    }
+
+    @Override
+    public long getCartAggregate(ShoppingCart shoppingCart) {
+        return shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(getValidationStrategy().getCategory()).intValue();
+    }
+
     @Override
     public boolean isGreaterThan(Discount other) {
         if (other == null) {
@@ -23,7 +23,7 @@ public class CategoryBasedRateDiscountStrategy extends RateDiscountStrategy {
     @Override
     public Amount calculateDiscountAmount(ShoppingCart shoppingCart) {
         Amount categoryProductTotalPrice = shoppingCart.getTotalPriceOfProductsBelongToCategoryInCart(category);
-        return Amount.valueOf(categoryProductTotalPrice.multiply(discountRate.doubleValue()).divide(100D).doubleValue());
+        return categoryProductTotalPrice.percentage(discountRate.basisPointValue());
     }
 
     @Override
@@ -20,8 +20,7 @@ public class RateDiscountStrategy implements DiscountCalculationStrategy {
 
     @Override
     public Amount calculateDiscountAmount(ShoppingCart shoppingCart) {
-        return Amount.valueOf(shoppingCart.getCartAmount().multiply(discountRate.doubleValue()).divide(100D).doubleValue());
-
+        return shoppingCart.getCartAmount().percentage(discountRate.basisPointValue());
     }
 
     @Override
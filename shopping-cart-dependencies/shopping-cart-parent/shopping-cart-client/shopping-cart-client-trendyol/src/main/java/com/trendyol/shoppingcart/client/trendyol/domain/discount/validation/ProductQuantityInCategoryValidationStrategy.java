@@ -6,6 +6,9 @@ import com.trendyol.shoppingcart.core.domain.discount.validation.DiscountValidat
 import com.trendyol.shoppingcart.core.domain.value.Quantity;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
+import java.util.Collections;
+import java.util.Set;
+
 public class ProductQuantityInCategoryValidationStrategy implements DiscountValidationStrategy {
 
     private final Category category;
@@ -32,6 +35,12 @@ public class ProductQuantityInCategoryValidationStrategy implements DiscountVali
         return (productQuantityInCategory.isGreaterThan(minimumProductQuantityInCategory) || productQuantityInCategory.equals(minimumProductQuantityInCategory));
     }
 
+    //a positive minimum can only be met by carts holding products of the category or of its descendants
+    @Override
+    public Set<Category> getRequiredCategories() {
+        return minimumProductQuantityInCategory.isZero() ? Collections.emptySet() : Collections.singleton(category);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,5 +1,6 @@
 package com.trendyol.shoppingcart.client.trendyol.domain.value;
 
+import com.trendyol.shoppingcart.core.domain.value.ValuePool;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
 import java.util.Comparator;
@@ -7,9 +8,13 @@ import java.util.Objects;
 
 /*
 CampaignName value object
+
+valueOf creates a new instance, interned returns the shared instance from the pool for repeated campaign names.
  */
 public final class CampaignName implements Comparable<CampaignName> {
 
+    private static final ValuePool<CampaignName> POOL = new ValuePool<>(CampaignName::new);
+
     private final String value;
 
     private CampaignName(String value) {
@@ -29,6 +34,14 @@ public final class CampaignName implements Comparable<CampaignName> {
         return new CampaignName(value);
     }
 
+    public static CampaignName interned(String value) {
+        return POOL.intern(value);
+    }
+
+    public static ValuePool<CampaignName> pool() {
+        return POOL;
+    }
+
     public String getValue() {
         return value;
     }
@@ -1,5 +1,6 @@
 package com.trendyol.shoppingcart.client.trendyol.domain.value;
 
+import com.trendyol.shoppingcart.core.domain.value.ValuePool;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
 import java.util.Comparator;
@@ -7,9 +8,13 @@ import java.util.Objects;
 
 /*
 CouponCode value object
+
+valueOf creates a new instance, interned returns the shared instance from the pool for repeated coupon codes.
  */
 public final class CouponCode implements Comparable<CouponCode> {
 
+    private static final ValuePool<CouponCode> POOL = new ValuePool<>(CouponCode::new);
+
     private final String value;
 
     private CouponCode(String value) {
@@ -29,6 +34,14 @@ public final class CouponCode implements Comparable<CouponCode> {
         return new CouponCode(value);
     }
 
+    public static CouponCode interned(String value) {
+        return POOL.intern(value);
+    }
+
+    public static ValuePool<CouponCode> pool() {
+        return POOL;
+    }
+
     public String getValue() {
         return value;
     }
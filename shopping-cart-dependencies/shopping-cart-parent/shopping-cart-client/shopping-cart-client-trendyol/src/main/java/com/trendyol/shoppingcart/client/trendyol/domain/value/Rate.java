@@ -2,17 +2,44 @@ package com.trendyol.shoppingcart.client.trendyol.domain.value;
 
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
-import java.util.Comparator;
-import java.util.Objects;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /*
 Rate value object
+
+Rates are percentages kept as a primitive count of basis points (1/100 of a percent), which is the unit
+Amount.percentage expects, so applying a rate needs no floating point arithmetic. Whole percentages are shared
+flyweights.
  */
 public final class Rate implements Comparable<Rate> {
 
-    private final Double value;
+    private static final int BASIS_POINTS_PER_PERCENT = 100;
+
+    private static final int MAX_BASIS_POINTS = 100 * BASIS_POINTS_PER_PERCENT;
+
+    private static final Rate[] CACHE = new Rate[100 + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new Rate(i * BASIS_POINTS_PER_PERCENT);
+        }
+    }
 
-    private Rate(Double value) {
+    private final int basisPoints;
+
+    private Rate(int basisPoints) {
+        this.basisPoints = basisPoints;
+    }
+
+    public static Rate valueOf(Double value) {
+        if (value == null) {
+            return ofZero();
+        }
+
+        if (value.isNaN()) {
+            throw new InvalidValueException("Rate value must be a number!");
+        }
 
         if (value < 0D) {
             throw new InvalidValueException("Rate value can not be less than " + 0D + '!');
@@ -22,58 +49,76 @@ public final class Rate implements Comparable<Rate> {
             throw new InvalidValueException("Rate value can not be greater than " + 100D + '!');
         }
 
-        this.value = value;
-
+        return ofBasisPoints(BigDecimal.valueOf(value)
+                .setScale(2, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .intValueExact());
     }
 
-    public static Rate valueOf(Double value) {
-        if (value == null) {
-            return ofZero();
+    public static Rate ofBasisPoints(int basisPoints) {
+        if (basisPoints < 0) {
+            throw new InvalidValueException("Rate value can not be less than " + 0D + '!');
+        }
+
+        if (basisPoints > MAX_BASIS_POINTS) {
+            throw new InvalidValueException("Rate value can not be greater than " + 100D + '!');
+        }
+
+        if (basisPoints % BASIS_POINTS_PER_PERCENT == 0) {
+            return CACHE[basisPoints / BASIS_POINTS_PER_PERCENT];
         }
-        return new Rate(value);
+        return new Rate(basisPoints);
     }
 
     public static Rate ofZero() {
-        return new Rate(0D);
+        return CACHE[0];
     }
 
     public Integer intValue() {
-        return this.value.intValue();
+        return this.basisPoints / BASIS_POINTS_PER_PERCENT;
     }
 
     public Double doubleValue() {
-        return this.value;
+        return toDouble();
+    }
+
+    public int basisPointValue() {
+        return this.basisPoints;
     }
 
     public boolean isZero() {
-        return this.value == 0D;
+        return this.basisPoints == 0;
     }
 
     public boolean isLessThan(Rate other) {
-        return this.value < other.doubleValue();
+        return this.basisPoints < other.basisPoints;
     }
 
     public boolean isGreaterThan(Rate other) {
-        return this.value > other.doubleValue();
+        return this.basisPoints > other.basisPoints;
     }
 
     public Rate add(Rate other) {
-        return Rate.valueOf(this.value + other.doubleValue());
+        return Rate.ofBasisPoints(this.basisPoints + other.basisPoints);
     }
 
     public Rate subtract(Rate other) {
-        return Rate.valueOf(this.value - other.doubleValue());
+        return Rate.ofBasisPoints(this.basisPoints - other.basisPoints);
     }
 
     public Rate multiply(Double multiplier) {
-        return Rate.valueOf(this.value * multiplier);
+        return Rate.valueOf(toDouble() * multiplier);
     }
 
     public Rate divide(Double divisor) {
         if (divisor == 0) {
             throw new InvalidValueException("Divisor value can not be negative!");
         }
-        return Rate.valueOf(this.value / divisor);
+        return Rate.valueOf(toDouble() / divisor);
+    }
+
+    private double toDouble() {
+        return (double) this.basisPoints / BASIS_POINTS_PER_PERCENT;
     }
 
     @Override
@@ -81,21 +126,21 @@ public final class Rate implements Comparable<Rate> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Rate rate = (Rate) o;
-        return value.equals(rate.value);
+        return basisPoints == rate.basisPoints;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Integer.hashCode(basisPoints);
     }
 
     @Override
     public String toString() {
-        return String.valueOf(value);
+        return String.valueOf(toDouble());
     }
 
     @Override
     public int compareTo(Rate o) {
-        return Comparator.comparing(Rate::doubleValue).compare(this, o);
+        return Integer.compare(this.basisPoints, o.basisPoints);
     }
 }
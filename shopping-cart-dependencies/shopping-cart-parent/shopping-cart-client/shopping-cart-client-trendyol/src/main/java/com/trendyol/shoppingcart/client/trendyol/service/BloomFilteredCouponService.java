@@ -0,0 +1,23 @@
+package com.trendyol.shoppingcart.client.trendyol.service;
+
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.Coupon;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.core.service.BloomFilter;
+import com.trendyol.shoppingcart.core.service.BloomFilteredCRUDService;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class BloomFilteredCouponService extends BloomFilteredCRUDService<Coupon, CouponCode> implements CouponService {
+
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01D;
+
+    public BloomFilteredCouponService(CouponService couponService, long expectedCoupons) {
+        this(couponService, expectedCoupons, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public BloomFilteredCouponService(CouponService couponService, long expectedCoupons, double falsePositiveRate) {
+        //coupon codes are hashed by every character, not by their 32 bit hash code
+        super(couponService, Coupon::getCouponCode, expectedCoupons, falsePositiveRate,
+                couponCode -> BloomFilter.hash(couponCode.getValue()), ForkJoinPool.commonPool());
+    }
+}
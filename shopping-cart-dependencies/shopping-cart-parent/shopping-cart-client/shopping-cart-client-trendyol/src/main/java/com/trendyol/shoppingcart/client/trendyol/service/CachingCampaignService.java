@@ -0,0 +1,20 @@
+package com.trendyol.shoppingcart.client.trendyol.service;
+
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.Campaign;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
+import com.trendyol.shoppingcart.core.service.CachingCRUDService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+public class CachingCampaignService extends CachingCRUDService<Campaign, CampaignName> implements CampaignService {
+
+    public CachingCampaignService(CampaignService campaignService, int maximumSize, Duration timeToLive) {
+        super(campaignService, Campaign::getCampaignName, maximumSize, timeToLive);
+    }
+
+    public CachingCampaignService(CampaignService campaignService, int maximumSize, Duration timeToLive, Duration refreshAfter, Executor refreshExecutor, Clock clock) {
+        super(campaignService, Campaign::getCampaignName, maximumSize, timeToLive, refreshAfter, refreshExecutor, clock);
+    }
+}
@@ -0,0 +1,20 @@
+package com.trendyol.shoppingcart.client.trendyol.service;
+
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.Coupon;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.core.service.CachingCRUDService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+public class CachingCouponService extends CachingCRUDService<Coupon, CouponCode> implements CouponService {
+
+    public CachingCouponService(CouponService couponService, int maximumSize, Duration timeToLive) {
+        super(couponService, Coupon::getCouponCode, maximumSize, timeToLive);
+    }
+
+    public CachingCouponService(CouponService couponService, int maximumSize, Duration timeToLive, Duration refreshAfter, Executor refreshExecutor, Clock clock) {
+        super(couponService, Coupon::getCouponCode, maximumSize, timeToLive, refreshAfter, refreshExecutor, clock);
+    }
+}
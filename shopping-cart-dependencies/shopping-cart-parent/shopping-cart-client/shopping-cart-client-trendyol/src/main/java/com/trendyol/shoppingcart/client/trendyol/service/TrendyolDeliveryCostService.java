@@ -50,8 +50,8 @@ public final class TrendyolDeliveryCostService implements DeliveryCostService {
             }
         }
 
-        return costPerDelivery.multiply(cart.getNumberOfDistinctCategoryInCart().doubleValue())
-                .add(costPerProduct.multiply(cart.getNumberOfDistinctProductInCart().doubleValue()))
+        return costPerDelivery.multiply(cart.getNumberOfDistinctCategoryInCart().intValue())
+                .add(costPerProduct.multiply(cart.getNumberOfDistinctProductInCart().intValue()))
                 .add(fixedCost);
     }
 
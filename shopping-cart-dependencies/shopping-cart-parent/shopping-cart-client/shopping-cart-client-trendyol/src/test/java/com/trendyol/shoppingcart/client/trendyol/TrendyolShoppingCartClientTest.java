@@ -2,9 +2,14 @@ package com.trendyol.shoppingcart.client.trendyol;
 
 import com.trendyol.shoppingcart.client.trendyol.config.TrendyolShoppingCartClientProperties;
 import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.Campaign;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.ProductQuantityInCategoryBasedDiscountCampaign;
 import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.Coupon;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.MinimumCartAmountBasedDiscountCoupon;
+import com.trendyol.shoppingcart.client.trendyol.domain.discount.MinimumCartAmountBasedAmountDiscount;
+import com.trendyol.shoppingcart.client.trendyol.domain.discount.ProductQuantityInCategoryBasedRateDiscount;
 import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
 import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
 import com.trendyol.shoppingcart.client.trendyol.service.CampaignService;
 import com.trendyol.shoppingcart.client.trendyol.service.CouponService;
 import com.trendyol.shoppingcart.client.trendyol.service.TrendyolDeliveryCostService;
@@ -23,8 +28,16 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static com.trendyol.shoppingcart.client.trendyol.CategoryFakeData.*;
@@ -40,6 +53,8 @@ public class TrendyolShoppingCartClientTest {
     private final PrintStream originalOut = System.out;
     private TrendyolShoppingCartClient trendyolShoppingCartClient;
     private ShoppingCart shoppingCart;
+    private CampaignService campaignService;
+    private CouponService couponService;
 
     private ProductService productService;
 
@@ -62,7 +77,7 @@ public class TrendyolShoppingCartClientTest {
         when(productService.get(Title.valueOf("WATER"))).thenReturn(Optional.of(water));
         when(productService.get(Title.valueOf("BEER"))).thenReturn(Optional.of(beer));
 
-        CampaignService campaignService = mock(CampaignService.class);
+        this.campaignService = mock(CampaignService.class);
         Campaign campaign1 = CampaignFakeData.createCampaignIfQuantityOfProductsInFoodCategoryGreaterEquals5ThenApplyDiscountRateOf10(food);
         Campaign campaign2 = CampaignFakeData.createCampaignIfQuantityOfProductsInFoodCategoryGreaterEquals10ThenApplyDiscountAmountOf15(food);
         Campaign campaign3 = CampaignFakeData.createCampaignIfQuantityOfProductsInBeverageCategoryGreaterEquals2ThenApplyDiscountRateOf10(beverage);
@@ -72,7 +87,7 @@ public class TrendyolShoppingCartClientTest {
         when(campaignService.get(CampaignName.valueOf("CAMPAIGN-3"))).thenReturn(Optional.of(campaign3));
         when(campaignService.get(CampaignName.valueOf("CAMPAIGN-4"))).thenReturn(Optional.of(campaign4));
 
-        CouponService couponService = mock(CouponService.class);
+        this.couponService = mock(CouponService.class);
         Coupon coupon1 = CouponFakeData.createCouponIfCartAmountGreaterEquals50ThenApplyDiscountAmountOf5;
         Coupon coupon2 = CouponFakeData.createCouponIfCartAmountGreaterEquals100ThenApplyDiscountRateOf10;
         when(couponService.get(CouponCode.valueOf("COUPON-1"))).thenReturn(Optional.of(coupon1));
@@ -768,4 +783,197 @@ public class TrendyolShoppingCartClientTest {
         assertThat(shoppingCart.getTotalAmount()).isEqualTo(Amount.valueOf(56.99D));
         assertShoppingCartConsoleOutput();
     }
+
+    @Test
+    public void givenCouponAddedBeforeCampaign_whenSubmitCart_thenProvideCampaignDiscountFirst() {
+        //given
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-1"));
+        trendyolShoppingCartClient.addCampaign(CampaignName.valueOf("CAMPAIGN-1"));
+        trendyolShoppingCartClient.addCampaign(CampaignName.valueOf("CAMPAIGN-3"));
+
+        // 10 x 4 = 40, 20 x 1 = 20, nothing in the beverage category
+        shoppingCart.addProduct(apple, Quantity.valueOf(4));
+        shoppingCart.addProduct(banana, Quantity.valueOf(1));
+
+        //when
+        trendyolShoppingCartClient.submitCart(shoppingCart);
+
+        //then
+        assertThat(shoppingCart.getDiscountMap().values())
+                .extracting(appliedDiscount -> (Object) appliedDiscount.getDiscount().getClass())
+                .containsExactly(ProductQuantityInCategoryBasedRateDiscount.class, MinimumCartAmountBasedAmountDiscount.class);
+        assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.valueOf(11D));
+    }
+
+    @Test
+    public void givenCouponRemoved_whenSubmitCart_thenDoNotApplyCouponDiscount() {
+        //given
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-1"));
+        trendyolShoppingCartClient.removeCoupon(CouponCode.valueOf("COUPON-1"));
+        shoppingCart.addProduct(apple, Quantity.valueOf(4));
+        shoppingCart.addProduct(banana, Quantity.valueOf(1));
+
+        //when
+        trendyolShoppingCartClient.submitCart(shoppingCart);
+
+        //then
+        assertThat(shoppingCart.getDiscountMap()).isEmpty();
+        assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.ofZero());
+    }
+
+    @Test
+    public void givenCompetingAmountCoupons_whenSubmitCart_thenApplyCouponWithHighestMetMinimumCartAmount() {
+        //given
+        Coupon coupon60 = new MinimumCartAmountBasedDiscountCoupon(CouponCode.valueOf("COUPON-60"), Amount.valueOf(60D), Amount.valueOf(6D));
+        Coupon coupon80 = new MinimumCartAmountBasedDiscountCoupon(CouponCode.valueOf("COUPON-80"), Amount.valueOf(80D), Amount.valueOf(8D));
+        when(couponService.get(CouponCode.valueOf("COUPON-60"))).thenReturn(Optional.of(coupon60));
+        when(couponService.get(CouponCode.valueOf("COUPON-80"))).thenReturn(Optional.of(coupon80));
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-80"));
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-1"));
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-60"));
+
+        // 10 x 4 = 40, 20 x 1 = 20, cart amount 60 meets the minimums 50 and 60 but not 80
+        shoppingCart.addProduct(apple, Quantity.valueOf(4));
+        shoppingCart.addProduct(banana, Quantity.valueOf(1));
+
+        //when
+        trendyolShoppingCartClient.submitCart(shoppingCart);
+
+        //then
+        assertThat(shoppingCart.getDiscountMap()).hasSize(1);
+        assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.valueOf(6D));
+        assertThat(shoppingCart.getCartAmount()).isEqualTo(Amount.valueOf(54D));
+    }
+
+    @Test
+    public void givenRateAndAmountCouponsInterleaved_whenSubmitCart_thenApplyTheSameCouponAsSequentialProvision() {
+        //given
+        Coupon rateCoupon50 = new MinimumCartAmountBasedDiscountCoupon(CouponCode.valueOf("COUPON-RATE-50"), Amount.valueOf(50D), Rate.valueOf(10D));
+        Coupon amountCoupon50 = CouponFakeData.createCouponIfCartAmountGreaterEquals50ThenApplyDiscountAmountOf5;
+        Coupon rateCoupon60 = new MinimumCartAmountBasedDiscountCoupon(CouponCode.valueOf("COUPON-RATE-60"), Amount.valueOf(60D), Rate.valueOf(20D));
+        when(couponService.get(CouponCode.valueOf("COUPON-RATE-50"))).thenReturn(Optional.of(rateCoupon50));
+        when(couponService.get(CouponCode.valueOf("COUPON-RATE-60"))).thenReturn(Optional.of(rateCoupon60));
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-RATE-50"));
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-1"));
+        trendyolShoppingCartClient.addCoupon(CouponCode.valueOf("COUPON-RATE-60"));
+
+        // 10 x 4 = 40, 20 x 1 = 20, cart amount 60 meets every minimum
+        shoppingCart.addProduct(apple, Quantity.valueOf(4));
+        shoppingCart.addProduct(banana, Quantity.valueOf(1));
+        ShoppingCart sequentiallyPricedCart = new ShoppingCart();
+        sequentiallyPricedCart.addProduct(apple, Quantity.valueOf(4));
+        sequentiallyPricedCart.addProduct(banana, Quantity.valueOf(1));
+        List.of(rateCoupon50, amountCoupon50, rateCoupon60).forEach(coupon -> coupon.getDiscount().addTo(sequentiallyPricedCart));
+        sequentiallyPricedCart.applyDiscounts();
+
+        //when
+        trendyolShoppingCartClient.submitCart(shoppingCart);
+
+        //then
+        assertThat(shoppingCart.getDiscountMap()).isEqualTo(sequentiallyPricedCart.getDiscountMap());
+        assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.valueOf(12D));
+        assertThat(shoppingCart.getCartAmount()).isEqualTo(sequentiallyPricedCart.getCartAmount());
+    }
+
+    @Test
+    public void givenConcurrentSubmitters_whenCampaignsAndCouponsChangeDuringSubmission_thenPriceEveryCartConsistently() throws Exception {
+        //given
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).then(invocation -> invocation.getArgument(0));
+        TrendyolShoppingCartClient client = new TrendyolShoppingCartClient(
+                (TrendyolDeliveryCostService) trendyolShoppingCartClient.getDeliveryCostService(), shoppingCartService,
+                campaignService, couponService);
+
+        int submitters = 4;
+        int cartsPerSubmitter = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(submitters + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean submitting = new AtomicBoolean(true);
+        List<ShoppingCart> submittedCarts = Collections.synchronizedList(new ArrayList<>());
+
+        Future<?> mutator = executorService.submit(() -> {
+            start.await();
+            while (submitting.get()) {
+                client.addCampaign(CampaignName.valueOf("CAMPAIGN-1"));
+                client.addCoupon(CouponCode.valueOf("COUPON-1"));
+                client.removeCampaign(CampaignName.valueOf("CAMPAIGN-1"));
+                client.removeCoupon(CouponCode.valueOf("COUPON-1"));
+            }
+            return null;
+        });
+
+        List<Future<?>> submissions = new ArrayList<>();
+        for (int i = 0; i < submitters; i++) {
+            submissions.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < cartsPerSubmitter; j++) {
+                    ShoppingCart cart = new ShoppingCart();
+                    // 10 x 4 + 20 x 1 = 60
+                    cart.addProduct(apple, Quantity.valueOf(4));
+                    cart.addProduct(banana, Quantity.valueOf(1));
+                    client.submitCart(cart);
+                    submittedCarts.add(cart);
+                }
+                return null;
+            }));
+        }
+
+        //when
+        start.countDown();
+        for (Future<?> submission : submissions) {
+            submission.get(1, TimeUnit.MINUTES);
+        }
+        submitting.set(false);
+        mutator.get(1, TimeUnit.MINUTES);
+        executorService.shutdown();
+
+        //then
+        //campaign-1 discounts 6 and coupon-1 discounts 5, a cart may see any combination of them but never a torn one
+        assertThat(submittedCarts).hasSize(submitters * cartsPerSubmitter);
+        submittedCarts.forEach(cart -> {
+            assertThat(cart.getTotalDiscount()).isIn(Amount.ofZero(), Amount.valueOf(5D), Amount.valueOf(6D), Amount.valueOf(11D));
+            assertThat(cart.getCartAmount()).isEqualTo(Amount.valueOf(60D).subtract(cart.getTotalDiscount()));
+            assertThat(cart.getTotalAmount()).isEqualTo(cart.getCartAmount().add(Amount.valueOf(7.99D)));
+        });
+        verify(shoppingCartService, times(submitters * cartsPerSubmitter)).save(any(ShoppingCart.class));
+    }
+
+    @Test
+    public void givenCampaignWithTimeWindow_whenSubmitCartsAsClockMoves_thenApplyCampaignOnlyWhileActive() {
+        //given
+        Instant now = Instant.now();
+        Campaign campaign = new ProductQuantityInCategoryBasedDiscountCampaign(CampaignName.valueOf("CAMPAIGN-TIMED"), food,
+                Quantity.valueOf(5), Rate.valueOf(10D), now.minus(Duration.ofHours(1)), now.plus(Duration.ofHours(1)));
+        when(campaignService.get(CampaignName.valueOf("CAMPAIGN-TIMED"))).thenReturn(Optional.of(campaign));
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).then(invocation -> invocation.getArgument(0));
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now.minus(Duration.ofHours(2)));
+        TrendyolShoppingCartClient client = new TrendyolShoppingCartClient(
+                (TrendyolDeliveryCostService) trendyolShoppingCartClient.getDeliveryCostService(), shoppingCartService,
+                campaignService, couponService, null, clock);
+        client.addCampaign(CampaignName.valueOf("CAMPAIGN-TIMED"));
+        List<ShoppingCart> shoppingCarts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ShoppingCart cart = new ShoppingCart();
+            // 10 x 4 + 20 x 1 = 60
+            cart.addProduct(apple, Quantity.valueOf(4));
+            cart.addProduct(banana, Quantity.valueOf(1));
+            shoppingCarts.add(cart);
+        }
+
+        //when
+        client.submitCart(shoppingCarts.get(0));
+        when(clock.instant()).thenReturn(now);
+        client.submitCart(shoppingCarts.get(1));
+        when(clock.instant()).thenReturn(now.plus(Duration.ofHours(2)));
+        client.submitCart(shoppingCarts.get(2));
+
+        //then
+        assertThat(client.getCampaignScheduler().getScheduledCount()).isEqualTo(1);
+        assertThat(client.getCampaignScheduler().getActiveCount()).isZero();
+        assertThat(shoppingCarts.get(0).getTotalDiscount()).isEqualTo(Amount.ofZero());
+        assertThat(shoppingCarts.get(1).getTotalDiscount()).isEqualTo(Amount.valueOf(6D));
+        assertThat(shoppingCarts.get(2).getTotalDiscount()).isEqualTo(Amount.ofZero());
+    }
 }
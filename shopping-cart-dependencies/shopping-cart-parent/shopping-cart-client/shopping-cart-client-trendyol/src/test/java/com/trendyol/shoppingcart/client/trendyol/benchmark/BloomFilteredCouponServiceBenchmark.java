@@ -0,0 +1,146 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.Coupon;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.MinimumCartAmountBasedDiscountCoupon;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.client.trendyol.service.BloomFilteredCouponService;
+import com.trendyol.shoppingcart.client.trendyol.service.CouponService;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Replays coupon lookups of which nine in ten are random codes, like bots guessing, against a store taking 100
+microseconds per lookup, with and without the bloom filter in front of it. Reports throughput and store lookups.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class BloomFilteredCouponServiceBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BloomFilteredCouponServiceBenchmark.class);
+
+    private static final int COUPON_COUNT = 100_000;
+
+    private static final int LOOKUP_COUNT = 20_000;
+
+    private static final int KNOWN_EVERY = 10;
+
+    private static final long ROUND_TRIP_NANOS = 100_000L;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private final CouponCode[] lookups = new CouponCode[LOOKUP_COUNT];
+
+    private RemoteCouponService couponService;
+
+    //a store answering after a simulated round trip
+    private static final class RemoteCouponService implements CouponService {
+
+        private final Map<CouponCode, Coupon> coupons = new HashMap<>();
+
+        private final LongAdder lookupCount = new LongAdder();
+
+        @Override
+        public Coupon save(Coupon coupon) {
+            coupons.put(coupon.getCouponCode(), coupon);
+            return coupon;
+        }
+
+        @Override
+        public Optional<Coupon> get(CouponCode couponCode) {
+            lookupCount.increment();
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return Optional.ofNullable(coupons.get(couponCode));
+        }
+
+        @Override
+        public Coupon update(Coupon coupon) {
+            return save(coupon);
+        }
+
+        @Override
+        public void delete(CouponCode couponCode) {
+            coupons.remove(couponCode);
+        }
+
+        @Override
+        public List<Coupon> getAll() {
+            return List.copyOf(coupons.values());
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        couponService = new RemoteCouponService();
+        for (int i = 0; i < COUPON_COUNT; i++) {
+            couponService.save(new MinimumCartAmountBasedDiscountCoupon(CouponCode.valueOf("PROMO-" + i), Amount.valueOf(50D), Amount.valueOf(5D)));
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            lookups[i] = i % KNOWN_EVERY == 0
+                    ? CouponCode.valueOf("PROMO-" + random.nextInt(COUPON_COUNT))
+                    : CouponCode.valueOf(Long.toString(random.nextLong() & Long.MAX_VALUE, 36).toUpperCase());
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenMostlyRandomCouponCodes_whenGetThroughBloomFilter_thenReportThroughputAndStoreLookups() {
+        //given
+        long buildStartNanos = System.nanoTime();
+        BloomFilteredCouponService bloomFilteredCouponService = new BloomFilteredCouponService(couponService, COUPON_COUNT);
+        long buildMillis = (System.nanoTime() - buildStartNanos) / 1_000_000L;
+
+        //when
+        double unfilteredLookupsPerSecond = measure(couponService);
+        long unfilteredStoreLookups = couponService.lookupCount.sumThenReset();
+        double filteredLookupsPerSecond = measure(bloomFilteredCouponService);
+        long filteredStoreLookups = couponService.lookupCount.sumThenReset();
+
+        //then
+        logger.warn("{} lookups over {} coupons, filter of {} bits built in {} ms, unfiltered: {} lookups/s with {} store lookups, filtered: {} lookups/s with {} store lookups, {} false positives",
+                LOOKUP_COUNT, COUPON_COUNT, bloomFilteredCouponService.getBloomFilter().getBitCount(), buildMillis,
+                String.format("%.0f", unfilteredLookupsPerSecond), unfilteredStoreLookups,
+                String.format("%.0f", filteredLookupsPerSecond), filteredStoreLookups, bloomFilteredCouponService.getFalsePositiveCount());
+        assertThat(filteredStoreLookups).isLessThan(unfilteredStoreLookups / 5);
+        assertThat(filteredLookupsPerSecond).isGreaterThan(unfilteredLookupsPerSecond);
+    }
+
+    private double measure(CouponService service) {
+        long startNanos = System.nanoTime();
+        int found = 0;
+        for (CouponCode couponCode : lookups) {
+            if (service.get(couponCode).isPresent()) {
+                found++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        assertThat(found).isEqualTo(LOOKUP_COUNT / KNOWN_EVERY);
+        return LOOKUP_COUNT * 1_000_000_000D / elapsedNanos;
+    }
+}
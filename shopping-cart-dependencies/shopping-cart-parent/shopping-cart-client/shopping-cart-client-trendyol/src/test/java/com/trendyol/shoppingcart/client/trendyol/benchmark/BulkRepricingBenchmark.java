@@ -0,0 +1,141 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.CampaignFakeData;
+import com.trendyol.shoppingcart.client.trendyol.CouponFakeData;
+import com.trendyol.shoppingcart.client.trendyol.TrendyolShoppingCartClient;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.client.trendyol.service.CampaignService;
+import com.trendyol.shoppingcart.client.trendyol.service.CouponService;
+import com.trendyol.shoppingcart.client.trendyol.service.TrendyolDeliveryCostService;
+import com.trendyol.shoppingcart.core.client.RepricingProgress;
+import com.trendyol.shoppingcart.core.client.ShoppingCartRepricer;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.trendyol.shoppingcart.client.trendyol.CategoryFakeData.food;
+import static com.trendyol.shoppingcart.client.trendyol.ProductFakeData.apple;
+import static com.trendyol.shoppingcart.client.trendyol.ProductFakeData.banana;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+Compares repricing stored carts one submitCart at a time with a bulk repricing run over the same carts.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class BulkRepricingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkRepricingBenchmark.class);
+
+    private static final int CART_COUNT = 200_000;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private TrendyolShoppingCartClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        List<ShoppingCart> shoppingCarts = new ArrayList<>(CART_COUNT);
+        for (int i = 0; i < CART_COUNT; i++) {
+            ShoppingCart cart = new ShoppingCart();
+            cart.setId((long) i);
+            cart.addProduct(apple, Quantity.valueOf(1 + i % 6));
+            cart.addProduct(banana, Quantity.valueOf(1));
+            shoppingCarts.add(cart);
+        }
+        ShoppingCartService shoppingCartService = new StoredShoppingCartService(shoppingCarts);
+
+        CampaignService campaignService = mock(CampaignService.class);
+        when(campaignService.get(CampaignName.valueOf("CAMPAIGN-1"))).thenReturn(Optional.of(
+                CampaignFakeData.createCampaignIfQuantityOfProductsInFoodCategoryGreaterEquals5ThenApplyDiscountRateOf10(food)));
+        CouponService couponService = mock(CouponService.class);
+        when(couponService.get(CouponCode.valueOf("COUPON-1"))).thenReturn(Optional.of(
+                CouponFakeData.createCouponIfCartAmountGreaterEquals50ThenApplyDiscountAmountOf5));
+
+        client = new TrendyolShoppingCartClient(new TrendyolDeliveryCostService(), shoppingCartService, campaignService, couponService);
+        client.addCampaign(CampaignName.valueOf("CAMPAIGN-1"));
+        client.addCoupon(CouponCode.valueOf("COUPON-1"));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenStoredCarts_whenRepricedOneByOneAndInBulk_thenReportThroughput() {
+        //given
+        List<ShoppingCart> shoppingCarts = client.getShoppingCartService().getAll();
+
+        //when
+        long startNanos = System.nanoTime();
+        for (ShoppingCart shoppingCart : shoppingCarts) {
+            shoppingCart.resetPricing();
+            client.submitCart(shoppingCart);
+        }
+        double oneByOneCartsPerSecond = CART_COUNT * 1_000_000_000D / (System.nanoTime() - startNanos);
+
+        RepricingProgress progress = new ShoppingCartRepricer(client).repriceAll(p -> {
+        });
+
+        //then
+        logger.warn("submitCart one by one: {} carts/s", String.format("%.0f", oneByOneCartsPerSecond));
+        logger.warn("bulk repricing on {} worker(s): {}", ForkJoinPool.commonPool().getParallelism(), progress);
+        assertThat(progress.getRepricedCartCount()).isEqualTo(CART_COUNT);
+    }
+
+    //a mocked service would record every invocation and dominate the measurement
+    private static final class StoredShoppingCartService implements ShoppingCartService {
+
+        private final List<ShoppingCart> shoppingCarts;
+
+        private StoredShoppingCartService(List<ShoppingCart> shoppingCarts) {
+            this.shoppingCarts = shoppingCarts;
+        }
+
+        @Override
+        public ShoppingCart save(ShoppingCart shoppingCart) {
+            return shoppingCart;
+        }
+
+        @Override
+        public Optional<ShoppingCart> get(Long id) {
+            return Optional.of(shoppingCarts.get(id.intValue()));
+        }
+
+        @Override
+        public ShoppingCart update(ShoppingCart shoppingCart) {
+            return shoppingCart;
+        }
+
+        @Override
+        public void delete(Long id) {
+        }
+
+        @Override
+        public List<ShoppingCart> getAll() {
+            return shoppingCarts;
+        }
+    }
+}
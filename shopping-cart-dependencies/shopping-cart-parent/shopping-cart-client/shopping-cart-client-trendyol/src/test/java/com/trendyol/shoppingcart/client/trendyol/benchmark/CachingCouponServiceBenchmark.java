@@ -0,0 +1,134 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.Coupon;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.MinimumCartAmountBasedDiscountCoupon;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.client.trendyol.service.CachingCouponService;
+import com.trendyol.shoppingcart.client.trendyol.service.CouponService;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Compares coupon lookups through a service taking 100 microseconds per call, like a database round trip, with lookups
+through the caching decorator. Codes are drawn so that a few popular ones make most of the traffic.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class CachingCouponServiceBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingCouponServiceBenchmark.class);
+
+    private static final int COUPON_COUNT = 10_000;
+
+    private static final int LOOKUP_COUNT = 20_000;
+
+    private static final long ROUND_TRIP_NANOS = 100_000L;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private final CouponCode[] lookups = new CouponCode[LOOKUP_COUNT];
+
+    private CouponService couponService;
+
+    //a store answering after a simulated round trip
+    private static final class RemoteCouponService implements CouponService {
+
+        private final Map<CouponCode, Coupon> coupons = new HashMap<>();
+
+        @Override
+        public Coupon save(Coupon coupon) {
+            coupons.put(coupon.getCouponCode(), coupon);
+            return coupon;
+        }
+
+        @Override
+        public Optional<Coupon> get(CouponCode couponCode) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return Optional.ofNullable(coupons.get(couponCode));
+        }
+
+        @Override
+        public Coupon update(Coupon coupon) {
+            return save(coupon);
+        }
+
+        @Override
+        public void delete(CouponCode couponCode) {
+            coupons.remove(couponCode);
+        }
+
+        @Override
+        public List<Coupon> getAll() {
+            return List.copyOf(coupons.values());
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        couponService = new RemoteCouponService();
+        CouponCode[] couponCodes = new CouponCode[COUPON_COUNT];
+        for (int i = 0; i < COUPON_COUNT; i++) {
+            couponCodes[i] = CouponCode.valueOf("BENCHMARK-COUPON-" + i);
+            couponService.save(new MinimumCartAmountBasedDiscountCoupon(couponCodes[i], Amount.valueOf(50D), Amount.valueOf(5D)));
+        }
+        //a power of a uniform number favours the small indexes, a tenth of the codes takes about two thirds of the lookups
+        Random random = new Random(42);
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            lookups[i] = couponCodes[(int) (Math.pow(random.nextDouble(), 6) * COUPON_COUNT)];
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenSkewedCouponLookups_whenGetThroughCache_thenReportThroughputAndHitRate() {
+        //given
+        CachingCouponService cachingCouponService = new CachingCouponService(couponService, 1_000, Duration.ofMinutes(5));
+
+        //when
+        double uncachedLookupsPerSecond = measure(couponService);
+        double coldLookupsPerSecond = measure(cachingCouponService);
+        double cachedLookupsPerSecond = measure(cachingCouponService);
+
+        //then
+        logger.warn("{} lookups over {} coupons, uncached: {} lookups/s, cold cache: {} lookups/s, warm cache: {} lookups/s, hit rate: {}, evictions: {}",
+                LOOKUP_COUNT, COUPON_COUNT, String.format("%.0f", uncachedLookupsPerSecond), String.format("%.0f", coldLookupsPerSecond),
+                String.format("%.0f", cachedLookupsPerSecond),
+                String.format("%.2f", cachingCouponService.getHitRate()), cachingCouponService.getEvictionCount());
+        assertThat(cachingCouponService.getHitRate()).isGreaterThan(0.5D);
+        assertThat(cachedLookupsPerSecond).isGreaterThan(uncachedLookupsPerSecond);
+    }
+
+    private double measure(CouponService service) {
+        long startNanos = System.nanoTime();
+        for (CouponCode couponCode : lookups) {
+            assertThat(service.get(couponCode)).isPresent();
+        }
+        return LOOKUP_COUNT * 1_000_000_000D / (System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,130 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.Campaign;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.ProductQuantityInCategoryBasedDiscountCampaign;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountActivationScheduler;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderGroup;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountRuleIndex;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Compares pricing against 200k registered campaigns, of which 1% is running, with pricing against the active group
+of the activation scheduler. The other campaigns finished in the past or start in the future.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class DiscountActivationSchedulerBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscountActivationSchedulerBenchmark.class);
+
+    private static final int CATEGORY_COUNT = 200;
+
+    private static final int CAMPAIGN_COUNT = 200_000;
+
+    private static final int ACTIVE_EVERY = 100;
+
+    private static final int CART_COUNT = 2_000;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private final List<Product> products = new ArrayList<>();
+
+    private final List<Campaign> campaigns = new ArrayList<>();
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        Instant now = Instant.now();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            Category category = new Category(Title.valueOf("BENCHMARK_CATEGORY_" + i));
+            categories.add(category);
+            products.add(new Product(Title.valueOf("BENCHMARK_PRODUCT_" + i), Amount.valueOf(10D), category));
+        }
+        for (int i = 0; i < CAMPAIGN_COUNT; i++) {
+            //running campaigns last a day around now, the others ended or start some weeks away
+            Instant startTime;
+            if (i % ACTIVE_EVERY == 0) {
+                startTime = now.minus(Duration.ofHours(12));
+            } else if (i % 2 == 0) {
+                startTime = now.minus(Duration.ofDays(30 + i % 300));
+            } else {
+                startTime = now.plus(Duration.ofDays(1 + i % 300));
+            }
+            campaigns.add(new ProductQuantityInCategoryBasedDiscountCampaign(CampaignName.valueOf("BENCHMARK_CAMPAIGN_" + i),
+                    categories.get(i % CATEGORY_COUNT), Quantity.valueOf(1 + i % 5), Rate.valueOf(10D), startTime, startTime.plus(Duration.ofDays(1))));
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenMostlyInactiveCampaigns_whenProvideDiscounts_thenReportRegisteredAndActiveGroupThroughput() {
+        //given
+        DiscountProviderGroup registeredCampaigns = new DiscountProviderGroup();
+        registeredCampaigns.replaceDiscountProviders(campaigns);
+        DiscountActivationScheduler scheduler = new DiscountActivationScheduler();
+        long scheduleStartNanos = System.nanoTime();
+        scheduler.scheduleAll(campaigns);
+        long scheduleMillis = Duration.ofNanos(System.nanoTime() - scheduleStartNanos).toMillis();
+        DiscountRuleIndex registeredIndex = DiscountRuleIndex.compile(registeredCampaigns);
+        DiscountRuleIndex activeIndex = DiscountRuleIndex.compile(scheduler.getActiveDiscountProviders());
+
+        //when
+        measure(registeredIndex, scheduler);
+        measure(activeIndex, scheduler);
+        double registeredCartsPerSecond = measure(registeredIndex, scheduler);
+        double activeCartsPerSecond = measure(activeIndex, scheduler);
+
+        //then
+        logger.warn("{} campaigns, {} active, scheduled in {} ms, all registered: {} carts/s, active group: {} carts/s",
+                CAMPAIGN_COUNT, scheduler.getActiveCount(), scheduleMillis,
+                String.format("%.0f", registeredCartsPerSecond), String.format("%.0f", activeCartsPerSecond));
+        assertThat(scheduler.getActiveCount()).isEqualTo(CAMPAIGN_COUNT / ACTIVE_EVERY);
+        assertThat(activeCartsPerSecond).isGreaterThan(registeredCartsPerSecond);
+    }
+
+    private double measure(DiscountRuleIndex discountRuleIndex, DiscountActivationScheduler scheduler) {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < CART_COUNT; i++) {
+            ShoppingCart shoppingCart = new ShoppingCart();
+            shoppingCart.addProduct(products.get((i * 7) % CATEGORY_COUNT), Quantity.valueOf(3));
+            shoppingCart.addProduct(products.get((i * 13) % CATEGORY_COUNT), Quantity.valueOf(1));
+            //the scheduler is advanced before every pricing, as the client does
+            scheduler.advance();
+            discountRuleIndex.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+            shoppingCart.applyDiscounts();
+        }
+        return CART_COUNT * 1_000_000_000D / (System.nanoTime() - startNanos);
+    }
+}
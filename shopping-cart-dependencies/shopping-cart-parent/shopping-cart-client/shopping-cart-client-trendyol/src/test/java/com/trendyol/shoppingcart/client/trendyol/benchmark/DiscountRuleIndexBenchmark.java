@@ -0,0 +1,124 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.ProductQuantityInCategoryBasedDiscountCampaign;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.MinimumCartAmountBasedDiscountCoupon;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountProvider;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderGroup;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountRuleIndex;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Compares providing discounts by walking the whole provider tree with the compiled rule index, for 20k category
+campaigns and carts that touch only a few categories, and for 20k coupons competing by minimum cart amount.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class DiscountRuleIndexBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscountRuleIndexBenchmark.class);
+
+    private static final int CAMPAIGN_COUNT = 20_000;
+
+    private static final int CART_COUNT = 2_000;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private final List<Product> products = new ArrayList<>();
+
+    private final DiscountProviderGroup campaigns = new DiscountProviderGroup();
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        Category root = new Category(Title.valueOf("BENCHMARK_ROOT"));
+        for (int i = 0; i < CAMPAIGN_COUNT; i++) {
+            Category category = new Category(root, Title.valueOf("BENCHMARK_CATEGORY_" + i));
+            products.add(new Product(Title.valueOf("BENCHMARK_PRODUCT_" + i), Amount.valueOf(10D), category));
+            campaigns.addDiscountProvider(new ProductQuantityInCategoryBasedDiscountCampaign(
+                    CampaignName.valueOf("BENCHMARK_CAMPAIGN_" + i), category, Quantity.valueOf(2), Rate.valueOf(10D)));
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenManyCategoryCampaigns_whenProvideDiscounts_thenReportTreeWalkAndIndexThroughput() {
+        //given
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(campaigns);
+
+        //when
+        measure(campaigns);
+        measure(discountRuleIndex);
+        double treeWalkCartsPerSecond = measure(campaigns);
+        double indexCartsPerSecond = measure(discountRuleIndex);
+
+        //then
+        logger.warn("{} campaigns, tree walk: {} carts/s, rule index: {} carts/s", CAMPAIGN_COUNT,
+                String.format("%.0f", treeWalkCartsPerSecond), String.format("%.0f", indexCartsPerSecond));
+        assertThat(indexCartsPerSecond).isGreaterThan(treeWalkCartsPerSecond);
+    }
+
+    private double measure(DiscountProvider discountProvider) {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < CART_COUNT; i++) {
+            ShoppingCart shoppingCart = new ShoppingCart();
+            shoppingCart.addProduct(products.get((i * 7) % CAMPAIGN_COUNT), Quantity.valueOf(3));
+            shoppingCart.addProduct(products.get((i * 13) % CAMPAIGN_COUNT), Quantity.valueOf(1));
+            discountProvider.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+            shoppingCart.applyDiscounts();
+        }
+        return CART_COUNT * 1_000_000_000D / (System.nanoTime() - startNanos);
+    }
+
+    @Test
+    public void givenManyCompetingCoupons_whenProvideDiscounts_thenReportTreeWalkAndThresholdIndexThroughput() {
+        //given
+        DiscountProviderGroup coupons = new DiscountProviderGroup();
+        for (int i = 0; i < CAMPAIGN_COUNT; i++) {
+            coupons.addDiscountProvider(new MinimumCartAmountBasedDiscountCoupon(CouponCode.valueOf("BENCHMARK_COUPON_" + i),
+                    Amount.ofMinorUnits(i * 10L), Amount.valueOf(5D)));
+        }
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(coupons);
+
+        //when
+        measure(coupons);
+        measure(discountRuleIndex);
+        double treeWalkCartsPerSecond = measure(coupons);
+        double indexCartsPerSecond = measure(discountRuleIndex);
+
+        //then
+        logger.warn("{} competing coupons, tree walk: {} carts/s, threshold index: {} carts/s", CAMPAIGN_COUNT,
+                String.format("%.0f", treeWalkCartsPerSecond), String.format("%.0f", indexCartsPerSecond));
+        assertThat(discountRuleIndex.getRuleCount()).isEqualTo(1);
+        assertThat(indexCartsPerSecond).isGreaterThan(treeWalkCartsPerSecond);
+    }
+}
@@ -0,0 +1,121 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.ProductQuantityInCategoryBasedDiscountCampaign;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderGroup;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountRuleIndex;
+import com.trendyol.shoppingcart.core.discountprovider.ParallelProvision;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Compares sequential and parallel discount provision for carts reaching 16 to 4096 candidate campaigns and reports the
+smallest candidate count from which the parallel provision is faster. The crossover depends on the number of cores,
+with a single core there is none.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class ParallelProvisionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelProvisionBenchmark.class);
+
+    private static final int[] CANDIDATE_COUNTS = {16, 64, 256, 1024, 4096};
+
+    private static final int EVALUATIONS_PER_MEASUREMENT = 400_000;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private ForkJoinPool forkJoinPool;
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+        forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @AfterEach
+    public void afterEach() {
+        forkJoinPool.shutdownNow();
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenGrowingCandidateCounts_whenProvideDiscounts_thenReportSequentialAndParallelThroughput() {
+        //given
+        //a threshold of 1 splits the small carts as well, so the crossover can be seen
+        ParallelProvision parallelProvision = new ParallelProvision(forkJoinPool, 1);
+        int crossoverCandidateCount = -1;
+
+        for (int candidateCount : CANDIDATE_COUNTS) {
+            //a product in the deepest of nested categories reaches the campaign of every ancestor
+            DiscountProviderGroup campaigns = new DiscountProviderGroup();
+            Category category = null;
+            for (int i = 0; i < candidateCount; i++) {
+                category = new Category(category, Title.valueOf("BENCHMARK_CATEGORY_" + i));
+                campaigns.addDiscountProvider(new ProductQuantityInCategoryBasedDiscountCampaign(
+                        CampaignName.valueOf("BENCHMARK_CAMPAIGN_" + (i % 16)), category, Quantity.valueOf(2), Rate.valueOf(10D)));
+            }
+            ShoppingCart shoppingCart = new ShoppingCart();
+            shoppingCart.addProduct(new Product(Title.valueOf("BENCHMARK_PRODUCT"), Amount.valueOf(10D), category), Quantity.valueOf(3));
+            DiscountRuleIndex sequentialIndex = DiscountRuleIndex.compile(campaigns);
+            DiscountRuleIndex parallelIndex = sequentialIndex.withParallelProvision(parallelProvision);
+            int iterations = Math.max(20, EVALUATIONS_PER_MEASUREMENT / candidateCount);
+
+            //when
+            measure(sequentialIndex, shoppingCart, iterations);
+            measure(parallelIndex, shoppingCart, iterations);
+            double sequentialCartsPerSecond = measure(sequentialIndex, shoppingCart, iterations);
+            double parallelCartsPerSecond = measure(parallelIndex, shoppingCart, iterations);
+
+            //then
+            assertThat(sequentialIndex.candidatesFor(shoppingCart)).hasSize(candidateCount);
+            logger.warn("{} candidates, sequential: {} carts/s, parallel on {} workers: {} carts/s", candidateCount,
+                    String.format("%.0f", sequentialCartsPerSecond), forkJoinPool.getParallelism(),
+                    String.format("%.0f", parallelCartsPerSecond));
+            if (crossoverCandidateCount < 0 && parallelCartsPerSecond > sequentialCartsPerSecond) {
+                crossoverCandidateCount = candidateCount;
+            }
+        }
+
+        if (crossoverCandidateCount < 0) {
+            logger.warn("No crossover up to {} candidates on {} workers, keep the provision sequential",
+                    CANDIDATE_COUNTS[CANDIDATE_COUNTS.length - 1], forkJoinPool.getParallelism());
+        } else {
+            logger.warn("Parallel provision is faster from {} candidates on {} workers", crossoverCandidateCount,
+                    forkJoinPool.getParallelism());
+        }
+    }
+
+    private double measure(DiscountRuleIndex discountRuleIndex, ShoppingCart shoppingCart, int iterations) {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            shoppingCart.resetPricing();
+            discountRuleIndex.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+            shoppingCart.applyDiscounts();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        assertThat(shoppingCart.getDiscountMap()).isNotEmpty();
+        return iterations * 1_000_000_000D / elapsedNanos;
+    }
+}
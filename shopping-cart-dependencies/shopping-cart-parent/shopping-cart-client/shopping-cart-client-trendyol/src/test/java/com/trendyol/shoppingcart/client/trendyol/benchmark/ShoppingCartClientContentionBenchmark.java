@@ -0,0 +1,174 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.CampaignFakeData;
+import com.trendyol.shoppingcart.client.trendyol.CouponFakeData;
+import com.trendyol.shoppingcart.client.trendyol.TrendyolShoppingCartClient;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import com.trendyol.shoppingcart.client.trendyol.service.CampaignService;
+import com.trendyol.shoppingcart.client.trendyol.service.CouponService;
+import com.trendyol.shoppingcart.client.trendyol.service.TrendyolDeliveryCostService;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.trendyol.shoppingcart.client.trendyol.CategoryFakeData.food;
+import static com.trendyol.shoppingcart.client.trendyol.ProductFakeData.apple;
+import static com.trendyol.shoppingcart.client.trendyol.ProductFakeData.banana;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+Measures submitCart throughput of one shared client for an increasing number of submitting threads while a
+background thread keeps adding and removing a campaign and a coupon.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class ShoppingCartClientContentionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShoppingCartClientContentionBenchmark.class);
+
+    private static final long MEASUREMENT_MILLIS = 2_000L;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private TrendyolShoppingCartClient client;
+
+    @BeforeEach
+    public void beforeEach() {
+        //printing every cart would measure the console instead of the client
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        CampaignService campaignService = mock(CampaignService.class);
+        when(campaignService.get(CampaignName.valueOf("CAMPAIGN-1"))).thenReturn(Optional.of(
+                CampaignFakeData.createCampaignIfQuantityOfProductsInFoodCategoryGreaterEquals5ThenApplyDiscountRateOf10(food)));
+        CouponService couponService = mock(CouponService.class);
+        when(couponService.get(CouponCode.valueOf("COUPON-1"))).thenReturn(Optional.of(
+                CouponFakeData.createCouponIfCartAmountGreaterEquals50ThenApplyDiscountAmountOf5));
+
+        client = new TrendyolShoppingCartClient(new TrendyolDeliveryCostService(), new DiscardingShoppingCartService(), campaignService, couponService);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenSharedClient_whenSubmittersIncrease_thenReportSubmitThroughput() throws Exception {
+        //given
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+
+        //when
+        measure(1);
+        List<Double> throughputs = new ArrayList<>();
+        for (int threads : threadCounts) {
+            throughputs.add(measure(threads));
+        }
+
+        //then
+        for (int i = 0; i < threadCounts.size(); i++) {
+            logger.warn("{} submitter(s): {} carts/s ({}x of single thread)", threadCounts.get(i),
+                    String.format("%.0f", throughputs.get(i)), String.format("%.2f", throughputs.get(i) / throughputs.get(0)));
+        }
+        assertThat(throughputs).allMatch(throughput -> throughput > 0D);
+    }
+
+    private double measure(int threads) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder submitted = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        futures.add(executorService.submit(() -> {
+            start.await();
+            while (running.get()) {
+                client.addCampaign(CampaignName.valueOf("CAMPAIGN-1"));
+                client.addCoupon(CouponCode.valueOf("COUPON-1"));
+                client.removeCampaign(CampaignName.valueOf("CAMPAIGN-1"));
+                client.removeCoupon(CouponCode.valueOf("COUPON-1"));
+                Thread.sleep(1L);
+            }
+            return null;
+        }));
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    ShoppingCart cart = new ShoppingCart();
+                    cart.addProduct(apple, Quantity.valueOf(4));
+                    cart.addProduct(banana, Quantity.valueOf(1));
+                    client.submitCart(cart);
+                    submitted.increment();
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        Thread.sleep(MEASUREMENT_MILLIS);
+        running.set(false);
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executorService.shutdown();
+
+        return submitted.sum() * 1_000_000_000D / elapsedNanos;
+    }
+
+    //a mocked service would record every invocation and add its own contention to the measurement
+    private static final class DiscardingShoppingCartService implements ShoppingCartService {
+
+        @Override
+        public ShoppingCart save(ShoppingCart shoppingCart) {
+            return shoppingCart;
+        }
+
+        @Override
+        public Optional<ShoppingCart> get(Long id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public ShoppingCart update(ShoppingCart shoppingCart) {
+            return shoppingCart;
+        }
+
+        @Override
+        public void delete(Long id) {
+        }
+
+        @Override
+        public List<ShoppingCart> getAll() {
+            return Collections.emptyList();
+        }
+    }
+}
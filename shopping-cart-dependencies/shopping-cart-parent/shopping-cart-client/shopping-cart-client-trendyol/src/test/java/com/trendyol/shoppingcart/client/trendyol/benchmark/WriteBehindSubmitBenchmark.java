@@ -0,0 +1,152 @@
+package com.trendyol.shoppingcart.client.trendyol.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.client.trendyol.TrendyolShoppingCartClient;
+import com.trendyol.shoppingcart.client.trendyol.service.CampaignService;
+import com.trendyol.shoppingcart.client.trendyol.service.CouponService;
+import com.trendyol.shoppingcart.client.trendyol.service.TrendyolDeliveryCostService;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import com.trendyol.shoppingcart.core.service.WriteBehindCRUDService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.trendyol.shoppingcart.client.trendyol.ProductFakeData.apple;
+import static com.trendyol.shoppingcart.client.trendyol.ProductFakeData.banana;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/*
+Submits carts from one thread to a store taking a millisecond per call and ten microseconds per cart, with submitCart
+saving each cart on its own and with submitCartAsync through the write-behind stage. Reports carts per second until
+every cart is saved and store calls.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class WriteBehindSubmitBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindSubmitBenchmark.class);
+
+    private static final int CART_COUNT = 2_000;
+
+    private static final long ROUND_TRIP_NANOS = 1_000_000L;
+
+    private static final long PER_CART_NANOS = 10_000L;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    //a store answering after a simulated round trip, batches share one
+    private static final class RemoteShoppingCartService implements ShoppingCartService {
+
+        private final LongAdder callCount = new LongAdder();
+        private final LongAdder savedCount = new LongAdder();
+
+        @Override
+        public ShoppingCart save(ShoppingCart shoppingCart) {
+            return saveAll(List.of(shoppingCart)).get(0);
+        }
+
+        @Override
+        public List<ShoppingCart> saveAll(Collection<? extends ShoppingCart> shoppingCarts) {
+            callCount.increment();
+            savedCount.add(shoppingCarts.size());
+            LockSupport.parkNanos(ROUND_TRIP_NANOS + PER_CART_NANOS * shoppingCarts.size());
+            return new ArrayList<>(shoppingCarts);
+        }
+
+        @Override
+        public Optional<ShoppingCart> get(Long id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public ShoppingCart update(ShoppingCart shoppingCart) {
+            return save(shoppingCart);
+        }
+
+        @Override
+        public void delete(Long id) {
+        }
+
+        @Override
+        public List<ShoppingCart> getAll() {
+            return List.of();
+        }
+    }
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenSlowStore_whenSubmitThroughWriteBehind_thenReportThroughputAndStoreCalls() {
+        //given
+        RemoteShoppingCartService blockingStore = new RemoteShoppingCartService();
+        RemoteShoppingCartService writeBehindStore = new RemoteShoppingCartService();
+        TrendyolShoppingCartClient blockingClient = createClient(blockingStore);
+        TrendyolShoppingCartClient writeBehindClient = createClient(writeBehindStore);
+        WriteBehindCRUDService<ShoppingCart, Long> writeBehind = new WriteBehindCRUDService<>(writeBehindStore, 1_024, 256, Duration.ofMillis(5));
+        writeBehindClient.setAsyncShoppingCartService(writeBehind);
+
+        //when
+        long blockingStartNanos = System.nanoTime();
+        for (int i = 0; i < CART_COUNT; i++) {
+            blockingClient.submitCart(createCart());
+        }
+        double blockingPerSecond = CART_COUNT * 1_000_000_000D / (System.nanoTime() - blockingStartNanos);
+        long writeBehindStartNanos = System.nanoTime();
+        List<CompletableFuture<ShoppingCart>> saves = new ArrayList<>(CART_COUNT);
+        for (int i = 0; i < CART_COUNT; i++) {
+            saves.add(writeBehindClient.submitCartAsync(createCart(), Runnable::run));
+        }
+        long submittedNanos = System.nanoTime() - writeBehindStartNanos;
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0])).orTimeout(1, TimeUnit.MINUTES).join();
+        double writeBehindPerSecond = CART_COUNT * 1_000_000_000D / (System.nanoTime() - writeBehindStartNanos);
+        writeBehind.close();
+
+        //then
+        logger.warn("{} carts, saved one by one: {} carts/s with {} store calls, write-behind: {} carts/s with {} store calls, submit returned after {} ms",
+                CART_COUNT, String.format("%.0f", blockingPerSecond), blockingStore.callCount.sum(),
+                String.format("%.0f", writeBehindPerSecond), writeBehindStore.callCount.sum(), submittedNanos / 1_000_000L);
+        assertThat(writeBehindStore.savedCount.sum()).isEqualTo(CART_COUNT);
+        assertThat(writeBehindStore.callCount.sum()).isLessThan(CART_COUNT / 10);
+        assertThat(writeBehindPerSecond).isGreaterThan(blockingPerSecond);
+    }
+
+    private static TrendyolShoppingCartClient createClient(ShoppingCartService shoppingCartService) {
+        return new TrendyolShoppingCartClient(new TrendyolDeliveryCostService(), shoppingCartService,
+                mock(CampaignService.class), mock(CouponService.class));
+    }
+
+    private static ShoppingCart createCart() {
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, Quantity.valueOf(4));
+        cart.addProduct(banana, Quantity.valueOf(1));
+        return cart;
+    }
+}
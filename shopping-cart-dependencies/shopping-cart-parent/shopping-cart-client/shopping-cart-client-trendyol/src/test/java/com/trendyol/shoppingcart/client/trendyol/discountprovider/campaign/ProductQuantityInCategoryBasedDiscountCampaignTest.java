@@ -3,6 +3,7 @@ package com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign;
 
 import com.trendyol.shoppingcart.client.trendyol.domain.value.CampaignName;
 import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
 import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
 import com.trendyol.shoppingcart.core.domain.Category;
 import com.trendyol.shoppingcart.core.domain.ShoppingCart;
@@ -188,6 +189,37 @@ public class ProductQuantityInCategoryBasedDiscountCampaignTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void givenProductQuantityInCategoryBasedDiscountCampaign_whenFinishTimeSet_thenActiveBetweenStartAndFinishTime() {
+        //given
+        Instant startTime = Instant.parse("2024-01-01T00:00:00Z");
+        Instant finishTime = Instant.parse("2024-02-01T00:00:00Z");
+        ProductQuantityInCategoryBasedDiscountCampaign campaign = new ProductQuantityInCategoryBasedDiscountCampaign(CampaignName.valueOf("CAMPAIGN"),
+                new Category(Title.valueOf("Category")), Quantity.valueOf(10), Amount.valueOf(10D), startTime, finishTime);
+
+        //when
+        //then
+        assertThat(campaign.getActivationTime()).isEqualTo(startTime);
+        assertThat(campaign.getDeactivationTime()).isEqualTo(finishTime);
+        assertThat(campaign.isActiveAt(startTime)).isFalse();
+        assertThat(campaign.isActiveAt(startTime.plusNanos(1))).isTrue();
+        assertThat(campaign.isActiveAt(finishTime.minusNanos(1))).isTrue();
+        assertThat(campaign.isActiveAt(finishTime)).isFalse();
+    }
+
+    @Test
+    public void givenProductQuantityInCategoryBasedDiscountCampaign_whenFinishTimeNull_thenActiveWithoutBounds() {
+        //given
+        ProductQuantityInCategoryBasedDiscountCampaign campaign = new ProductQuantityInCategoryBasedDiscountCampaign(CampaignName.valueOf("CAMPAIGN"),
+                new Category(Title.valueOf("Category")), Quantity.valueOf(10), Amount.valueOf(10D), Instant.now().plus(Duration.ofDays(1)), null);
+
+        //when
+        //then
+        assertThat(campaign.getActivationTime()).isNull();
+        assertThat(campaign.getDeactivationTime()).isNull();
+        assertThat(campaign.isActiveAt(Instant.EPOCH)).isTrue();
+    }
+
     @Test
     public void givenProductQuantityInCategoryBasedDiscountCampaign_whenRegisterShoppingCartAsListener_thenAddShoppingCartToListenerList() {
         //given
@@ -326,4 +358,22 @@ public class ProductQuantityInCategoryBasedDiscountCampaignTest {
         verify(shoppingCart, never()).discountProvided(ArgumentMatchers.any(DiscountProvidedEvent.class));
     }
 
+    @Test
+    public void givenCampaignWithTimeWindow_whenProvideDiscountInContext_thenValidateAtEvaluationTimeOfContext() {
+        //given
+        Instant startTime = Instant.parse("2024-01-01T00:00:00Z");
+        Instant finishTime = Instant.parse("2024-01-02T00:00:00Z");
+        ProductQuantityInCategoryBasedDiscountCampaign campaign = new ProductQuantityInCategoryBasedDiscountCampaign(CampaignName.valueOf("CAMPAIGN"),
+                new Category(Title.valueOf("Category")), Quantity.valueOf(10), Amount.valueOf(10D), startTime, finishTime);
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+
+        //when
+        campaign.provideDiscount(new DiscountEvaluationContext(shoppingCart, finishTime));
+        campaign.provideDiscount(new DiscountEvaluationContext(shoppingCart, startTime.plus(Duration.ofHours(1))));
+
+        //then
+        assertThat(campaign.isValidAt(startTime)).isFalse();
+        assertThat(campaign.isValidAt(finishTime.minusNanos(1))).isTrue();
+        verify(shoppingCart, times(1)).discountProvided(ArgumentMatchers.any(DiscountProvidedEvent.class));
+    }
 }
@@ -290,4 +290,19 @@ public class MinimumCartAmountBasedDiscountCouponTest {
         verify(shoppingCart, never()).discountProvided(ArgumentMatchers.any(DiscountProvidedEvent.class));
     }
 
+    @Test
+    public void givenMinimumCartAmountBasedDiscountCoupon_whenExpireTimeSet_thenActiveUntilExpireTime() {
+        //given
+        Instant expireTime = Instant.parse("2024-02-01T00:00:00Z");
+        MinimumCartAmountBasedDiscountCoupon coupon = new MinimumCartAmountBasedDiscountCoupon(CouponCode.valueOf("COUPON"),
+                Amount.valueOf(10D), Amount.valueOf(10D), expireTime);
+
+        //when
+        //then
+        assertThat(coupon.getActivationTime()).isNull();
+        assertThat(coupon.getDeactivationTime()).isEqualTo(expireTime);
+        assertThat(coupon.isActiveAt(Instant.EPOCH)).isTrue();
+        assertThat(coupon.isActiveAt(expireTime.minusNanos(1))).isTrue();
+        assertThat(coupon.isActiveAt(expireTime)).isFalse();
+    }
 }
@@ -5,6 +5,7 @@ import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.domain.value.Amount;
 import com.trendyol.shoppingcart.core.domain.value.DiscountName;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.Rate;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -213,4 +214,20 @@ public class MinimumCartAmountBasedAmountDiscountTest {
     }
 
 
+
+    @Test
+    public void givenMinimumCartAmountBasedAmountDiscount_whenGetThresholdAndCartAggregate_thenReturnMinorUnitsOfAmounts() {
+        //given
+        MinimumCartAmountBasedAmountDiscount discount = new MinimumCartAmountBasedAmountDiscount(Amount.valueOf(50D), Amount.valueOf(5D));
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        when(shoppingCart.getCartAmount()).thenReturn(Amount.valueOf(75.5D));
+
+        //when
+        //then
+        assertThat(discount.getThreshold()).isEqualTo(5_000L);
+        assertThat(discount.getCartAggregate(shoppingCart)).isEqualTo(7_550L);
+        assertThat(discount.getCompetitionKey())
+                .isEqualTo(new MinimumCartAmountBasedAmountDiscount(Amount.valueOf(100D), Amount.valueOf(10D)).getCompetitionKey())
+                .isNotEqualTo(new MinimumCartAmountBasedRateDiscount(Amount.valueOf(50D), Rate.valueOf(10D)).getCompetitionKey());
+    }
 }
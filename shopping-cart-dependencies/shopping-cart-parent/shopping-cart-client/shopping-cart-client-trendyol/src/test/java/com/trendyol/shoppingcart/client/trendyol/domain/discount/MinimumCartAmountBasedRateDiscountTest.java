@@ -193,4 +193,41 @@ public class MinimumCartAmountBasedRateDiscountTest {
         assertThat(shoppingCart.getDiscountMap()).hasSize(1);
         assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.valueOf(2D));
     }
+
+    @Test
+    public void givenSharedDiscount_whenAddedToTwoShoppingCarts_thenKeepDiscountAmountPerShoppingCart() {
+        //given
+        ShoppingCart shoppingCart1 = mock(ShoppingCart.class, withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+        when(shoppingCart1.getCartAmount()).thenReturn(Amount.valueOf(20D));
+        ShoppingCart shoppingCart2 = mock(ShoppingCart.class, withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+        when(shoppingCart2.getCartAmount()).thenReturn(Amount.valueOf(50D));
+
+        MinimumCartAmountBasedRateDiscount discount = new MinimumCartAmountBasedRateDiscount(Amount.valueOf(10D), Rate.valueOf(10D));
+
+        //when
+        discount.addTo(shoppingCart1);
+        discount.addTo(shoppingCart2);
+
+        //then
+        DiscountName discountName = discount.getDiscountName();
+        assertThat(shoppingCart1.getDiscountMap().get(discountName).getDiscount()).isSameAs(discount);
+        assertThat(shoppingCart1.getDiscountMap().get(discountName).getDiscountAmount()).isEqualTo(Amount.valueOf(2D));
+        assertThat(shoppingCart2.getDiscountMap().get(discountName).getDiscount()).isSameAs(discount);
+        assertThat(shoppingCart2.getDiscountMap().get(discountName).getDiscountAmount()).isEqualTo(Amount.valueOf(5D));
+    }
+
+    @Test
+    public void givenMinimumCartAmountBasedRateDiscount_whenGetThresholdAndCartAggregate_thenReturnMinorUnitsOfAmounts() {
+        //given
+        MinimumCartAmountBasedRateDiscount discount = new MinimumCartAmountBasedRateDiscount(Amount.valueOf(100D), Rate.valueOf(10D));
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        when(shoppingCart.getCartAmount()).thenReturn(Amount.valueOf(99.99D));
+
+        //when
+        //then
+        assertThat(discount.getThreshold()).isEqualTo(10_000L);
+        assertThat(discount.getCartAggregate(shoppingCart)).isEqualTo(9_999L);
+        assertThat(discount.getCompetitionKey())
+                .isEqualTo(new MinimumCartAmountBasedRateDiscount(Amount.valueOf(50D), Rate.valueOf(5D)).getCompetitionKey());
+    }
 }
@@ -337,4 +337,22 @@ public class ProductQuantityInCategoryBasedAmountDiscountTest {
         assertThat(shoppingCart.getDiscountMap()).hasSize(1);
         assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.valueOf(15D));
     }
+
+    @Test
+    public void givenProductQuantityInCategoryBasedAmountDiscount_whenGetThresholdAndCartAggregate_thenReturnQuantitiesInCategory() {
+        //given
+        Category category = new Category(Title.valueOf("Category"));
+        Category otherCategory = new Category(Title.valueOf("Other Category"));
+        ProductQuantityInCategoryBasedAmountDiscount discount = new ProductQuantityInCategoryBasedAmountDiscount(category, Quantity.valueOf(3), Amount.valueOf(5D));
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        when(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(category)).thenReturn(Quantity.valueOf(7));
+
+        //when
+        //then
+        assertThat(discount.getThreshold()).isEqualTo(3L);
+        assertThat(discount.getCartAggregate(shoppingCart)).isEqualTo(7L);
+        assertThat(discount.getCompetitionKey())
+                .isEqualTo(new ProductQuantityInCategoryBasedAmountDiscount(category, Quantity.valueOf(5), Amount.valueOf(5D)).getCompetitionKey())
+                .isNotEqualTo(new ProductQuantityInCategoryBasedAmountDiscount(otherCategory, Quantity.valueOf(3), Amount.valueOf(5D)).getCompetitionKey());
+    }
 }
@@ -320,4 +320,22 @@ public class ProductQuantityInCategoryBasedRateDiscountTest {
         assertThat(shoppingCart.getDiscountMap()).hasSize(1);
         assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.valueOf(15D));
     }
+
+    @Test
+    public void givenProductQuantityInCategoryBasedRateDiscount_whenGetThresholdAndCartAggregate_thenReturnQuantitiesInCategory() {
+        //given
+        Category category = new Category(Title.valueOf("Category"));
+        Category otherCategory = new Category(Title.valueOf("Other Category"));
+        ProductQuantityInCategoryBasedRateDiscount discount = new ProductQuantityInCategoryBasedRateDiscount(category, Quantity.valueOf(3), Rate.valueOf(10D));
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        when(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(category)).thenReturn(Quantity.valueOf(7));
+
+        //when
+        //then
+        assertThat(discount.getThreshold()).isEqualTo(3L);
+        assertThat(discount.getCartAggregate(shoppingCart)).isEqualTo(7L);
+        assertThat(discount.getCompetitionKey())
+                .isEqualTo(new ProductQuantityInCategoryBasedRateDiscount(category, Quantity.valueOf(5), Rate.valueOf(10D)).getCompetitionKey())
+                .isNotEqualTo(new ProductQuantityInCategoryBasedRateDiscount(otherCategory, Quantity.valueOf(3), Rate.valueOf(10D)).getCompetitionKey());
+    }
 }
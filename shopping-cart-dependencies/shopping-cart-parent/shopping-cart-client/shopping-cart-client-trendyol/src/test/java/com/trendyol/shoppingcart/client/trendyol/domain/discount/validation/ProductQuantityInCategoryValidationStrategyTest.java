@@ -113,4 +113,27 @@ public class ProductQuantityInCategoryValidationStrategyTest {
         //then
         assertThat(result).isFalse();
     }
+
+    @Test
+    public void givenPositiveMinimumQuantity_whenGetRequiredCategories_thenReturnCategory() {
+        //given
+        Category category = new Category(Title.valueOf("Category"));
+        ProductQuantityInCategoryValidationStrategy validationStrategy = new ProductQuantityInCategoryValidationStrategy(category, Quantity.valueOf(3));
+
+        //when
+        //then
+        assertThat(validationStrategy.getRequiredCategories()).containsExactly(category);
+        assertThat(validationStrategy.getRequiredProducts()).isEmpty();
+    }
+
+    @Test
+    public void givenZeroMinimumQuantity_whenGetRequiredCategories_thenReturnEmptySet() {
+        //given
+        Category category = new Category(Title.valueOf("Category"));
+        ProductQuantityInCategoryValidationStrategy validationStrategy = new ProductQuantityInCategoryValidationStrategy(category, Quantity.ofZero());
+
+        //when
+        //then
+        assertThat(validationStrategy.getRequiredCategories()).isEmpty();
+    }
 }
@@ -118,4 +118,18 @@ public class CampaignNameTest {
         CampaignName campaignName2 = CampaignName.valueOf(value2);
         assertThat(campaignName1).isGreaterThan(campaignName2);
     }
+
+    @Test
+    public void givenSameValues_whenCreateInternedCampaignName_thenReturnSharedInstance() {
+        //given
+        String value1 = new String("INTERNED_CAMPAIGN");
+        String value2 = new String("INTERNED_CAMPAIGN");
+
+        //when
+        CampaignName first = CampaignName.interned(value1);
+        CampaignName second = CampaignName.interned(value2);
+
+        //then
+        assertThat(first).isSameAs(second).isEqualTo(CampaignName.valueOf(value1));
+    }
 }
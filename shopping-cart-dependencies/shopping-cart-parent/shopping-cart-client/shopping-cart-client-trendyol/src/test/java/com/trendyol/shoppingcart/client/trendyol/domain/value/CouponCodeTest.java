@@ -117,4 +117,18 @@ public class CouponCodeTest {
         CouponCode couponCode2 = CouponCode.valueOf(value2);
         assertThat(couponCode1).isGreaterThan(couponCode2);
     }
+
+    @Test
+    public void givenSameValues_whenCreateInternedCouponCode_thenReturnSharedInstance() {
+        //given
+        String value1 = new String("INTERNED_COUPON");
+        String value2 = new String("INTERNED_COUPON");
+
+        //when
+        CouponCode first = CouponCode.interned(value1);
+        CouponCode second = CouponCode.interned(value2);
+
+        //then
+        assertThat(first).isSameAs(second).isEqualTo(CouponCode.valueOf(value1));
+    }
 }
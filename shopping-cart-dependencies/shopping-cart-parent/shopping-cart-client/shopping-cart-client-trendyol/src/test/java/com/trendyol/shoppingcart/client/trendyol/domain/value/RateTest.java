@@ -198,4 +198,46 @@ public class RateTest {
                 .isInstanceOf(InvalidValueException.class)
                 .hasMessage("Divisor value can not be negative!");
     }
+
+    @Test
+    public void givenValue_whenCreateRate_thenKeepRateAsBasisPoints() {
+        //given
+        Double value = 12.345D;
+
+        //when
+        Rate rate = Rate.valueOf(value);
+
+        //then
+        assertThat(rate.basisPointValue()).isEqualTo(1235);
+        assertThat(rate).isEqualTo(Rate.ofBasisPoints(1235));
+        assertThat(rate.doubleValue()).isEqualTo(12.35D);
+    }
+
+    @Test
+    public void givenBasisPoints_whenBasisPointsAreGreaterThanHundredPercent_thenThrowInvalidValueException() {
+        //given
+        int basisPoints = 10_001;
+
+        //when
+        Throwable throwable = catchThrowable(() -> Rate.ofBasisPoints(basisPoints));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Rate value can not be greater than " + 100D + '!');
+    }
+
+    @Test
+    public void givenWholePercentages_whenCreateRate_thenReturnSharedInstance() {
+        //given
+        Double value = 15D;
+
+        //when
+        Rate rate = Rate.valueOf(value);
+
+        //then
+        assertThat(rate).isSameAs(Rate.ofBasisPoints(1500));
+        assertThat(Rate.valueOf(null)).isSameAs(Rate.ofZero());
+    }
 }
@@ -0,0 +1,35 @@
+package com.trendyol.shoppingcart.client.trendyol.service;
+
+import com.trendyol.shoppingcart.client.trendyol.CouponFakeData;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.Coupon;
+import com.trendyol.shoppingcart.client.trendyol.domain.value.CouponCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class BloomFilteredCouponServiceTest {
+
+    @Test
+    public void givenStoredCoupons_whenGetMistypedCouponCode_thenRejectWithoutCallingCouponService() {
+        //given
+        Coupon coupon = CouponFakeData.createCouponIfCartAmountGreaterEquals50ThenApplyDiscountAmountOf5;
+        CouponService couponService = mock(CouponService.class);
+        when(couponService.getAll()).thenReturn(List.of(coupon));
+        when(couponService.get(coupon.getCouponCode())).thenReturn(Optional.of(coupon));
+        BloomFilteredCouponService bloomFilteredCouponService = new BloomFilteredCouponService(couponService, 1_000);
+
+        //when
+        Optional<Coupon> storedCoupon = bloomFilteredCouponService.get(coupon.getCouponCode());
+        Optional<Coupon> mistypedCoupon = bloomFilteredCouponService.get(CouponCode.valueOf("COUPON-I"));
+
+        //then
+        assertThat(storedCoupon).contains(coupon);
+        assertThat(mistypedCoupon).isEmpty();
+        assertThat(bloomFilteredCouponService.getBloomFilter().getFalsePositiveRate()).isEqualTo(BloomFilteredCouponService.DEFAULT_FALSE_POSITIVE_RATE);
+        verify(couponService, never()).get(CouponCode.valueOf("COUPON-I"));
+    }
+}
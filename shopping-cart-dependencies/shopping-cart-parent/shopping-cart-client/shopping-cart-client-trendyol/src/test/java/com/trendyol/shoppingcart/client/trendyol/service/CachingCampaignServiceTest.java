@@ -0,0 +1,37 @@
+package com.trendyol.shoppingcart.client.trendyol.service;
+
+import com.trendyol.shoppingcart.client.trendyol.CampaignFakeData;
+import com.trendyol.shoppingcart.client.trendyol.CategoryFakeData;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.campaign.Campaign;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CachingCampaignServiceTest {
+
+    @Test
+    public void givenCachedCampaign_whenGetAgainAndUpdate_thenServeFromCacheUntilUpdated() {
+        //given
+        Campaign campaign = CampaignFakeData.createCampaignIfQuantityOfProductsInFoodCategoryGreaterEquals5ThenApplyDiscountRateOf10(CategoryFakeData.food);
+        CampaignService campaignService = mock(CampaignService.class);
+        when(campaignService.get(campaign.getCampaignName())).thenReturn(Optional.of(campaign));
+        when(campaignService.update(campaign)).thenReturn(campaign);
+        CachingCampaignService cachingCampaignService = new CachingCampaignService(campaignService, 100, Duration.ofMinutes(1));
+
+        //when
+        cachingCampaignService.get(campaign.getCampaignName());
+        cachingCampaignService.get(campaign.getCampaignName());
+        cachingCampaignService.update(campaign);
+        Optional<Campaign> cachedCampaign = cachingCampaignService.get(campaign.getCampaignName());
+
+        //then
+        assertThat(cachedCampaign).contains(campaign);
+        assertThat(cachingCampaignService.getHitCount()).isEqualTo(1);
+        assertThat(cachingCampaignService.getMissCount()).isEqualTo(2);
+        verify(campaignService, times(2)).get(campaign.getCampaignName());
+    }
+}
@@ -0,0 +1,36 @@
+package com.trendyol.shoppingcart.client.trendyol.service;
+
+import com.trendyol.shoppingcart.client.trendyol.CouponFakeData;
+import com.trendyol.shoppingcart.client.trendyol.discountprovider.coupon.Coupon;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CachingCouponServiceTest {
+
+    @Test
+    public void givenCachedCoupon_whenGetAgainAndUpdate_thenServeFromCacheUntilUpdated() {
+        //given
+        Coupon coupon = CouponFakeData.createCouponIfCartAmountGreaterEquals50ThenApplyDiscountAmountOf5;
+        CouponService couponService = mock(CouponService.class);
+        when(couponService.get(coupon.getCouponCode())).thenReturn(Optional.of(coupon));
+        when(couponService.update(coupon)).thenReturn(coupon);
+        CachingCouponService cachingCouponService = new CachingCouponService(couponService, 100, Duration.ofMinutes(1));
+
+        //when
+        cachingCouponService.get(coupon.getCouponCode());
+        cachingCouponService.get(coupon.getCouponCode());
+        cachingCouponService.update(coupon);
+        Optional<Coupon> cachedCoupon = cachingCouponService.get(coupon.getCouponCode());
+
+        //then
+        assertThat(cachedCoupon).contains(coupon);
+        assertThat(cachingCouponService.getHitCount()).isEqualTo(1);
+        assertThat(cachingCouponService.getMissCount()).isEqualTo(2);
+        verify(couponService, times(2)).get(coupon.getCouponCode());
+    }
+}
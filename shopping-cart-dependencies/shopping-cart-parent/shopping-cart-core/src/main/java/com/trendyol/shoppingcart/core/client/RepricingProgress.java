@@ -0,0 +1,58 @@
+package com.trendyol.shoppingcart.core.client;
+
+import java.time.Duration;
+
+/*
+Progress of a bulk repricing run
+
+Published after every chunk and returned once the run is finished.
+ */
+public final class RepricingProgress {
+
+    private final int totalCartCount;
+    private final int repricedCartCount;
+    private final int failedCartCount;
+    private final Duration elapsed;
+
+    RepricingProgress(int totalCartCount, int repricedCartCount, int failedCartCount, Duration elapsed) {
+        this.totalCartCount = totalCartCount;
+        this.repricedCartCount = repricedCartCount;
+        this.failedCartCount = failedCartCount;
+        this.elapsed = elapsed;
+    }
+
+    public int getTotalCartCount() {
+        return totalCartCount;
+    }
+
+    public int getRepricedCartCount() {
+        return repricedCartCount;
+    }
+
+    public int getFailedCartCount() {
+        return failedCartCount;
+    }
+
+    public int getProcessedCartCount() {
+        return repricedCartCount + failedCartCount;
+    }
+
+    public boolean isFinished() {
+        return getProcessedCartCount() >= totalCartCount;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public double getCartsPerSecond() {
+        long elapsedNanos = elapsed.toNanos();
+        return elapsedNanos > 0L ? getProcessedCartCount() * 1_000_000_000D / elapsedNanos : 0D;
+    }
+
+    @Override
+    public String toString() {
+        return "Repriced " + repricedCartCount + "/" + totalCartCount + " carts, " + failedCartCount + " failed, "
+                + String.format("%.0f", getCartsPerSecond()) + " carts/s";
+    }
+}
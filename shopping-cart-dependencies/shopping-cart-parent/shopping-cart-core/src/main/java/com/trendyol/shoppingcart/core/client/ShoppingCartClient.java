@@ -1,47 +1,166 @@
 package com.trendyol.shoppingcart.core.client;
 
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountProvider;
 import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderGroup;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountRuleIndex;
+import com.trendyol.shoppingcart.core.discountprovider.ParallelProvision;
 import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.service.AsyncCRUDService;
 import com.trendyol.shoppingcart.core.service.DeliveryCostService;
 import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
+/*
+Shopping cart client
+
+A client is meant to be shared, submitCart may be called from many threads while discount providers are added or
+removed. Provider groups are copy-on-write and discount definitions hold no per-cart state, so submissions take no locks.
+A single shopping cart must not be submitted from two threads at the same time.
+
+submitCartAsync runs the same pipeline on an executor, the pricing, persistence and reporting stages follow each
+other without blocking the caller. Without a configured executor, a shared pool bounded by the processor count is used.
+With an asynchronous shopping cart service set, the save is composed instead of run on the executor, so no thread
+waits for the store and the executor prices the next carts while saves are in flight. The returned stage completes once
+the store has the cart, a WriteBehindCRUDService turns these saves into batches. The cart belongs to the pipeline until
+the stage completes. submitCart saves through the same service but waits for the save and rethrows its failure.
+
+Discount provision is sequential unless a parallel provision is set, which pays off for carts reaching many rules.
+ */
 public abstract class ShoppingCartClient {
 
     protected final DeliveryCostService deliveryCostService;
     protected final ShoppingCartService shoppingCartService;
 
+    protected final Executor submitExecutor;
+
     protected final DiscountProviderGroup ruleDiscountProvider = new DiscountProviderGroup();
 
+    //compiled lazily from ruleDiscountProvider and again after the provider tree changes
+    private volatile DiscountRuleIndex ruleIndex;
+
+    //null provides discounts sequentially on the submitting thread
+    private volatile ParallelProvision parallelProvision;
+
+    //null saves submitted carts through shoppingCartService, asynchronous ones on the submit executor
+    private volatile AsyncCRUDService<ShoppingCart, Long> asyncShoppingCartService;
+
     public ShoppingCartClient(ShoppingCartService shoppingCartService) {
         this(null, shoppingCartService);
     }
 
     public ShoppingCartClient(DeliveryCostService deliveryCostService, ShoppingCartService shoppingCartService) {
+        this(deliveryCostService, shoppingCartService, null);
+    }
+
+    public ShoppingCartClient(DeliveryCostService deliveryCostService, ShoppingCartService shoppingCartService, Executor submitExecutor) {
         if (shoppingCartService == null) {
             throw new InvalidValueException("Shopping cart service can not be null!");
         }
         this.deliveryCostService = deliveryCostService;
         this.shoppingCartService = shoppingCartService;
+        this.submitExecutor = submitExecutor;
     }
 
-    private void provideDiscounts(ShoppingCart shoppingCart) {
-        ruleDiscountProvider.registerDiscountProviderEventListener(shoppingCart);
-        ruleDiscountProvider.provideDiscount();
+    //the context only lives for this submission, so providers never keep a reference to the cart
+    private void provideDiscounts(DiscountProvider discountProvider, ShoppingCart shoppingCart) {
+        discountProvider.provideDiscount(new DiscountEvaluationContext(shoppingCart, pricingTime()));
     }
 
-    public void submitCart(ShoppingCart shoppingCart) {
-        if (shoppingCart == null) {
-            throw new InvalidValueException("Shopping cart can not be null!");
+    private ShoppingCart price(ShoppingCart shoppingCart) {
+        refreshRuleDiscountProvider();
+        return price(currentRuleIndex(), shoppingCart);
+    }
+
+    //called before every pricing, clients whose providers change over time bring ruleDiscountProvider up to date here
+    protected void refreshRuleDiscountProvider() {
+    }
+
+    //the instant time bound providers are validated at, clients with their own clock price carts on it
+    protected Instant pricingTime() {
+        return Instant.now();
+    }
+
+    //concurrent submitters may compile the same plan twice, which is cheaper than making them wait for each other
+    DiscountRuleIndex currentRuleIndex() {
+        DiscountRuleIndex current = ruleIndex;
+        ParallelProvision provision = parallelProvision;
+        if (current == null || !current.isCurrent()) {
+            current = DiscountRuleIndex.compile(ruleDiscountProvider).withParallelProvision(provision);
+            ruleIndex = current;
+        } else if (current.getParallelProvision() != provision) {
+            current = current.withParallelProvision(provision);
+            ruleIndex = current;
         }
-        provideDiscounts(shoppingCart);
+        return current;
+    }
+
+    ShoppingCart price(DiscountProvider discountProvider, ShoppingCart shoppingCart) {
+        provideDiscounts(discountProvider, shoppingCart);
         shoppingCart.applyDiscounts();
         if (deliveryCostService != null) {
             shoppingCart.setDeliveryCost(deliveryCostService.calculateFor(shoppingCart));
             shoppingCart.applyDeliveryCost();
         }
-        ShoppingCart savedShoppingCart = shoppingCartService.save(shoppingCart);
+        return shoppingCart;
+    }
+
+    private ShoppingCart report(ShoppingCart savedShoppingCart) {
         savedShoppingCart.print();
+        return savedShoppingCart;
+    }
+
+    public void submitCart(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+        AsyncCRUDService<ShoppingCart, Long> asyncService = asyncShoppingCartService;
+        if (asyncService != null) {
+            report(join(asyncService.save(price(shoppingCart))));
+            return;
+        }
+        report(shoppingCartService.save(price(shoppingCart)));
+    }
+
+    //waits for a save and rethrows what the store threw
+    private static ShoppingCart join(CompletionStage<ShoppingCart> save) {
+        try {
+            return save.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<ShoppingCart> submitCartAsync(ShoppingCart shoppingCart) {
+        return submitCartAsync(shoppingCart, submitExecutor != null ? submitExecutor : SubmitExecutors.defaultExecutor());
+    }
+
+    public CompletableFuture<ShoppingCart> submitCartAsync(ShoppingCart shoppingCart, Executor executor) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+
+        if (executor == null) {
+            throw new InvalidValueException("Executor can not be null!");
+        }
+
+        CompletableFuture<ShoppingCart> pricedShoppingCart = CompletableFuture.supplyAsync(() -> price(shoppingCart), executor);
+        AsyncCRUDService<ShoppingCart, Long> asyncService = asyncShoppingCartService;
+        CompletableFuture<ShoppingCart> savedShoppingCart = asyncService != null
+                ? pricedShoppingCart.thenCompose(asyncService::save)
+                : pricedShoppingCart.thenApplyAsync(shoppingCartService::save, executor);
+        return savedShoppingCart.thenApplyAsync(this::report, executor);
     }
 
     public DeliveryCostService getDeliveryCostService() {
@@ -52,6 +171,26 @@ public abstract class ShoppingCartClient {
         return shoppingCartService;
     }
 
+    public Executor getSubmitExecutor() {
+        return submitExecutor;
+    }
+
+    public ParallelProvision getParallelProvision() {
+        return parallelProvision;
+    }
+
+    public void setParallelProvision(ParallelProvision parallelProvision) {
+        this.parallelProvision = parallelProvision;
+    }
+
+    public AsyncCRUDService<ShoppingCart, Long> getAsyncShoppingCartService() {
+        return asyncShoppingCartService;
+    }
+
+    public void setAsyncShoppingCartService(AsyncCRUDService<ShoppingCart, Long> asyncShoppingCartService) {
+        this.asyncShoppingCartService = asyncShoppingCartService;
+    }
+
     public DiscountProviderGroup getRuleDiscountProvider() {
         return ruleDiscountProvider;
     }
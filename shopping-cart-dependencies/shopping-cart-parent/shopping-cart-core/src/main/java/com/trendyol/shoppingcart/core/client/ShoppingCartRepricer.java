@@ -0,0 +1,183 @@
+package com.trendyol.shoppingcart.core.client;
+
+import com.trendyol.shoppingcart.core.discountprovider.DiscountRuleIndex;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/*
+Bulk repricing of stored shopping carts
+
+Every run takes one snapshot of the client's discount providers, so all carts are priced against the same catalog
+even if campaigns or coupons change meanwhile. Carts are read from the spliterator of the shopping cart service in
+chunks, so a paging store never loads all carts at once. Each chunk is priced in parallel on a fork-join pool and
+written back with one saveAll, without printing the carts. Carts are priced on copies, a cart failing to price is
+not changed at all. The copies carry the version they were read at, so a versioned store rejects the write of a cart
+changed meanwhile. When the batch write fails, the chunk is written cart by cart and only the rejected carts count as
+failed.
+ */
+public class ShoppingCartRepricer {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1_024;
+
+    //below this many carts a fork-join task prices carts itself instead of splitting further
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(ShoppingCartRepricer.class);
+
+    private final ShoppingCartClient shoppingCartClient;
+    private final ForkJoinPool forkJoinPool;
+    private final int chunkSize;
+
+    public ShoppingCartRepricer(ShoppingCartClient shoppingCartClient) {
+        this(shoppingCartClient, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ShoppingCartRepricer(ShoppingCartClient shoppingCartClient, ForkJoinPool forkJoinPool, int chunkSize) {
+        if (shoppingCartClient == null) {
+            throw new InvalidValueException("Shopping cart client can not be null!");
+        }
+
+        if (forkJoinPool == null) {
+            throw new InvalidValueException("Fork join pool can not be null!");
+        }
+
+        if (chunkSize <= 0) {
+            throw new InvalidValueException("Chunk size must be greater than 0!");
+        }
+        this.shoppingCartClient = shoppingCartClient;
+        this.forkJoinPool = forkJoinPool;
+        this.chunkSize = chunkSize;
+    }
+
+    public RepricingProgress repriceAll() {
+        return repriceAll(progress -> logger.info("{}", progress));
+    }
+
+    public RepricingProgress repriceAll(Consumer<RepricingProgress> progressListener) {
+        if (progressListener == null) {
+            throw new InvalidValueException("Progress listener can not be null!");
+        }
+
+        shoppingCartClient.refreshRuleDiscountProvider();
+        DiscountRuleIndex catalogSnapshot = DiscountRuleIndex.compile(shoppingCartClient.getRuleDiscountProvider().snapshot());
+        ShoppingCartService shoppingCartService = shoppingCartClient.getShoppingCartService();
+        //counted by the store, a spliterator may only know an upper bound of its size
+        int totalCartCount = (int) Math.min(shoppingCartService.count(), Integer.MAX_VALUE);
+        Spliterator<ShoppingCart> shoppingCarts = shoppingCartService.spliterator();
+
+        long startNanos = System.nanoTime();
+        int repricedCartCount = 0;
+        int failedCartCount = 0;
+        RepricingProgress progress = new RepricingProgress(totalCartCount, 0, 0, Duration.ZERO);
+        List<ShoppingCart> chunk = new ArrayList<>(chunkSize);
+        while (nextChunk(shoppingCarts, chunk)) {
+            List<ShoppingCart> repricedCarts = forkJoinPool.invoke(new RepriceTask(catalogSnapshot, chunk));
+
+            int writtenCartCount = writeBack(shoppingCartService, repricedCarts);
+            repricedCartCount += writtenCartCount;
+            failedCartCount += chunk.size() - writtenCartCount;
+
+            progress = new RepricingProgress(Math.max(totalCartCount, repricedCartCount + failedCartCount), repricedCartCount,
+                    failedCartCount, Duration.ofNanos(System.nanoTime() - startNanos));
+            progressListener.accept(progress);
+        }
+        return progress;
+    }
+
+    //returns how many of the carts were written
+    private int writeBack(ShoppingCartService shoppingCartService, List<ShoppingCart> repricedCarts) {
+        if (repricedCarts.isEmpty()) {
+            return 0;
+        }
+        try {
+            shoppingCartService.saveAll(repricedCarts);
+            return repricedCarts.size();
+        } catch (RuntimeException e) {
+            logger.warn("Repriced chunk could not be written at once, writing its carts one by one.", e);
+        }
+
+        int writtenCartCount = 0;
+        for (ShoppingCart repricedCart : repricedCarts) {
+            try {
+                shoppingCartService.save(repricedCart);
+                writtenCartCount++;
+            } catch (RuntimeException e) {
+                logger.warn("Shopping cart {} could not be written back!", repricedCart.getId(), e);
+            }
+        }
+        return writtenCartCount;
+    }
+
+    //a paging store fetches the carts of the next chunk only now
+    private boolean nextChunk(Spliterator<ShoppingCart> shoppingCarts, List<ShoppingCart> chunk) {
+        chunk.clear();
+        boolean advanced = true;
+        while (advanced && chunk.size() < chunkSize) {
+            advanced = shoppingCarts.tryAdvance(chunk::add);
+        }
+        return !chunk.isEmpty();
+    }
+
+    public ShoppingCartClient getShoppingCartClient() {
+        return shoppingCartClient;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    private final class RepriceTask extends RecursiveTask<List<ShoppingCart>> {
+
+        private final DiscountRuleIndex catalogSnapshot;
+        private final List<ShoppingCart> shoppingCarts;
+
+        private RepriceTask(DiscountRuleIndex catalogSnapshot, List<ShoppingCart> shoppingCarts) {
+            this.catalogSnapshot = catalogSnapshot;
+            this.shoppingCarts = shoppingCarts;
+        }
+
+        @Override
+        protected List<ShoppingCart> compute() {
+            if (shoppingCarts.size() <= SEQUENTIAL_THRESHOLD) {
+                return repriceSequentially();
+            }
+            int middle = shoppingCarts.size() / 2;
+            RepriceTask left = new RepriceTask(catalogSnapshot, shoppingCarts.subList(0, middle));
+            RepriceTask right = new RepriceTask(catalogSnapshot, shoppingCarts.subList(middle, shoppingCarts.size()));
+            left.fork();
+            List<ShoppingCart> repricedCarts = new ArrayList<>(right.compute());
+            repricedCarts.addAll(0, left.join());
+            return repricedCarts;
+        }
+
+        //a cart that can not be priced is left as stored and counted as failed, the rest of the chunk goes on
+        private List<ShoppingCart> repriceSequentially() {
+            List<ShoppingCart> repricedCarts = new ArrayList<>(shoppingCarts.size());
+            for (ShoppingCart shoppingCart : shoppingCarts) {
+                try {
+                    ShoppingCart repricedCart = shoppingCart.copy();
+                    repricedCart.resetPricing();
+                    repricedCarts.add(shoppingCartClient.price(catalogSnapshot, repricedCart));
+                } catch (RuntimeException e) {
+                    logger.warn("Shopping cart {} could not be repriced!", shoppingCart.getId(), e);
+                }
+            }
+            return repricedCarts;
+        }
+    }
+}
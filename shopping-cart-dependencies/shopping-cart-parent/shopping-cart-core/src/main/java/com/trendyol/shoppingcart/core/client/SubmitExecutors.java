@@ -0,0 +1,54 @@
+package com.trendyol.shoppingcart.core.client;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Default executor of asynchronous cart submissions
+
+A pool of daemon threads, one per available processor, in front of a bounded queue. Idle threads end after a while.
+When the queue is full the submitting thread runs the stage itself, so a burst of submissions slows its callers down
+instead of starting a thread per cart. Callers wanting another policy pass an executor of their own.
+ */
+final class SubmitExecutors {
+
+    static final int QUEUE_CAPACITY = 1_024;
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private SubmitExecutors() {
+    }
+
+    static Executor defaultExecutor() {
+        return Holder.DEFAULT_EXECUTOR;
+    }
+
+    static ExecutorService createDefaultExecutor() {
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY), new SubmitThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class Holder {
+        private static final ExecutorService DEFAULT_EXECUTOR = createDefaultExecutor();
+    }
+
+    private static final class SubmitThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "shopping-cart-submit-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
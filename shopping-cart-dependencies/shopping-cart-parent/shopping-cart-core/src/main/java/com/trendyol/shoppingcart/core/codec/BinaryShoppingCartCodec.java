@@ -0,0 +1,320 @@
+package com.trendyol.shoppingcart.core.codec;
+
+import com.trendyol.shoppingcart.core.domain.CartItem;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.AppliedDiscount;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+Binary shopping cart codec
+
+Encodes a cart in a few bytes per line. Product titles, category titles and discount names go once per cart into a
+dictionary and are referred to by their position in it, and a category is written once with a reference to its
+parent. A line is then a title reference, a category reference, a price and a quantity. Numbers are varints, amounts
+are written as their minor units and signed values are zigzag encoded. The pricing amounts come first, so
+readTotalAmount gets the total without decoding the lines.
+
+Decode reads the bytes in place and takes titles from the title pool, so carts decoded from the same bytes share them.
+Categories are looked up by their title path from the given root categories, a cart referring to an unknown category
+can not be decoded. A cart holds at most one applied discount per name, so the name identifies a discount and the
+given discounts must not share one. Applied discounts are looked up by name among them, a discount that is no longer
+known is left out of the decoded cart while its amount stays in the pricing amounts. A cart carrying another definition
+under the name of a known discount can not be encoded, it would decode to the wrong one.
+ */
+public final class BinaryShoppingCartCodec implements ShoppingCartCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int MAXIMUM_VARINT_SIZE = 10;
+
+    private final Map<Title, Category> rootCategories = new HashMap<>();
+    private final Map<DiscountName, Discount> discounts = new HashMap<>();
+
+    //a growing byte array, cheaper than a stream for many small writes
+    private static final class Output {
+
+        private byte[] bytes = new byte[128];
+        private int size;
+
+        private void writeByte(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeString(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(encoded.length);
+            if (size + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size * 2, size + encoded.length));
+            }
+            System.arraycopy(encoded, 0, bytes, size, encoded.length);
+            size += encoded.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    public BinaryShoppingCartCodec(Collection<Category> rootCategories) {
+        this(rootCategories, List.of());
+    }
+
+    public BinaryShoppingCartCodec(Collection<Category> rootCategories, Collection<? extends Discount> discounts) {
+        if (rootCategories == null) {
+            throw new InvalidValueException("Root categories can not be null!");
+        }
+
+        if (discounts == null) {
+            throw new InvalidValueException("Discounts can not be null!");
+        }
+
+        for (Category rootCategory : rootCategories) {
+            this.rootCategories.put(rootCategory.getTitle(), rootCategory);
+        }
+        for (Discount discount : discounts) {
+            Discount known = this.discounts.putIfAbsent(discount.getDiscountName(), discount);
+            if (known != null && !known.equals(discount)) {
+                throw new InvalidValueException("Discount name " + discount.getDiscountName() + " is not unique!");
+            }
+        }
+    }
+
+    @Override
+    public byte[] encode(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<Category, Integer> categories = new LinkedHashMap<>();
+        Collection<CartItem> cartItems = shoppingCart.getCartItems();
+        for (CartItem cartItem : cartItems) {
+            indexOf(strings, cartItem.getProduct().getTitle().getValue());
+            indexOf(categories, strings, cartItem.getCategory());
+        }
+        Collection<AppliedDiscount> appliedDiscounts = shoppingCart.getDiscountMap().values();
+        for (AppliedDiscount appliedDiscount : appliedDiscounts) {
+            Discount known = discounts.get(appliedDiscount.getDiscountName());
+            if (known != null && !known.equals(appliedDiscount.getDiscount())) {
+                throw new InvalidValueException("Discount " + appliedDiscount.getDiscountName() + " does not match the known discount of that name!");
+            }
+            indexOf(strings, appliedDiscount.getDiscountName().getValue());
+        }
+
+        Output out = new Output();
+        out.writeByte(FORMAT_VERSION);
+        out.writeSignedVarLong(shoppingCart.getCartAmount().minorUnitValue());
+        out.writeSignedVarLong(shoppingCart.getTotalDiscount().minorUnitValue());
+        out.writeSignedVarLong(shoppingCart.getDeliveryCost().minorUnitValue());
+        out.writeSignedVarLong(shoppingCart.getTotalAmount().minorUnitValue());
+
+        out.writeVarLong(strings.size());
+        for (String string : strings.keySet()) {
+            out.writeString(string);
+        }
+
+        //parents come before their children, a reference of 0 means a root category
+        out.writeVarLong(categories.size());
+        for (Category category : categories.keySet()) {
+            Category parent = category.getParent();
+            out.writeVarLong(parent != null ? categories.get(parent) + 1 : 0);
+            out.writeVarLong(strings.get(category.getTitle().getValue()));
+        }
+
+        out.writeVarLong(cartItems.size());
+        for (CartItem cartItem : cartItems) {
+            out.writeVarLong(strings.get(cartItem.getProduct().getTitle().getValue()));
+            out.writeVarLong(categories.get(cartItem.getCategory()));
+            out.writeSignedVarLong(cartItem.getUnitPrice().minorUnitValue());
+            out.writeVarLong(cartItem.getQuantity().intValue());
+        }
+
+        out.writeVarLong(appliedDiscounts.size());
+        for (AppliedDiscount appliedDiscount : appliedDiscounts) {
+            out.writeVarLong(strings.get(appliedDiscount.getDiscountName().getValue()));
+            out.writeSignedVarLong(appliedDiscount.getDiscountAmount().minorUnitValue());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public ShoppingCart decode(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new InvalidValueException("Buffer can not be null!");
+        }
+
+        try {
+            readFormatVersion(buffer);
+            Amount cartAmount = readAmount(buffer);
+            Amount totalDiscount = readAmount(buffer);
+            Amount deliveryCost = readAmount(buffer);
+            Amount totalAmount = readAmount(buffer);
+
+            String[] strings = new String[readCount(buffer)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+
+            Category[] categories = new Category[readCount(buffer)];
+            for (int i = 0; i < categories.length; i++) {
+                int parentReference = readCount(buffer);
+                Title title = Title.interned(strings[readCount(buffer)]);
+                Category category = parentReference == 0
+                        ? rootCategories.get(title)
+                        : categories[parentReference - 1].getChildren().get(title);
+                if (category == null) {
+                    throw new InvalidValueException("Category " + title + " is unknown!");
+                }
+                categories[i] = category;
+            }
+
+            ShoppingCart shoppingCart = new ShoppingCart();
+            int itemCount = readCount(buffer);
+            for (int i = 0; i < itemCount; i++) {
+                Title title = Title.interned(strings[readCount(buffer)]);
+                Category category = categories[readCount(buffer)];
+                Amount price = readAmount(buffer);
+                Quantity quantity = Quantity.valueOf(Math.toIntExact(readVarLong(buffer)));
+                shoppingCart.addProduct(new Product(title, price, category), quantity);
+            }
+
+            int discountCount = readCount(buffer);
+            for (int i = 0; i < discountCount; i++) {
+                Discount discount = discounts.get(DiscountName.valueOf(strings[readCount(buffer)]));
+                Amount discountAmount = readAmount(buffer);
+                if (discount != null) {
+                    shoppingCart.getDiscountMap().put(discount.getDiscountName(), new AppliedDiscount(discount, discountAmount));
+                }
+            }
+            shoppingCart.restorePricing(cartAmount, totalDiscount, deliveryCost, totalAmount);
+            return shoppingCart;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException e) {
+            throw new InvalidValueException("Encoded shopping cart is damaged!", e);
+        }
+    }
+
+    //reads the total amount of an encoded cart without decoding it or moving the position of the buffer
+    public static Amount readTotalAmount(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new InvalidValueException("Buffer can not be null!");
+        }
+
+        ByteBuffer view = buffer.duplicate();
+        try {
+            readFormatVersion(view);
+            for (int i = 0; i < 3; i++) {
+                readSignedVarLong(view);
+            }
+            return readAmount(view);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidValueException("Encoded shopping cart is damaged!", e);
+        }
+    }
+
+    private static int indexOf(Map<String, Integer> strings, String value) {
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+        }
+        return index;
+    }
+
+    private static int indexOf(Map<Category, Integer> categories, Map<String, Integer> strings, Category category) {
+        Integer index = categories.get(category);
+        if (index == null) {
+            if (category.getParent() != null) {
+                indexOf(categories, strings, category.getParent());
+            }
+            indexOf(strings, category.getTitle().getValue());
+            index = categories.size();
+            categories.put(category, index);
+        }
+        return index;
+    }
+
+    private static void readFormatVersion(ByteBuffer buffer) {
+        byte formatVersion = buffer.get();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new InvalidValueException("Unsupported shopping cart format version " + formatVersion + "!");
+        }
+    }
+
+    private static Amount readAmount(ByteBuffer buffer) {
+        return Amount.ofMinorUnits(readSignedVarLong(buffer));
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        long count = readVarLong(buffer);
+        if (count > buffer.capacity()) {
+            throw new InvalidValueException("Encoded shopping cart is damaged!");
+        }
+        return (int) count;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readCount(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static long readSignedVarLong(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int i = 0; i < MAXIMUM_VARINT_SIZE; i++) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << (7 * i);
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new InvalidValueException("Encoded shopping cart is damaged!");
+    }
+}
@@ -0,0 +1,19 @@
+package com.trendyol.shoppingcart.core.codec;
+
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+
+import java.nio.ByteBuffer;
+
+/*
+Shopping cart codec
+
+Turns carts into bytes and back for stores keeping them outside the heap or on disk. The id and the version are
+kept by the store next to the encoded cart, so a codec leaves them out and decode returns a cart without them.
+Decode reads from the position to the limit of the buffer and may not keep a reference to it.
+ */
+public interface ShoppingCartCodec {
+
+    byte[] encode(ShoppingCart shoppingCart);
+
+    ShoppingCart decode(ByteBuffer buffer);
+}
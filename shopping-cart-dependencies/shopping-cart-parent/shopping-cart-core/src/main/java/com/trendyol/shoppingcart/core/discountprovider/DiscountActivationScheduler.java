@@ -0,0 +1,205 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+
+/*
+Activation scheduler of time bound discount providers
+
+Scheduled providers are kept out of pricing until their activation time and are dropped at their deactivation time.
+The activation and deactivation instants wait in a queue ordered by time, advance moves the providers whose instants
+have passed into or out of the active group, so pricing only walks the providers that are live. Until the earliest
+pending instant advance only reads the clock.
+
+The active group keeps the order the providers were scheduled in, whenever they became active, and it is replaced as
+a whole so pricing never sees a half applied change.
+ */
+public final class DiscountActivationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscountActivationScheduler.class);
+
+    private final Clock clock;
+
+    private final DiscountProviderGroup activeDiscountProviders = new DiscountProviderGroup();
+
+    private final Map<ScheduledDiscountProvider, Schedule> schedules = new HashMap<>();
+
+    //active providers by schedule order
+    private final TreeMap<Long, ScheduledDiscountProvider> activeProviders = new TreeMap<>();
+
+    //boundaries of unscheduled providers are skipped when they come up, or dropped once they outnumber the live ones
+    private final PriorityQueue<Boundary> boundaries = new PriorityQueue<>();
+
+    private long nextSequence;
+
+    private volatile Instant nextBoundaryTime = Instant.MAX;
+
+    public DiscountActivationScheduler() {
+        this(Clock.systemUTC());
+    }
+
+    public DiscountActivationScheduler(Clock clock) {
+        if (clock == null) {
+            throw new InvalidValueException("Clock can not be null!");
+        }
+
+        this.clock = clock;
+    }
+
+    public void schedule(ScheduledDiscountProvider discountProvider) {
+        scheduleAll(Collections.singletonList(discountProvider));
+    }
+
+    public synchronized void scheduleAll(Collection<? extends ScheduledDiscountProvider> discountProviders) {
+        if (discountProviders == null) {
+            throw new InvalidValueException("Discount providers can not be null!");
+        }
+
+        for (ScheduledDiscountProvider discountProvider : discountProviders) {
+            if (discountProvider == null) {
+                throw new InvalidValueException("Discount provider can not be null!");
+            }
+        }
+
+        Instant now = clock.instant();
+        boolean changed = false;
+        for (ScheduledDiscountProvider discountProvider : discountProviders) {
+            if (schedules.containsKey(discountProvider)) {
+                continue;
+            }
+            Schedule schedule = new Schedule(discountProvider, nextSequence++);
+            schedules.put(discountProvider, schedule);
+            Instant activationTime = discountProvider.getActivationTime();
+            if (activationTime != null && !now.isAfter(activationTime)) {
+                boundaries.add(new Boundary(activationTime, schedule, true));
+            } else {
+                changed |= activate(schedule, now);
+            }
+        }
+        publish(changed);
+    }
+
+    public synchronized void unschedule(ScheduledDiscountProvider discountProvider) {
+        Schedule schedule = schedules.remove(discountProvider);
+        if (schedule == null) {
+            return;
+        }
+        schedule.cancelled = true;
+        boolean changed = activeProviders.remove(schedule.sequence) != null;
+        if (boundaries.size() > 2 * schedules.size() + 64) {
+            boundaries.removeIf(boundary -> boundary.schedule.cancelled);
+        }
+        publish(changed);
+    }
+
+    public void advance() {
+        if (clock.instant().isBefore(nextBoundaryTime)) {
+            return;
+        }
+        advanceToNow();
+    }
+
+    private synchronized void advanceToNow() {
+        Instant now = clock.instant();
+        int activated = 0;
+        int deactivated = 0;
+        while (!boundaries.isEmpty() && boundaries.peek().isPassedAt(now)) {
+            Boundary boundary = boundaries.poll();
+            Schedule schedule = boundary.schedule;
+            if (schedule.cancelled) {
+                continue;
+            }
+            if (boundary.activation) {
+                activated += activate(schedule, now) ? 1 : 0;
+            } else if (activeProviders.remove(schedule.sequence) != null) {
+                deactivated++;
+            }
+        }
+        if (activated > 0 || deactivated > 0) {
+            logger.info("{} discount providers were activated and {} were deactivated at {}.", activated, deactivated, now);
+        }
+        publish(activated > 0 || deactivated > 0);
+    }
+
+    private boolean activate(Schedule schedule, Instant now) {
+        Instant deactivationTime = schedule.discountProvider.getDeactivationTime();
+        if (deactivationTime != null && !now.isBefore(deactivationTime)) {
+            return false;
+        }
+        activeProviders.put(schedule.sequence, schedule.discountProvider);
+        if (deactivationTime != null) {
+            boundaries.add(new Boundary(deactivationTime, schedule, false));
+        }
+        return true;
+    }
+
+    private void publish(boolean changed) {
+        if (changed) {
+            activeDiscountProviders.replaceDiscountProviders(activeProviders.values());
+        }
+        Boundary nextBoundary = boundaries.peek();
+        nextBoundaryTime = nextBoundary != null ? nextBoundary.time : Instant.MAX;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public DiscountProviderGroup getActiveDiscountProviders() {
+        return activeDiscountProviders;
+    }
+
+    public synchronized int getScheduledCount() {
+        return schedules.size();
+    }
+
+    public synchronized int getActiveCount() {
+        return activeProviders.size();
+    }
+
+    public Instant getNextBoundaryTime() {
+        return nextBoundaryTime;
+    }
+
+    private static final class Schedule {
+
+        private final ScheduledDiscountProvider discountProvider;
+        private final long sequence;
+        private boolean cancelled;
+
+        private Schedule(ScheduledDiscountProvider discountProvider, long sequence) {
+            this.discountProvider = discountProvider;
+            this.sequence = sequence;
+        }
+    }
+
+    //an activation time is exclusive, the provider becomes active right after it, a deactivation time is inclusive
+    private static final class Boundary implements Comparable<Boundary> {
+
+        private final Instant time;
+        private final Schedule schedule;
+        private final boolean activation;
+
+        private Boundary(Instant time, Schedule schedule, boolean activation) {
+            this.time = time;
+            this.schedule = schedule;
+            this.activation = activation;
+        }
+
+        private boolean isPassedAt(Instant now) {
+            return activation ? now.isAfter(time) : !now.isBefore(time);
+        }
+
+        //at the same instant deactivations pass before activations, so they never wait behind one
+        @Override
+        public int compareTo(Boundary other) {
+            int result = time.compareTo(other.time);
+            return result != 0 ? result : Boolean.compare(activation, other.activation);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
+import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProviderEventListener;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.AppliedDiscount;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+Discount evaluation scope of a single cart submission
+
+Providers hand their discounts to the context passed to provideDiscount instead of to registered listeners,
+so nothing outlives the submission and the cost of a submission does not depend on earlier ones.
+
+Time bound providers are validated at the evaluation time of the context, so a cart is priced at a single instant
+read once from the clock of the client instead of once per provider.
+
+A forked context only evaluates the discounts it is given and keeps the results, joining it merges them into the cart
+in the order they were provided. This lets parts of the candidates be evaluated on other threads.
+ */
+public class DiscountEvaluationContext implements DiscountProviderEventListener {
+
+    private final ShoppingCart shoppingCart;
+
+    private final Instant evaluationTime;
+
+    private final List<Discount> providedDiscounts = new ArrayList<>();
+
+    //evaluated but not yet merged discounts of a forked context, null when discounts go to the cart right away
+    private final List<AppliedDiscount> pendingDiscounts;
+
+    public DiscountEvaluationContext(ShoppingCart shoppingCart) {
+        this(shoppingCart, Instant.now());
+    }
+
+    public DiscountEvaluationContext(ShoppingCart shoppingCart, Instant evaluationTime) {
+        this(shoppingCart, evaluationTime, null);
+    }
+
+    private DiscountEvaluationContext(ShoppingCart shoppingCart, Instant evaluationTime, List<AppliedDiscount> pendingDiscounts) {
+
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+
+        if (evaluationTime == null) {
+            throw new InvalidValueException("Evaluation time can not be null!");
+        }
+
+        this.shoppingCart = shoppingCart;
+        this.evaluationTime = evaluationTime;
+        this.pendingDiscounts = pendingDiscounts;
+    }
+
+    @Override
+    public void discountProvided(DiscountProvidedEvent event) {
+        providedDiscounts.add(event.getDiscount());
+        if (pendingDiscounts == null) {
+            shoppingCart.discountProvided(event);
+        } else {
+            AppliedDiscount appliedDiscount = event.getDiscount().evaluate(shoppingCart);
+            if (appliedDiscount != null) {
+                pendingDiscounts.add(appliedDiscount);
+            }
+        }
+    }
+
+    DiscountEvaluationContext fork() {
+        return new DiscountEvaluationContext(shoppingCart, evaluationTime, new ArrayList<>());
+    }
+
+    void join(DiscountEvaluationContext forkedContext) {
+        if (forkedContext.shoppingCart != shoppingCart || forkedContext.pendingDiscounts == null) {
+            throw new InvalidValueException("Only a context forked from the same cart can be joined!");
+        }
+        providedDiscounts.addAll(forkedContext.providedDiscounts);
+        for (AppliedDiscount appliedDiscount : forkedContext.pendingDiscounts) {
+            if (pendingDiscounts == null) {
+                appliedDiscount.getDiscount().merge(shoppingCart, appliedDiscount);
+            } else {
+                pendingDiscounts.add(appliedDiscount);
+            }
+        }
+    }
+
+    public ShoppingCart getShoppingCart() {
+        return shoppingCart;
+    }
+
+    public Instant getEvaluationTime() {
+        return evaluationTime;
+    }
+
+    public List<Discount> getProvidedDiscounts() {
+        return Collections.unmodifiableList(providedDiscounts);
+    }
+}
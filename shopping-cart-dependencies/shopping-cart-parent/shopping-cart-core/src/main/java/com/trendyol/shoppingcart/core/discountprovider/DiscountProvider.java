@@ -8,6 +8,8 @@ public interface DiscountProvider {
 
     void provideDiscount();
 
+    void provideDiscount(DiscountEvaluationContext context);
+
     void registerDiscountProviderEventListener(DiscountProviderEventListener listener);
 
     void unregisterDiscountProviderEventListener(DiscountProviderEventListener listener);
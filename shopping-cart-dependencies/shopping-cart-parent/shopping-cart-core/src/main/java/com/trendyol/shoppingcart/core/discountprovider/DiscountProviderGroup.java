@@ -4,42 +4,132 @@ package com.trendyol.shoppingcart.core.discountprovider;
 import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
 import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProviderEventListener;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+/*
+Ordered group of discount providers
+
+Children are kept in a copy-on-write array, providers are added or removed rarely while discounts are provided on every
+submission, so the read path iterates over a snapshot without taking locks and keeps the insertion order.
+replaceDiscountProviders swaps all children at once, readers see either the old or the new children and never a mix.
+ */
 public class DiscountProviderGroup implements DiscountProvider {
 
-    private final Set<DiscountProvider> childDiscountProviders = new LinkedHashSet<>();
+    private static final DiscountProvider[] NO_DISCOUNT_PROVIDERS = new DiscountProvider[0];
+
+    //never modified in place, the synchronized mutators publish a new array
+    private volatile DiscountProvider[] childDiscountProviders = NO_DISCOUNT_PROVIDERS;
+
+    //bumped after every change of the children, compiled rule indexes compare it to notice they are stale
+    private final AtomicLong version = new AtomicLong();
 
     @Override
     public void provideDiscount() {
-        childDiscountProviders.forEach(DiscountProvider::provideDiscount);
+        for (DiscountProvider discountProvider : childDiscountProviders) {
+            discountProvider.provideDiscount();
+        }
+    }
+
+    @Override
+    public void provideDiscount(DiscountEvaluationContext context) {
+        for (DiscountProvider discountProvider : childDiscountProviders) {
+            discountProvider.provideDiscount(context);
+        }
     }
 
     @Override
     public void registerDiscountProviderEventListener(DiscountProviderEventListener listener) {
-        childDiscountProviders.forEach(discountProcessor -> discountProcessor.registerDiscountProviderEventListener(listener));
+        for (DiscountProvider discountProcessor : childDiscountProviders) {
+            discountProcessor.registerDiscountProviderEventListener(listener);
+        }
     }
 
     @Override
     public void unregisterDiscountProviderEventListener(DiscountProviderEventListener listener) {
-        childDiscountProviders.forEach(discountProcessor -> discountProcessor.unregisterDiscountProviderEventListener(listener));
+        for (DiscountProvider discountProcessor : childDiscountProviders) {
+            discountProcessor.unregisterDiscountProviderEventListener(listener);
+        }
     }
 
     @Override
     public void notifyDiscountProviderEventListeners(DiscountProvidedEvent discountProvidedEvent) {
-        childDiscountProviders.forEach(discountProcessor -> discountProcessor.notifyDiscountProviderEventListeners(discountProvidedEvent));
+        for (DiscountProvider discountProcessor : childDiscountProviders) {
+            discountProcessor.notifyDiscountProviderEventListeners(discountProvidedEvent);
+        }
+    }
+
+    public synchronized void addDiscountProvider(DiscountProvider discountProvider) {
+        DiscountProvider[] children = childDiscountProviders;
+        if (indexOf(children, discountProvider) < 0) {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = discountProvider;
+            publish(children);
+        }
+    }
+
+    public synchronized void removeDiscountProvider(DiscountProvider discountProvider) {
+        DiscountProvider[] children = childDiscountProviders;
+        int index = indexOf(children, discountProvider);
+        if (index >= 0) {
+            DiscountProvider[] remainingChildren = new DiscountProvider[children.length - 1];
+            System.arraycopy(children, 0, remainingChildren, 0, index);
+            System.arraycopy(children, index + 1, remainingChildren, index, children.length - index - 1);
+            publish(remainingChildren);
+        }
+    }
+
+    //children keep the iteration order of the given providers, duplicates are dropped
+    public synchronized void replaceDiscountProviders(Collection<? extends DiscountProvider> discountProviders) {
+        DiscountProvider[] children = new LinkedHashSet<DiscountProvider>(discountProviders).toArray(NO_DISCOUNT_PROVIDERS);
+        if (!Arrays.equals(children, childDiscountProviders)) {
+            publish(children);
+        }
+    }
+
+    private static int indexOf(DiscountProvider[] children, DiscountProvider discountProvider) {
+        for (int i = 0; i < children.length; i++) {
+            if (Objects.equals(children[i], discountProvider)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void publish(DiscountProvider[] children) {
+        this.childDiscountProviders = children;
+        version.incrementAndGet();
     }
 
-    public void addDiscountProvider(DiscountProvider discountProvider) {
-        this.childDiscountProviders.add(discountProvider);
+    public long getVersion() {
+        return version.get();
     }
 
-    public void removeDiscountProvider(DiscountProvider discountProvider) {
-        this.childDiscountProviders.remove(discountProvider);
+    /*
+    Returns a copy of this group, nested groups are copied as well so later additions or removals do not leak into it.
+    Discount provider items hold immutable discount definitions and are shared.
+     */
+    public DiscountProviderGroup snapshot() {
+        List<DiscountProvider> children = new ArrayList<>();
+        for (DiscountProvider discountProvider : childDiscountProviders) {
+            children.add(discountProvider instanceof DiscountProviderGroup
+                    ? ((DiscountProviderGroup) discountProvider).snapshot()
+                    : discountProvider);
+        }
+        DiscountProviderGroup snapshot = new DiscountProviderGroup();
+        snapshot.replaceDiscountProviders(children);
+        return snapshot;
     }
 
+    //a read-only copy in provision order
     public Set<DiscountProvider> getChildDiscountProviders() {
-        return childDiscountProviders;
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(childDiscountProviders)));
     }
 }
@@ -7,9 +7,10 @@ import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class DiscountProviderItem implements DiscountProvider {
 
@@ -20,7 +21,8 @@ public abstract class DiscountProviderItem implements DiscountProvider {
     protected final Discount discount;
 
     public DiscountProviderItem(Discount discount) {
-        this.discountProviderEventListenerList = new ArrayList<>();
+        //listeners are notified from any submitting thread while others may register, so iterate over a snapshot in registration order
+        this.discountProviderEventListenerList = new CopyOnWriteArrayList<>();
 
         if (discount == null) {
             throw new InvalidValueException("Discount can not be null!");
@@ -31,6 +33,11 @@ public abstract class DiscountProviderItem implements DiscountProvider {
 
     public abstract boolean isValid();
 
+    //validity at the given instant, items that are not bound in time are valid or not whatever the instant
+    public boolean isValidAt(Instant instant) {
+        return isValid();
+    }
+
     @Override
     public void provideDiscount() {
         if (isValid()) {
@@ -42,12 +49,19 @@ public abstract class DiscountProviderItem implements DiscountProvider {
     }
 
     @Override
-    public void registerDiscountProviderEventListener(DiscountProviderEventListener listener) {
-        if (!discountProviderEventListenerList.contains(listener)) {
-            discountProviderEventListenerList.add(listener);
+    public void provideDiscount(DiscountEvaluationContext context) {
+        if (isValidAt(context.getEvaluationTime())) {
+            context.discountProvided(new DiscountProvidedEvent(discount));
+        } else {
+            logger.info("Discount can not be processed. Discount processor did not pass validation. Discount processor: {}", this);
         }
     }
 
+    @Override
+    public void registerDiscountProviderEventListener(DiscountProviderEventListener listener) {
+        ((CopyOnWriteArrayList<DiscountProviderEventListener>) discountProviderEventListenerList).addIfAbsent(listener);
+    }
+
     @Override
     public void unregisterDiscountProviderEventListener(DiscountProviderEventListener listener) {
         discountProviderEventListenerList.remove(listener);
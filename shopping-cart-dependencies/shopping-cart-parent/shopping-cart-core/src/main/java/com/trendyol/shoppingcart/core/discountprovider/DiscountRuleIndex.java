@@ -0,0 +1,292 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
+import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProviderEventListener;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
+import com.trendyol.shoppingcart.core.domain.discount.validation.DiscountValidationStrategy;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.*;
+
+/*
+Flat evaluation plan of a discount provider tree
+
+The tree is flattened once into its discount provider items in provision order. Each item is indexed by the categories
+and products its validation strategy requires, so a cart only reaches the items whose keys occur in the cart plus the
+cart-wide items, still in the original order. Providers that are neither groups nor items are treated as cart-wide.
+
+Competing threshold ranked discounts are merged into one rule that looks up the winner by the cart aggregate, as long as
+no rule that could provide a discount of the same name lies between them, so the winner is the one of sequential provision.
+
+The plan remembers the versions of the groups it was compiled from, isCurrent tells whether any of them changed since.
+
+A plan with a parallel provision evaluates the candidates of large carts on its fork join pool, see ParallelProvision.
+ */
+public final class DiscountRuleIndex implements DiscountProvider {
+
+    private final DiscountProvider root;
+    private final DiscountProvider[] rules;
+    private final int[] cartWideRules;
+    private final Map<Category, int[]> rulesByCategory;
+    private final Map<Product, int[]> rulesByProduct;
+    private final Map<DiscountProviderGroup, Long> groupVersions;
+    private final ParallelProvision parallelProvision;
+
+    private DiscountRuleIndex(DiscountProvider root, List<DiscountProvider> rules, List<Integer> cartWideRules,
+                              Map<Category, List<Integer>> rulesByCategory, Map<Product, List<Integer>> rulesByProduct,
+                              Map<DiscountProviderGroup, Long> groupVersions) {
+        this.root = root;
+        this.rules = rules.toArray(new DiscountProvider[0]);
+        this.cartWideRules = toArray(cartWideRules);
+        this.rulesByCategory = new HashMap<>();
+        rulesByCategory.forEach((category, ordinals) -> this.rulesByCategory.put(category, toArray(ordinals)));
+        this.rulesByProduct = new HashMap<>();
+        rulesByProduct.forEach((product, ordinals) -> this.rulesByProduct.put(product, toArray(ordinals)));
+        this.groupVersions = groupVersions;
+        this.parallelProvision = null;
+    }
+
+    private DiscountRuleIndex(DiscountRuleIndex ruleIndex, ParallelProvision parallelProvision) {
+        this.root = ruleIndex.root;
+        this.rules = ruleIndex.rules;
+        this.cartWideRules = ruleIndex.cartWideRules;
+        this.rulesByCategory = ruleIndex.rulesByCategory;
+        this.rulesByProduct = ruleIndex.rulesByProduct;
+        this.groupVersions = ruleIndex.groupVersions;
+        this.parallelProvision = parallelProvision;
+    }
+
+    public static DiscountRuleIndex compile(DiscountProvider root) {
+        if (root == null) {
+            throw new InvalidValueException("Discount provider can not be null!");
+        }
+
+        List<DiscountProvider> providers = new ArrayList<>();
+        List<Integer> cartWideRules = new ArrayList<>();
+        Map<Category, List<Integer>> rulesByCategory = new HashMap<>();
+        Map<Product, List<Integer>> rulesByProduct = new HashMap<>();
+        Map<DiscountProviderGroup, Long> groupVersions = new IdentityHashMap<>();
+        flatten(root, providers, groupVersions);
+        List<DiscountProvider> rules = groupCompetingRules(providers);
+
+        for (int ordinal = 0; ordinal < rules.size(); ordinal++) {
+            DiscountValidationStrategy validationStrategy = validationStrategyOf(rules.get(ordinal));
+            Set<Category> categories = validationStrategy != null ? validationStrategy.getRequiredCategories() : Collections.emptySet();
+            Set<Product> products = validationStrategy != null ? validationStrategy.getRequiredProducts() : Collections.emptySet();
+            if (categories.isEmpty() && products.isEmpty()) {
+                cartWideRules.add(ordinal);
+                continue;
+            }
+            for (Category category : categories) {
+                rulesByCategory.computeIfAbsent(category, key -> new ArrayList<>()).add(ordinal);
+            }
+            for (Product product : products) {
+                rulesByProduct.computeIfAbsent(product, key -> new ArrayList<>()).add(ordinal);
+            }
+        }
+        return new DiscountRuleIndex(root, rules, cartWideRules, rulesByCategory, rulesByProduct, groupVersions);
+    }
+
+    //the version is read before the children, so a change made while flattening makes the plan stale right away
+    private static void flatten(DiscountProvider discountProvider, List<DiscountProvider> rules, Map<DiscountProviderGroup, Long> groupVersions) {
+        if (discountProvider instanceof DiscountProviderGroup) {
+            DiscountProviderGroup group = (DiscountProviderGroup) discountProvider;
+            groupVersions.putIfAbsent(group, group.getVersion());
+            for (DiscountProvider child : group.getChildDiscountProviders()) {
+                flatten(child, rules, groupVersions);
+            }
+        } else if (discountProvider != null) {
+            rules.add(discountProvider);
+        }
+    }
+
+    //a run of competing threshold ranked items takes the place of its first item, as one rule that provides only the winner;
+    //discounts are merged by name, so items of other names may lie in between but a rule of the same name ends the run
+    private static List<DiscountProvider> groupCompetingRules(List<DiscountProvider> providers) {
+        List<DiscountProvider> rules = new ArrayList<>(providers.size());
+        Map<Integer, List<DiscountProviderItem>> runs = new HashMap<>();
+        Map<Object, Integer> openRuns = new HashMap<>();
+        for (DiscountProvider discountProvider : providers) {
+            Object competitionKey = competitionKeyOf(discountProvider);
+            closeRunsEndedBy(discountProvider, competitionKey, openRuns, runs);
+            if (competitionKey == null) {
+                rules.add(discountProvider);
+                continue;
+            }
+            Integer position = openRuns.get(competitionKey);
+            if (position == null) {
+                position = rules.size();
+                rules.add(discountProvider);
+                openRuns.put(competitionKey, position);
+                runs.put(position, new ArrayList<>());
+            }
+            runs.get(position).add((DiscountProviderItem) discountProvider);
+        }
+
+        runs.forEach((position, items) -> {
+            if (items.size() > 1) {
+                rules.set(position, new ThresholdRuleGroup(items));
+            }
+        });
+        return rules;
+    }
+
+    //anything but an item may provide any discount, so it ends every run
+    private static void closeRunsEndedBy(DiscountProvider discountProvider, Object competitionKey,
+                                         Map<Object, Integer> openRuns, Map<Integer, List<DiscountProviderItem>> runs) {
+        if (!(discountProvider instanceof DiscountProviderItem)) {
+            openRuns.clear();
+            return;
+        }
+        Discount discount = ((DiscountProviderItem) discountProvider).getDiscount();
+        DiscountName discountName = discount != null ? discount.getDiscountName() : null;
+        openRuns.entrySet().removeIf(openRun -> !openRun.getKey().equals(competitionKey)
+                && Objects.equals(runs.get(openRun.getValue()).get(0).getDiscount().getDiscountName(), discountName));
+    }
+
+    private static Object competitionKeyOf(DiscountProvider discountProvider) {
+        if (!(discountProvider instanceof DiscountProviderItem)) {
+            return null;
+        }
+        Discount discount = ((DiscountProviderItem) discountProvider).getDiscount();
+        return discount instanceof ThresholdRankedDiscount ? ((ThresholdRankedDiscount) discount).getCompetitionKey() : null;
+    }
+
+    private static DiscountValidationStrategy validationStrategyOf(DiscountProvider discountProvider) {
+        if (discountProvider instanceof ThresholdRuleGroup) {
+            //competitors share their competition key and so the keys they are indexed by
+            discountProvider = ((ThresholdRuleGroup) discountProvider).getStrongestItem();
+        }
+        if (!(discountProvider instanceof DiscountProviderItem)) {
+            return null;
+        }
+        Discount discount = ((DiscountProviderItem) discountProvider).getDiscount();
+        return discount != null ? discount.getValidationStrategy() : null;
+    }
+
+    //the same plan provided with the given parallel provision, or sequentially when it is null
+    public DiscountRuleIndex withParallelProvision(ParallelProvision parallelProvision) {
+        return parallelProvision == this.parallelProvision ? this : new DiscountRuleIndex(this, parallelProvision);
+    }
+
+    private static int[] toArray(List<Integer> ordinals) {
+        int[] array = new int[ordinals.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ordinals.get(i);
+        }
+        return array;
+    }
+
+    public boolean isCurrent() {
+        for (Map.Entry<DiscountProviderGroup, Long> groupVersion : groupVersions.entrySet()) {
+            if (groupVersion.getKey().getVersion() != groupVersion.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //rules that may apply to the cart, in provision order
+    public List<DiscountProvider> candidatesFor(ShoppingCart shoppingCart) {
+        int[] ordinals = candidateOrdinalsFor(shoppingCart);
+        List<DiscountProvider> candidates = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            candidates.add(rules[ordinal]);
+        }
+        return candidates;
+    }
+
+    private int[] candidateOrdinalsFor(ShoppingCart shoppingCart) {
+        int[] candidates = Arrays.copyOf(cartWideRules, cartWideRules.length + 8);
+        int size = cartWideRules.length;
+        if (!rulesByCategory.isEmpty()) {
+            for (Category category : shoppingCart.getCategoriesInCart()) {
+                int[] ordinals = rulesByCategory.get(category);
+                if (ordinals != null) {
+                    candidates = append(candidates, size, ordinals);
+                    size += ordinals.length;
+                }
+            }
+        }
+        if (!rulesByProduct.isEmpty()) {
+            for (Product product : shoppingCart.getProductsInCart()) {
+                int[] ordinals = rulesByProduct.get(product);
+                if (ordinals != null) {
+                    candidates = append(candidates, size, ordinals);
+                    size += ordinals.length;
+                }
+            }
+        }
+
+        //restore the provision order and drop rules reached through more than one key
+        Arrays.sort(candidates, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || candidates[distinct - 1] != candidates[i]) {
+                candidates[distinct++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, distinct);
+    }
+
+    private static int[] append(int[] candidates, int size, int[] ordinals) {
+        if (size + ordinals.length > candidates.length) {
+            candidates = Arrays.copyOf(candidates, Math.max(candidates.length * 2, size + ordinals.length));
+        }
+        System.arraycopy(ordinals, 0, candidates, size, ordinals.length);
+        return candidates;
+    }
+
+    @Override
+    public void provideDiscount(DiscountEvaluationContext context) {
+        int[] ordinals = candidateOrdinalsFor(context.getShoppingCart());
+        if (parallelProvision != null) {
+            parallelProvision.provideDiscount(rules, ordinals, context);
+            return;
+        }
+        for (int ordinal : ordinals) {
+            rules[ordinal].provideDiscount(context);
+        }
+    }
+
+    @Override
+    public void provideDiscount() {
+        root.provideDiscount();
+    }
+
+    @Override
+    public void registerDiscountProviderEventListener(DiscountProviderEventListener listener) {
+        root.registerDiscountProviderEventListener(listener);
+    }
+
+    @Override
+    public void unregisterDiscountProviderEventListener(DiscountProviderEventListener listener) {
+        root.unregisterDiscountProviderEventListener(listener);
+    }
+
+    @Override
+    public void notifyDiscountProviderEventListeners(DiscountProvidedEvent discountProvidedEvent) {
+        root.notifyDiscountProviderEventListeners(discountProvidedEvent);
+    }
+
+    public int getRuleCount() {
+        return rules.length;
+    }
+
+    public int getCartWideRuleCount() {
+        return cartWideRules.length;
+    }
+
+    public DiscountProvider getRoot() {
+        return root;
+    }
+
+    public ParallelProvision getParallelProvision() {
+        return parallelProvision;
+    }
+}
@@ -0,0 +1,120 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+Parallel discount provision settings
+
+Candidate rules of a cart are split into ranges that are validated and calculated on a fork join pool, each range into
+a forked evaluation context. The forked contexts are joined back in range order on the calling thread, so discounts are
+merged in provision order and the cart ends up exactly as after a sequential provision, campaigns before coupons and
+equal discounts decided by the first one provided.
+
+Carts with fewer candidates than the sequential threshold are provided sequentially, splitting them costs more than
+it saves.
+ */
+public final class ParallelProvision {
+
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 256;
+
+    static final int MINIMUM_RANGE_SIZE = 16;
+
+    private static final int RANGES_PER_WORKER = 4;
+
+    private final ForkJoinPool forkJoinPool;
+    private final int sequentialThreshold;
+
+    public ParallelProvision() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public ParallelProvision(ForkJoinPool forkJoinPool, int sequentialThreshold) {
+        if (forkJoinPool == null) {
+            throw new InvalidValueException("Fork join pool can not be null!");
+        }
+
+        if (sequentialThreshold <= 0) {
+            throw new InvalidValueException("Sequential threshold must be greater than 0!");
+        }
+
+        this.forkJoinPool = forkJoinPool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    void provideDiscount(DiscountProvider[] rules, int[] ordinals, DiscountEvaluationContext context) {
+        if (ordinals.length < sequentialThreshold) {
+            for (int ordinal : ordinals) {
+                rules[ordinal].provideDiscount(context);
+            }
+            return;
+        }
+
+        int rangeSize = Math.max(MINIMUM_RANGE_SIZE, ordinals.length / (forkJoinPool.getParallelism() * RANGES_PER_WORKER));
+        List<DiscountEvaluationContext> forkedContexts = forkJoinPool.invoke(
+                new ProvisionTask(rules, ordinals, 0, ordinals.length, rangeSize, context));
+        for (DiscountEvaluationContext forkedContext : forkedContexts) {
+            context.join(forkedContext);
+        }
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelProvision: " +
+                "Parallelism=" + forkJoinPool.getParallelism() +
+                ", SequentialThreshold=" + sequentialThreshold;
+    }
+
+    //returns the forked contexts of its ranges from left to right
+    private static final class ProvisionTask extends RecursiveTask<List<DiscountEvaluationContext>> {
+
+        private final DiscountProvider[] rules;
+        private final int[] ordinals;
+        private final int from;
+        private final int to;
+        private final int rangeSize;
+        private final DiscountEvaluationContext context;
+
+        private ProvisionTask(DiscountProvider[] rules, int[] ordinals, int from, int to, int rangeSize, DiscountEvaluationContext context) {
+            this.rules = rules;
+            this.ordinals = ordinals;
+            this.from = from;
+            this.to = to;
+            this.rangeSize = rangeSize;
+            this.context = context;
+        }
+
+        @Override
+        protected List<DiscountEvaluationContext> compute() {
+            if (to - from <= rangeSize) {
+                DiscountEvaluationContext forkedContext = context.fork();
+                for (int i = from; i < to; i++) {
+                    rules[ordinals[i]].provideDiscount(forkedContext);
+                }
+                List<DiscountEvaluationContext> forkedContexts = new ArrayList<>();
+                forkedContexts.add(forkedContext);
+                return forkedContexts;
+            }
+
+            int middle = (from + to) >>> 1;
+            ProvisionTask left = new ProvisionTask(rules, ordinals, from, middle, rangeSize, context);
+            ProvisionTask right = new ProvisionTask(rules, ordinals, middle, to, rangeSize, context);
+            right.fork();
+            List<DiscountEvaluationContext> forkedContexts = left.compute();
+            forkedContexts.addAll(right.join());
+            return forkedContexts;
+        }
+    }
+}
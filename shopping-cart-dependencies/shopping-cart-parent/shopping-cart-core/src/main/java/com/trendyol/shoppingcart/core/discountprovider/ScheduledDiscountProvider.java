@@ -0,0 +1,23 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import java.time.Instant;
+
+/*
+Discount provider that is only active between two instants
+
+Both bounds are exclusive, a provider is active after its activation time and before its deactivation time.
+A missing activation time means active since ever and a missing deactivation time means active forever.
+ */
+public interface ScheduledDiscountProvider extends DiscountProvider {
+
+    Instant getActivationTime();
+
+    Instant getDeactivationTime();
+
+    default boolean isActiveAt(Instant instant) {
+        Instant activationTime = getActivationTime();
+        Instant deactivationTime = getDeactivationTime();
+        return (activationTime == null || instant.isAfter(activationTime))
+                && (deactivationTime == null || instant.isBefore(deactivationTime));
+    }
+}
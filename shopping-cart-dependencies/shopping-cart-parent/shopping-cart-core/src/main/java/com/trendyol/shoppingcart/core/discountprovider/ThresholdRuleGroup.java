@@ -0,0 +1,112 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
+import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProviderEventListener;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Competing threshold ranked discount provider items, sorted from the weakest to the strongest
+
+Only the strongest item whose threshold is met by the cart and which is currently valid provides its discount,
+the items it dominates are neither validated nor calculated.
+ */
+final class ThresholdRuleGroup implements DiscountProvider {
+
+    private final DiscountProviderItem[] items;
+    private final long[] thresholds;
+
+    ThresholdRuleGroup(List<DiscountProviderItem> competingItems) {
+        List<Integer> order = new ArrayList<>(competingItems.size());
+        for (int i = 0; i < competingItems.size(); i++) {
+            order.add(i);
+        }
+        //pairwise the first of equally ranked discounts stays, so equal items are sorted against provision order
+        order.sort((index1, index2) -> {
+            int comparison = compare(competingItems.get(index1).getDiscount(), competingItems.get(index2).getDiscount());
+            return comparison != 0 ? comparison : Integer.compare(index2, index1);
+        });
+
+        this.items = new DiscountProviderItem[order.size()];
+        this.thresholds = new long[order.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = competingItems.get(order.get(i));
+            thresholds[i] = ((ThresholdRankedDiscount) items[i].getDiscount()).getThreshold();
+        }
+    }
+
+    private static int compare(Discount discount1, Discount discount2) {
+        if (discount1.isGreaterThan(discount2) && !discount2.isGreaterThan(discount1)) {
+            return 1;
+        }
+        if (discount2.isGreaterThan(discount1) && !discount1.isGreaterThan(discount2)) {
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public void provideDiscount(DiscountEvaluationContext context) {
+        long cartAggregate = ((ThresholdRankedDiscount) items[0].getDiscount()).getCartAggregate(context.getShoppingCart());
+        for (int i = floor(cartAggregate); i >= 0; i--) {
+            if (items[i].isValidAt(context.getEvaluationTime())) {
+                items[i].provideDiscount(context);
+                return;
+            }
+        }
+    }
+
+    //index of the last item whose threshold is not above the cart aggregate, -1 when there is none
+    private int floor(long cartAggregate) {
+        int low = 0;
+        int high = thresholds.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (thresholds[middle] <= cartAggregate) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    public void provideDiscount() {
+        for (DiscountProviderItem item : items) {
+            item.provideDiscount();
+        }
+    }
+
+    @Override
+    public void registerDiscountProviderEventListener(DiscountProviderEventListener listener) {
+        for (DiscountProviderItem item : items) {
+            item.registerDiscountProviderEventListener(listener);
+        }
+    }
+
+    @Override
+    public void unregisterDiscountProviderEventListener(DiscountProviderEventListener listener) {
+        for (DiscountProviderItem item : items) {
+            item.unregisterDiscountProviderEventListener(listener);
+        }
+    }
+
+    @Override
+    public void notifyDiscountProviderEventListeners(DiscountProvidedEvent discountProvidedEvent) {
+        for (DiscountProviderItem item : items) {
+            item.notifyDiscountProviderEventListeners(discountProvidedEvent);
+        }
+    }
+
+    DiscountProviderItem getStrongestItem() {
+        return items[items.length - 1];
+    }
+
+    List<DiscountProviderItem> getItems() {
+        return List.of(items);
+    }
+}
@@ -41,10 +41,14 @@ public final class CartItem implements Comparable<CartItem> {
     }
 
     public void calculateTotalPrice() {
-        this.totalPrice = unitPrice.multiply(quantity.doubleValue());
+        this.totalPrice = unitPrice.multiply(quantity.intValue());
     }
 
-    public void increaseQuantity(Quantity newQuantity) {
+    //quantity changes go through the shopping cart, which keeps its category totals in step with its lines
+    void increaseQuantity(Quantity newQuantity) {
+        if (newQuantity == null) {
+            throw new InvalidValueException("Quantity can not be null!");
+        }
         quantity = quantity.add(newQuantity);
         calculateTotalPrice();
     }
@@ -57,7 +61,7 @@ public final class CartItem implements Comparable<CartItem> {
         return quantity;
     }
 
-    public void setQuantity(Quantity quantity) {
+    void setQuantity(Quantity quantity) {
         this.quantity = quantity;
     }
 
@@ -73,7 +77,7 @@ public final class CartItem implements Comparable<CartItem> {
         return totalPrice;
     }
 
-    public void setTotalPrice(Amount totalPrice) {
+    void setTotalPrice(Amount totalPrice) {
         this.totalPrice = totalPrice;
     }
 
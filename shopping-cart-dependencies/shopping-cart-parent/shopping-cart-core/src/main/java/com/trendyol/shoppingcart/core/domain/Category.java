@@ -3,60 +3,128 @@ package com.trendyol.shoppingcart.core.domain;
 import com.trendyol.shoppingcart.core.domain.value.Title;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Stream;
 
-import static java.util.Comparator.naturalOrder;
-import static java.util.Comparator.nullsLast;
-
 public class Category implements Comparable<Category> {
 
+    //assigned by the registry from the path of the category, moving it assigns the identifier of its new path
+    private volatile long id;
+    private final CategoryRegistry registry;
     private Category parent;
     private final Title title;
     private final Map<Title, Category> children = new HashMap<>();
+    private volatile CategoryTreeIndex.Position position;
 
     public Category(Title title) {
         this(null, title);
     }
 
     public Category(Category parent, Title title) {
+        this(parent != null ? parent.registry : CategoryRegistry.getDefault(), parent, title);
+    }
+
+    public Category(CategoryRegistry registry, Category parent, Title title) {
+        if (registry == null) {
+            throw new InvalidValueException("Category registry can not be null!");
+        }
         if (title == null) {
             throw new InvalidValueException("Category title can not be null!");
         }
+        this.registry = registry;
+        this.id = registry.identifierOf(parent, title);
         this.title = title;
-        this.parent = parent;
-        if (this.parent != null) {
-            this.parent.addChild(this);
+        if (parent != null) {
+            parent.addChild(this);
         }
     }
 
     public Category addChild(Category category) {
-        children.put(category.getTitle(), category);
+        if (category == null) {
+            throw new InvalidValueException("Category can not be null!");
+        }
+        category.setParent(this);
         return category;
     }
 
     public Category addChild(Title title) {
-        Category category = new Category(title);
-        children.put(category.getTitle(), category);
-        return category;
+        return new Category(this, title);
     }
 
     public Stream<Category> descendants() {
-        return Stream.concat(
-                Stream.of(this),
-                children.values().stream().flatMap(Category::descendants));
+        return getDescendants().stream();
+    }
+
+    //this category and all of its descendants in pre-order, backed by the cached tour of the tree
+    public List<Category> getDescendants() {
+        return currentPosition().descendants();
     }
 
     public boolean isDescendant(Category category) {
-        return descendants()
-                .anyMatch(d -> d.getTitle().equals(category.getTitle()));
+        if (category == null) {
+            return false;
+        }
+        return currentPosition().contains(category);
     }
 
     public void removeChild(Title title) {
-        children.remove(title);
+        synchronized (registry) {
+            Category child = children.remove(title);
+            if (child != null) {
+                if (child.parent == this) {
+                    child.parent = null;
+                }
+                invalidateTree(this);
+            }
+        }
+    }
+
+    private CategoryTreeIndex.Position currentPosition() {
+        CategoryTreeIndex.Position current = position;
+        if (current != null && current.isCurrent()) {
+            return current;
+        }
+        synchronized (registry) {
+            current = position;
+            if (current == null || !current.isCurrent()) {
+                CategoryTreeIndex.build(root());
+                current = position;
+                if (current == null || !current.isCurrent()) {
+                    //not reachable from its root through the children links, so it is indexed as a tree of its own
+                    CategoryTreeIndex.build(this);
+                    current = position;
+                }
+            }
+            return current;
+        }
+    }
+
+    //only the tree a category is indexed in is built again, other trees of the registry keep their index
+    private static void invalidateTree(Category category) {
+        CategoryTreeIndex.Position current = category != null ? category.position : null;
+        if (current != null) {
+            current.invalidate();
+        }
+    }
+
+    private Category root() {
+        Category root = this;
+        while (root.parent != null && root.parent != this) {
+            root = root.parent;
+        }
+        return root;
+    }
+
+    void setPosition(CategoryTreeIndex.Position position) {
+        this.position = position;
+    }
+
+    boolean isIndexCurrent() {
+        CategoryTreeIndex.Position current = position;
+        return current != null && current.isCurrent();
     }
 
     public int getChildrenCount() {
@@ -71,6 +139,14 @@ public class Category implements Comparable<Category> {
         return this.children.size() > 0;
     }
 
+    public long getId() {
+        return id;
+    }
+
+    public CategoryRegistry getRegistry() {
+        return registry;
+    }
+
     public Title getTitle() {
         return title;
     }
@@ -80,11 +156,37 @@ public class Category implements Comparable<Category> {
     }
 
     public void setParent(Category parent) {
-        this.parent = parent;
+        if (parent != null && parent.registry != registry) {
+            throw new InvalidValueException("Category " + title + " can not be moved to a category of another registry!");
+        }
+        synchronized (registry) {
+            if (this.parent == parent && (parent == null || parent.children.get(title) == this)) {
+                return;
+            }
+            invalidateTree(this);
+            invalidateTree(this.parent);
+            invalidateTree(parent);
+            if (this.parent != null && this.parent.children.get(title) == this) {
+                this.parent.children.remove(title);
+            }
+            this.parent = parent;
+            if (parent != null) {
+                parent.children.put(title, this);
+            }
+            assignIdentifiers();
+        }
+    }
+
+    //called holding the registry lock, the identifiers of the descendants follow from the new one of this category
+    private void assignIdentifiers() {
+        id = registry.identifierOf(parent, title);
+        for (Category child : children.values()) {
+            child.assignIdentifiers();
+        }
     }
 
     public Map<Title, Category> getChildren() {
-        return children;
+        return Collections.unmodifiableMap(children);
     }
 
     @Override
@@ -94,33 +196,26 @@ public class Category implements Comparable<Category> {
 
         Category category = (Category) o;
 
-        if (!Objects.equals(parent, category.parent)) return false;
-        if (!title.equals(category.title)) return false;
-        return children.equals(category.children);
+        //identity is the path of the category in its registry, adding or removing children does not affect it
+        return id == category.id && registry == category.registry;
     }
 
     @Override
     public String toString() {
         return "Category: " +
-                "parent=" + parent +
+                "parent=" + (parent != null ? parent.getTitle() : null) +
                 ", title=" + title +
-                ", children=" + children;
+                ", children=" + children.keySet();
     }
 
     @Override
     public int hashCode() {
-        int result = parent != null ? parent.hashCode() : 0;
-        result = 31 * result + title.hashCode();
-        result = 31 * result + children.hashCode();
-        return result;
+        return Long.hashCode(id);
     }
 
     @Override
     public int compareTo(Category o) {
-        return Comparator
-                .comparing(Category::getParent, nullsLast(naturalOrder()))
-                .thenComparing(Category::getTitle)
-                .thenComparing(Category::getChildrenCount)
-                .compare(this, o);
+        int result = title.compareTo(o.title);
+        return result != 0 ? result : Long.compare(id, o.id);
     }
 }
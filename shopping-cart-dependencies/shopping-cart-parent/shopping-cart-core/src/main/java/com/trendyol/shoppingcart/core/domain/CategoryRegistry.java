@@ -0,0 +1,71 @@
+package com.trendyol.shoppingcart.core.domain;
+
+import com.trendyol.shoppingcart.core.domain.value.Title;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+Assigns stable category identifiers. A category is identified by its parent's identifier and its title,
+so the same category path always gets the same identifier from a registry, however the category was built. A category
+moved to another parent takes the identifier of its new path, adding or removing children does not change it.
+Category trees of a registry change their shape and build their descendant indexes while holding its lock.
+
+A registry keeps the identifier of every path it was asked for, including paths categories were moved away from, for
+as long as the registry lives. The default registry lives as long as the application, it suits a catalog of a bounded
+set of categories. Taxonomies built again and again, for example per tenant or per import, use a registry of their own
+and drop it together with their categories.
+ */
+public final class CategoryRegistry {
+
+    private static final long ROOT_PARENT_ID = 0L;
+
+    private static final CategoryRegistry DEFAULT = new CategoryRegistry();
+
+    private final Map<CategoryKey, Long> identifiers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(ROOT_PARENT_ID);
+
+    //shared by the categories created without a registry, its identifiers are never released
+    public static CategoryRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public long identifierOf(Category parent, Title title) {
+        long parentId = parent != null ? parent.getId() : ROOT_PARENT_ID;
+        return identifiers.computeIfAbsent(new CategoryKey(parentId, title), key -> sequence.incrementAndGet());
+    }
+
+    public int size() {
+        return identifiers.size();
+    }
+
+    private static final class CategoryKey {
+
+        private final long parentId;
+        private final Title title;
+
+        private CategoryKey(long parentId, Title title) {
+            this.parentId = parentId;
+            this.title = title;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CategoryKey that = (CategoryKey) o;
+
+            if (parentId != that.parentId) return false;
+            return title.equals(that.title);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(parentId);
+            result = 31 * result + title.hashCode();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.trendyol.shoppingcart.core.domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/*
+Euler tour of a category tree. Every category of the tree gets an enter/exit interval over the pre-order tour,
+so a category is a descendant of another if its interval is nested in the other's interval.
+A change to the shape of a tree invalidates the index of that tree only, the next query builds it again.
+Positions are also looked up by category equality, so an equal category of another object graph, a decoded one
+for example, is found at the place of its counterpart in the tree.
+ */
+final class CategoryTreeIndex {
+
+    private final Category[] tour;
+    private final Map<Category, Position> positions = new HashMap<>();
+    private volatile boolean current = true;
+
+    private CategoryTreeIndex(Category[] tour) {
+        this.tour = tour;
+    }
+
+    static CategoryTreeIndex build(Category root) {
+        List<Category> visited = new ArrayList<>();
+        List<int[]> intervals = new ArrayList<>();
+        Deque<Iterator<Category>> stack = new ArrayDeque<>();
+        Deque<int[]> open = new ArrayDeque<>();
+
+        int[] rootInterval = new int[]{0, 0};
+        visited.add(root);
+        intervals.add(rootInterval);
+        stack.push(root.getChildren().values().iterator());
+        open.push(rootInterval);
+
+        while (!stack.isEmpty()) {
+            Iterator<Category> children = stack.peek();
+            if (children.hasNext()) {
+                Category child = children.next();
+                int[] interval = new int[]{visited.size(), visited.size()};
+                visited.add(child);
+                intervals.add(interval);
+                stack.push(child.getChildren().values().iterator());
+                open.push(interval);
+            } else {
+                stack.pop();
+                open.pop()[1] = visited.size() - 1;
+            }
+        }
+
+        CategoryTreeIndex index = new CategoryTreeIndex(visited.toArray(new Category[0]));
+        for (int i = 0; i < index.tour.length; i++) {
+            int[] interval = intervals.get(i);
+            Position position = new Position(index, interval[0], interval[1]);
+            index.positions.putIfAbsent(index.tour[i], position);
+            index.tour[i].setPosition(position);
+        }
+        return index;
+    }
+
+    void invalidate() {
+        current = false;
+    }
+
+    List<Category> slice(int enter, int exit) {
+        return Collections.unmodifiableList(Arrays.asList(tour).subList(enter, exit + 1));
+    }
+
+    static final class Position {
+
+        private final CategoryTreeIndex index;
+        private final int enter;
+        private final int exit;
+
+        private Position(CategoryTreeIndex index, int enter, int exit) {
+            this.index = index;
+            this.enter = enter;
+            this.exit = exit;
+        }
+
+        boolean isCurrent() {
+            return index.current;
+        }
+
+        void invalidate() {
+            index.invalidate();
+        }
+
+        boolean contains(Category category) {
+            Position other = index.positions.get(category);
+            return other != null && enter <= other.enter && other.exit <= exit;
+        }
+
+        List<Category> descendants() {
+            return index.slice(enter, exit);
+        }
+    }
+}
@@ -2,23 +2,29 @@ package com.trendyol.shoppingcart.core.domain;
 
 import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
 import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProviderEventListener;
-import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.AppliedDiscount;
 import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.AmountAccumulator;
 import com.trendyol.shoppingcart.core.domain.value.DiscountName;
 import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public final class ShoppingCart implements DiscountProviderEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(ShoppingCart.class);
-    private final Set<CartItem> cartItems;
-    private final Map<DiscountName, Discount> discountMap;
+    private final Map<Product, CartItem> cartItems;
+    private final Set<CartItem> cartItemView;
+    private final Map<DiscountName, AppliedDiscount> discountMap;
+    private final Map<Category, Quantity> categoryQuantities;
+    private final Map<Category, Amount> categoryTotalPrices;
     private Long id;
+    //stored version the cart was read at, stores compare it to detect concurrent updates
+    private Long version;
     private Amount cartAmount;
     private Amount totalDiscount;
     private Amount deliveryCost;
@@ -29,29 +35,59 @@ public final class ShoppingCart implements DiscountProviderEventListener {
         this.totalDiscount = Amount.ofZero();
         this.deliveryCost = Amount.ofZero();
         this.totalAmount = Amount.ofZero();
-        this.cartItems = new LinkedHashSet<>();
+        this.cartItems = new LinkedHashMap<>();
+        this.cartItemView = Collections.unmodifiableSet(new CartItemView());
         this.discountMap = new LinkedHashMap<>();
+        this.categoryQuantities = new HashMap<>();
+        this.categoryTotalPrices = new HashMap<>();
+    }
+
+    //a cart of its own with the same lines, pricing, id and version, changes to one do not show in the other
+    public ShoppingCart copy() {
+        ShoppingCart copy = new ShoppingCart();
+        for (CartItem cartItem : cartItems.values()) {
+            CartItem copiedItem = new CartItem(cartItem.getProduct(), cartItem.getQuantity());
+            copiedItem.setTotalPrice(cartItem.getTotalPrice());
+            copy.cartItems.put(cartItem.getProduct(), copiedItem);
+        }
+        copy.discountMap.putAll(discountMap);
+        copy.categoryQuantities.putAll(categoryQuantities);
+        copy.categoryTotalPrices.putAll(categoryTotalPrices);
+        copy.id = id;
+        copy.version = version;
+        copy.cartAmount = cartAmount;
+        copy.totalDiscount = totalDiscount;
+        copy.deliveryCost = deliveryCost;
+        copy.totalAmount = totalAmount;
+        return copy;
     }
 
     public void addProduct(Product product, Quantity quantity) {
-        CartItem cartItem;
-        try {
-            cartItem = cartItems
-                    .stream()
-                    .filter(item -> product.equals(item.getProduct()))
-                    .findFirst()
-                    .orElseThrow(NoSuchElementException::new);
-            cartItem.increaseQuantity(quantity);
-        } catch (NoSuchElementException e) {
+        //cart lines are keyed by product, so a product is looked up once and never rescanned
+        CartItem cartItem = cartItems.get(product);
+        if (cartItem == null) {
             cartItem = new CartItem(product, quantity);
-            cartItems.add(cartItem);
+            cartItems.put(product, cartItem);
+        } else {
+            cartItem.increaseQuantity(quantity);
         }
 
+        Amount addedPrice = product.getPrice().multiply(quantity.intValue());
+        rollUpCategoryTotals(product.getCategory(), quantity, addedPrice);
+
         logger.info("{} {} were added to cart.", quantity, product.getTitle());
-        cartAmount = cartAmount.add(product.getPrice().multiply(quantity.doubleValue()));
+        cartAmount = cartAmount.add(addedPrice);
         logger.info("Cart amount after the product addition: {}.", cartAmount);
     }
 
+    //category totals include the products of all descendant categories, so every ancestor is updated as well
+    private void rollUpCategoryTotals(Category category, Quantity quantity, Amount addedPrice) {
+        for (Category c = category; c != null; c = c.getParent()) {
+            categoryQuantities.merge(c, quantity, Quantity::add);
+            categoryTotalPrices.merge(c, addedPrice, Amount::add);
+        }
+    }
+
     @Override
     public void discountProvided(DiscountProvidedEvent event) {
         if (event != null) {
@@ -70,7 +106,7 @@ public final class ShoppingCart implements DiscountProviderEventListener {
         }
     }
 
-    private void applyDiscount(Discount discount) {
+    private void applyDiscount(AppliedDiscount discount) {
         if (discount.getDiscountAmount().isLessThan(cartAmount)) {
             logger.info("Discount is applied: {}", discount);
             cartAmount = cartAmount.subtract(discount.getDiscountAmount());
@@ -83,9 +119,29 @@ public final class ShoppingCart implements DiscountProviderEventListener {
         totalDiscount = totalDiscount.add(discount.getDiscountAmount());
     }
 
+    //drops the result of a previous pricing so the cart can be priced again against another set of discounts
+    public void resetPricing() {
+        discountMap.clear();
+        this.cartAmount = getCartAmountWithoutDiscount();
+        this.totalDiscount = Amount.ofZero();
+        this.deliveryCost = Amount.ofZero();
+        this.totalAmount = Amount.ofZero();
+    }
+
+    //puts back the result of a pricing done before the cart was stored, the applied discounts are restored separately
+    public void restorePricing(Amount cartAmount, Amount totalDiscount, Amount deliveryCost, Amount totalAmount) {
+        if (cartAmount == null || totalDiscount == null || deliveryCost == null || totalAmount == null) {
+            throw new InvalidValueException("Pricing amounts can not be null!");
+        }
+        this.cartAmount = cartAmount;
+        this.totalDiscount = totalDiscount;
+        this.deliveryCost = deliveryCost;
+        this.totalAmount = totalAmount;
+    }
+
     public void print() {
         logger.info("Shopping Cart Info:");
-        cartItems
+        cartItems.values()
                 .stream()
                 .collect(Collectors.groupingBy(CartItem::getCategory))
                 .forEach((key, value) -> {
@@ -104,59 +160,55 @@ public final class ShoppingCart implements DiscountProviderEventListener {
     }
 
     public Amount getCartAmountWithoutDiscount() {
-        return Amount.valueOf(cartItems.stream().mapToDouble(cartItem -> cartItem.getTotalPrice().doubleValue()).sum());
+        AmountAccumulator cartAmountWithoutDiscount = new AmountAccumulator();
+        for (CartItem cartItem : cartItems.values()) {
+            cartAmountWithoutDiscount.add(cartItem.getTotalPrice());
+        }
+        return cartAmountWithoutDiscount.toAmount();
     }
 
     public Amount getTotalPriceOfProductInCart(Product product) {
-        return Amount.valueOf(cartItems.stream().filter(cartItem -> cartItem.getProduct().equals(product)).mapToDouble(cartItem -> cartItem.getTotalPrice().doubleValue()).sum());
+        CartItem cartItem = cartItems.get(product);
+        return cartItem != null ? cartItem.getTotalPrice() : Amount.ofZero();
     }
 
     public Quantity getQuantityOfProductInCart(Product product) {
-        return cartItems.stream()
-                .filter(cartItem -> cartItem.getProduct().equals(product))
-                .findFirst()
-                .map(CartItem::getQuantity)
-                .orElse(Quantity.ofZero());
+        CartItem cartItem = cartItems.get(product);
+        return cartItem != null ? cartItem.getQuantity() : Quantity.ofZero();
     }
 
     public Quantity getQuantityOfProductsBelongsToCategoryInCart(Category category) {
-        AtomicInteger sum = new AtomicInteger(0);
-        category.descendants().forEach(c -> {
-            int quantity = cartItems.stream().filter(cartItem -> c.equals(cartItem.getCategory()))
-                    .mapToInt(cartItem -> cartItem.getQuantity().intValue())
-                    .sum();
-            sum.addAndGet(quantity);
-        });
-        return Quantity.valueOf(sum.get());
-
+        return categoryQuantities.getOrDefault(category, Quantity.ofZero());
     }
 
     public Amount getTotalPriceOfProductsBelongToCategoryInCart(Category category) {
-        AtomicInteger sum = new AtomicInteger(0);
-        category.descendants().forEach(c -> {
-            double quantity = cartItems.stream().filter(cartItem -> c.equals(cartItem.getCategory()))
-                    .mapToDouble(cartItem -> cartItem.getTotalPrice().doubleValue())
-                    .sum();
-            sum.addAndGet((int) quantity);
-        });
-        return Amount.valueOf(sum.doubleValue());
+        return categoryTotalPrices.getOrDefault(category, Amount.ofZero());
     }
 
     public Quantity getTotalQuantityOfProductsInCart() {
-        return Quantity.valueOf(cartItems.stream().mapToInt(cartItem -> cartItem.getQuantity().intValue()).sum());
+        return Quantity.valueOf(cartItems.values().stream().mapToInt(cartItem -> cartItem.getQuantity().intValue()).sum());
 
     }
 
     public Quantity getNumberOfDistinctProductInCart() {
-        return Quantity.valueOf(cartItems.stream().map(CartItem::getProduct).collect(Collectors.toSet()).size());
+        return Quantity.valueOf(cartItems.size());
     }
 
     public Quantity getNumberOfDistinctCategoryInCart() {
-        return Quantity.valueOf(cartItems.stream().map(CartItem::getCategory).collect(Collectors.toSet()).size());
+        return Quantity.valueOf(cartItems.values().stream().map(CartItem::getCategory).collect(Collectors.toSet()).size());
     }
 
     public boolean containsProduct(Product product) {
-        return cartItems.stream().anyMatch(cartItem -> cartItem.getProduct().equals(product));
+        return cartItems.containsKey(product);
+    }
+
+    public Set<Product> getProductsInCart() {
+        return Collections.unmodifiableSet(cartItems.keySet());
+    }
+
+    //categories of the products in the cart together with all of their ancestors
+    public Set<Category> getCategoriesInCart() {
+        return Collections.unmodifiableSet(categoryQuantities.keySet());
     }
 
     public Amount getTotalAmount() {
@@ -187,11 +239,42 @@ public final class ShoppingCart implements DiscountProviderEventListener {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<CartItem> getCartItems() {
-        return cartItems;
+        return cartItemView;
     }
 
-    public Map<DiscountName, Discount> getDiscountMap() {
+    public Map<DiscountName, AppliedDiscount> getDiscountMap() {
         return discountMap;
     }
+
+    //the lines in the order they were added, looked up by their product instead of scanning the lines
+    private final class CartItemView extends AbstractSet<CartItem> {
+
+        @Override
+        public Iterator<CartItem> iterator() {
+            return cartItems.values().iterator();
+        }
+
+        @Override
+        public int size() {
+            return cartItems.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof CartItem)) {
+                return false;
+            }
+            CartItem cartItem = (CartItem) o;
+            return cartItem.equals(cartItems.get(cartItem.getProduct()));
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.trendyol.shoppingcart.core.domain.discount;
+
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+/*
+Result of applying a discount definition to one cart
+
+The discount definition stays immutable and shareable between carts, the amount calculated for a cart lives here.
+ */
+public final class AppliedDiscount {
+
+    private final Discount discount;
+    private final Amount discountAmount;
+
+    public AppliedDiscount(Discount discount, Amount discountAmount) {
+
+        if (discount == null) {
+            throw new InvalidValueException("Discount can not be null!");
+        }
+
+        if (discountAmount == null) {
+            throw new InvalidValueException("Discount amount can not be null!");
+        }
+
+        this.discount = discount;
+        this.discountAmount = discountAmount;
+    }
+
+    public boolean isGreaterThan(AppliedDiscount other) {
+        return discount.isGreaterThan(other != null ? other.discount : null);
+    }
+
+    public Discount getDiscount() {
+        return discount;
+    }
+
+    public DiscountName getDiscountName() {
+        return discount.getDiscountName();
+    }
+
+    public Amount getDiscountAmount() {
+        return discountAmount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AppliedDiscount that = (AppliedDiscount) o;
+
+        if (!discount.equals(that.discount)) return false;
+        return discountAmount.equals(that.discountAmount);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = discount.hashCode();
+        result = 31 * result + discountAmount.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscountName=" + discount.getDiscountName() +
+                ", CalculatedDiscountAmount=" + discountAmount +
+                ", " + discount.getValidationStrategy() +
+                ", " + discount.getCalculationStrategy();
+    }
+}
@@ -9,6 +9,12 @@ import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/*
+Discount definition
+
+A discount only describes when and how much to discount, it holds no per-cart state so one instance can be applied
+to many carts at the same time. The amount calculated for a cart is kept in an AppliedDiscount.
+ */
 public abstract class Discount {
 
     private static final Logger logger = LoggerFactory.getLogger(Discount.class);
@@ -17,9 +23,6 @@ public abstract class Discount {
     protected final DiscountValidationStrategy validationStrategy;
     protected final DiscountCalculationStrategy calculationStrategy;
 
-    protected Amount discountAmount;
-
-
     public Discount(DiscountName discountName, DiscountValidationStrategy validationStrategy, DiscountCalculationStrategy calculationStrategy) {
 
         if (discountName == null) {
@@ -37,20 +40,31 @@ public abstract class Discount {
         this.discountName = discountName;
         this.validationStrategy = validationStrategy;
         this.calculationStrategy = calculationStrategy;
-        this.discountAmount = Amount.ofZero();
     }
 
     public void addTo(ShoppingCart shoppingCart) {
+        AppliedDiscount appliedDiscount = evaluate(shoppingCart);
+        if (appliedDiscount != null) {
+            merge(shoppingCart, appliedDiscount);
+        }
+    }
+
+    //only reads the cart, so discounts can be evaluated side by side and merged afterwards in provision order
+    public AppliedDiscount evaluate(ShoppingCart shoppingCart) {
         if (validationStrategy.isValid(shoppingCart)) {
-            this.discountAmount = calculationStrategy.calculateDiscountAmount(shoppingCart);
-            Discount discount = shoppingCart.getDiscountMap().get(discountName);
-            if (isGreaterThan(discount)) {
-                shoppingCart.getDiscountMap().put(discountName, this);
-            } else {
-                logger.info("{} overrides {}.", discount, this);
-            }
+            Amount discountAmount = calculationStrategy.calculateDiscountAmount(shoppingCart);
+            return new AppliedDiscount(this, discountAmount);
+        }
+        logger.info("Discount does not meet with validation: {}.", this);
+        return null;
+    }
+
+    public void merge(ShoppingCart shoppingCart, AppliedDiscount appliedDiscount) {
+        AppliedDiscount existingDiscount = shoppingCart.getDiscountMap().get(discountName);
+        if (appliedDiscount.isGreaterThan(existingDiscount)) {
+            shoppingCart.getDiscountMap().put(discountName, appliedDiscount);
         } else {
-            logger.info("Discount does not meet with validation: {}.", this);
+            logger.info("{} overrides {}.", existingDiscount, appliedDiscount);
         }
     }
 
@@ -62,10 +76,6 @@ public abstract class Discount {
         return calculationStrategy;
     }
 
-    public Amount getDiscountAmount() {
-        return discountAmount;
-    }
-
     public DiscountName getDiscountName() {
         return discountName;
     }
@@ -79,7 +89,6 @@ public abstract class Discount {
 
         if (!validationStrategy.equals(discount.validationStrategy)) return false;
         if (!calculationStrategy.equals(discount.calculationStrategy)) return false;
-        if (!discountAmount.equals(discount.discountAmount)) return false;
         return discountName.equals(discount.discountName);
     }
 
@@ -87,7 +96,6 @@ public abstract class Discount {
     public int hashCode() {
         int result = validationStrategy.hashCode();
         result = 31 * result + calculationStrategy.hashCode();
-        result = 31 * result + discountAmount.hashCode();
         result = 31 * result + discountName.hashCode();
         return result;
     }
@@ -95,7 +103,6 @@ public abstract class Discount {
     @Override
     public String toString() {
         return "DiscountName=" + discountName +
-                ", CalculatedDiscountAmount=" + discountAmount +
                 ", " + validationStrategy +
                 ", " + calculationStrategy;
     }
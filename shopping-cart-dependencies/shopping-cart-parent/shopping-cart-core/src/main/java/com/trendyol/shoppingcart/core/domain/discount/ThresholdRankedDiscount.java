@@ -0,0 +1,19 @@
+package com.trendyol.shoppingcart.core.domain.discount;
+
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+
+/*
+Discount that is valid once a cart aggregate reaches its threshold
+
+Discounts with equal competition keys compete with each other through isGreaterThan, where the higher threshold
+wins first. Such discounts can be kept sorted by threshold, so the winner for a cart is found with one floor lookup
+of the cart aggregate instead of validating and calculating every competitor.
+ */
+public interface ThresholdRankedDiscount {
+
+    Object getCompetitionKey();
+
+    long getThreshold();
+
+    long getCartAggregate(ShoppingCart shoppingCart);
+}
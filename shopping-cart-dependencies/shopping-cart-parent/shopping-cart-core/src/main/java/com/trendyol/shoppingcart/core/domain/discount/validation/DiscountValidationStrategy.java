@@ -1,8 +1,25 @@
 package com.trendyol.shoppingcart.core.domain.discount.validation;
 
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
 import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 
+import java.util.Collections;
+import java.util.Set;
+
 public interface DiscountValidationStrategy {
 
     boolean isValid(ShoppingCart shoppingCart);
+
+    /*
+    Categories and products of which a cart must contain at least one for this strategy to pass. Used to index
+    discount rules, a strategy that may pass for any cart keeps both defaults empty and is evaluated for every cart.
+     */
+    default Set<Category> getRequiredCategories() {
+        return Collections.emptySet();
+    }
+
+    default Set<Product> getRequiredProducts() {
+        return Collections.emptySet();
+    }
 }
@@ -2,76 +2,152 @@ package com.trendyol.shoppingcart.core.domain.value;
 
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
-import java.util.Comparator;
-import java.util.Objects;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /*
 Amount value object
+
+Amounts are kept as a primitive count of minor units (cents) so pricing arithmetic neither boxes nor
+accumulates binary floating point error. Results that do not fit into minor units are rounded half up.
+Zero and whole amounts up to CACHE_HIGH_UNITS are shared flyweights.
  */
 public final class Amount implements Comparable<Amount> {
 
-    private final Double value;
+    public static final int SCALE = 2;
+
+    public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    static final long MINOR_UNITS_PER_UNIT = 100L;
+
+    private static final long BASIS_POINTS_PER_UNIT = 10_000L;
+
+    private static final int CACHE_HIGH_UNITS = 100;
+
+    private static final Amount[] CACHE = new Amount[CACHE_HIGH_UNITS + 1];
 
-    private Amount(Double value) {
-        this.value = value;
+    static {
+        for (int i = 0; i <= CACHE_HIGH_UNITS; i++) {
+            CACHE[i] = new Amount(i * MINOR_UNITS_PER_UNIT);
+        }
+    }
+
+    private final long minorUnits;
+
+    private Amount(long minorUnits) {
+        this.minorUnits = minorUnits;
     }
 
     public static Amount valueOf(Double value) {
         if (value == null) {
             return ofZero();
         }
-        return new Amount(value);
+        return ofMinorUnits(toMinorUnits(value));
+    }
+
+    public static Amount ofMinorUnits(long minorUnits) {
+        if (minorUnits >= 0L && minorUnits % MINOR_UNITS_PER_UNIT == 0L
+                && minorUnits <= CACHE_HIGH_UNITS * MINOR_UNITS_PER_UNIT) {
+            return CACHE[(int) (minorUnits / MINOR_UNITS_PER_UNIT)];
+        }
+        return new Amount(minorUnits);
     }
 
     public static Amount ofZero() {
-        return new Amount(0D);
+        return CACHE[0];
     }
 
     public Integer intValue() {
-        return this.value.intValue();
+        return (int) (this.minorUnits / MINOR_UNITS_PER_UNIT);
     }
 
     public Double doubleValue() {
-        return this.value;
+        return toDouble();
+    }
+
+    public long minorUnitValue() {
+        return this.minorUnits;
     }
 
     public boolean isNegative() {
-        return this.value < 0D;
+        return this.minorUnits < 0L;
     }
 
     public boolean isPositive() {
-        return this.value > 0D;
+        return this.minorUnits > 0L;
     }
 
     public boolean isZero() {
-        return this.value == 0D;
+        return this.minorUnits == 0L;
     }
 
     public boolean isLessThan(Amount other) {
-        return this.value < other.doubleValue();
+        return this.minorUnits < other.minorUnits;
     }
 
     public boolean isGreaterThan(Amount other) {
-        return this.value > other.doubleValue();
+        return this.minorUnits > other.minorUnits;
     }
 
     public Amount add(Amount other) {
-        return Amount.valueOf(this.value + other.doubleValue());
+        return ofMinorUnits(Math.addExact(this.minorUnits, other.minorUnits));
     }
 
     public Amount subtract(Amount other) {
-        return Amount.valueOf(this.value - other.doubleValue());
+        return ofMinorUnits(Math.subtractExact(this.minorUnits, other.minorUnits));
+    }
+
+    public Amount multiply(long multiplier) {
+        return ofMinorUnits(Math.multiplyExact(this.minorUnits, multiplier));
     }
 
     public Amount multiply(Double multiplier) {
-        return Amount.valueOf(this.value * multiplier);
+        //whole multipliers such as quantities stay on the exact integer path
+        if (multiplier == Math.rint(multiplier) && Math.abs(multiplier) < Long.MAX_VALUE) {
+            return multiply(multiplier.longValue());
+        }
+        return ofMinorUnits(BigDecimal.valueOf(this.minorUnits)
+                .multiply(BigDecimal.valueOf(multiplier))
+                .setScale(0, ROUNDING_MODE)
+                .longValueExact());
     }
 
     public Amount divide(Double divisor) {
         if (divisor == 0) {
             throw new InvalidValueException("Divisor value can not be negative!");
         }
-        return Amount.valueOf(this.value / divisor);
+        return ofMinorUnits(BigDecimal.valueOf(this.minorUnits)
+                .divide(BigDecimal.valueOf(divisor), 0, ROUNDING_MODE)
+                .longValueExact());
+    }
+
+    /*
+    Returns the given share of this amount, where the share is expressed in basis points (1/100 of a percent).
+     */
+    public Amount percentage(long basisPoints) {
+        long product = Math.multiplyExact(this.minorUnits, basisPoints);
+        long quotient = product / BASIS_POINTS_PER_UNIT;
+        long remainder = product % BASIS_POINTS_PER_UNIT;
+        //half up rounds away from zero on ties, for negative amounts as well
+        if (Math.abs(remainder) * 2 >= BASIS_POINTS_PER_UNIT) {
+            quotient += Long.signum(product);
+        }
+        return ofMinorUnits(quotient);
+    }
+
+    static long toMinorUnits(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new InvalidValueException("Amount value must be a finite number!");
+        }
+        //BigDecimal.valueOf uses the shortest decimal representation, so 2.675 is rounded as 2.675 and not as 2.67499...
+        return BigDecimal.valueOf(value)
+                .setScale(SCALE, ROUNDING_MODE)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    private double toDouble() {
+        return (double) this.minorUnits / MINOR_UNITS_PER_UNIT;
     }
 
     @Override
@@ -79,21 +155,21 @@ public final class Amount implements Comparable<Amount> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Amount amount = (Amount) o;
-        return value.equals(amount.value);
+        return minorUnits == amount.minorUnits;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Long.hashCode(minorUnits);
     }
 
     @Override
     public String toString() {
-        return String.valueOf(value);
+        return String.valueOf(toDouble());
     }
 
     @Override
     public int compareTo(Amount o) {
-        return Comparator.comparing(Amount::doubleValue).compare(this, o);
+        return Long.compare(this.minorUnits, o.minorUnits);
     }
 }
@@ -0,0 +1,44 @@
+package com.trendyol.shoppingcart.core.domain.value;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+/*
+Mutable running total of amounts
+
+Sums many amounts in minor units without creating an intermediate Amount per step. It is not thread safe
+and is meant to live inside a single calculation, the result is published with toAmount().
+ */
+public final class AmountAccumulator {
+
+    private long minorUnits;
+
+    public AmountAccumulator add(Amount amount) {
+        if (amount == null) {
+            throw new InvalidValueException("Amount can not be null!");
+        }
+        this.minorUnits = Math.addExact(this.minorUnits, amount.minorUnitValue());
+        return this;
+    }
+
+    public AmountAccumulator subtract(Amount amount) {
+        if (amount == null) {
+            throw new InvalidValueException("Amount can not be null!");
+        }
+        this.minorUnits = Math.subtractExact(this.minorUnits, amount.minorUnitValue());
+        return this;
+    }
+
+    public AmountAccumulator reset() {
+        this.minorUnits = 0L;
+        return this;
+    }
+
+    public Amount toAmount() {
+        return Amount.ofMinorUnits(this.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toAmount().toString();
+    }
+}
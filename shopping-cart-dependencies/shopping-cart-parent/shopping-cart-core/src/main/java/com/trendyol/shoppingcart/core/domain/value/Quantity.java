@@ -2,17 +2,26 @@ package com.trendyol.shoppingcart.core.domain.value;
 
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 
-import java.util.Comparator;
-import java.util.Objects;
-
 /*
 Quantity value object
+
+Small quantities are shared flyweights, in the same way Integer.valueOf caches small integers.
  */
 public final class Quantity implements Comparable<Quantity> {
 
-    private final Integer value;
+    private static final int CACHE_HIGH = 127;
+
+    private static final Quantity[] CACHE = new Quantity[CACHE_HIGH + 1];
+
+    static {
+        for (int i = 0; i <= CACHE_HIGH; i++) {
+            CACHE[i] = new Quantity(i);
+        }
+    }
+
+    private final int value;
 
-    private Quantity(Integer value) {
+    private Quantity(int value) {
 
         if (value < 0) {
             throw new InvalidValueException("Quantity value can not be negative!");
@@ -25,30 +34,37 @@ public final class Quantity implements Comparable<Quantity> {
         if (value == null) {
             return ofZero();
         }
-        return new Quantity(value);
+        return of(value);
     }
 
     public static Quantity ofZero() {
-        return new Quantity(0);
+        return CACHE[0];
+    }
+
+    private static Quantity of(int value) {
+        if (value >= 0 && value <= CACHE_HIGH) {
+            return CACHE[value];
+        }
+        return new Quantity(value);
     }
 
     public Quantity add(Quantity other) {
-        return Quantity.valueOf(this.value + other.intValue());
+        return of(this.value + other.value);
     }
 
     public Quantity subtract(Quantity other) {
-        return Quantity.valueOf(this.value - other.intValue());
+        return of(this.value - other.value);
     }
 
     public Quantity multiply(Integer multiplier) {
-        return Quantity.valueOf(this.value * multiplier);
+        return of(this.value * multiplier);
     }
 
     public Quantity divide(Integer divisor) {
         if (divisor == 0) {
             throw new InvalidValueException("Divisor value can not be negative!");
         }
-        return Quantity.valueOf(this.value / divisor);
+        return of(this.value / divisor);
     }
 
     public Integer intValue() {
@@ -56,7 +72,7 @@ public final class Quantity implements Comparable<Quantity> {
     }
 
     public Double doubleValue() {
-        return this.value.doubleValue();
+        return (double) this.value;
     }
 
     public boolean isZero() {
@@ -64,11 +80,11 @@ public final class Quantity implements Comparable<Quantity> {
     }
 
     public boolean isLessThan(Quantity other) {
-        return this.value < other.intValue();
+        return this.value < other.value;
     }
 
     public boolean isGreaterThan(Quantity other) {
-        return this.value > other.intValue();
+        return this.value > other.value;
     }
 
     @Override
@@ -76,12 +92,12 @@ public final class Quantity implements Comparable<Quantity> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Quantity quantity = (Quantity) o;
-        return value.equals(quantity.value);
+        return value == quantity.value;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Integer.hashCode(value);
     }
 
     @Override
@@ -91,6 +107,6 @@ public final class Quantity implements Comparable<Quantity> {
 
     @Override
     public int compareTo(Quantity o) {
-        return Comparator.comparing(Quantity::intValue).compare(this, o);
+        return Integer.compare(this.value, o.value);
     }
 }
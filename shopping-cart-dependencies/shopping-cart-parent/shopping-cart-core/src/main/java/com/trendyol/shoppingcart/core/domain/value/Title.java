@@ -7,9 +7,13 @@ import java.util.Objects;
 
 /*
 Title value object
+
+valueOf creates a new instance, interned returns the shared instance from the pool for repeated titles.
  */
 public final class Title implements Comparable<Title> {
 
+    private static final ValuePool<Title> POOL = new ValuePool<>(Title::new);
+
     private final String value;
 
     private Title(String value) {
@@ -29,6 +33,14 @@ public final class Title implements Comparable<Title> {
         return new Title(value);
     }
 
+    public static Title interned(String value) {
+        return POOL.intern(value);
+    }
+
+    public static ValuePool<Title> pool() {
+        return POOL;
+    }
+
     public String getValue() {
         return value;
     }
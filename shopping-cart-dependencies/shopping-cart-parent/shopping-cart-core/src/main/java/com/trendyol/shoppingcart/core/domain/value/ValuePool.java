@@ -0,0 +1,74 @@
+package com.trendyol.shoppingcart.core.domain.value;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/*
+Interning pool for string backed value objects
+
+Returns one canonical instance per distinct value so that many carts holding the same title, coupon code or
+campaign name share it. The pool is bounded, once it is full new values are created without being pooled.
+ */
+public final class ValuePool<T> {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 65_536;
+
+    private final Function<String, T> factory;
+
+    private final int maximumSize;
+
+    private final ConcurrentMap<String, T> values = new ConcurrentHashMap<>();
+
+    public ValuePool(Function<String, T> factory) {
+        this(factory, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ValuePool(Function<String, T> factory, int maximumSize) {
+
+        if (factory == null) {
+            throw new InvalidValueException("Value factory can not be null!");
+        }
+
+        if (maximumSize < 0) {
+            throw new InvalidValueException("Maximum size of value pool can not be negative!");
+        }
+
+        this.factory = factory;
+        this.maximumSize = maximumSize;
+    }
+
+    public T intern(String value) {
+        if (value == null) {
+            //let the value object reject it with its own message
+            return factory.apply(null);
+        }
+
+        T pooled = values.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+
+        T created = factory.apply(value);
+        if (values.size() >= maximumSize) {
+            return created;
+        }
+
+        T existing = values.putIfAbsent(value, created);
+        return existing != null ? existing : created;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void clear() {
+        values.clear();
+    }
+}
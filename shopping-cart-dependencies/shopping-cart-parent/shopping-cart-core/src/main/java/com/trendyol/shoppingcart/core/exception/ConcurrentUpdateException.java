@@ -0,0 +1,12 @@
+package com.trendyol.shoppingcart.core.exception;
+
+public class ConcurrentUpdateException extends IllegalStateException {
+
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
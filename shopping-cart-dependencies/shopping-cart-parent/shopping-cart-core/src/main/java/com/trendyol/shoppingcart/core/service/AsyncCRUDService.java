@@ -0,0 +1,67 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/*
+Non-blocking sibling of the crud service
+
+Every operation returns at once with a stage completed by the store, so no thread waits for a call in flight.
+AsyncCRUDServiceAdapter runs a blocking service behind this contract, BlockingCRUDServiceAdapter does the opposite.
+The batch operations start all single item calls together and complete when the last one does.
+ */
+public interface AsyncCRUDService<T, I> {
+
+    CompletionStage<T> save(T t);
+
+    CompletionStage<Optional<T>> get(I id);
+
+    CompletionStage<T> update(T t);
+
+    CompletionStage<Void> delete(I id);
+
+    CompletionStage<List<T>> getAll();
+
+    default CompletionStage<List<T>> saveAll(Collection<? extends T> items) {
+        if (items == null) {
+            throw new InvalidValueException("Items can not be null!");
+        }
+
+        List<CompletableFuture<T>> saves = new ArrayList<>(items.size());
+        for (T item : items) {
+            saves.add(save(item).toCompletableFuture());
+        }
+        return CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<T> savedItems = new ArrayList<>(saves.size());
+            saves.forEach(save -> savedItems.add(save.join()));
+            return savedItems;
+        });
+    }
+
+    //found items by id in the order of the ids, missing ids are left out
+    default CompletionStage<Map<I, T>> getAll(Collection<? extends I> ids) {
+        if (ids == null) {
+            throw new InvalidValueException("Ids can not be null!");
+        }
+
+        Map<I, CompletableFuture<Optional<T>>> gets = new LinkedHashMap<>();
+        for (I id : ids) {
+            if (!gets.containsKey(id)) {
+                gets.put(id, get(id).toCompletableFuture());
+            }
+        }
+        return CompletableFuture.allOf(gets.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Map<I, T> items = new LinkedHashMap<>();
+            gets.forEach((id, get) -> get.join().ifPresent(item -> items.put(id, item)));
+            return items;
+        });
+    }
+}
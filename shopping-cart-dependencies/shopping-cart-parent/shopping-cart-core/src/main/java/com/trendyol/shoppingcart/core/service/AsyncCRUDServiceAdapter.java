@@ -0,0 +1,174 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+Asynchronous adapter of a blocking crud service
+
+Calls the blocking service on the executor, at most the maximum concurrency calls at a time. Calls beyond it wait in
+a queue without holding a thread and start as running ones finish, so a burst of saves never takes more threads or
+store connections than the bound. Batch operations go to the batch methods of the blocking service as one call.
+ */
+public class AsyncCRUDServiceAdapter<T, I> implements AsyncCRUDService<T, I> {
+
+    private final CRUDService<T, I> delegate;
+    private final Executor executor;
+    private final int maximumConcurrency;
+
+    private final Queue<PendingCall<?>> pendingCalls = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger runningCallCount = new AtomicInteger();
+
+    public AsyncCRUDServiceAdapter(CRUDService<T, I> delegate, Executor executor, int maximumConcurrency) {
+        if (delegate == null) {
+            throw new InvalidValueException("Delegate service can not be null!");
+        }
+
+        if (executor == null) {
+            throw new InvalidValueException("Executor can not be null!");
+        }
+
+        if (maximumConcurrency <= 0) {
+            throw new InvalidValueException("Maximum concurrency must be greater than 0!");
+        }
+
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maximumConcurrency = maximumConcurrency;
+    }
+
+    @Override
+    public CompletionStage<T> save(T t) {
+        return call(() -> delegate.save(t));
+    }
+
+    @Override
+    public CompletionStage<Optional<T>> get(I id) {
+        return call(() -> delegate.get(id));
+    }
+
+    @Override
+    public CompletionStage<T> update(T t) {
+        return call(() -> delegate.update(t));
+    }
+
+    @Override
+    public CompletionStage<Void> delete(I id) {
+        return call(() -> {
+            delegate.delete(id);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<List<T>> getAll() {
+        return call(delegate::getAll);
+    }
+
+    @Override
+    public CompletionStage<List<T>> saveAll(Collection<? extends T> items) {
+        return call(() -> delegate.saveAll(items));
+    }
+
+    @Override
+    public CompletionStage<Map<I, T>> getAll(Collection<? extends I> ids) {
+        return call(() -> delegate.getAll(ids));
+    }
+
+    private <R> CompletableFuture<R> call(Supplier<R> blockingCall) {
+        PendingCall<R> pendingCall = new PendingCall<>(blockingCall);
+        pendingCalls.add(pendingCall);
+        dispatch();
+        return pendingCall.result;
+    }
+
+    //a finishing call dispatches again after releasing its slot, so a queued call never waits for a slot that is free
+    private void dispatch() {
+        while (!pendingCalls.isEmpty()) {
+            int running = runningCallCount.get();
+            if (running >= maximumConcurrency) {
+                return;
+            }
+            if (!runningCallCount.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            PendingCall<?> pendingCall = pendingCalls.poll();
+            if (pendingCall == null) {
+                runningCallCount.decrementAndGet();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        pendingCall.run(runningCallCount::decrementAndGet);
+                    } finally {
+                        dispatch();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                runningCallCount.decrementAndGet();
+                pendingCall.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    public CRUDService<T, I> getDelegate() {
+        return delegate;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getMaximumConcurrency() {
+        return maximumConcurrency;
+    }
+
+    public int getRunningCallCount() {
+        return runningCallCount.get();
+    }
+
+    public int getPendingCallCount() {
+        return pendingCalls.size();
+    }
+
+    private static final class PendingCall<R> {
+
+        private final Supplier<R> blockingCall;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        private PendingCall(Supplier<R> blockingCall) {
+            this.blockingCall = blockingCall;
+        }
+
+        //the slot is released before the result completes, so a caller seeing the result never sees the call running
+        private void run(Runnable releaseSlot) {
+            R value;
+            try {
+                value = blockingCall.get();
+            } catch (Throwable e) {
+                //errors too, a caller waiting on the stage would otherwise wait forever
+                releaseSlot.run();
+                result.completeExceptionally(e);
+                if (e instanceof Error) {
+                    throw (Error) e;
+                }
+                return;
+            }
+            releaseSlot.run();
+            result.complete(value);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/*
+Blocking adapter of an asynchronous crud service
+
+Waits for every stage of the asynchronous service on the calling thread, for callers written against the blocking
+contract. A failed stage rethrows its cause when it is unchecked or an error, otherwise the completion exception.
+ */
+public class BlockingCRUDServiceAdapter<T, I> implements CRUDService<T, I> {
+
+    private final AsyncCRUDService<T, I> delegate;
+
+    public BlockingCRUDServiceAdapter(AsyncCRUDService<T, I> delegate) {
+        if (delegate == null) {
+            throw new InvalidValueException("Delegate service can not be null!");
+        }
+
+        this.delegate = delegate;
+    }
+
+    @Override
+    public T save(T t) {
+        return join(delegate.save(t));
+    }
+
+    @Override
+    public Optional<T> get(I id) {
+        return join(delegate.get(id));
+    }
+
+    @Override
+    public T update(T t) {
+        return join(delegate.update(t));
+    }
+
+    @Override
+    public void delete(I id) {
+        join(delegate.delete(id));
+    }
+
+    @Override
+    public List<T> getAll() {
+        return join(delegate.getAll());
+    }
+
+    @Override
+    public List<T> saveAll(Collection<? extends T> items) {
+        return join(delegate.saveAll(items));
+    }
+
+    @Override
+    public Map<I, T> getAll(Collection<? extends I> ids) {
+        return join(delegate.getAll(ids));
+    }
+
+    private static <R> R join(CompletionStage<R> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public AsyncCRUDService<T, I> getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,175 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/*
+Bloom filter
+
+Answers whether a value might have been put, a negative answer is always right, a positive one is wrong with about
+the configured false positive rate as long as no more than the expected number of values are put. The bit count and
+the hash count are derived from these two numbers.
+
+Bit positions come from a 64 bit hash of the whole key, split in two halves and combined by double hashing. By default
+numbers are hashed by their value and character sequences by every character, other values only by their hash code,
+so values with equal hash codes share their positions. Give a key hash built on hash(long) or hash(CharSequence) for
+those. Puts and lookups do not take a lock.
+ */
+public final class BloomFilter<T> {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long bitCount;
+    private final int hashCount;
+    private final ToLongFunction<? super T> keyHash;
+    private final AtomicLongArray words;
+    private final LongAdder insertionCount = new LongAdder();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        this(expectedInsertions, falsePositiveRate, BloomFilter::hashOf);
+    }
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate, ToLongFunction<? super T> keyHash) {
+        if (expectedInsertions <= 0) {
+            throw new InvalidValueException("Expected insertions must be greater than 0!");
+        }
+
+        if (!(falsePositiveRate > 0D && falsePositiveRate < 1D)) {
+            throw new InvalidValueException("False positive rate must be between 0 and 1!");
+        }
+
+        if (keyHash == null) {
+            throw new InvalidValueException("Key hash can not be null!");
+        }
+
+        long optimalBitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = Math.toIntExact(Math.max(1L, (optimalBitCount + 63) >>> 6));
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN2));
+        this.keyHash = keyHash;
+        this.words = new AtomicLongArray(wordCount);
+    }
+
+    //returns false when every bit of the value was already set, so it might have been put before
+    public boolean put(T value) {
+        if (value == null) {
+            throw new InvalidValueException("Value can not be null!");
+        }
+
+        long hash = keyHash.applyAsLong(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashCount; i++) {
+            changed |= setBit(bitIndex(hash1 + i * hash2));
+        }
+        insertionCount.increment();
+        return changed;
+    }
+
+    public boolean mightContain(T value) {
+        if (value == null) {
+            return false;
+        }
+
+        long hash = keyHash.applyAsLong(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bitIndex = bitIndex(hash1 + i * hash2);
+            if ((words.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(int combinedHash) {
+        //a negative combination is flipped, so every position stays reachable
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    private boolean setBit(long bitIndex) {
+        int wordIndex = (int) (bitIndex >>> 6);
+        long mask = 1L << bitIndex;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+        return true;
+    }
+
+    public static long hash(long value) {
+        return mix(value);
+    }
+
+    //fnv-1a over every character, mixed so both halves depend on all of them
+    public static long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    static long hashOf(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return hash(((Number) value).longValue());
+        }
+        if (value instanceof CharSequence) {
+            return hash((CharSequence) value);
+        }
+        return mix(value.hashCode());
+    }
+
+    //finalizer of murmur3, spreads the bits of a hash over all 64
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getInsertionCount() {
+        return insertionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter{" +
+                "expectedInsertions=" + expectedInsertions +
+                ", falsePositiveRate=" + falsePositiveRate +
+                ", bitCount=" + bitCount +
+                ", hashCount=" + hashCount +
+                '}';
+    }
+}
@@ -0,0 +1,269 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/*
+Bloom filtered decorator of crud services
+
+Keeps a bloom filter of the ids in the delegate, get answers an empty result without calling the delegate for ids
+the filter has never seen. The filter is built from getAll on creation and follows save and update. A bloom filter
+can not forget, so deleted ids still reach the delegate until the next rebuild. Once the saves and deletes since the
+last build exceed its expected insertions, the filter is rebuilt from getAll on the rebuild executor, sized for twice
+the stored items. The write that fills the filter only schedules the rebuild and at most one is scheduled at a time,
+the current filter keeps answering until the new one is swapped in.
+ */
+public class BloomFilteredCRUDService<T, I> implements CRUDService<T, I> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BloomFilteredCRUDService.class);
+
+    private final CRUDService<T, I> delegate;
+    private final Function<? super T, ? extends I> idExtractor;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final ToLongFunction<? super I> keyHash;
+    private final Executor rebuildExecutor;
+
+    private volatile BloomFilter<I> bloomFilter;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    //ids saved while a rebuild scans the delegate, the scan may miss them
+    private volatile Queue<I> idsSavedDuringRebuild;
+
+    private final LongAdder changesSinceBuild = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder passedCount = new LongAdder();
+    //ids let through that the delegate did not have, false positives and deleted ids
+    private final LongAdder falsePositiveCount = new LongAdder();
+
+    public BloomFilteredCRUDService(CRUDService<T, I> delegate, Function<? super T, ? extends I> idExtractor, long expectedInsertions, double falsePositiveRate) {
+        this(delegate, idExtractor, expectedInsertions, falsePositiveRate, BloomFilter::hashOf, ForkJoinPool.commonPool());
+    }
+
+    public BloomFilteredCRUDService(CRUDService<T, I> delegate, Function<? super T, ? extends I> idExtractor, long expectedInsertions, double falsePositiveRate,
+                                    ToLongFunction<? super I> keyHash, Executor rebuildExecutor) {
+        if (delegate == null) {
+            throw new InvalidValueException("Delegate service can not be null!");
+        }
+
+        if (idExtractor == null) {
+            throw new InvalidValueException("Id extractor can not be null!");
+        }
+
+        if (expectedInsertions <= 0) {
+            throw new InvalidValueException("Expected insertions must be greater than 0!");
+        }
+
+        if (!(falsePositiveRate > 0D && falsePositiveRate < 1D)) {
+            throw new InvalidValueException("False positive rate must be between 0 and 1!");
+        }
+
+        if (keyHash == null) {
+            throw new InvalidValueException("Key hash can not be null!");
+        }
+
+        if (rebuildExecutor == null) {
+            throw new InvalidValueException("Rebuild executor can not be null!");
+        }
+
+        this.delegate = delegate;
+        this.idExtractor = idExtractor;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.keyHash = keyHash;
+        this.rebuildExecutor = rebuildExecutor;
+        rebuild();
+    }
+
+    @Override
+    public T save(T t) {
+        T saved = delegate.save(t);
+        put(saved != null ? saved : t);
+        return saved;
+    }
+
+    @Override
+    public List<T> saveAll(Collection<? extends T> items) {
+        List<T> savedItems = delegate.saveAll(items);
+        for (T item : savedItems != null ? savedItems : items) {
+            put(item);
+        }
+        return savedItems;
+    }
+
+    @Override
+    public Optional<T> get(I id) {
+        if (id == null) {
+            return delegate.get(null);
+        }
+
+        if (!bloomFilter.mightContain(id)) {
+            rejectedCount.increment();
+            return Optional.empty();
+        }
+
+        passedCount.increment();
+        Optional<T> value = delegate.get(id);
+        if (value.isEmpty()) {
+            falsePositiveCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public T update(T t) {
+        T updated = delegate.update(t);
+        put(updated != null ? updated : t);
+        return updated;
+    }
+
+    @Override
+    public void delete(I id) {
+        delegate.delete(id);
+        changesSinceBuild.increment();
+        rebuildIfFull();
+    }
+
+    //ids the filter rejects are left out of the delegate call
+    @Override
+    public Map<I, T> getAll(Collection<? extends I> ids) {
+        if (ids == null) {
+            throw new InvalidValueException("Ids can not be null!");
+        }
+
+        BloomFilter<I> current = bloomFilter;
+        List<I> passedIds = new ArrayList<>(ids.size());
+        for (I id : ids) {
+            if (id == null || current.mightContain(id)) {
+                passedIds.add(id);
+            } else {
+                rejectedCount.increment();
+            }
+        }
+        if (passedIds.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        passedCount.add(passedIds.size());
+        Map<I, T> items = delegate.getAll(passedIds);
+        falsePositiveCount.add(passedIds.stream().distinct().filter(id -> !items.containsKey(id)).count());
+        return items;
+    }
+
+    @Override
+    public List<T> getAll() {
+        return delegate.getAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        return delegate.getPage(offset, limit);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return delegate.spliterator();
+    }
+
+    public synchronized void rebuild() {
+        //published before the scan, so a save either reaches the scan through the delegate or is queued here
+        Queue<I> savedDuringRebuild = new ConcurrentLinkedQueue<>();
+        idsSavedDuringRebuild = savedDuringRebuild;
+        List<T> items = delegate.getAll();
+        BloomFilter<I> built = new BloomFilter<I>(Math.max(expectedInsertions, 2L * items.size()), falsePositiveRate, keyHash);
+        for (T item : items) {
+            I id = idExtractor.apply(item);
+            if (id != null) {
+                built.put(id);
+            }
+        }
+        changesSinceBuild.reset();
+        bloomFilter = built;
+        idsSavedDuringRebuild = null;
+        savedDuringRebuild.forEach(built::put);
+        logger.info("Bloom filter was rebuilt for {} items with {} bits and {} hashes.", items.size(), built.getBitCount(), built.getHashCount());
+    }
+
+    private void put(T t) {
+        I id = t != null ? idExtractor.apply(t) : null;
+        if (id == null) {
+            return;
+        }
+        BloomFilter<I> current;
+        do {
+            current = bloomFilter;
+            current.put(id);
+            Queue<I> savedDuringRebuild = idsSavedDuringRebuild;
+            if (savedDuringRebuild != null) {
+                savedDuringRebuild.add(id);
+            }
+            //a filter swapped in meanwhile may have been built without the id
+        } while (current != bloomFilter);
+        changesSinceBuild.increment();
+        rebuildIfFull();
+    }
+
+    private void rebuildIfFull() {
+        if (changesSinceBuild.sum() <= bloomFilter.getExpectedInsertions() || !rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.warn("Bloom filter could not be rebuilt, the current one is kept!", e);
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildScheduled.set(false);
+            logger.warn("Bloom filter rebuild could not be scheduled!", e);
+        }
+    }
+
+    public CRUDService<T, I> getDelegate() {
+        return delegate;
+    }
+
+    public BloomFilter<I> getBloomFilter() {
+        return bloomFilter;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getPassedCount() {
+        return passedCount.sum();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.sum();
+    }
+}
@@ -1,8 +1,24 @@
 package com.trendyol.shoppingcart.core.service;
 
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+Crud service
 
+The batch and scan operations have defaults built on the single item ones and on getAll, stores that can do better
+override them. A store able to read by offset overrides count and getPage, and returns a PagedSpliterator from
+spliterator, so stream reads the store page by page instead of loading it at once.
+ */
 public interface CRUDService<T, I> {
 
     T save(T t);
@@ -14,4 +30,58 @@ public interface CRUDService<T, I> {
     void delete(I id);
 
     List<T> getAll();
+
+    default List<T> saveAll(Collection<? extends T> items) {
+        if (items == null) {
+            throw new InvalidValueException("Items can not be null!");
+        }
+
+        List<T> savedItems = new ArrayList<>(items.size());
+        for (T item : items) {
+            savedItems.add(save(item));
+        }
+        return savedItems;
+    }
+
+    //found items by id in the order of the ids, missing ids are left out
+    default Map<I, T> getAll(Collection<? extends I> ids) {
+        if (ids == null) {
+            throw new InvalidValueException("Ids can not be null!");
+        }
+
+        Map<I, T> items = new LinkedHashMap<>();
+        for (I id : ids) {
+            if (!items.containsKey(id)) {
+                get(id).ifPresent(item -> items.put(id, item));
+            }
+        }
+        return items;
+    }
+
+    default long count() {
+        return getAll().size();
+    }
+
+    default List<T> getPage(long offset, int limit) {
+        if (offset < 0) {
+            throw new InvalidValueException("Offset can not be negative!");
+        }
+
+        if (limit <= 0) {
+            throw new InvalidValueException("Limit must be greater than 0!");
+        }
+
+        List<T> items = getAll();
+        int from = (int) Math.min(offset, items.size());
+        int to = (int) Math.min((long) from + limit, items.size());
+        return new ArrayList<>(items.subList(from, to));
+    }
+
+    default Spliterator<T> spliterator() {
+        return getAll().spliterator();
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
 }
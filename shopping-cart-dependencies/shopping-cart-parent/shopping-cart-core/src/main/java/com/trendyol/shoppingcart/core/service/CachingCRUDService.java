@@ -0,0 +1,401 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/*
+Caching decorator of crud services
+
+Results of get, absent ones included, are kept for the time to live. A hit older than the refresh time is served from
+the cache while a single reload runs on the refresh executor, so popular ids never wait for the delegate. Without a
+given refresh time, refreshing starts at three quarters of the time to live. Save, update and delete write through the
+delegate and invalidate the id, loads of that id that started before the invalidation are not cached. Invalidations are
+counted in stripes by id, so a write only discards the loads of ids sharing its stripe. When the cache is full, entries
+leave in insertion order, skipping the ones hit since their last turn.
+
+Hits do not take a lock, only a miss calls the delegate. A batch get loads all of its misses in one delegate call,
+scans go straight to the delegate without touching the cache.
+ */
+public class CachingCRUDService<T, I> implements CRUDService<T, I> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingCRUDService.class);
+
+    private static final int INVALIDATION_STRIPE_COUNT = 1_024;
+
+    private final CRUDService<T, I> delegate;
+    private final Function<? super T, ? extends I> idExtractor;
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final long refreshAfterMillis;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<I, Entry<T, I>> entries = new ConcurrentHashMap<>();
+
+    //eviction order, entries replaced or invalidated since they were queued are skipped when they come up
+    private final Queue<Entry<T, I>> evictionQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+    //bumped by the writes of the ids in a stripe, a load only caches its result if no write to its stripe happened while it ran
+    private final AtomicLongArray invalidationCounts = new AtomicLongArray(INVALIDATION_STRIPE_COUNT);
+    //bumped by invalidateAll, which discards every running load
+    private final AtomicLong invalidateAllCount = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public CachingCRUDService(CRUDService<T, I> delegate, Function<? super T, ? extends I> idExtractor, int maximumSize, Duration timeToLive) {
+        this(delegate, idExtractor, maximumSize, timeToLive, defaultRefreshAfter(timeToLive), ForkJoinPool.commonPool(), Clock.systemUTC());
+    }
+
+    public CachingCRUDService(CRUDService<T, I> delegate, Function<? super T, ? extends I> idExtractor, int maximumSize, Duration timeToLive,
+                              Duration refreshAfter, Executor refreshExecutor, Clock clock) {
+        if (delegate == null) {
+            throw new InvalidValueException("Delegate service can not be null!");
+        }
+
+        if (idExtractor == null) {
+            throw new InvalidValueException("Id extractor can not be null!");
+        }
+
+        if (maximumSize <= 0) {
+            throw new InvalidValueException("Maximum size must be greater than 0!");
+        }
+
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new InvalidValueException("Time to live must be greater than 0!");
+        }
+
+        if (refreshAfter == null || refreshAfter.isNegative() || refreshAfter.isZero() || refreshAfter.compareTo(timeToLive) > 0) {
+            throw new InvalidValueException("Refresh after must be greater than 0 and not greater than time to live!");
+        }
+
+        if (refreshExecutor == null) {
+            throw new InvalidValueException("Refresh executor can not be null!");
+        }
+
+        if (clock == null) {
+            throw new InvalidValueException("Clock can not be null!");
+        }
+
+        this.delegate = delegate;
+        this.idExtractor = idExtractor;
+        this.maximumSize = maximumSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.refreshAfterMillis = refreshAfter.toMillis();
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    //null is left to the constructor to reject
+    private static Duration defaultRefreshAfter(Duration timeToLive) {
+        return timeToLive != null ? timeToLive.minus(timeToLive.dividedBy(4)) : null;
+    }
+
+    @Override
+    public T save(T t) {
+        T saved = delegate.save(t);
+        invalidate(idOf(saved != null ? saved : t));
+        return saved;
+    }
+
+    @Override
+    public List<T> saveAll(Collection<? extends T> items) {
+        List<T> savedItems = delegate.saveAll(items);
+        for (T item : savedItems != null ? savedItems : items) {
+            invalidate(idOf(item));
+        }
+        return savedItems;
+    }
+
+    @Override
+    public Optional<T> get(I id) {
+        if (id == null) {
+            return delegate.get(null);
+        }
+
+        long now = clock.millis();
+        Entry<T, I> entry = entries.get(id);
+        if (isFresh(entry, now)) {
+            return hit(entry, now);
+        }
+
+        missCount.increment();
+        long invalidationsBeforeLoad = invalidationsOf(id);
+        Optional<T> value = delegate.get(id);
+        cache(entry, id, value, now, invalidationsBeforeLoad);
+        return value;
+    }
+
+    //cached ids are answered from the cache, the rest is loaded from the delegate in one call
+    @Override
+    public Map<I, T> getAll(Collection<? extends I> ids) {
+        if (ids == null) {
+            throw new InvalidValueException("Ids can not be null!");
+        }
+
+        long now = clock.millis();
+        Map<I, Optional<T>> cachedValues = new HashMap<>();
+        Map<I, Entry<T, I>> staleEntries = new HashMap<>();
+        Map<I, Long> invalidationsBeforeLoad = new HashMap<>();
+        Set<I> missingIds = new LinkedHashSet<>();
+        for (I id : ids) {
+            Entry<T, I> entry = id != null ? entries.get(id) : null;
+            if (isFresh(entry, now)) {
+                cachedValues.put(id, hit(entry, now));
+            } else if (missingIds.add(id) && entry != null) {
+                staleEntries.put(id, entry);
+            }
+        }
+
+        Map<I, T> loadedItems = Collections.emptyMap();
+        if (!missingIds.isEmpty()) {
+            missCount.add(missingIds.size());
+            for (I id : missingIds) {
+                if (id != null) {
+                    invalidationsBeforeLoad.put(id, invalidationsOf(id));
+                }
+            }
+            loadedItems = delegate.getAll(missingIds);
+            for (I id : missingIds) {
+                if (id != null) {
+                    cache(staleEntries.get(id), id, Optional.ofNullable(loadedItems.get(id)), now, invalidationsBeforeLoad.get(id));
+                }
+            }
+        }
+
+        Map<I, T> items = new LinkedHashMap<>();
+        for (I id : ids) {
+            Optional<T> cachedValue = cachedValues.get(id);
+            T item = cachedValue != null ? cachedValue.orElse(null) : loadedItems.get(id);
+            if (item != null) {
+                items.put(id, item);
+            }
+        }
+        return items;
+    }
+
+    private boolean isFresh(Entry<T, I> entry, long now) {
+        return entry != null && now - entry.loadedAt < timeToLiveMillis;
+    }
+
+    private Optional<T> hit(Entry<T, I> entry, long now) {
+        hitCount.increment();
+        entry.referenced = true;
+        //refresh ahead only when the refresh time is before the expiry
+        if (now - entry.loadedAt >= refreshAfterMillis && refreshAfterMillis < timeToLiveMillis && entry.refreshing.compareAndSet(false, true)) {
+            refresh(entry);
+        }
+        return entry.value;
+    }
+
+    private void cache(Entry<T, I> staleEntry, I id, Optional<T> value, long now, long invalidationsBeforeLoad) {
+        Entry<T, I> loaded = new Entry<>(id, value, now);
+        if (invalidationsOf(id) == invalidationsBeforeLoad
+                && (staleEntry != null ? entries.replace(id, staleEntry, loaded) : entries.putIfAbsent(id, loaded) == null)) {
+            enqueue(loaded, invalidationsBeforeLoad);
+        }
+    }
+
+    @Override
+    public T update(T t) {
+        T updated = delegate.update(t);
+        invalidate(idOf(updated != null ? updated : t));
+        return updated;
+    }
+
+    @Override
+    public void delete(I id) {
+        delegate.delete(id);
+        invalidate(id);
+    }
+
+    @Override
+    public List<T> getAll() {
+        return delegate.getAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        return delegate.getPage(offset, limit);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return delegate.spliterator();
+    }
+
+    public void invalidate(I id) {
+        if (id != null) {
+            invalidationCounts.incrementAndGet(stripeOf(id));
+            entries.remove(id);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidateAllCount.incrementAndGet();
+        entries.clear();
+    }
+
+    //both counts only grow, so their sum changes whenever either does
+    private long invalidationsOf(I id) {
+        return invalidationCounts.get(stripeOf(id)) + invalidateAllCount.get();
+    }
+
+    private static int stripeOf(Object id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (INVALIDATION_STRIPE_COUNT - 1);
+    }
+
+    private void refresh(Entry<T, I> entry) {
+        long invalidationsBeforeLoad = invalidationsOf(entry.id);
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Entry<T, I> loaded = new Entry<>(entry.id, delegate.get(entry.id), clock.millis());
+                    if (entries.replace(entry.id, entry, loaded)) {
+                        refreshCount.increment();
+                        enqueue(loaded, invalidationsBeforeLoad);
+                    }
+                } catch (RuntimeException e) {
+                    //the stale entry stays until it expires, the next hit tries again
+                    logger.warn("Refreshing the cached value of {} failed.", entry.id, e);
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Refresh of the cached value of {} was rejected.", entry.id, e);
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void enqueue(Entry<T, I> entry, long invalidationsBeforeLoad) {
+        if (invalidationsOf(entry.id) != invalidationsBeforeLoad) {
+            //a write to the id happened during the load, the value may be stale
+            entries.remove(entry.id, entry);
+            return;
+        }
+        evictionQueue.add(entry);
+        evictionQueueSize.incrementAndGet();
+        evict();
+    }
+
+    private void evict() {
+        while (entries.size() > maximumSize || evictionQueueSize.get() > 2 * maximumSize) {
+            Entry<T, I> entry = evictionQueue.poll();
+            if (entry == null) {
+                return;
+            }
+            evictionQueueSize.decrementAndGet();
+            if (entries.get(entry.id) != entry) {
+                continue;
+            }
+            if (entry.referenced && entries.size() > maximumSize) {
+                //second chance for entries hit since their last turn
+                entry.referenced = false;
+                evictionQueue.add(entry);
+                evictionQueueSize.incrementAndGet();
+            } else if (entries.size() > maximumSize && entries.remove(entry.id, entry)) {
+                evictionCount.increment();
+            } else if (entries.size() <= maximumSize) {
+                //only the queue was over its bound, keep the live entry queued
+                evictionQueue.add(entry);
+                evictionQueueSize.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private I idOf(T t) {
+        return t != null ? idExtractor.apply(t) : null;
+    }
+
+    public CRUDService<T, I> getDelegate() {
+        return delegate;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public Duration getTimeToLive() {
+        return Duration.ofMillis(timeToLiveMillis);
+    }
+
+    public Duration getRefreshAfter() {
+        return Duration.ofMillis(refreshAfterMillis);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0 ? 0D : (double) hits / requests;
+    }
+
+    private static final class Entry<T, I> {
+
+        private final I id;
+        private final Optional<T> value;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile boolean referenced;
+
+        private Entry(I id, Optional<T> value, long loadedAt) {
+            this.id = id;
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
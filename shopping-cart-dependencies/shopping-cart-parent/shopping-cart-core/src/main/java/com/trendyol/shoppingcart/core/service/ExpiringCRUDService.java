@@ -0,0 +1,334 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+Expiring decorator of crud services
+
+Tracks when every item was last saved, updated or read and removes items idle for their time to idle from the
+delegate, without scanning it. An item is tracked from its first access through this decorator, scans do not count as
+access. Every tracked id has one timeout in a hierarchical timing wheel. Accesses only record their time, a timeout
+coming up for an item touched since it was scheduled is scheduled again for the new deadline, so a busy item costs
+one timeout per time to idle and reads take no lock.
+
+Callers call expireIdle periodically, for example on a scheduled executor. An idle item is read from the delegate,
+handed to the expiry listener and deleted, a listener saving it to a cold store demotes it there. When the listener
+throws, the item stays and is tracked again from then on. Writes count their item before they reach the delegate, an
+item written while it expires is kept and the delete only happens when no write came in since it was read. An item only
+read while it expires may still be removed.
+ */
+public class ExpiringCRUDService<T, I> implements CRUDService<T, I> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiringCRUDService.class);
+
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofSeconds(1);
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVEL_COUNT = 4;
+
+    private final CRUDService<T, I> delegate;
+    private final Function<? super T, ? extends I> idExtractor;
+    private final long timeToIdleMillis;
+    private final Consumer<? super T> expiryListener;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<I, Tracker<I>> trackers = new ConcurrentHashMap<>();
+
+    //guarded by itself, together with the timeouts of the trackers
+    private final TimingWheel<I> wheel;
+
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder rescheduledCount = new LongAdder();
+
+    private static final class Tracker<I> {
+
+        private volatile long lastTouchMillis;
+        private volatile long timeToIdleMillis;
+
+        //guarded by the tracker, an expiry deletes the item only if this did not change since it read the item
+        private long writeCount;
+
+        //null until first scheduled, afterwards the last timeout even once fired
+        private volatile TimingWheel.Timeout<I> timeout;
+
+        private Tracker(long lastTouchMillis, long timeToIdleMillis) {
+            this.lastTouchMillis = lastTouchMillis;
+            this.timeToIdleMillis = timeToIdleMillis;
+        }
+
+        private long deadlineMillis() {
+            return lastTouchMillis + timeToIdleMillis;
+        }
+    }
+
+    public ExpiringCRUDService(CRUDService<T, I> delegate, Function<? super T, ? extends I> idExtractor, Duration timeToIdle, Consumer<? super T> expiryListener) {
+        this(delegate, idExtractor, timeToIdle, DEFAULT_TICK_DURATION, expiryListener, Clock.systemUTC());
+    }
+
+    public ExpiringCRUDService(CRUDService<T, I> delegate, Function<? super T, ? extends I> idExtractor, Duration timeToIdle, Duration tickDuration,
+                               Consumer<? super T> expiryListener, Clock clock) {
+        if (delegate == null) {
+            throw new InvalidValueException("Delegate service can not be null!");
+        }
+
+        if (idExtractor == null) {
+            throw new InvalidValueException("Id extractor can not be null!");
+        }
+
+        validate(timeToIdle);
+
+        if (expiryListener == null) {
+            throw new InvalidValueException("Expiry listener can not be null!");
+        }
+
+        if (clock == null) {
+            throw new InvalidValueException("Clock can not be null!");
+        }
+
+        this.delegate = delegate;
+        this.idExtractor = idExtractor;
+        this.timeToIdleMillis = timeToIdle.toMillis();
+        this.expiryListener = expiryListener;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tickDuration, WHEEL_SIZE, WHEEL_LEVEL_COUNT, clock.millis());
+    }
+
+    @Override
+    public T save(T t) {
+        touchBeforeWrite(idOf(t));
+        T saved = delegate.save(t);
+        touch(idOf(saved != null ? saved : t));
+        return saved;
+    }
+
+    @Override
+    public List<T> saveAll(Collection<? extends T> items) {
+        if (items != null) {
+            for (T item : items) {
+                touchBeforeWrite(idOf(item));
+            }
+        }
+        List<T> savedItems = delegate.saveAll(items);
+        for (T item : savedItems != null ? savedItems : items) {
+            touch(idOf(item));
+        }
+        return savedItems;
+    }
+
+    @Override
+    public Optional<T> get(I id) {
+        Optional<T> value = delegate.get(id);
+        if (value.isPresent()) {
+            touch(id);
+        }
+        return value;
+    }
+
+    @Override
+    public T update(T t) {
+        touchBeforeWrite(idOf(t));
+        T updated = delegate.update(t);
+        touch(idOf(updated != null ? updated : t));
+        return updated;
+    }
+
+    @Override
+    public void delete(I id) {
+        delegate.delete(id);
+        Tracker<I> tracker = id != null ? trackers.remove(id) : null;
+        if (tracker != null) {
+            synchronized (wheel) {
+                wheel.cancel(tracker.timeout);
+            }
+        }
+    }
+
+    @Override
+    public Map<I, T> getAll(Collection<? extends I> ids) {
+        Map<I, T> items = delegate.getAll(ids);
+        items.keySet().forEach(this::touch);
+        return items;
+    }
+
+    @Override
+    public List<T> getAll() {
+        return delegate.getAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public List<T> getPage(long offset, int limit) {
+        return delegate.getPage(offset, limit);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return delegate.spliterator();
+    }
+
+    //overrides the time to idle of one id, counted from its last access
+    public void expireAfter(I id, Duration timeToIdle) {
+        if (id == null) {
+            throw new InvalidValueException("Id can not be null!");
+        }
+        validate(timeToIdle);
+
+        Tracker<I> tracker = trackers.computeIfAbsent(id, key -> new Tracker<>(clock.millis(), timeToIdleMillis));
+        tracker.timeToIdleMillis = timeToIdle.toMillis();
+        synchronized (wheel) {
+            wheel.cancel(tracker.timeout);
+            tracker.timeout = wheel.schedule(id, tracker.deadlineMillis());
+        }
+    }
+
+    //removes the items idle for their time to idle, returns how many were removed
+    public int expireIdle() {
+        long now = clock.millis();
+        List<I> dueIds = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(now, dueIds::add);
+        }
+
+        int expired = 0;
+        for (I id : dueIds) {
+            Tracker<I> tracker = trackers.get(id);
+            if (tracker == null) {
+                continue;
+            }
+            long deadlineMillis = tracker.deadlineMillis();
+            if (deadlineMillis > now) {
+                synchronized (wheel) {
+                    if (!tracker.timeout.isScheduled()) {
+                        tracker.timeout = wheel.schedule(id, deadlineMillis);
+                    }
+                }
+                rescheduledCount.increment();
+            } else if (expire(id, tracker)) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    //the tracker stays mapped while the listener runs, so writes meanwhile count on it
+    private boolean expire(I id, Tracker<I> tracker) {
+        long writeCount;
+        synchronized (tracker) {
+            writeCount = tracker.writeCount;
+        }
+        Optional<T> item = delegate.get(id);
+        if (item.isEmpty()) {
+            trackers.remove(id, tracker);
+            return false;
+        }
+
+        try {
+            expiryListener.accept(item.get());
+        } catch (RuntimeException e) {
+            logger.warn("Item {} could not be expired, it is kept!", id, e);
+            tracker.lastTouchMillis = clock.millis();
+            reschedule(id, tracker);
+            return false;
+        }
+
+        synchronized (tracker) {
+            if (tracker.writeCount != writeCount || trackers.get(id) != tracker) {
+                logger.info("Item {} was written while it expired, it is kept.", id);
+                reschedule(id, tracker);
+                return false;
+            }
+            trackers.remove(id, tracker);
+            delegate.delete(id);
+        }
+        expiredCount.increment();
+        return true;
+    }
+
+    private void reschedule(I id, Tracker<I> tracker) {
+        synchronized (wheel) {
+            if (!tracker.timeout.isScheduled()) {
+                tracker.timeout = wheel.schedule(id, tracker.deadlineMillis());
+            }
+        }
+    }
+
+    //takes the tracker lock, so a write either reaches the delegate after an expiry deleted its item or keeps the item
+    private void touchBeforeWrite(I id) {
+        Tracker<I> tracker = id != null ? trackers.get(id) : null;
+        if (tracker != null) {
+            synchronized (tracker) {
+                tracker.writeCount++;
+                tracker.lastTouchMillis = clock.millis();
+            }
+        }
+    }
+
+    private void touch(I id) {
+        if (id == null) {
+            return;
+        }
+
+        long now = clock.millis();
+        Tracker<I> tracker = trackers.get(id);
+        if (tracker == null) {
+            tracker = trackers.computeIfAbsent(id, key -> new Tracker<>(now, timeToIdleMillis));
+        }
+        tracker.lastTouchMillis = now;
+        if (tracker.timeout == null) {
+            synchronized (wheel) {
+                if (tracker.timeout == null) {
+                    tracker.timeout = wheel.schedule(id, tracker.deadlineMillis());
+                }
+            }
+        }
+    }
+
+    private I idOf(T t) {
+        return t != null ? idExtractor.apply(t) : null;
+    }
+
+    private static void validate(Duration timeToIdle) {
+        if (timeToIdle == null || timeToIdle.isNegative() || timeToIdle.isZero()) {
+            throw new InvalidValueException("Time to idle must be greater than 0!");
+        }
+    }
+
+    public CRUDService<T, I> getDelegate() {
+        return delegate;
+    }
+
+    public Duration getTimeToIdle() {
+        return Duration.ofMillis(timeToIdleMillis);
+    }
+
+    public int getTrackedCount() {
+        return trackers.size();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    public long getRescheduledCount() {
+        return rescheduledCount.sum();
+    }
+}
@@ -0,0 +1,32 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+public class ExpiringShoppingCartService extends ExpiringCRUDService<ShoppingCart, Long> implements ShoppingCartService {
+
+    public ExpiringShoppingCartService(ShoppingCartService shoppingCartService, Duration timeToIdle, Consumer<? super ShoppingCart> expiryListener) {
+        super(shoppingCartService, ShoppingCart::getId, timeToIdle, expiryListener);
+    }
+
+    public ExpiringShoppingCartService(ShoppingCartService shoppingCartService, Duration timeToIdle, Duration tickDuration,
+                                       Consumer<? super ShoppingCart> expiryListener, Clock clock) {
+        super(shoppingCartService, ShoppingCart::getId, timeToIdle, tickDuration, expiryListener, clock);
+    }
+
+    //saves expired carts to the cold store as they are, the version of the hot store does not apply there
+    public static Consumer<ShoppingCart> demoteTo(ShoppingCartService coldShoppingCartService) {
+        if (coldShoppingCartService == null) {
+            throw new InvalidValueException("Cold shopping cart service can not be null!");
+        }
+
+        return shoppingCart -> {
+            shoppingCart.setVersion(null);
+            coldShoppingCartService.save(shoppingCart);
+        };
+    }
+}
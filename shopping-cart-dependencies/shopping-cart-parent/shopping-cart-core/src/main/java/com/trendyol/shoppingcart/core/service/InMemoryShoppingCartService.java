@@ -0,0 +1,219 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.exception.ConcurrentUpdateException;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+In memory shopping cart service
+
+Keeps carts in a concurrent hash map by id, get does not take a lock and writes only lock the bin of their id, so
+threads working on different carts do not wait for each other. Carts saved without an id get the next one of an
+atomic counter, saves with an id move the counter past it.
+
+Every stored cart has a version, starting at 1 and increased by each write. A cart carrying a version is only written
+when the stored version is still the same, otherwise a ConcurrentUpdateException is thrown and the caller reads the
+cart again. A cart without a version is written unconditionally. The store keeps a copy of every written cart and hands out copies,
+so a caller changing a cart it read does not change the stored one and a stale update is detected in process as well.
+
+Count is the size of the map. Pages and scans follow the ids in ascending order, kept in a concurrent sorted set next
+to the map and changed in the same bin lock as the cart. A page by offset skips the ids before it, a page after an id
+starts right behind that id, so a caller reading the store page by page passes the last id of the previous page and
+reads every id once, without skipping or repeating carts deleted or added between its pages.
+ */
+public class InMemoryShoppingCartService implements ShoppingCartService {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private final ConcurrentHashMap<Long, Entry> entries;
+
+    //ids of the stored carts, added and removed while the bin of the id is locked
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+
+    private final AtomicLong lastId = new AtomicLong();
+
+    private final LongAdder conflictCount = new LongAdder();
+
+    //a private copy of a cart carrying the version it was stored at, replaced as a whole on every write
+    private static final class Entry {
+
+        private final ShoppingCart shoppingCart;
+        private final long version;
+
+        private Entry(ShoppingCart shoppingCart, long version) {
+            this.shoppingCart = shoppingCart;
+            this.shoppingCart.setVersion(version);
+            this.version = version;
+        }
+
+        private ShoppingCart copyOfShoppingCart() {
+            return shoppingCart.copy();
+        }
+    }
+
+    public InMemoryShoppingCartService() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    public InMemoryShoppingCartService(int expectedSize) {
+        if (expectedSize <= 0) {
+            throw new InvalidValueException("Expected size must be greater than 0!");
+        }
+        this.entries = new ConcurrentHashMap<>(expectedSize);
+    }
+
+    @Override
+    public ShoppingCart save(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+
+        Long id = shoppingCart.getId();
+        if (id == null) {
+            shoppingCart.setId(lastId.incrementAndGet());
+            shoppingCart.setVersion(null);
+        } else {
+            lastId.accumulateAndGet(id, Math::max);
+        }
+        return write(shoppingCart, false);
+    }
+
+    @Override
+    public Optional<ShoppingCart> get(Long id) {
+        if (id == null) {
+            throw new InvalidValueException("Id can not be null!");
+        }
+
+        Entry entry = entries.get(id);
+        return entry != null ? Optional.of(entry.copyOfShoppingCart()) : Optional.empty();
+    }
+
+    @Override
+    public ShoppingCart update(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+
+        if (shoppingCart.getId() == null) {
+            throw new InvalidValueException("Shopping cart id can not be null!");
+        }
+        return write(shoppingCart, true);
+    }
+
+    @Override
+    public void delete(Long id) {
+        if (id == null) {
+            throw new InvalidValueException("Id can not be null!");
+        }
+        entries.computeIfPresent(id, (key, current) -> {
+            ids.remove(key);
+            return null;
+        });
+    }
+
+    @Override
+    public List<ShoppingCart> getAll() {
+        List<ShoppingCart> shoppingCarts = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            shoppingCarts.add(entry.copyOfShoppingCart());
+        }
+        return shoppingCarts;
+    }
+
+    @Override
+    public long count() {
+        return entries.mappingCount();
+    }
+
+    @Override
+    public List<ShoppingCart> getPage(long offset, int limit) {
+        if (offset < 0) {
+            throw new InvalidValueException("Offset can not be negative!");
+        }
+
+        if (limit <= 0) {
+            throw new InvalidValueException("Limit must be greater than 0!");
+        }
+
+        Iterator<Long> pageIds = ids.iterator();
+        for (long skipped = 0; skipped < offset && pageIds.hasNext(); skipped++) {
+            pageIds.next();
+        }
+        return readPage(pageIds, limit);
+    }
+
+    //the carts with ids greater than the given one, from the first stored cart when it is null
+    public List<ShoppingCart> getPageAfter(Long lastId, int limit) {
+        if (limit <= 0) {
+            throw new InvalidValueException("Limit must be greater than 0!");
+        }
+
+        return readPage((lastId != null ? ids.tailSet(lastId, false) : ids).iterator(), limit);
+    }
+
+    private List<ShoppingCart> readPage(Iterator<Long> pageIds, int limit) {
+        List<ShoppingCart> page = new ArrayList<>(Math.min(limit, entries.size()));
+        while (page.size() < limit && pageIds.hasNext()) {
+            Entry entry = entries.get(pageIds.next());
+            if (entry != null) {
+                page.add(entry.copyOfShoppingCart());
+            }
+        }
+        return page;
+    }
+
+    //weakly consistent and splittable, sees every cart stored before the scan and never throws on concurrent writes
+    @Override
+    public Spliterator<ShoppingCart> spliterator() {
+        return ids.stream()
+                .map(entries::get)
+                .filter(Objects::nonNull)
+                .map(Entry::copyOfShoppingCart)
+                .spliterator();
+    }
+
+    private ShoppingCart write(ShoppingCart shoppingCart, boolean mustExist) {
+        Long expectedVersion = shoppingCart.getVersion();
+        //copied before the bin is locked, the copy only gets its version once the write is decided
+        ShoppingCart stored = shoppingCart.copy();
+        Entry written = entries.compute(shoppingCart.getId(), (id, current) -> {
+            if (current == null) {
+                if (mustExist) {
+                    conflictCount.increment();
+                    throw new ConcurrentUpdateException("Shopping cart " + id + " does not exist!");
+                }
+                ids.add(id);
+                return new Entry(stored, 1L);
+            }
+
+            if (expectedVersion != null && expectedVersion != current.version) {
+                conflictCount.increment();
+                throw new ConcurrentUpdateException("Shopping cart " + id + " is at version " + current.version
+                        + ", not at version " + expectedVersion + "!");
+            }
+            return new Entry(stored, current.version + 1);
+        });
+        shoppingCart.setVersion(written.version);
+        return shoppingCart;
+    }
+
+    public long getLastAllocatedId() {
+        return lastId.get();
+    }
+
+    public long getConflictCount() {
+        return conflictCount.sum();
+    }
+}
@@ -0,0 +1,619 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.codec.ShoppingCartCodec;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.exception.ConcurrentUpdateException;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/*
+Off heap shopping cart service
+
+Keeps encoded carts in direct byte buffers outside the heap, so the heap holds the slabs and not the carts, and the
+garbage collector has nothing to trace however many carts are stored. Carts are materialized only when they are read,
+get decodes a new cart on every call, and changes to it reach the store through update. Versions are checked like in
+InMemoryShoppingCartService.
+
+Memory is taken from the system in slabs of a fixed size, which are cut into blocks of power of two sizes. Every block
+starts with a header holding the length of the encoded cart, the size class of the block, the id and the version. A
+freed block goes on the free list of its size class, linked through its header, and is handed out before the slab is
+cut further. A cart rewritten with an encoding of the same size class stays in its block. Blocks waste up to half of
+their size, in exchange a block never has to be split or merged.
+
+The index of ids is an open addressing hash table in a direct buffer as well, holding an id and a block address per
+slot, so a stored cart costs no heap at all. Reads share a lock and only copy the encoded cart under it, writes take
+the lock alone after encoding the cart.
+
+Scans walk the slabs block by block and decode a batch of carts at a time. Slabs never move, so a scan sees each cart
+left alone during the scan exactly once. A cart rewritten into a bigger block during the scan may be seen twice or
+not at all. Closing the store drops the slabs, their memory is given back once they are collected.
+ */
+public class OffHeapShoppingCartService implements ShoppingCartService, Closeable {
+
+    public static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+
+    private static final int DEFAULT_EXPECTED_SIZE = 1_024;
+
+    //payload length, size class, id and version, a free block keeps the next free address in place of the id
+    static final int HEADER_SIZE = 24;
+
+    static final int MIN_BLOCK_SIZE = 64;
+
+    private static final int FREE = -1;
+
+    private static final int INDEX_SLOT_SIZE = 16;
+    //the index stays below 1 GiB, so its byte offsets fit in an int
+    private static final int MAX_INDEX_CAPACITY = 1 << 26;
+
+    private static final int SCAN_BATCH_SIZE = 256;
+
+    private final ShoppingCartCodec codec;
+    private final int slabSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+
+    //guarded by the lock from here on
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    //the position up to which the last slab is cut into blocks
+    private int top;
+    //heads of the free lists by size class, addresses are kept plus one so that 0 is an empty list
+    private final long[] freeLists;
+
+    private ByteBuffer index;
+    private int indexCapacity;
+    private int size;
+
+    private long usedBytes;
+    private long lastId;
+    private boolean closed;
+
+    private final LongAdder conflictCount = new LongAdder();
+
+    public OffHeapShoppingCartService(ShoppingCartCodec codec) {
+        this(codec, DEFAULT_SLAB_SIZE, DEFAULT_EXPECTED_SIZE);
+    }
+
+    public OffHeapShoppingCartService(ShoppingCartCodec codec, int slabSize, int expectedSize) {
+        if (codec == null) {
+            throw new InvalidValueException("Codec can not be null!");
+        }
+
+        if (slabSize < MIN_BLOCK_SIZE || Integer.bitCount(slabSize) != 1) {
+            throw new InvalidValueException("Slab size must be a power of 2 not less than " + MIN_BLOCK_SIZE + "!");
+        }
+
+        if (expectedSize <= 0) {
+            throw new InvalidValueException("Expected size must be greater than 0!");
+        }
+
+        this.codec = codec;
+        this.slabSize = slabSize;
+        this.freeLists = new long[sizeClassOf(slabSize) + 1];
+        long capacity = Math.max(16L, Long.highestOneBit(expectedSize * 4L / 3L + 1L) << 1);
+        this.indexCapacity = (int) Math.min(capacity, MAX_INDEX_CAPACITY);
+        this.index = ByteBuffer.allocateDirect(indexCapacity * INDEX_SLOT_SIZE);
+    }
+
+    @Override
+    public ShoppingCart save(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+        return write(shoppingCart, false);
+    }
+
+    @Override
+    public Optional<ShoppingCart> get(Long id) {
+        if (id == null) {
+            throw new InvalidValueException("Id can not be null!");
+        }
+
+        byte[] payload;
+        long version;
+        readLock.lock();
+        try {
+            ensureOpen();
+            long address = find(id);
+            if (address < 0) {
+                return Optional.empty();
+            }
+            ByteBuffer slab = slabOf(address);
+            int offset = offsetOf(address);
+            version = slab.getLong(offset + 16);
+            payload = payloadOf(slab, offset);
+        } finally {
+            readLock.unlock();
+        }
+        return Optional.of(materialize(id, version, payload));
+    }
+
+    @Override
+    public ShoppingCart update(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+
+        if (shoppingCart.getId() == null) {
+            throw new InvalidValueException("Shopping cart id can not be null!");
+        }
+        return write(shoppingCart, true);
+    }
+
+    @Override
+    public void delete(Long id) {
+        if (id == null) {
+            throw new InvalidValueException("Id can not be null!");
+        }
+
+        writeLock.lock();
+        try {
+            ensureOpen();
+            long address = remove(id);
+            if (address >= 0) {
+                free(address);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<ShoppingCart> getAll() {
+        return stream().collect(Collectors.toList());
+    }
+
+    @Override
+    public long count() {
+        readLock.lock();
+        try {
+            ensureOpen();
+            return size;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    //skipped carts are stepped over by their headers without being decoded
+    @Override
+    public List<ShoppingCart> getPage(long offset, int limit) {
+        if (offset < 0) {
+            throw new InvalidValueException("Offset can not be negative!");
+        }
+
+        if (limit <= 0) {
+            throw new InvalidValueException("Limit must be greater than 0!");
+        }
+
+        SlabSpliterator spliterator = new SlabSpliterator(limit);
+        spliterator.skip(offset);
+        List<ShoppingCart> page = new ArrayList<>(Math.min(limit, SCAN_BATCH_SIZE));
+        boolean more = true;
+        while (more && page.size() < limit) {
+            more = spliterator.tryAdvance(page::add);
+        }
+        return page;
+    }
+
+    @Override
+    public Spliterator<ShoppingCart> spliterator() {
+        return new SlabSpliterator(count());
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            closed = true;
+            slabs.clear();
+            index = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private ShoppingCart write(ShoppingCart shoppingCart, boolean mustExist) {
+        byte[] encoded = codec.encode(shoppingCart);
+        if (HEADER_SIZE + (long) encoded.length > slabSize) {
+            throw new InvalidValueException("Encoded shopping cart does not fit in a slab!");
+        }
+        int sizeClass = sizeClassOf(HEADER_SIZE + encoded.length);
+
+        writeLock.lock();
+        try {
+            ensureOpen();
+            Long id = shoppingCart.getId();
+            Long expectedVersion = shoppingCart.getVersion();
+            if (id == null) {
+                id = lastId + 1;
+                expectedVersion = null;
+            }
+
+            long current = find(id);
+            if (current < 0 && mustExist) {
+                conflictCount.increment();
+                throw new ConcurrentUpdateException("Shopping cart " + id + " does not exist!");
+            }
+
+            long currentVersion = current >= 0 ? slabOf(current).getLong(offsetOf(current) + 16) : 0L;
+            if (current >= 0 && expectedVersion != null && expectedVersion != currentVersion) {
+                conflictCount.increment();
+                throw new ConcurrentUpdateException("Shopping cart " + id + " is at version " + currentVersion
+                        + ", not at version " + expectedVersion + "!");
+            }
+
+            long version = currentVersion + 1;
+            if (current >= 0 && slabOf(current).getInt(offsetOf(current) + 4) == sizeClass) {
+                writeBlock(current, sizeClass, id, version, encoded);
+            } else {
+                if (current < 0) {
+                    ensureIndexRoom();
+                }
+                long address = allocate(sizeClass);
+                usedBytes += blockSizeOf(sizeClass);
+                writeBlock(address, sizeClass, id, version, encoded);
+                put(id, address);
+                if (current >= 0) {
+                    free(current);
+                }
+            }
+            lastId = Math.max(lastId, id);
+            shoppingCart.setId(id);
+            shoppingCart.setVersion(version);
+            return shoppingCart;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private ShoppingCart materialize(long id, long version, byte[] payload) {
+        ShoppingCart shoppingCart = codec.decode(ByteBuffer.wrap(payload));
+        shoppingCart.setId(id);
+        shoppingCart.setVersion(version);
+        return shoppingCart;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off heap shopping cart store is closed!");
+        }
+    }
+
+    //the smallest power of two block holding the given bytes, as its distance from the minimum block size
+    private static int sizeClassOf(int bytes) {
+        int blockSize = Math.max(MIN_BLOCK_SIZE, Integer.highestOneBit(bytes - 1) << 1);
+        return Integer.numberOfTrailingZeros(blockSize) - Integer.numberOfTrailingZeros(MIN_BLOCK_SIZE);
+    }
+
+    private static int blockSizeOf(int sizeClass) {
+        return MIN_BLOCK_SIZE << sizeClass;
+    }
+
+    private ByteBuffer slabOf(long address) {
+        return slabs.get((int) (address >>> 32));
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    private static byte[] payloadOf(ByteBuffer slab, int offset) {
+        byte[] payload = new byte[slab.getInt(offset)];
+        ByteBuffer view = slab.duplicate();
+        view.position(offset + HEADER_SIZE);
+        view.get(payload);
+        return payload;
+    }
+
+    private void writeBlock(long address, int sizeClass, long id, long version, byte[] encoded) {
+        ByteBuffer slab = slabOf(address);
+        int offset = offsetOf(address);
+        slab.putInt(offset, encoded.length);
+        slab.putInt(offset + 4, sizeClass);
+        slab.putLong(offset + 8, id);
+        slab.putLong(offset + 16, version);
+        ByteBuffer view = slab.duplicate();
+        view.position(offset + HEADER_SIZE);
+        view.put(encoded);
+    }
+
+    private long allocate(int sizeClass) {
+        long head = freeLists[sizeClass];
+        if (head != 0L) {
+            long address = head - 1;
+            freeLists[sizeClass] = slabOf(address).getLong(offsetOf(address) + 8);
+            return address;
+        }
+
+        int blockSize = blockSizeOf(sizeClass);
+        if (slabs.isEmpty() || top + blockSize > slabSize) {
+            addSlab();
+        }
+        long address = ((long) (slabs.size() - 1) << 32) | top;
+        top += blockSize;
+        return address;
+    }
+
+    //the rest of the last slab is cut into free blocks, largest first, so scans can step over it
+    private void addSlab() {
+        if (!slabs.isEmpty()) {
+            int slabIndex = slabs.size() - 1;
+            while (slabSize - top >= MIN_BLOCK_SIZE) {
+                int sizeClass = sizeClassOf(Integer.highestOneBit(slabSize - top));
+                long address = ((long) slabIndex << 32) | top;
+                slabs.get(slabIndex).putInt(top, FREE);
+                top += blockSizeOf(sizeClass);
+                pushFree(address, sizeClass);
+            }
+        }
+        slabs.add(ByteBuffer.allocateDirect(slabSize));
+        top = 0;
+    }
+
+    private void free(long address) {
+        ByteBuffer slab = slabOf(address);
+        int offset = offsetOf(address);
+        int sizeClass = slab.getInt(offset + 4);
+        slab.putInt(offset, FREE);
+        usedBytes -= blockSizeOf(sizeClass);
+        pushFree(address, sizeClass);
+    }
+
+    private void pushFree(long address, int sizeClass) {
+        ByteBuffer slab = slabOf(address);
+        int offset = offsetOf(address);
+        slab.putInt(offset + 4, sizeClass);
+        slab.putLong(offset + 8, freeLists[sizeClass]);
+        freeLists[sizeClass] = address + 1;
+    }
+
+    //index slots hold the id and the block address plus one, a slot holding 0 as address is empty
+
+    private int slotOf(long id, int capacity) {
+        return (int) mix(id) & (capacity - 1);
+    }
+
+    private long find(long id) {
+        int mask = indexCapacity - 1;
+        for (int slot = slotOf(id, indexCapacity); ; slot = (slot + 1) & mask) {
+            int offset = slot * INDEX_SLOT_SIZE;
+            long address = index.getLong(offset + 8);
+            if (address == 0L) {
+                return -1L;
+            }
+            if (index.getLong(offset) == id) {
+                return address - 1;
+            }
+        }
+    }
+
+    private void put(long id, long address) {
+        if (insert(index, indexCapacity, id, address)) {
+            size++;
+        }
+    }
+
+    //called before a new id is put, keeps the index at most three quarters full
+    private void ensureIndexRoom() {
+        if (size + 1 <= indexCapacity / 4 * 3) {
+            return;
+        }
+        if (indexCapacity == MAX_INDEX_CAPACITY) {
+            throw new IllegalStateException("Shopping cart index is full!");
+        }
+        resizeIndex();
+    }
+
+    private boolean insert(ByteBuffer table, int capacity, long id, long address) {
+        int mask = capacity - 1;
+        for (int slot = slotOf(id, capacity); ; slot = (slot + 1) & mask) {
+            int offset = slot * INDEX_SLOT_SIZE;
+            long stored = table.getLong(offset + 8);
+            if (stored == 0L || table.getLong(offset) == id) {
+                table.putLong(offset, id);
+                table.putLong(offset + 8, address + 1);
+                return stored == 0L;
+            }
+        }
+    }
+
+    private void resizeIndex() {
+        int capacity = indexCapacity << 1;
+        ByteBuffer table = ByteBuffer.allocateDirect(capacity * INDEX_SLOT_SIZE);
+        for (int offset = 0; offset < indexCapacity * INDEX_SLOT_SIZE; offset += INDEX_SLOT_SIZE) {
+            long address = index.getLong(offset + 8);
+            if (address != 0L) {
+                insert(table, capacity, index.getLong(offset), address - 1);
+            }
+        }
+        index = table;
+        indexCapacity = capacity;
+    }
+
+    //empties the slot of the id and moves later slots of the same run back, so lookups never stop at a hole
+    private long remove(long id) {
+        int mask = indexCapacity - 1;
+        int slot = slotOf(id, indexCapacity);
+        while (true) {
+            long address = index.getLong(slot * INDEX_SLOT_SIZE + 8);
+            if (address == 0L) {
+                return -1L;
+            }
+            if (index.getLong(slot * INDEX_SLOT_SIZE) == id) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        long removed = index.getLong(slot * INDEX_SLOT_SIZE + 8) - 1;
+
+        int hole = slot;
+        for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+            int nextOffset = next * INDEX_SLOT_SIZE;
+            long address = index.getLong(nextOffset + 8);
+            if (address == 0L) {
+                break;
+            }
+            long nextId = index.getLong(nextOffset);
+            int home = slotOf(nextId, indexCapacity);
+            //the entry may move to the hole when its home slot is not between the hole and its slot
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index.putLong(hole * INDEX_SLOT_SIZE, nextId);
+                index.putLong(hole * INDEX_SLOT_SIZE + 8, address);
+                hole = next;
+            }
+        }
+        index.putLong(hole * INDEX_SLOT_SIZE, 0L);
+        index.putLong(hole * INDEX_SLOT_SIZE + 8, 0L);
+        size--;
+        return removed;
+    }
+
+    //finalizer of murmur3, spreads sequential ids over the index
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    //walks the blocks of the slabs in address order, copying a batch of carts under the read lock at a time
+    private final class SlabSpliterator extends Spliterators.AbstractSpliterator<ShoppingCart> {
+
+        private final ArrayDeque<ShoppingCart> batch = new ArrayDeque<>();
+
+        private int slabIndex;
+        private int offset;
+
+        //the number of carts stored when the scan starts, carts saved or deleted during it may change what it visits
+        private SlabSpliterator(long estimatedSize) {
+            super(estimatedSize, Spliterator.NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ShoppingCart> action) {
+            if (batch.isEmpty()) {
+                fill();
+            }
+            ShoppingCart shoppingCart = batch.poll();
+            if (shoppingCart == null) {
+                return false;
+            }
+            action.accept(shoppingCart);
+            return true;
+        }
+
+        private void fill() {
+            long[] ids = new long[SCAN_BATCH_SIZE];
+            long[] versions = new long[SCAN_BATCH_SIZE];
+            byte[][] payloads = new byte[SCAN_BATCH_SIZE][];
+            int count = 0;
+            readLock.lock();
+            try {
+                ensureOpen();
+                while (count < SCAN_BATCH_SIZE && advanceToLiveBlock()) {
+                    ByteBuffer slab = slabs.get(slabIndex);
+                    ids[count] = slab.getLong(offset + 8);
+                    versions[count] = slab.getLong(offset + 16);
+                    payloads[count++] = payloadOf(slab, offset);
+                    offset += blockSizeOf(slab.getInt(offset + 4));
+                }
+            } finally {
+                readLock.unlock();
+            }
+            for (int i = 0; i < count; i++) {
+                batch.add(materialize(ids[i], versions[i], payloads[i]));
+            }
+        }
+
+        private void skip(long count) {
+            readLock.lock();
+            try {
+                ensureOpen();
+                for (long skipped = 0; skipped < count && advanceToLiveBlock(); skipped++) {
+                    offset += blockSizeOf(slabs.get(slabIndex).getInt(offset + 4));
+                }
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        //called holding the read lock, stops at the next block holding a cart
+        private boolean advanceToLiveBlock() {
+            while (slabIndex < slabs.size()) {
+                ByteBuffer slab = slabs.get(slabIndex);
+                int end = slabIndex == slabs.size() - 1 ? top : slabSize;
+                while (offset < end) {
+                    if (slab.getInt(offset) != FREE) {
+                        return true;
+                    }
+                    offset += blockSizeOf(slab.getInt(offset + 4));
+                }
+                slabIndex++;
+                offset = 0;
+            }
+            return false;
+        }
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    public int getSlabCount() {
+        readLock.lock();
+        try {
+            return slabs.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    //direct memory taken by the slabs and the index
+    public long getReservedBytes() {
+        readLock.lock();
+        try {
+            return (long) slabs.size() * slabSize + (index != null ? (long) indexCapacity * INDEX_SLOT_SIZE : 0L);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    //bytes of the blocks holding carts, headers and unused block tails included
+    public long getUsedBytes() {
+        readLock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public long getLastAllocatedId() {
+        readLock.lock();
+        try {
+            return lastId;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public long getConflictCount() {
+        return conflictCount.sum();
+    }
+}
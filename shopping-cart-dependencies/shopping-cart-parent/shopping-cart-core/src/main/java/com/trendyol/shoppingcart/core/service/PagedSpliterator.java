@@ -0,0 +1,118 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+Spliterator reading a crud service page by page
+
+Covers the offsets below the count taken on creation and fetches a page only when the previous one is consumed.
+Splitting hands the first half of the unread offsets, cut at a page boundary, to a new spliterator, so a parallel
+stream scans disjoint pages on every worker. Items added or removed during the scan may shift the offsets, the scan
+is as consistent as the pages of the store.
+ */
+public final class PagedSpliterator<T> implements Spliterator<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 1_024;
+
+    private final CRUDService<T, ?> crudService;
+    private final int pageSize;
+    private final long end;
+
+    private long offset;
+    private List<T> page = Collections.emptyList();
+    private int pageIndex;
+
+    public PagedSpliterator(CRUDService<T, ?> crudService) {
+        this(crudService, DEFAULT_PAGE_SIZE);
+    }
+
+    public PagedSpliterator(CRUDService<T, ?> crudService, int pageSize) {
+        this(crudService, pageSize, 0L, validated(crudService).count());
+    }
+
+    private PagedSpliterator(CRUDService<T, ?> crudService, int pageSize, long offset, long end) {
+        if (pageSize <= 0) {
+            throw new InvalidValueException("Page size must be greater than 0!");
+        }
+
+        this.crudService = crudService;
+        this.pageSize = pageSize;
+        this.offset = offset;
+        this.end = end;
+    }
+
+    private static <T> CRUDService<T, ?> validated(CRUDService<T, ?> crudService) {
+        if (crudService == null) {
+            throw new InvalidValueException("Crud service can not be null!");
+        }
+        return crudService;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (pageIndex >= page.size() && !fetchPage()) {
+            return false;
+        }
+        action.accept(page.get(pageIndex++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        do {
+            while (pageIndex < page.size()) {
+                action.accept(page.get(pageIndex++));
+            }
+        } while (fetchPage());
+    }
+
+    private boolean fetchPage() {
+        if (offset >= end) {
+            return false;
+        }
+        page = crudService.getPage(offset, (int) Math.min(pageSize, end - offset));
+        pageIndex = 0;
+        if (page.isEmpty()) {
+            //the store shrank below the count taken on creation
+            offset = end;
+            return false;
+        }
+        offset += page.size();
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        //the items of a fetched page come first, they can not go to the prefix
+        if (pageIndex < page.size()) {
+            return null;
+        }
+        long pages = (end - offset) / pageSize;
+        if (pages < 2) {
+            return null;
+        }
+        long middle = offset + pages / 2 * pageSize;
+        PagedSpliterator<T> prefix = new PagedSpliterator<>(crudService, pageSize, offset, middle);
+        offset = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - offset + page.size() - pageIndex;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,734 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.codec.ShoppingCartCodec;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.exception.ConcurrentUpdateException;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/*
+Segment log shopping cart service
+
+Keeps carts in a directory as an append-only log of memory mapped segment files. Every save, update and delete
+appends one record holding the id, the version and the encoded cart, and points the in memory index of ids at it, so
+a write costs one sequential append and get decodes the cart straight from the mapped segment. A record is written
+before its length, a crash during an append leaves a record of length zero or with a wrong checksum, which recovery
+treats as the end of the log and discards.
+
+Pages and scans walk the ids in ascending order and only decode the carts they return.
+
+Appended records are in the page cache once a write returns and survive a crash of the process, flush forces them to
+the disk so they survive a crash of the machine as well. Versions are checked like in InMemoryShoppingCartService.
+
+On startup the index is read from the last snapshot and the log is replayed from the position the snapshot was taken
+at, without a snapshot the whole log is replayed. Replay checks each record but does not decode carts. A snapshot
+may hold records written while it was taken, it forces them to the disk before it is published. Callers take
+snapshots and compact the log periodically, for example on a scheduled executor. Compaction rewrites the live records
+of sealed segments holding mostly replaced or deleted carts to the end of the log and deletes those segments.
+ */
+public class SegmentLogShoppingCartService implements ShoppingCartService, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentLogShoppingCartService.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    //length, checksum, id, version and type
+    static final int HEADER_SIZE = 25;
+
+    //sealed segments with less live data than this share of their size are rewritten by compact
+    private static final double COMPACTION_LIVE_RATIO = 0.5D;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_FILE = "index.snapshot";
+    private static final long SNAPSHOT_MAGIC = 0x5343534e41505331L;
+    //magic, covered segment, covered offset, last id and entry count
+    private static final int SNAPSHOT_HEADER_SIZE = 32;
+    //id, segment, offset, length and version
+    private static final int SNAPSHOT_ENTRY_SIZE = 28;
+    private static final int SNAPSHOT_CHUNK_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final ShoppingCartCodec codec;
+    private final int segmentSize;
+
+    //ordered by id, so pages are stable
+    private final ConcurrentSkipListMap<Long, Location> index = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+    //guards the active segment, the write position and the id allocator
+    private final Object appendLock = new Object();
+    //snapshots and compactions run one at a time
+    private final Object maintenanceLock = new Object();
+
+    private Segment activeSegment;
+    private ByteBuffer writeBuffer;
+    private long lastId;
+    //changed under the append lock, the size of the skip list is not constant time
+    private volatile long cartCount;
+    private volatile boolean closed;
+
+    private final CRC32 writeChecksum = new CRC32();
+
+    private long replayedRecordCount;
+    private final LongAdder conflictCount = new LongAdder();
+
+    //where the current record of an id is, with the version it was written at
+    private static final class Location {
+
+        private final int segmentId;
+        private final int offset;
+        private final int length;
+        private final long version;
+
+        private Location(int segmentId, int offset, int length, long version) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+            this.version = version;
+        }
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        //bytes of the records the index points to
+        private final AtomicLong liveBytes = new AtomicLong();
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+    }
+
+    public SegmentLogShoppingCartService(Path directory, ShoppingCartCodec codec) {
+        this(directory, codec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public SegmentLogShoppingCartService(Path directory, ShoppingCartCodec codec, int segmentSize) {
+        if (directory == null) {
+            throw new InvalidValueException("Directory can not be null!");
+        }
+
+        if (codec == null) {
+            throw new InvalidValueException("Codec can not be null!");
+        }
+
+        if (segmentSize <= HEADER_SIZE) {
+            throw new InvalidValueException("Segment size must be greater than " + HEADER_SIZE + "!");
+        }
+
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Shopping cart log in " + directory + " could not be opened!", e);
+        }
+    }
+
+    @Override
+    public ShoppingCart save(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+        return write(shoppingCart, false);
+    }
+
+    @Override
+    public Optional<ShoppingCart> get(Long id) {
+        if (id == null) {
+            throw new InvalidValueException("Id can not be null!");
+        }
+
+        Location location;
+        ShoppingCart shoppingCart;
+        //compaction may move the record between the index lookup and the read, the index then has its new location
+        do {
+            location = index.get(id);
+            if (location == null) {
+                return Optional.empty();
+            }
+            shoppingCart = read(id, location);
+        } while (shoppingCart == null);
+        return Optional.of(shoppingCart);
+    }
+
+    @Override
+    public ShoppingCart update(ShoppingCart shoppingCart) {
+        if (shoppingCart == null) {
+            throw new InvalidValueException("Shopping cart can not be null!");
+        }
+
+        if (shoppingCart.getId() == null) {
+            throw new InvalidValueException("Shopping cart id can not be null!");
+        }
+        return write(shoppingCart, true);
+    }
+
+    @Override
+    public void delete(Long id) {
+        if (id == null) {
+            throw new InvalidValueException("Id can not be null!");
+        }
+
+        synchronized (appendLock) {
+            ensureOpen();
+            Location current = index.get(id);
+            if (current != null) {
+                append(DELETE, id, current.version, EMPTY);
+                index.remove(id);
+                cartCount--;
+                release(current);
+            }
+        }
+    }
+
+    @Override
+    public List<ShoppingCart> getAll() {
+        return stream().collect(Collectors.toList());
+    }
+
+    @Override
+    public long count() {
+        return cartCount;
+    }
+
+    @Override
+    public List<ShoppingCart> getPage(long offset, int limit) {
+        if (offset < 0) {
+            throw new InvalidValueException("Offset can not be negative!");
+        }
+
+        if (limit <= 0) {
+            throw new InvalidValueException("Limit must be greater than 0!");
+        }
+
+        return index.keySet().stream()
+                .skip(offset)
+                .limit(limit)
+                .map(this::get)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    //decodes carts one by one in id order while the index is walked, carts deleted meanwhile are left out
+    @Override
+    public Spliterator<ShoppingCart> spliterator() {
+        return index.keySet().stream()
+                .map(this::get)
+                .flatMap(Optional::stream)
+                .spliterator();
+    }
+
+    public void flush() {
+        forceActiveSegment();
+    }
+
+    //sealed segments are forced when they are rotated out
+    private void forceActiveSegment() {
+        synchronized (appendLock) {
+            ensureOpen();
+            activeSegment.buffer.force();
+        }
+    }
+
+    //writes the index with the log position it covers, replay on the next startup starts from there
+    public void snapshot() {
+        synchronized (maintenanceLock) {
+            int coveredSegmentId;
+            int coveredOffset;
+            long coveredLastId;
+            synchronized (appendLock) {
+                ensureOpen();
+                activeSegment.buffer.force();
+                coveredSegmentId = activeSegment.id;
+                coveredOffset = writeBuffer.position();
+                coveredLastId = lastId;
+            }
+
+            Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            long entryCount = 0;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                CRC32 checksum = new CRC32();
+                ByteBuffer chunk = ByteBuffer.allocate(SNAPSHOT_CHUNK_SIZE);
+                channel.position(SNAPSHOT_HEADER_SIZE);
+                //entries written after the covered position may be in it or not, replay brings them up to date either way
+                for (Map.Entry<Long, Location> entry : index.entrySet()) {
+                    if (chunk.remaining() < SNAPSHOT_ENTRY_SIZE) {
+                        writeSnapshotChunk(channel, chunk, checksum);
+                    }
+                    Location location = entry.getValue();
+                    chunk.putLong(entry.getKey())
+                            .putInt(location.segmentId)
+                            .putInt(location.offset)
+                            .putInt(location.length)
+                            .putLong(location.version);
+                    entryCount++;
+                }
+                writeSnapshotChunk(channel, chunk, checksum);
+                //such entries may point past the covered position, they must be on the disk before the snapshot is
+                forceActiveSegment();
+
+                ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE)
+                        .putLong(SNAPSHOT_MAGIC)
+                        .putInt(coveredSegmentId)
+                        .putInt(coveredOffset)
+                        .putLong(coveredLastId)
+                        .putLong(entryCount);
+                header.flip();
+                checksum.update(header.duplicate());
+                chunk.putLong(checksum.getValue()).flip();
+                channel.write(chunk);
+                channel.write(header, 0);
+                channel.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Snapshot of the shopping cart log in " + directory + " could not be written!", e);
+            }
+
+            try {
+                Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Snapshot of the shopping cart log in " + directory + " could not be written!", e);
+            }
+            logger.info("Snapshot of {} shopping carts was taken at offset {} of segment {}.", entryCount, coveredOffset, coveredSegmentId);
+        }
+    }
+
+    private static void writeSnapshotChunk(FileChannel channel, ByteBuffer chunk, CRC32 checksum) throws IOException {
+        chunk.flip();
+        checksum.update(chunk.duplicate());
+        while (chunk.hasRemaining()) {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+
+    //returns the number of segments compacted
+    public int compact() {
+        synchronized (maintenanceLock) {
+            int activeSegmentId;
+            synchronized (appendLock) {
+                ensureOpen();
+                activeSegmentId = activeSegment.id;
+            }
+
+            List<Segment> compacted = new ArrayList<>();
+            for (Segment segment : segments.headMap(activeSegmentId).values()) {
+                if (segment.liveBytes.get() < segment.capacity() * COMPACTION_LIVE_RATIO) {
+                    compacted.add(segment);
+                }
+            }
+            if (compacted.isEmpty()) {
+                return 0;
+            }
+
+            int oldestSegmentId = segments.firstKey();
+            for (Segment segment : compacted) {
+                rewriteLiveRecords(segment, segment.id == oldestSegmentId);
+            }
+
+            //the snapshot must not point into the deleted segments
+            snapshot();
+            for (Segment segment : compacted) {
+                segments.remove(segment.id);
+                try {
+                    segment.channel.close();
+                    Files.deleteIfExists(segment.path);
+                } catch (IOException e) {
+                    logger.warn("Compacted segment {} could not be deleted!", segment.path, e);
+                }
+            }
+            logger.info("{} segments of the shopping cart log were compacted.", compacted.size());
+            return compacted.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (maintenanceLock) {
+            synchronized (appendLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                for (Segment segment : segments.values()) {
+                    try {
+                        segment.buffer.force();
+                        segment.channel.close();
+                    } catch (IOException e) {
+                        logger.warn("Segment {} could not be closed!", segment.path, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private ShoppingCart write(ShoppingCart shoppingCart, boolean mustExist) {
+        byte[] encoded = codec.encode(shoppingCart);
+        if (HEADER_SIZE + encoded.length > segmentSize) {
+            throw new InvalidValueException("Encoded shopping cart does not fit in a segment!");
+        }
+
+        synchronized (appendLock) {
+            ensureOpen();
+            Long id = shoppingCart.getId();
+            Long expectedVersion = shoppingCart.getVersion();
+            if (id == null) {
+                id = lastId + 1;
+                expectedVersion = null;
+            }
+
+            Location current = index.get(id);
+            if (current == null && mustExist) {
+                conflictCount.increment();
+                throw new ConcurrentUpdateException("Shopping cart " + id + " does not exist!");
+            }
+
+            if (current != null && expectedVersion != null && expectedVersion != current.version) {
+                conflictCount.increment();
+                throw new ConcurrentUpdateException("Shopping cart " + id + " is at version " + current.version
+                        + ", not at version " + expectedVersion + "!");
+            }
+
+            long version = current != null ? current.version + 1 : 1L;
+            Location written = append(PUT, id, version, encoded);
+            index.put(id, written);
+            if (current == null) {
+                cartCount++;
+            }
+            release(current);
+            lastId = Math.max(lastId, id);
+            shoppingCart.setId(id);
+            shoppingCart.setVersion(version);
+            return shoppingCart;
+        }
+    }
+
+    //called holding the append lock, the length goes in last so a torn record reads as the end of the log
+    private Location append(byte type, long id, long version, byte[] payload) {
+        int length = HEADER_SIZE + payload.length;
+        if (length > writeBuffer.remaining()) {
+            rotate();
+        }
+
+        int offset = writeBuffer.position();
+        writeBuffer.position(offset + 8);
+        writeBuffer.putLong(id);
+        writeBuffer.putLong(version);
+        writeBuffer.put(type);
+        writeBuffer.put(payload);
+        writeBuffer.putInt(offset + 4, checksum(writeBuffer, offset, length, writeChecksum));
+        writeBuffer.putInt(offset, length);
+
+        Location location = new Location(activeSegment.id, offset, length, version);
+        if (type == PUT) {
+            activeSegment.liveBytes.addAndGet(length);
+        }
+        return location;
+    }
+
+    private void release(Location location) {
+        if (location != null) {
+            Segment segment = segments.get(location.segmentId);
+            if (segment != null) {
+                segment.liveBytes.addAndGet(-location.length);
+            }
+        }
+    }
+
+    private void rotate() {
+        activeSegment.buffer.force();
+        Segment next;
+        try {
+            next = openSegment(activeSegment.id + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Segment " + (activeSegment.id + 1) + " could not be created in " + directory + "!", e);
+        }
+        segments.put(next.id, next);
+        activate(next, 0);
+    }
+
+    private void activate(Segment segment, int position) {
+        activeSegment = segment;
+        writeBuffer = segment.buffer.duplicate();
+        writeBuffer.position(position);
+    }
+
+    //records of the segment the index still points to are appended again, the index is switched under the append lock
+    private void rewriteLiveRecords(Segment segment, boolean oldest) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        CRC32 checksum = new CRC32();
+        int position = 0;
+        while (position + HEADER_SIZE <= segment.capacity()) {
+            int length = buffer.getInt(position);
+            if (!isValidRecord(buffer, position, length, checksum)) {
+                break;
+            }
+            long id = buffer.getLong(position + 8);
+            long version = buffer.getLong(position + 16);
+            byte type = buffer.get(position + 24);
+            synchronized (appendLock) {
+                ensureOpen();
+                Location current = index.get(id);
+                if (type == PUT && current != null && current.segmentId == segment.id && current.offset == position) {
+                    index.put(id, append(PUT, id, current.version, payloadOf(buffer, position, length)));
+                    release(current);
+                } else if (type == DELETE && current == null && !oldest) {
+                    //an older segment may still hold a record of the deleted cart
+                    append(DELETE, id, version, EMPTY);
+                }
+            }
+            position += length;
+        }
+    }
+
+    private ShoppingCart read(long id, Location location) {
+        Segment segment = segments.get(location.segmentId);
+        if (segment == null) {
+            return null;
+        }
+        ByteBuffer view = segment.buffer.duplicate();
+        view.limit(location.offset + location.length);
+        view.position(location.offset + HEADER_SIZE);
+        ShoppingCart shoppingCart = codec.decode(view.slice());
+        shoppingCart.setId(id);
+        shoppingCart.setVersion(location.version);
+        return shoppingCart;
+    }
+
+    private void recover() throws IOException {
+        List<Integer> segmentIds;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentIds = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (int segmentId : segmentIds) {
+            segments.put(segmentId, openSegment(segmentId));
+        }
+        if (segments.isEmpty()) {
+            segments.put(0, openSegment(0));
+        }
+
+        int fromSegmentId = segments.firstKey();
+        int fromOffset = 0;
+        long[] covered = readSnapshot();
+        if (covered != null) {
+            fromSegmentId = (int) covered[0];
+            fromOffset = (int) covered[1];
+            lastId = covered[2];
+        }
+
+        int position = 0;
+        for (Segment segment : segments.tailMap(fromSegmentId).values()) {
+            position = replay(segment, segment.id == fromSegmentId ? fromOffset : 0, segment.id == segments.lastKey());
+        }
+        Segment lastSegment = segments.lastEntry().getValue();
+        activate(lastSegment, position);
+
+        //a snapshot entry past the end of the log points to a record that did not reach the disk
+        int end = position;
+        if (index.values().removeIf(location -> location.segmentId == lastSegment.id && location.offset + location.length > end)) {
+            logger.warn("Snapshot of {} points past the end of the log, the carts written there are dropped.", directory);
+        }
+        for (Location location : index.values()) {
+            segments.get(location.segmentId).liveBytes.addAndGet(location.length);
+        }
+        cartCount = index.size();
+        logger.info("{} shopping carts were recovered from {} segments in {}, {} records were replayed{}.", index.size(),
+                segments.size(), directory, replayedRecordCount, covered != null ? " after the snapshot" : "");
+    }
+
+    //returns the covered segment, offset and last id, or null when there is no usable snapshot
+    private long[] readSnapshot() {
+        Path path = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SNAPSHOT_HEADER_SIZE + 8) {
+                logger.warn("Snapshot {} is damaged, the log is replayed from the start.", path);
+                return null;
+            }
+            ByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long entryCount = snapshot.getLong(24);
+            if (snapshot.getLong(0) != SNAPSHOT_MAGIC || size != SNAPSHOT_HEADER_SIZE + entryCount * SNAPSHOT_ENTRY_SIZE + 8) {
+                logger.warn("Snapshot {} is damaged, the log is replayed from the start.", path);
+                return null;
+            }
+
+            int entriesEnd = (int) (size - 8);
+            CRC32 checksum = new CRC32();
+            checksum.update(snapshot.duplicate().position(SNAPSHOT_HEADER_SIZE).limit(entriesEnd));
+            checksum.update(snapshot.duplicate().limit(SNAPSHOT_HEADER_SIZE));
+            int coveredSegmentId = snapshot.getInt(8);
+            if (snapshot.getLong(entriesEnd) != checksum.getValue() || !segments.containsKey(coveredSegmentId)) {
+                logger.warn("Snapshot {} is damaged or points to missing segments, the log is replayed from the start.", path);
+                return null;
+            }
+
+            for (int position = SNAPSHOT_HEADER_SIZE; position < entriesEnd; position += SNAPSHOT_ENTRY_SIZE) {
+                int segmentId = snapshot.getInt(position + 8);
+                if (!segments.containsKey(segmentId)) {
+                    logger.warn("Snapshot {} points to missing segment {}, the log is replayed from the start.", path, segmentId);
+                    index.clear();
+                    return null;
+                }
+                index.put(snapshot.getLong(position), new Location(segmentId, snapshot.getInt(position + 12),
+                        snapshot.getInt(position + 16), snapshot.getLong(position + 20)));
+            }
+            return new long[]{coveredSegmentId, snapshot.getInt(12), snapshot.getLong(16)};
+        } catch (IOException e) {
+            logger.warn("Snapshot {} could not be read, the log is replayed from the start.", path, e);
+            return null;
+        }
+    }
+
+    //returns the position after the last valid record
+    private int replay(Segment segment, int position, boolean last) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        CRC32 checksum = new CRC32();
+        while (position + HEADER_SIZE <= segment.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (!isValidRecord(buffer, position, length, checksum)) {
+                if (last) {
+                    logger.warn("Segment {} ends with an incomplete record at {}, it is discarded.", segment.path, position);
+                    for (int i = position; i < segment.capacity(); i++) {
+                        buffer.put(i, (byte) 0);
+                    }
+                } else {
+                    logger.error("Segment {} has a damaged record at {}, the rest of the segment is skipped!", segment.path, position);
+                }
+                break;
+            }
+
+            long id = buffer.getLong(position + 8);
+            if (buffer.get(position + 24) == PUT) {
+                index.put(id, new Location(segment.id, position, length, buffer.getLong(position + 16)));
+            } else {
+                index.remove(id);
+            }
+            lastId = Math.max(lastId, id);
+            replayedRecordCount++;
+            position += length;
+        }
+        return position;
+    }
+
+    private boolean isValidRecord(ByteBuffer buffer, int position, int length, CRC32 checksum) {
+        return length >= HEADER_SIZE
+                && length <= buffer.capacity() - position
+                && buffer.getInt(position + 4) == checksum(buffer, position, length, checksum);
+    }
+
+    //covers everything after the checksum, the length is checked against the segment size instead
+    private static int checksum(ByteBuffer buffer, int offset, int length, CRC32 checksum) {
+        ByteBuffer record = buffer.duplicate();
+        record.limit(offset + length);
+        record.position(offset + 8);
+        checksum.reset();
+        checksum.update(record);
+        return (int) checksum.getValue();
+    }
+
+    private static byte[] payloadOf(ByteBuffer buffer, int offset, int length) {
+        byte[] payload = new byte[length - HEADER_SIZE];
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + HEADER_SIZE);
+        record.get(payload);
+        return payload;
+    }
+
+    private Segment openSegment(int id) throws IOException {
+        Path path = directory.resolve(SEGMENT_PREFIX + String.format("%010d", id) + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            //a segment written with a larger segment size keeps its size
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+            return new Segment(id, path, channel, buffer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Shopping cart log is closed!");
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getLastAllocatedId() {
+        synchronized (appendLock) {
+            return lastId;
+        }
+    }
+
+    public long getReplayedRecordCount() {
+        return replayedRecordCount;
+    }
+
+    public long getConflictCount() {
+        return conflictCount.sum();
+    }
+}
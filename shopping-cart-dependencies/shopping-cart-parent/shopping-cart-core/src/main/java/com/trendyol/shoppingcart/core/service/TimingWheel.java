@@ -0,0 +1,220 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/*
+Hierarchical timing wheel
+
+Holds values until their deadline in levels of slots, a slot of the first level covers one tick, a slot of every
+next level covers a whole turn of the level below it. Scheduling and cancelling link and unlink a timeout in its slot,
+advancing fires the slot of every passed tick and, at the end of a turn, moves the timeouts of the next slot one level
+down. The cost does not depend on the number of timeouts, only on the ticks passed.
+
+Deadlines are rounded up to whole ticks, so a value never fires early. Deadlines beyond the last level wait in it and
+are placed again on every turn. A wheel is not thread safe and the fired action may not call it.
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levelCount;
+    private final int bits;
+    private final long mask;
+
+    //sentinels of circular lists, one per slot
+    private final Timeout<T>[][] slots;
+    //timeouts whose deadline had passed when they were scheduled or moved down, fired by the next advance
+    private final Timeout<T> overdue = new Timeout<>(null, 0L);
+
+    private long currentTick;
+    private int size;
+
+    public static final class Timeout<T> {
+
+        private final T value;
+        private final long deadlineTick;
+
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(Duration tickDuration, int wheelSize, int levelCount, long startMillis) {
+        if (tickDuration == null || tickDuration.toMillis() <= 0) {
+            throw new InvalidValueException("Tick duration must be at least 1 millisecond!");
+        }
+
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new InvalidValueException("Wheel size must be a power of 2 greater than 1!");
+        }
+
+        if (levelCount <= 0) {
+            throw new InvalidValueException("Level count must be greater than 0!");
+        }
+
+        int bits = Integer.numberOfTrailingZeros(wheelSize);
+        if ((long) bits * levelCount > 62) {
+            throw new InvalidValueException("Wheel of " + levelCount + " levels of " + wheelSize + " slots does not fit in a long!");
+        }
+
+        this.tickMillis = tickDuration.toMillis();
+        this.wheelSize = wheelSize;
+        this.levelCount = levelCount;
+        this.bits = bits;
+        this.mask = wheelSize - 1;
+        this.slots = new Timeout[levelCount][wheelSize];
+        for (Timeout<T>[] level : slots) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = sentinel();
+            }
+        }
+        sentinel(overdue);
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        if (value == null) {
+            throw new InvalidValueException("Value can not be null!");
+        }
+
+        Timeout<T> timeout = new Timeout<>(value, -Math.floorDiv(-deadlineMillis, tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.isScheduled()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    //fires every timeout due by the given time in deadline order of ticks, returns how many fired
+    public int advance(long nowMillis, Consumer<? super T> action) {
+        if (action == null) {
+            throw new InvalidValueException("Action can not be null!");
+        }
+
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        int fired = fire(overdue, action);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return fired;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            //higher levels first, so timeouts they move down can still move further down on this tick
+            for (int level = levelCount - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(slots[level][(int) ((currentTick >>> (bits * level)) & mask)]);
+                }
+            }
+            fired += fire(slots[0][(int) (currentTick & mask)], action);
+            fired += fire(overdue, action);
+            if (size == 0) {
+                currentTick = targetTick;
+            }
+        }
+        return fired;
+    }
+
+    //the first level whose slots reach the deadline, a level l slot is only placed in from at least a full level l
+    //tick away, so the slot comes up again no later than the deadline
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            link(overdue, timeout);
+            return;
+        }
+        for (int level = 0; level < levelCount; level++) {
+            if (delta < 1L << (bits * (level + 1))) {
+                link(slots[level][(int) ((timeout.deadlineTick >>> (bits * level)) & mask)], timeout);
+                return;
+            }
+        }
+        int top = levelCount - 1;
+        long lastReachableTick = currentTick + (1L << (bits * levelCount)) - 1;
+        link(slots[top][(int) ((lastReachableTick >>> (bits * top)) & mask)], timeout);
+    }
+
+    private void cascade(Timeout<T> sentinel) {
+        Timeout<T> timeout = sentinel.next;
+        sentinel(sentinel);
+        while (timeout != sentinel) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private int fire(Timeout<T> sentinel, Consumer<? super T> action) {
+        int fired = 0;
+        while (sentinel.next != sentinel) {
+            Timeout<T> timeout = sentinel.next;
+            unlink(timeout);
+            size--;
+            fired++;
+            action.accept(timeout.value);
+        }
+        return fired;
+    }
+
+    private static <T> Timeout<T> sentinel() {
+        return sentinel(new Timeout<>(null, 0L));
+    }
+
+    private static <T> Timeout<T> sentinel(Timeout<T> sentinel) {
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+
+    private static <T> void link(Timeout<T> sentinel, Timeout<T> timeout) {
+        timeout.previous = sentinel.previous;
+        timeout.next = sentinel;
+        sentinel.previous.next = timeout;
+        sentinel.previous = timeout;
+    }
+
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.previous.next = timeout.next;
+        timeout.next.previous = timeout.previous;
+        timeout.previous = null;
+        timeout.next = null;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    public int size() {
+        return size;
+    }
+}
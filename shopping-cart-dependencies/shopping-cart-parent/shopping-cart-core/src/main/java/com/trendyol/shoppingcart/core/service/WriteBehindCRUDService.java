@@ -0,0 +1,291 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+Write-behind decorator of crud services
+
+Operations go into a bounded queue and return at once, a flusher thread takes them out in order and runs them against
+the delegate. Saves following each other are coalesced into one saveAll call of at most the flush size, a batch is
+flushed once it is full or once its first operation has waited the flush interval. The stage of a save completes when
+the saveAll holding it has returned, so it acknowledges that the delegate has the item.
+
+Updates, deletes and reads take their turn in the same queue, so they see every write queued before them. When the
+queue is full callers wait for room, which slows them down to the pace of the delegate instead of piling up carts in
+memory. Closing stops accepting operations and waits for the queued ones to be flushed.
+ */
+public class WriteBehindCRUDService<T, I> implements AsyncCRUDService<T, I>, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindCRUDService.class);
+
+    //waiting threads look at the closed flag this often
+    private static final long CLOSE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final CRUDService<T, I> delegate;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+
+    private final BlockingQueue<Operation<?>> queue;
+    private final Thread flusher;
+
+    private volatile boolean closed;
+
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder savedCount = new LongAdder();
+    private final LongAdder backpressureCount = new LongAdder();
+
+    //a queued save, or a call running alone in its turn
+    private static final class Operation<R> {
+
+        private final Object item;
+        private final Supplier<R> call;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        private Operation(Object item, Supplier<R> call) {
+            this.item = item;
+            this.call = call;
+        }
+
+        private boolean isSave() {
+            return call == null;
+        }
+
+        private void run() {
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                //errors too, a caller waiting on the stage would otherwise wait forever
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    public WriteBehindCRUDService(CRUDService<T, I> delegate, int queueCapacity, int flushSize, Duration flushInterval) {
+        if (delegate == null) {
+            throw new InvalidValueException("Delegate service can not be null!");
+        }
+
+        if (queueCapacity <= 0) {
+            throw new InvalidValueException("Queue capacity must be greater than 0!");
+        }
+
+        if (flushSize <= 0) {
+            throw new InvalidValueException("Flush size must be greater than 0!");
+        }
+
+        if (flushInterval == null || flushInterval.isNegative()) {
+            throw new InvalidValueException("Flush interval can not be negative!");
+        }
+
+        this.delegate = delegate;
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flusher = new Thread(this::flushUntilClosed, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public CompletionStage<T> save(T t) {
+        return enqueue(new Operation<>(t, null));
+    }
+
+    @Override
+    public CompletionStage<Optional<T>> get(I id) {
+        return enqueue(new Operation<>(null, () -> delegate.get(id)));
+    }
+
+    @Override
+    public CompletionStage<T> update(T t) {
+        return enqueue(new Operation<>(null, () -> delegate.update(t)));
+    }
+
+    @Override
+    public CompletionStage<Void> delete(I id) {
+        return enqueue(new Operation<>(null, () -> {
+            delegate.delete(id);
+            return null;
+        }));
+    }
+
+    @Override
+    public CompletionStage<List<T>> getAll() {
+        return enqueue(new Operation<>(null, delegate::getAll));
+    }
+
+    @Override
+    public CompletionStage<Map<I, T>> getAll(Collection<? extends I> ids) {
+        if (ids == null) {
+            throw new InvalidValueException("Ids can not be null!");
+        }
+        return enqueue(new Operation<>(null, () -> delegate.getAll(ids)));
+    }
+
+    //completes once every operation queued before it has been run
+    public CompletionStage<Void> flush() {
+        return enqueue(new Operation<>(null, () -> null));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <R> CompletionStage<R> enqueue(Operation<R> operation) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Write-behind service is closed!"));
+        }
+
+        if (!queue.offer(operation)) {
+            backpressureCount.increment();
+            try {
+                while (!queue.offer(operation, CLOSE_CHECK_NANOS, TimeUnit.NANOSECONDS)) {
+                    if (closed) {
+                        return CompletableFuture.failedFuture(new IllegalStateException("Write-behind service is closed!"));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        //closed while queueing, the flusher may have finished already
+        if (closed && queue.remove(operation)) {
+            operation.result.completeExceptionally(new IllegalStateException("Write-behind service is closed!"));
+        }
+        return operation.result;
+    }
+
+    private void flushUntilClosed() {
+        List<Operation<?>> batch = new ArrayList<>(flushSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Operation<?> first = queue.poll(CLOSE_CHECK_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < flushSize && !closed) {
+                    long remaining = deadline - System.nanoTime();
+                    Operation<?> next = queue.poll(Math.min(remaining, CLOSE_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    } else if (remaining <= CLOSE_CHECK_NANOS) {
+                        break;
+                    }
+                }
+                if (closed) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                //the flusher is only stopped by close, what was taken is still flushed
+            }
+            try {
+                run(batch);
+            } catch (Throwable e) {
+                //the flusher keeps running, whatever the batch left unanswered fails
+                logger.error("{} queued operations could not be flushed!", batch.size(), e);
+                batch.forEach(operation -> operation.result.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private void run(List<Operation<?>> batch) {
+        List<Operation<?>> saves = new ArrayList<>();
+        for (Operation<?> operation : batch) {
+            if (operation.isSave()) {
+                saves.add(operation);
+            } else {
+                saveAll(saves);
+                saves.clear();
+                operation.run();
+            }
+        }
+        saveAll(saves);
+    }
+
+    //an item queued more than once in the batch is saved once
+    @SuppressWarnings("unchecked")
+    private void saveAll(List<Operation<?>> saves) {
+        if (saves.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Integer> positions = new IdentityHashMap<>();
+        List<T> items = new ArrayList<>(saves.size());
+        for (Operation<?> save : saves) {
+            if (positions.putIfAbsent(save.item, items.size()) == null) {
+                items.add((T) save.item);
+            }
+        }
+
+        try {
+            List<T> savedItems = delegate.saveAll(items);
+            for (Operation<?> save : saves) {
+                ((CompletableFuture<T>) save.result).complete(savedItems.get(positions.get(save.item)));
+            }
+            flushCount.increment();
+            savedCount.add(items.size());
+        } catch (Throwable e) {
+            logger.warn("{} items could not be saved!", items.size(), e);
+            for (Operation<?> save : saves) {
+                save.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    public CRUDService<T, I> getDelegate() {
+        return delegate;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    public Duration getFlushInterval() {
+        return Duration.ofNanos(flushIntervalNanos);
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public long getSavedCount() {
+        return savedCount.sum();
+    }
+
+    public long getBackpressureCount() {
+        return backpressureCount.sum();
+    }
+}
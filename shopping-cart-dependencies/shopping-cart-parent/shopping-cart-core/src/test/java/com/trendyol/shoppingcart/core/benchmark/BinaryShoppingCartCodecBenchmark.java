@@ -0,0 +1,147 @@
+package com.trendyol.shoppingcart.core.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.core.codec.BinaryShoppingCartCodec;
+import com.trendyol.shoppingcart.core.domain.CartItem;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Encodes and decodes carts of one to ten lines picked from a thousand products in a three level category tree.
+Reports bytes per cart next to a plain encoding writing every title and category path in full, and carts encoded and
+decoded per second.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class BinaryShoppingCartCodecBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryShoppingCartCodecBenchmark.class);
+
+    private static final int PRODUCT_COUNT = 1_000;
+
+    private static final int CART_COUNT = 10_000;
+
+    private static final int ROUNDS = 20;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    private final List<ShoppingCart> shoppingCarts = new ArrayList<>();
+
+    private BinaryShoppingCartCodec codec;
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        Category root = new Category(Title.valueOf("Benchmark Store"));
+        List<Category> leaves = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category department = root.addChild(Title.valueOf("Department " + i));
+            for (int j = 0; j < 10; j++) {
+                leaves.add(department.addChild(Title.valueOf("Aisle " + i + "-" + j)));
+            }
+        }
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Product(Title.valueOf("Product number " + i), Amount.ofMinorUnits(100 + random.nextInt(100_000)),
+                    leaves.get(random.nextInt(leaves.size()))));
+        }
+        for (int i = 0; i < CART_COUNT; i++) {
+            ShoppingCart shoppingCart = new ShoppingCart();
+            int lines = 1 + random.nextInt(10);
+            for (int j = 0; j < lines; j++) {
+                shoppingCart.addProduct(products.get(random.nextInt(PRODUCT_COUNT)), Quantity.valueOf(1 + random.nextInt(5)));
+            }
+            shoppingCart.applyDiscounts();
+            shoppingCarts.add(shoppingCart);
+        }
+        codec = new BinaryShoppingCartCodec(List.of(root));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenCarts_whenEncodeAndDecode_thenReportSizeAndThroughput() throws IOException {
+        //given
+        long binaryBytes = 0;
+        long plainBytes = 0;
+        for (ShoppingCart shoppingCart : shoppingCarts) {
+            binaryBytes += codec.encode(shoppingCart).length;
+            plainBytes += plainEncode(shoppingCart).length;
+        }
+        byte[][] encoded = new byte[CART_COUNT][];
+
+        //when
+        long encodeStartNanos = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < CART_COUNT; i++) {
+                encoded[i] = codec.encode(shoppingCarts.get(i));
+            }
+        }
+        double encodedPerSecond = (double) ROUNDS * CART_COUNT * 1_000_000_000D / (System.nanoTime() - encodeStartNanos);
+        long decodeStartNanos = System.nanoTime();
+        long lines = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < CART_COUNT; i++) {
+                lines += codec.decode(ByteBuffer.wrap(encoded[i])).getCartItems().size();
+            }
+        }
+        double decodedPerSecond = (double) ROUNDS * CART_COUNT * 1_000_000_000D / (System.nanoTime() - decodeStartNanos);
+
+        //then
+        logger.warn("{} carts, binary: {} bytes/cart, plain: {} bytes/cart, encode: {} carts/s, decode: {} carts/s",
+                CART_COUNT, binaryBytes / CART_COUNT, plainBytes / CART_COUNT,
+                String.format("%.0f", encodedPerSecond), String.format("%.0f", decodedPerSecond));
+        assertThat(lines).isEqualTo(ROUNDS * shoppingCarts.stream().mapToLong(cart -> cart.getCartItems().size()).sum());
+        assertThat(binaryBytes).isLessThan(plainBytes);
+    }
+
+    //every line written in full, the way a straightforward stream encoding would
+    private static byte[] plainEncode(ShoppingCart shoppingCart) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeDouble(shoppingCart.getCartAmount().doubleValue());
+        out.writeDouble(shoppingCart.getTotalDiscount().doubleValue());
+        out.writeDouble(shoppingCart.getDeliveryCost().doubleValue());
+        out.writeDouble(shoppingCart.getTotalAmount().doubleValue());
+        out.writeInt(shoppingCart.getCartItems().size());
+        for (CartItem cartItem : shoppingCart.getCartItems()) {
+            out.writeUTF(cartItem.getProduct().getTitle().getValue());
+            for (Category category = cartItem.getCategory(); category != null; category = category.getParent()) {
+                out.writeUTF(category.getTitle().getValue());
+            }
+            out.writeDouble(cartItem.getUnitPrice().doubleValue());
+            out.writeInt(cartItem.getQuantity().intValue());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,96 @@
+package com.trendyol.shoppingcart.core.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.service.ExpiringShoppingCartService;
+import com.trendyol.shoppingcart.core.service.InMemoryShoppingCartService;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import com.trendyol.shoppingcart.core.support.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Stores carts behind the expiring decorator, reads nine in ten of them during the time to idle and expires the rest.
+Reports reads per second with and without last touch tracking and the time expireIdle takes per due cart.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class ExpiringShoppingCartServiceBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiringShoppingCartServiceBenchmark.class);
+
+    private static final int CART_COUNT = 500_000;
+
+    private static final int READ_EVERY = 10;
+
+    private static final Duration TIME_TO_IDLE = Duration.ofMinutes(30);
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private Level originalLevel;
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenMostlyActiveCarts_whenExpireIdle_thenReportTouchOverheadAndExpiryCost() {
+        //given
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        InMemoryShoppingCartService hotService = new InMemoryShoppingCartService(CART_COUNT);
+        InMemoryShoppingCartService coldService = new InMemoryShoppingCartService(CART_COUNT / READ_EVERY);
+        ExpiringShoppingCartService expiringService = new ExpiringShoppingCartService(hotService, TIME_TO_IDLE,
+                ExpiringShoppingCartService.DEFAULT_TICK_DURATION, ExpiringShoppingCartService.demoteTo(coldService), clock);
+        for (int i = 0; i < CART_COUNT; i++) {
+            expiringService.save(new ShoppingCart());
+        }
+
+        //when
+        clock.moveBy(TIME_TO_IDLE.dividedBy(2));
+        double plainReadsPerSecond = read(hotService);
+        double trackedReadsPerSecond = read(expiringService);
+        clock.moveBy(TIME_TO_IDLE.dividedBy(2));
+        long startNanos = System.nanoTime();
+        int expired = expiringService.expireIdle();
+        long expireNanos = System.nanoTime() - startNanos;
+
+        //then
+        logger.warn("{} carts, reads: {}/s untracked and {}/s tracked, expireIdle demoted {} idle carts and rescheduled {} in {} ms, {} ns per due cart",
+                CART_COUNT, String.format("%.0f", plainReadsPerSecond), String.format("%.0f", trackedReadsPerSecond),
+                expired, expiringService.getRescheduledCount(), expireNanos / 1_000_000L, expireNanos / CART_COUNT);
+        assertThat(expired).isEqualTo(CART_COUNT - CART_COUNT / READ_EVERY * (READ_EVERY - 1));
+        assertThat(coldService.count()).isEqualTo(expired);
+        assertThat(hotService.count()).isEqualTo(CART_COUNT - expired);
+    }
+
+    //reads every cart but one in ten, the ones left are the idle carts
+    private static double read(ShoppingCartService shoppingCartService) {
+        long startNanos = System.nanoTime();
+        int found = 0;
+        for (long id = 1; id <= CART_COUNT; id++) {
+            if (id % READ_EVERY != 0 && shoppingCartService.get(id).isPresent()) {
+                found++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        assertThat(found).isEqualTo(CART_COUNT / READ_EVERY * (READ_EVERY - 1));
+        return found * 1_000_000_000D / elapsedNanos;
+    }
+}
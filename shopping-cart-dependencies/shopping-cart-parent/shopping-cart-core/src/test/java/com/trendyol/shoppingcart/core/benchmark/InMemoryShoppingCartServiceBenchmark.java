@@ -0,0 +1,134 @@
+package com.trendyol.shoppingcart.core.benchmark;
+
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.service.InMemoryShoppingCartService;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Runs a mix of nine gets to one update over the same carts from several threads, against the in memory store and
+against a map guarded by one lock, then scans the in memory store. Reports operations and scanned carts per second.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class InMemoryShoppingCartServiceBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryShoppingCartServiceBenchmark.class);
+
+    private static final int CART_COUNT = 100_000;
+
+    private static final int THREAD_COUNT = 4;
+
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+
+    //the store every request would write without striping
+    private static final class SynchronizedShoppingCartService implements ShoppingCartService {
+
+        private final Map<Long, ShoppingCart> shoppingCarts = new HashMap<>();
+
+        private long lastId;
+
+        @Override
+        public synchronized ShoppingCart save(ShoppingCart shoppingCart) {
+            if (shoppingCart.getId() == null) {
+                shoppingCart.setId(++lastId);
+            }
+            shoppingCarts.put(shoppingCart.getId(), shoppingCart);
+            return shoppingCart;
+        }
+
+        @Override
+        public synchronized Optional<ShoppingCart> get(Long id) {
+            return Optional.ofNullable(shoppingCarts.get(id));
+        }
+
+        @Override
+        public ShoppingCart update(ShoppingCart shoppingCart) {
+            return save(shoppingCart);
+        }
+
+        @Override
+        public synchronized void delete(Long id) {
+            shoppingCarts.remove(id);
+        }
+
+        @Override
+        public synchronized List<ShoppingCart> getAll() {
+            return new ArrayList<>(shoppingCarts.values());
+        }
+    }
+
+    @Test
+    public void givenMixedConcurrentAccess_whenUseInMemoryStore_thenReportThroughput() throws Exception {
+        //given
+        InMemoryShoppingCartService inMemoryShoppingCartService = new InMemoryShoppingCartService(CART_COUNT);
+        SynchronizedShoppingCartService synchronizedShoppingCartService = new SynchronizedShoppingCartService();
+        for (int i = 0; i < CART_COUNT; i++) {
+            inMemoryShoppingCartService.save(new ShoppingCart());
+            synchronizedShoppingCartService.save(new ShoppingCart());
+        }
+
+        //when
+        measure(synchronizedShoppingCartService);
+        measure(inMemoryShoppingCartService);
+        double synchronizedOperationsPerSecond = measure(synchronizedShoppingCartService);
+        double inMemoryOperationsPerSecond = measure(inMemoryShoppingCartService);
+        long scanStartNanos = System.nanoTime();
+        long scanned = inMemoryShoppingCartService.stream().filter(shoppingCart -> shoppingCart.getId() != null).count();
+        double scannedPerSecond = scanned * 1_000_000_000D / (System.nanoTime() - scanStartNanos);
+
+        //then
+        logger.warn("{} threads over {} carts, one lock: {} ops/s, in memory store: {} ops/s, scan: {} carts/s, {} conflicts",
+                THREAD_COUNT, CART_COUNT, String.format("%.0f", synchronizedOperationsPerSecond),
+                String.format("%.0f", inMemoryOperationsPerSecond), String.format("%.0f", scannedPerSecond),
+                inMemoryShoppingCartService.getConflictCount());
+        assertThat(scanned).isEqualTo(CART_COUNT);
+        assertThat(inMemoryOperationsPerSecond).isGreaterThan(synchronizedOperationsPerSecond / 2);
+    }
+
+    //every tenth operation updates a cart at the version just read, a racing update makes it fail and is counted
+    private double measure(ShoppingCartService shoppingCartService) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long startNanos = System.nanoTime();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                futures.add(executorService.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        long id = 1 + random.nextInt(CART_COUNT);
+                        Optional<ShoppingCart> shoppingCart = shoppingCartService.get(id);
+                        if (i % 10 == 0 && shoppingCart.isPresent()) {
+                            try {
+                                shoppingCartService.update(shoppingCart.get());
+                            } catch (IllegalStateException e) {
+                                //lost the race to another thread, a caller would read again
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return (double) THREAD_COUNT * OPERATIONS_PER_THREAD * 1_000_000_000D / (System.nanoTime() - startNanos);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
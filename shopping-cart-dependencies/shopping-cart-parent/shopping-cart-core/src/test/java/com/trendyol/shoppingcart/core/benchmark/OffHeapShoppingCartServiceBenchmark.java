@@ -0,0 +1,127 @@
+package com.trendyol.shoppingcart.core.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.trendyol.shoppingcart.core.codec.BinaryShoppingCartCodec;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.service.InMemoryShoppingCartService;
+import com.trendyol.shoppingcart.core.service.OffHeapShoppingCartService;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Stores carts of one to ten lines picked from a thousand products in the in memory store and in the off heap store.
+Reports the heap each store retains, the direct memory of the off heap store and carts materialized per second.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class OffHeapShoppingCartServiceBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapShoppingCartServiceBenchmark.class);
+
+    private static final int PRODUCT_COUNT = 1_000;
+
+    private static final int CART_COUNT = 200_000;
+
+    private static final int READ_COUNT = 200_000;
+
+    private final ch.qos.logback.classic.Logger rootLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    private Level originalLevel;
+
+    private final List<Product> products = new ArrayList<>();
+
+    private Category root;
+
+    @BeforeEach
+    public void beforeEach() {
+        originalLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.WARN);
+
+        root = new Category(Title.valueOf("Off Heap Benchmark Store"));
+        List<Category> leaves = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            leaves.add(root.addChild(Title.valueOf("Department " + i)));
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Product(Title.valueOf("Product number " + i), Amount.ofMinorUnits(100 + random.nextInt(100_000)),
+                    leaves.get(random.nextInt(leaves.size()))));
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        rootLogger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void givenManyActiveCarts_whenStoredOffHeap_thenRetainHeapIndependentOfCartCount() {
+        //given
+        long inMemoryBytes = retainedBytes(new InMemoryShoppingCartService(CART_COUNT));
+
+        //when
+        OffHeapShoppingCartService offHeapService = new OffHeapShoppingCartService(new BinaryShoppingCartCodec(List.of(root)),
+                OffHeapShoppingCartService.DEFAULT_SLAB_SIZE, CART_COUNT);
+        long offHeapBytes = retainedBytes(offHeapService);
+        Random random = new Random(7);
+        long startNanos = System.nanoTime();
+        long lines = 0;
+        for (int i = 0; i < READ_COUNT; i++) {
+            lines += offHeapService.get(1L + random.nextInt(CART_COUNT)).orElseThrow().getCartItems().size();
+        }
+        double readsPerSecond = READ_COUNT * 1_000_000_000D / (System.nanoTime() - startNanos);
+
+        //then
+        logger.warn("{} carts retain {} heap bytes in memory and {} heap bytes off heap, off heap store holds {} of {} direct bytes, {} carts materialized/s",
+                CART_COUNT, inMemoryBytes, offHeapBytes, offHeapService.getUsedBytes(), offHeapService.getReservedBytes(),
+                String.format("%.0f", readsPerSecond));
+        assertThat(lines).isGreaterThan(READ_COUNT);
+        assertThat(offHeapBytes).isLessThan(inMemoryBytes / 10);
+        offHeapService.close();
+    }
+
+    private long retainedBytes(ShoppingCartService shoppingCartService) {
+        long before = usedHeapAfterGc();
+        Random random = new Random(42);
+        for (int i = 0; i < CART_COUNT; i++) {
+            ShoppingCart shoppingCart = new ShoppingCart();
+            int lines = 1 + random.nextInt(10);
+            for (int j = 0; j < lines; j++) {
+                shoppingCart.addProduct(products.get(random.nextInt(PRODUCT_COUNT)), Quantity.valueOf(1 + random.nextInt(5)));
+            }
+            shoppingCart.applyDiscounts();
+            shoppingCartService.save(shoppingCart);
+        }
+        long after = usedHeapAfterGc();
+        assertThat(shoppingCartService.count()).isEqualTo(CART_COUNT);
+        return after - before;
+    }
+
+    private long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+}
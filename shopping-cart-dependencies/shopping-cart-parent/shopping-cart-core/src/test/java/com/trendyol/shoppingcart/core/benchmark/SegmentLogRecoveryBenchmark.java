@@ -0,0 +1,93 @@
+package com.trendyol.shoppingcart.core.benchmark;
+
+import com.trendyol.shoppingcart.core.codec.ShoppingCartCodec;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.service.SegmentLogShoppingCartService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Appends a million carts of 64 encoded bytes to a segment log, then measures reopening it by replaying the whole log
+and by reading a snapshot. Reports appends per second and recovery times.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class SegmentLogRecoveryBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentLogRecoveryBenchmark.class);
+
+    private static final int CART_COUNT = 1_000_000;
+
+    private static final int ENCODED_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    //stands in for a real codec, the log does not look into the bytes
+    private static final class FixedSizeCodec implements ShoppingCartCodec {
+
+        @Override
+        public byte[] encode(ShoppingCart shoppingCart) {
+            return new byte[ENCODED_SIZE];
+        }
+
+        @Override
+        public ShoppingCart decode(ByteBuffer buffer) {
+            return new ShoppingCart();
+        }
+    }
+
+    @Test
+    public void givenMillionCarts_whenReopenLog_thenReportRecoveryTimes() throws Exception {
+        //given
+        ShoppingCartCodec codec = new FixedSizeCodec();
+        Path replayDirectory = Files.createDirectory(directory.resolve("replay"));
+        Path snapshotDirectory = Files.createDirectory(directory.resolve("snapshot"));
+        double appendsPerSecond = fill(replayDirectory, codec, false);
+        fill(snapshotDirectory, codec, true);
+
+        //when
+        long replayStartNanos = System.nanoTime();
+        long replayedCount;
+        try (SegmentLogShoppingCartService service = new SegmentLogShoppingCartService(replayDirectory, codec)) {
+            replayedCount = service.count();
+        }
+        long replayMillis = (System.nanoTime() - replayStartNanos) / 1_000_000L;
+        long snapshotStartNanos = System.nanoTime();
+        long snapshotCount;
+        try (SegmentLogShoppingCartService service = new SegmentLogShoppingCartService(snapshotDirectory, codec)) {
+            snapshotCount = service.count();
+        }
+        long snapshotMillis = (System.nanoTime() - snapshotStartNanos) / 1_000_000L;
+
+        //then
+        logger.warn("{} carts, appends: {} /s, recovery by replay: {} ms, recovery from snapshot: {} ms",
+                CART_COUNT, String.format("%.0f", appendsPerSecond), replayMillis, snapshotMillis);
+        assertThat(replayedCount).isEqualTo(CART_COUNT);
+        assertThat(snapshotCount).isEqualTo(CART_COUNT);
+        assertThat(replayMillis).isLessThan(30_000L);
+    }
+
+    private double fill(Path directory, ShoppingCartCodec codec, boolean snapshot) {
+        try (SegmentLogShoppingCartService service = new SegmentLogShoppingCartService(directory, codec)) {
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < CART_COUNT; i++) {
+                service.save(new ShoppingCart());
+            }
+            double appendsPerSecond = CART_COUNT * 1_000_000_000D / (System.nanoTime() - startNanos);
+            if (snapshot) {
+                service.snapshot();
+            }
+            return appendsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.trendyol.shoppingcart.core.benchmark;
+
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Measures the heap retained by cart line values with and without flyweights and interning.
+Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class ValueObjectHeapBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValueObjectHeapBenchmark.class);
+
+    private static final int LINES = 500_000;
+
+    private static final String[] TITLES = {"apple", "banana", "coffee", "tea", "wine", "beer", "water", "juice"};
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    public void givenManyCartLines_whenTitlesAreInterned_thenRetainLessHeap() {
+        //given
+        Title.pool().clear();
+
+        //when
+        long plainBytes = retainedBytes(i -> Title.valueOf(copyOf(TITLES[i % TITLES.length])));
+        long internedBytes = retainedBytes(i -> Title.interned(copyOf(TITLES[i % TITLES.length])));
+
+        //then
+        logger.info("Titles of {} cart lines retain {} bytes with valueOf and {} bytes with interned",
+                LINES, plainBytes, internedBytes);
+        assertThat(internedBytes).isLessThan(plainBytes);
+    }
+
+    @Test
+    public void givenManyCartLines_whenSmallValuesAreCreated_thenShareFlyweights() {
+        //given
+        Set<Object> distinctInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        //when
+        for (int i = 0; i < LINES; i++) {
+            distinctInstances.add(Quantity.valueOf(i % 10));
+            distinctInstances.add(Amount.valueOf((double) (i % 50)));
+        }
+
+        //then
+        logger.info("{} cart line quantities and amounts share {} instances", LINES * 2, distinctInstances.size());
+        assertThat(distinctInstances).hasSize(60);
+    }
+
+    private long retainedBytes(IntFunction<Object> valueFactory) {
+        long before = usedHeapAfterGc();
+        Object[] values = new Object[LINES];
+        for (int i = 0; i < LINES; i++) {
+            values[i] = valueFactory.apply(i);
+        }
+        long after = usedHeapAfterGc();
+        assertThat(values[LINES - 1]).isNotNull();
+        return after - before;
+    }
+
+    private long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    //titles read from storage are distinct string instances, copying models that
+    private static String copyOf(String value) {
+        return new String(value.toCharArray());
+    }
+}
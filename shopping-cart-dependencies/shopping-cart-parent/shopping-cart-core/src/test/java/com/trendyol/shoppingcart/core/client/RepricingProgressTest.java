@@ -0,0 +1,38 @@
+package com.trendyol.shoppingcart.core.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepricingProgressTest {
+
+    @Test
+    public void givenProcessedCarts_whenGetCartsPerSecond_thenDivideProcessedCartsByElapsedTime() {
+        //given
+        RepricingProgress progress = new RepricingProgress(100, 40, 10, Duration.ofMillis(500));
+
+        //when
+        double cartsPerSecond = progress.getCartsPerSecond();
+
+        //then
+        assertThat(cartsPerSecond).isEqualTo(100D);
+        assertThat(progress.getProcessedCartCount()).isEqualTo(50);
+        assertThat(progress.isFinished()).isFalse();
+        assertThat(progress).hasToString("Repriced 40/100 carts, 10 failed, 100 carts/s");
+    }
+
+    @Test
+    public void givenNoElapsedTime_whenGetCartsPerSecond_thenReturnZero() {
+        //given
+        RepricingProgress progress = new RepricingProgress(0, 0, 0, Duration.ZERO);
+
+        //when
+        double cartsPerSecond = progress.getCartsPerSecond();
+
+        //then
+        assertThat(cartsPerSecond).isZero();
+        assertThat(progress.isFinished()).isTrue();
+    }
+}
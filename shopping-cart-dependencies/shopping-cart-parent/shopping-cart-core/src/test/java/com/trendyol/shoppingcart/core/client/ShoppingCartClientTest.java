@@ -1,17 +1,27 @@
 package com.trendyol.shoppingcart.core.client;
 
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
 import com.trendyol.shoppingcart.core.discountprovider.DiscountProvider;
 import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderGroup;
 import com.trendyol.shoppingcart.core.discountprovider.DiscountProviderItem;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountRuleIndex;
+import com.trendyol.shoppingcart.core.discountprovider.ParallelProvision;
 import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.domain.value.Amount;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.service.AsyncCRUDService;
 import com.trendyol.shoppingcart.core.service.DeliveryCostService;
 import com.trendyol.shoppingcart.core.service.ShoppingCartService;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.*;
@@ -281,4 +291,273 @@ public class ShoppingCartClientTest {
         ShoppingCart savedShoppingCart = argumentCaptor.getValue();
         assertThat(savedShoppingCart).isNotNull();
     }
+
+    @Test
+    public void givenValidShoppingCartClient_whenSubmitCarts_thenDoNotRegisterCartsAsListeners() {
+        //given
+        ShoppingCart shoppingCart1 = mock(ShoppingCart.class);
+        ShoppingCart shoppingCart2 = mock(ShoppingCart.class);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).then(invocation -> invocation.getArgument(0));
+
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+
+        DiscountProvider discountProvider = mock(DiscountProvider.class);
+        shoppingCartClient.getRuleDiscountProvider().addDiscountProvider(discountProvider);
+
+        //when
+        shoppingCartClient.submitCart(shoppingCart1);
+        shoppingCartClient.submitCart(shoppingCart2);
+
+        //then
+        ArgumentCaptor<DiscountEvaluationContext> argumentCaptor = ArgumentCaptor.forClass(DiscountEvaluationContext.class);
+        verify(discountProvider, times(2)).provideDiscount(argumentCaptor.capture());
+        assertThat(argumentCaptor.getAllValues())
+                .extracting(DiscountEvaluationContext::getShoppingCart)
+                .containsExactly(shoppingCart1, shoppingCart2);
+        verify(discountProvider, never()).registerDiscountProviderEventListener(any());
+        verify(discountProvider, never()).provideDiscount();
+    }
+
+    @Test
+    public void givenValidShoppingCartClientWithExecutor_whenSubmitCartAsync_thenRunAllStagesOnExecutor() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        DeliveryCostService deliveryCostService = mock(DeliveryCostService.class);
+        when(deliveryCostService.calculateFor(any(ShoppingCart.class))).thenReturn(Amount.valueOf(10D));
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).thenReturn(shoppingCart);
+        AtomicInteger executedTaskCount = new AtomicInteger();
+        Executor executor = runnable -> {
+            executedTaskCount.incrementAndGet();
+            runnable.run();
+        };
+
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(deliveryCostService, shoppingCartService, executor).defaultAnswer(CALLS_REAL_METHODS));
+
+        //when
+        CompletableFuture<ShoppingCart> future = shoppingCartClient.submitCartAsync(shoppingCart);
+
+        //then
+        assertThat(shoppingCartClient.getSubmitExecutor()).isEqualTo(executor);
+        assertThat(future).isCompletedWithValue(shoppingCart);
+        assertThat(executedTaskCount).hasValue(3);
+        verify(shoppingCart, times(1)).applyDiscounts();
+        verify(shoppingCart, times(1)).setDeliveryCost(Amount.valueOf(10D));
+        verify(shoppingCartService, times(1)).save(shoppingCart);
+        verify(shoppingCart, times(1)).print();
+    }
+
+    @Test
+    public void givenValidShoppingCartClientWithoutExecutor_whenSubmitCartAsync_thenCompleteOnDefaultExecutor() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).thenReturn(shoppingCart);
+
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+
+        //when
+        ShoppingCart savedShoppingCart = shoppingCartClient.submitCartAsync(shoppingCart).join();
+
+        //then
+        assertThat(shoppingCartClient.getSubmitExecutor()).isNull();
+        assertThat(savedShoppingCart).isEqualTo(shoppingCart);
+        verify(shoppingCartService, times(1)).save(shoppingCart);
+        verify(shoppingCart, times(1)).print();
+    }
+
+    @Test
+    public void givenAsyncShoppingCartService_whenSubmitCartAsync_thenComposeSaveWithoutRunningItOnExecutor() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        @SuppressWarnings("unchecked")
+        AsyncCRUDService<ShoppingCart, Long> asyncShoppingCartService = mock(AsyncCRUDService.class);
+        CompletableFuture<ShoppingCart> pendingSave = new CompletableFuture<>();
+        when(asyncShoppingCartService.save(shoppingCart)).thenReturn(pendingSave);
+        AtomicInteger executedTaskCount = new AtomicInteger();
+        Executor executor = runnable -> {
+            executedTaskCount.incrementAndGet();
+            runnable.run();
+        };
+
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService, executor).defaultAnswer(CALLS_REAL_METHODS));
+        shoppingCartClient.setAsyncShoppingCartService(asyncShoppingCartService);
+
+        //when
+        CompletableFuture<ShoppingCart> future = shoppingCartClient.submitCartAsync(shoppingCart);
+        boolean doneBeforeSave = future.isDone();
+        pendingSave.complete(shoppingCart);
+
+        //then
+        assertThat(shoppingCartClient.getAsyncShoppingCartService()).isSameAs(asyncShoppingCartService);
+        assertThat(doneBeforeSave).isFalse();
+        assertThat(future).isCompletedWithValue(shoppingCart);
+        assertThat(executedTaskCount).hasValue(2);
+        verify(shoppingCartService, never()).save(any(ShoppingCart.class));
+        verify(shoppingCart, times(1)).print();
+    }
+
+    @Test
+    public void givenAsyncShoppingCartService_whenSubmitCart_thenWaitForSaveAndPrint() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        @SuppressWarnings("unchecked")
+        AsyncCRUDService<ShoppingCart, Long> asyncShoppingCartService = mock(AsyncCRUDService.class);
+        CompletableFuture<ShoppingCart> pendingSave = CompletableFuture.supplyAsync(() -> shoppingCart,
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        when(asyncShoppingCartService.save(shoppingCart)).thenReturn(pendingSave);
+
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+        shoppingCartClient.setAsyncShoppingCartService(asyncShoppingCartService);
+
+        //when
+        shoppingCartClient.submitCart(shoppingCart);
+
+        //then
+        assertThat(pendingSave).isDone();
+        verify(shoppingCart, times(1)).applyDiscounts();
+        verify(shoppingCart, times(1)).print();
+        verify(shoppingCartService, never()).save(any(ShoppingCart.class));
+    }
+
+    @Test
+    public void givenFailingAsyncShoppingCartService_whenSubmitCart_thenRethrowAndDoNotPrint() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        @SuppressWarnings("unchecked")
+        AsyncCRUDService<ShoppingCart, Long> asyncShoppingCartService = mock(AsyncCRUDService.class);
+        when(asyncShoppingCartService.save(shoppingCart)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Store is down!")));
+
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+        shoppingCartClient.setAsyncShoppingCartService(asyncShoppingCartService);
+
+        //when
+        Throwable throwable = catchThrowable(() -> shoppingCartClient.submitCart(shoppingCart));
+
+        //then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("Store is down!");
+        verify(shoppingCart, never()).print();
+    }
+
+    @Test
+    public void givenFailingShoppingCartService_whenSubmitCartAsync_thenCompleteExceptionallyAndDoNotPrint() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).thenThrow(new IllegalStateException("Store is down!"));
+
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+
+        //when
+        CompletableFuture<ShoppingCart> future = shoppingCartClient.submitCartAsync(shoppingCart, Runnable::run);
+
+        //then
+        assertThat(future).isCompletedExceptionally();
+        Throwable throwable = catchThrowable(future::join);
+        assertThat(throwable)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        verify(shoppingCart, never()).print();
+    }
+
+    @Test
+    public void givenNullShoppingCart_whenSubmitCartAsync_thenThrowInvalidValueException() {
+        //given
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+
+        //when
+        Throwable throwable = catchThrowable(() -> shoppingCartClient.submitCartAsync(null, Runnable::run));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Shopping cart can not be null!");
+        verify(shoppingCartService, never()).save(any());
+    }
+
+    @Test
+    public void givenNullExecutor_whenSubmitCartAsync_thenThrowInvalidValueException() {
+        //given
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+
+        //when
+        Throwable throwable = catchThrowable(() -> shoppingCartClient.submitCartAsync(mock(ShoppingCart.class), null));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Executor can not be null!");
+    }
+
+    @Test
+    public void givenUnchangedDiscountProviders_whenSubmitCarts_thenReuseCompiledRuleIndexUntilProvidersChange() {
+        //given
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).then(invocation -> invocation.getArgument(0));
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+        DiscountProvider discountProvider1 = mock(DiscountProvider.class);
+        DiscountProvider discountProvider2 = mock(DiscountProvider.class);
+        shoppingCartClient.getRuleDiscountProvider().addDiscountProvider(discountProvider1);
+
+        //when
+        shoppingCartClient.submitCart(mock(ShoppingCart.class));
+        DiscountRuleIndex firstRuleIndex = shoppingCartClient.currentRuleIndex();
+        shoppingCartClient.submitCart(mock(ShoppingCart.class));
+        DiscountRuleIndex secondRuleIndex = shoppingCartClient.currentRuleIndex();
+        shoppingCartClient.getRuleDiscountProvider().addDiscountProvider(discountProvider2);
+        shoppingCartClient.submitCart(mock(ShoppingCart.class));
+        DiscountRuleIndex thirdRuleIndex = shoppingCartClient.currentRuleIndex();
+
+        //then
+        assertThat(secondRuleIndex).isSameAs(firstRuleIndex);
+        assertThat(thirdRuleIndex).isNotSameAs(firstRuleIndex);
+        assertThat(thirdRuleIndex.getRuleCount()).isEqualTo(2);
+        verify(discountProvider1, times(3)).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(discountProvider2, times(1)).provideDiscount(any(DiscountEvaluationContext.class));
+    }
+
+    @Test
+    public void givenParallelProvision_whenSubmitCarts_thenProvideWithParallelRuleIndexUntilItIsUnset() {
+        //given
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class);
+        when(shoppingCartService.save(any(ShoppingCart.class))).then(invocation -> invocation.getArgument(0));
+        ShoppingCartClient shoppingCartClient = mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(null, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+        DiscountProvider discountProvider = mock(DiscountProvider.class);
+        shoppingCartClient.getRuleDiscountProvider().addDiscountProvider(discountProvider);
+        ParallelProvision parallelProvision = new ParallelProvision();
+
+        //when
+        shoppingCartClient.submitCart(mock(ShoppingCart.class));
+        DiscountRuleIndex sequentialRuleIndex = shoppingCartClient.currentRuleIndex();
+        shoppingCartClient.setParallelProvision(parallelProvision);
+        shoppingCartClient.submitCart(mock(ShoppingCart.class));
+        DiscountRuleIndex parallelRuleIndex = shoppingCartClient.currentRuleIndex();
+        shoppingCartClient.setParallelProvision(null);
+        DiscountRuleIndex unsetRuleIndex = shoppingCartClient.currentRuleIndex();
+
+        //then
+        assertThat(shoppingCartClient.getParallelProvision()).isNull();
+        assertThat(sequentialRuleIndex.getParallelProvision()).isNull();
+        assertThat(parallelRuleIndex.getParallelProvision()).isSameAs(parallelProvision);
+        assertThat(unsetRuleIndex.getParallelProvision()).isNull();
+        assertThat(parallelRuleIndex.getRoot()).isSameAs(sequentialRuleIndex.getRoot());
+        verify(discountProvider, times(2)).provideDiscount(any(DiscountEvaluationContext.class));
+    }
 }
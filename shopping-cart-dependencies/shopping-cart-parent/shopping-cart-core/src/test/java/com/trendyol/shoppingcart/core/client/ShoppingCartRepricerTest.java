@@ -0,0 +1,218 @@
+package com.trendyol.shoppingcart.core.client;
+
+import com.trendyol.shoppingcart.core.discountprovider.DiscountEvaluationContext;
+import com.trendyol.shoppingcart.core.discountprovider.DiscountProvider;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.service.DeliveryCostService;
+import com.trendyol.shoppingcart.core.service.PagedSpliterator;
+import com.trendyol.shoppingcart.core.service.ShoppingCartService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class ShoppingCartRepricerTest {
+
+    private ShoppingCartClient createShoppingCartClient(DeliveryCostService deliveryCostService, ShoppingCartService shoppingCartService) {
+        return mock(ShoppingCartClient.class, withSettings()
+                .useConstructor(deliveryCostService, shoppingCartService).defaultAnswer(CALLS_REAL_METHODS));
+    }
+
+    //stored carts and the copies they are repriced on
+    private final Map<ShoppingCart, ShoppingCart> copies = new HashMap<>();
+
+    private List<ShoppingCart> createShoppingCarts(int count) {
+        List<ShoppingCart> shoppingCarts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ShoppingCart shoppingCart = mock(ShoppingCart.class);
+            ShoppingCart copy = mock(ShoppingCart.class);
+            when(shoppingCart.copy()).thenReturn(copy);
+            copies.put(shoppingCart, copy);
+            shoppingCarts.add(shoppingCart);
+        }
+        return shoppingCarts;
+    }
+
+    @Test
+    public void givenNullShoppingCartClient_whenCreateShoppingCartRepricer_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> new ShoppingCartRepricer(null));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Shopping cart client can not be null!");
+    }
+
+    @Test
+    public void givenInvalidChunkSize_whenCreateShoppingCartRepricer_thenThrowInvalidValueException() {
+        //given
+        ShoppingCartClient shoppingCartClient = createShoppingCartClient(null, mock(ShoppingCartService.class));
+
+        //when
+        Throwable throwable = catchThrowable(() -> new ShoppingCartRepricer(shoppingCartClient, ForkJoinPool.commonPool(), 0));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Chunk size must be greater than 0!");
+    }
+
+    @Test
+    public void givenStoredShoppingCarts_whenRepriceAll_thenRepriceCopiesAndSaveThemPerChunkWithoutPrinting() {
+        //given
+        List<ShoppingCart> shoppingCarts = createShoppingCarts(250);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class, CALLS_REAL_METHODS);
+        when(shoppingCartService.getAll()).thenReturn(shoppingCarts);
+        DeliveryCostService deliveryCostService = mock(DeliveryCostService.class);
+        when(deliveryCostService.calculateFor(any(ShoppingCart.class))).thenReturn(Amount.valueOf(10D));
+        ShoppingCartClient shoppingCartClient = createShoppingCartClient(deliveryCostService, shoppingCartService);
+        DiscountProvider discountProvider = mock(DiscountProvider.class);
+        shoppingCartClient.getRuleDiscountProvider().addDiscountProvider(discountProvider);
+
+        List<RepricingProgress> progresses = new ArrayList<>();
+        ShoppingCartRepricer shoppingCartRepricer = new ShoppingCartRepricer(shoppingCartClient, new ForkJoinPool(2), 100);
+
+        //when
+        RepricingProgress progress = shoppingCartRepricer.repriceAll(progresses::add);
+
+        //then
+        assertThat(progress.getTotalCartCount()).isEqualTo(250);
+        assertThat(progress.getRepricedCartCount()).isEqualTo(250);
+        assertThat(progress.getFailedCartCount()).isZero();
+        assertThat(progress.isFinished()).isTrue();
+        assertThat(progresses).extracting(RepricingProgress::getProcessedCartCount).containsExactly(100, 200, 250);
+        verify(discountProvider, times(250)).provideDiscount(any(DiscountEvaluationContext.class));
+        for (ShoppingCart shoppingCart : shoppingCarts) {
+            ShoppingCart copy = copies.get(shoppingCart);
+            verify(shoppingCart, never()).resetPricing();
+            verify(copy, times(1)).resetPricing();
+            verify(copy, times(1)).applyDiscounts();
+            verify(copy, times(1)).setDeliveryCost(Amount.valueOf(10D));
+            verify(shoppingCartService, times(1)).save(copy);
+            verify(copy, never()).print();
+        }
+        verify(shoppingCartService, times(3)).saveAll(anyCollection());
+        verify(shoppingCartService, never()).update(any());
+    }
+
+    @Test
+    public void givenDiscountProviderAddedDuringRun_whenRepriceAll_thenPriceAllCartsAgainstSnapshot() {
+        //given
+        List<ShoppingCart> shoppingCarts = createShoppingCarts(3);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class, CALLS_REAL_METHODS);
+        when(shoppingCartService.getAll()).thenReturn(shoppingCarts);
+        ShoppingCartClient shoppingCartClient = createShoppingCartClient(null, shoppingCartService);
+        DiscountProvider lateDiscountProvider = mock(DiscountProvider.class);
+        ShoppingCartRepricer shoppingCartRepricer = new ShoppingCartRepricer(shoppingCartClient, new ForkJoinPool(1), 1);
+
+        //when
+        shoppingCartRepricer.repriceAll(progress -> shoppingCartClient.getRuleDiscountProvider().addDiscountProvider(lateDiscountProvider));
+
+        //then
+        verify(lateDiscountProvider, never()).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(shoppingCartService, times(3)).saveAll(anyCollection());
+    }
+
+    @Test
+    public void givenCartThatFailsToPrice_whenRepriceAll_thenSkipItAndRepriceTheRest() {
+        //given
+        List<ShoppingCart> shoppingCarts = createShoppingCarts(3);
+        ShoppingCart failingShoppingCart = shoppingCarts.get(1);
+        doThrow(new IllegalStateException("Broken cart!")).when(copies.get(failingShoppingCart)).applyDiscounts();
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class, CALLS_REAL_METHODS);
+        when(shoppingCartService.getAll()).thenReturn(shoppingCarts);
+        ShoppingCartClient shoppingCartClient = createShoppingCartClient(null, shoppingCartService);
+        ShoppingCartRepricer shoppingCartRepricer = new ShoppingCartRepricer(shoppingCartClient);
+
+        //when
+        RepricingProgress progress = shoppingCartRepricer.repriceAll();
+
+        //then
+        assertThat(progress.getRepricedCartCount()).isEqualTo(2);
+        assertThat(progress.getFailedCartCount()).isEqualTo(1);
+        verify(shoppingCartService, times(1)).saveAll(List.of(copies.get(shoppingCarts.get(0)), copies.get(shoppingCarts.get(2))));
+        verify(shoppingCartService, never()).save(copies.get(failingShoppingCart));
+        verify(failingShoppingCart, never()).resetPricing();
+    }
+
+    @Test
+    public void givenBatchWriteRejectingOneCart_whenRepriceAll_thenWriteTheOthersOneByOneAndCountItAsFailed() {
+        //given
+        List<ShoppingCart> shoppingCarts = createShoppingCarts(3);
+        ShoppingCart conflictingCopy = copies.get(shoppingCarts.get(1));
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class, CALLS_REAL_METHODS);
+        when(shoppingCartService.getAll()).thenReturn(shoppingCarts);
+        doThrow(new IllegalStateException("Shopping cart is at another version!")).when(shoppingCartService).save(conflictingCopy);
+        ShoppingCartClient shoppingCartClient = createShoppingCartClient(null, shoppingCartService);
+        ShoppingCartRepricer shoppingCartRepricer = new ShoppingCartRepricer(shoppingCartClient);
+
+        //when
+        RepricingProgress progress = shoppingCartRepricer.repriceAll(p -> {
+        });
+
+        //then
+        assertThat(progress.getRepricedCartCount()).isEqualTo(2);
+        assertThat(progress.getFailedCartCount()).isEqualTo(1);
+        verify(shoppingCartService, times(1)).saveAll(anyCollection());
+        verify(shoppingCartService, atLeastOnce()).save(copies.get(shoppingCarts.get(2)));
+    }
+
+    @Test
+    public void givenPagingShoppingCartService_whenRepriceAll_thenReadCartsPageByPageWithoutGetAll() {
+        //given
+        List<ShoppingCart> shoppingCarts = createShoppingCarts(25);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class, CALLS_REAL_METHODS);
+        doReturn(25L).when(shoppingCartService).count();
+        doAnswer(invocation -> {
+            int offset = (int) (long) invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return new ArrayList<>(shoppingCarts.subList(offset, Math.min(offset + limit, shoppingCarts.size())));
+        }).when(shoppingCartService).getPage(anyLong(), anyInt());
+        doAnswer(invocation -> new PagedSpliterator<>(shoppingCartService, 10)).when(shoppingCartService).spliterator();
+        ShoppingCartClient shoppingCartClient = createShoppingCartClient(null, shoppingCartService);
+        ShoppingCartRepricer shoppingCartRepricer = new ShoppingCartRepricer(shoppingCartClient, new ForkJoinPool(1), 10);
+
+        //when
+        RepricingProgress progress = shoppingCartRepricer.repriceAll(p -> {
+        });
+
+        //then
+        assertThat(progress.getTotalCartCount()).isEqualTo(25);
+        assertThat(progress.getRepricedCartCount()).isEqualTo(25);
+        assertThat(progress.isFinished()).isTrue();
+        verify(shoppingCartService, times(3)).getPage(anyLong(), anyInt());
+        verify(shoppingCartService, never()).getAll();
+    }
+
+    @Test
+    public void givenSpliteratorOfUnknownSize_whenRepriceAll_thenTakeTheTotalFromTheStoreCount() {
+        //given
+        List<ShoppingCart> shoppingCarts = createShoppingCarts(30);
+        ShoppingCartService shoppingCartService = mock(ShoppingCartService.class, CALLS_REAL_METHODS);
+        doReturn(30L).when(shoppingCartService).count();
+        doAnswer(invocation -> Spliterators.spliteratorUnknownSize(shoppingCarts.iterator(), Spliterator.NONNULL)).when(shoppingCartService).spliterator();
+        ShoppingCartClient shoppingCartClient = createShoppingCartClient(null, shoppingCartService);
+        ShoppingCartRepricer shoppingCartRepricer = new ShoppingCartRepricer(shoppingCartClient, new ForkJoinPool(1), 10);
+
+        //when
+        RepricingProgress progress = shoppingCartRepricer.repriceAll(p -> {
+        });
+
+        //then
+        assertThat(progress.getTotalCartCount()).isEqualTo(30);
+        assertThat(progress.getRepricedCartCount()).isEqualTo(30);
+        assertThat(progress.isFinished()).isTrue();
+    }
+}
@@ -0,0 +1,69 @@
+package com.trendyol.shoppingcart.core.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubmitExecutorsTest {
+
+    @Test
+    public void givenNothing_whenGetDefaultExecutor_thenReturnSharedExecutor() {
+        //when
+        Executor executor1 = SubmitExecutors.defaultExecutor();
+        Executor executor2 = SubmitExecutors.defaultExecutor();
+
+        //then
+        assertThat(executor1).isNotNull().isSameAs(executor2);
+    }
+
+    @Test
+    public void givenDefaultExecutor_whenRunTask_thenRunOffCallerThread() {
+        //given
+        Executor executor = SubmitExecutors.defaultExecutor();
+        Thread callerThread = Thread.currentThread();
+
+        //when
+        Thread taskThread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+
+        //then
+        assertThat(taskThread).isNotSameAs(callerThread);
+        assertThat(taskThread.isDaemon()).isTrue();
+    }
+
+    @Test
+    public void givenSaturatedDefaultExecutor_whenRunTask_thenRunOnCallerThreadInsteadOfStartingAnotherThread() throws InterruptedException {
+        //given
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) SubmitExecutors.createDefaultExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        Thread callerThread = Thread.currentThread();
+
+        //when
+        Thread taskThread;
+        try {
+            for (int i = 0; i < executor.getMaximumPoolSize() + SubmitExecutors.QUEUE_CAPACITY; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            taskThread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        //then
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(Runtime.getRuntime().availableProcessors());
+        assertThat(executor.getLargestPoolSize()).isEqualTo(executor.getMaximumPoolSize());
+        assertThat(taskThread).isSameAs(callerThread);
+    }
+}
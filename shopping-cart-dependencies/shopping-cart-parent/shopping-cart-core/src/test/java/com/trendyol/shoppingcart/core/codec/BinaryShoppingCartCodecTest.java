@@ -0,0 +1,177 @@
+package com.trendyol.shoppingcart.core.codec;
+
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.AppliedDiscount;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class BinaryShoppingCartCodecTest {
+
+    private final Category electronics = new Category(Title.valueOf("Codec Electronics"));
+    private final Category phones = electronics.addChild(Title.valueOf("Phones"));
+    private final Category laptops = electronics.addChild(Title.valueOf("Laptops"));
+
+    private final Discount discount = mock(Discount.class);
+
+    private final BinaryShoppingCartCodec codec;
+
+    public BinaryShoppingCartCodecTest() {
+        when(discount.getDiscountName()).thenReturn(DiscountName.valueOf("Summer"));
+        codec = new BinaryShoppingCartCodec(List.of(electronics), List.of(discount));
+    }
+
+    private ShoppingCart pricedCart() {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.addProduct(new Product(Title.valueOf("Phone"), Amount.valueOf(999.99D), phones), Quantity.valueOf(2));
+        shoppingCart.addProduct(new Product(Title.valueOf("Case"), Amount.valueOf(12.5D), phones), Quantity.valueOf(300));
+        shoppingCart.addProduct(new Product(Title.valueOf("Laptop"), Amount.valueOf(1500D), laptops), Quantity.valueOf(1));
+        shoppingCart.getDiscountMap().put(DiscountName.valueOf("Summer"), new AppliedDiscount(discount, Amount.valueOf(100D)));
+        shoppingCart.applyDiscounts();
+        shoppingCart.setDeliveryCost(Amount.valueOf(7.99D));
+        shoppingCart.applyDeliveryCost();
+        return shoppingCart;
+    }
+
+    @Test
+    public void givenNullArguments_whenCreateCodec_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new BinaryShoppingCartCodec(null));
+        Throwable throwable2 = catchThrowable(() -> new BinaryShoppingCartCodec(List.of(), null));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Root categories can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Discounts can not be null!");
+    }
+
+    @Test
+    public void givenDiscountsSharingName_whenCreateCodec_thenThrowInvalidValueException() {
+        //given
+        Discount otherSummer = mock(Discount.class);
+        when(otherSummer.getDiscountName()).thenReturn(DiscountName.valueOf("Summer"));
+
+        //when
+        Throwable throwable = catchThrowable(() -> new BinaryShoppingCartCodec(List.of(electronics), List.of(discount, otherSummer)));
+        BinaryShoppingCartCodec codecWithRepeatedDiscount = new BinaryShoppingCartCodec(List.of(electronics), List.of(discount, discount));
+
+        //then
+        assertThat(throwable).isInstanceOf(InvalidValueException.class).hasMessage("Discount name Summer is not unique!");
+        assertThat(codecWithRepeatedDiscount.decode(ByteBuffer.wrap(codec.encode(pricedCart()))).getDiscountMap()).containsOnlyKeys(DiscountName.valueOf("Summer"));
+    }
+
+    @Test
+    public void givenCartWithOtherDiscountUnderKnownName_whenEncode_thenThrowInvalidValueException() {
+        //given
+        Discount otherSummer = mock(Discount.class);
+        when(otherSummer.getDiscountName()).thenReturn(DiscountName.valueOf("Summer"));
+        ShoppingCart shoppingCart = pricedCart();
+        shoppingCart.getDiscountMap().put(DiscountName.valueOf("Summer"), new AppliedDiscount(otherSummer, Amount.valueOf(100D)));
+
+        //when
+        Throwable throwable = catchThrowable(() -> codec.encode(shoppingCart));
+
+        //then
+        assertThat(throwable).isInstanceOf(InvalidValueException.class).hasMessage("Discount Summer does not match the known discount of that name!");
+    }
+
+    @Test
+    public void givenPricedCart_whenEncodeAndDecode_thenRestoreLinesCategoriesDiscountsAndAmounts() {
+        //given
+        ShoppingCart shoppingCart = pricedCart();
+
+        //when
+        ShoppingCart decoded = codec.decode(ByteBuffer.wrap(codec.encode(shoppingCart)));
+
+        //then
+        assertThat(decoded.getCartItems()).containsExactlyElementsOf(shoppingCart.getCartItems());
+        assertThat(decoded.getCartItems().iterator().next().getCategory()).isSameAs(phones);
+        assertThat(decoded.getQuantityOfProductsBelongsToCategoryInCart(electronics)).isEqualTo(Quantity.valueOf(303));
+        assertThat(decoded.getDiscountMap()).containsOnlyKeys(DiscountName.valueOf("Summer"));
+        assertThat(decoded.getDiscountMap().get(DiscountName.valueOf("Summer")).getDiscount()).isSameAs(discount);
+        assertThat(decoded.getCartAmount()).isEqualTo(shoppingCart.getCartAmount());
+        assertThat(decoded.getTotalDiscount()).isEqualTo(Amount.valueOf(100D));
+        assertThat(decoded.getDeliveryCost()).isEqualTo(Amount.valueOf(7.99D));
+        assertThat(decoded.getTotalAmount()).isEqualTo(shoppingCart.getTotalAmount());
+        assertThat(decoded.getId()).isNull();
+    }
+
+    @Test
+    public void givenRepeatedTitlesAndCategories_whenEncode_thenWriteThemOnce() {
+        //given
+        ShoppingCart oneLine = new ShoppingCart();
+        oneLine.addProduct(new Product(Title.valueOf("Phone"), Amount.valueOf(10D), phones), Quantity.valueOf(1));
+        ShoppingCart twoLines = new ShoppingCart();
+        twoLines.addProduct(new Product(Title.valueOf("Phone"), Amount.valueOf(10D), phones), Quantity.valueOf(1));
+        twoLines.addProduct(new Product(Title.valueOf("Phone"), Amount.valueOf(20D), phones), Quantity.valueOf(1));
+
+        //when
+        int oneLineSize = codec.encode(oneLine).length;
+        int twoLinesSize = codec.encode(twoLines).length;
+
+        //then
+        assertThat(twoLinesSize - oneLineSize).isEqualTo(5);
+    }
+
+    @Test
+    public void givenEncodedCartInDirectBuffer_whenDecodeFromPosition_thenReadOnlyTheCart() {
+        //given
+        byte[] encoded = codec.encode(pricedCart());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length + 3);
+        buffer.put(new byte[]{9, 9, 9}).put(encoded).flip().position(3);
+
+        //when
+        Amount totalAmount = BinaryShoppingCartCodec.readTotalAmount(buffer);
+        ShoppingCart decoded = codec.decode(buffer);
+
+        //then
+        assertThat(totalAmount).isEqualTo(pricedCart().getTotalAmount());
+        assertThat(decoded.getTotalAmount()).isEqualTo(totalAmount);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void givenUnknownDiscount_whenDecode_thenLeaveItOutAndKeepAmounts() {
+        //given
+        BinaryShoppingCartCodec codecWithoutDiscounts = new BinaryShoppingCartCodec(List.of(electronics));
+        ShoppingCart shoppingCart = pricedCart();
+
+        //when
+        ShoppingCart decoded = codecWithoutDiscounts.decode(ByteBuffer.wrap(codec.encode(shoppingCart)));
+
+        //then
+        assertThat(decoded.getDiscountMap()).isEmpty();
+        assertThat(decoded.getTotalDiscount()).isEqualTo(Amount.valueOf(100D));
+    }
+
+    @Test
+    public void givenUnknownCategoryOrDamagedBytes_whenDecode_thenThrowInvalidValueException() {
+        //given
+        byte[] encoded = codec.encode(pricedCart());
+        BinaryShoppingCartCodec codecWithoutCategories = new BinaryShoppingCartCodec(List.of());
+        byte[] unsupported = encoded.clone();
+        unsupported[0] = 7;
+
+        //when
+        Throwable throwable1 = catchThrowable(() -> codecWithoutCategories.decode(ByteBuffer.wrap(encoded)));
+        Throwable throwable2 = catchThrowable(() -> codec.decode(ByteBuffer.wrap(encoded, 0, encoded.length - 2)));
+        Throwable throwable3 = catchThrowable(() -> codec.decode(ByteBuffer.wrap(unsupported)));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Category Codec Electronics is unknown!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Encoded shopping cart is damaged!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Unsupported shopping cart format version 7!");
+    }
+}
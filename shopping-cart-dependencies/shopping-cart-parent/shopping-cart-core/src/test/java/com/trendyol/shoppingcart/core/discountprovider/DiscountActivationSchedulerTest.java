@@ -0,0 +1,201 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class DiscountActivationSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private final DiscountActivationScheduler scheduler = new DiscountActivationScheduler(clock);
+
+    private static ScheduledDiscountProvider createProvider(Instant activationTime, Instant deactivationTime) {
+        ScheduledDiscountProvider discountProvider = mock(ScheduledDiscountProvider.class);
+        when(discountProvider.getActivationTime()).thenReturn(activationTime);
+        when(discountProvider.getDeactivationTime()).thenReturn(deactivationTime);
+        return discountProvider;
+    }
+
+    @Test
+    public void givenNullClock_whenCreateScheduler_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> new DiscountActivationScheduler(null));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Clock can not be null!");
+    }
+
+    @Test
+    public void givenNullDiscountProvider_whenSchedule_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> scheduler.schedule(null));
+        Throwable throwable2 = catchThrowable(() -> scheduler.scheduleAll(null));
+
+        //then
+        assertThat(throwable1)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Discount provider can not be null!");
+        assertThat(throwable2)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Discount providers can not be null!");
+    }
+
+    @Test
+    public void givenProvidersInPastPresentAndFuture_whenSchedule_thenActivateOnlyCurrentOnes() {
+        //given
+        ScheduledDiscountProvider unbounded = createProvider(null, null);
+        ScheduledDiscountProvider current = createProvider(NOW.minus(Duration.ofDays(1)), NOW.plus(Duration.ofDays(1)));
+        ScheduledDiscountProvider expired = createProvider(NOW.minus(Duration.ofDays(2)), NOW.minus(Duration.ofDays(1)));
+        ScheduledDiscountProvider upcoming = createProvider(NOW.plus(Duration.ofDays(1)), NOW.plus(Duration.ofDays(2)));
+
+        //when
+        scheduler.scheduleAll(Arrays.asList(unbounded, current, expired, upcoming));
+
+        //then
+        assertThat(scheduler.getScheduledCount()).isEqualTo(4);
+        assertThat(scheduler.getActiveCount()).isEqualTo(2);
+        assertThat(scheduler.getActiveDiscountProviders().getChildDiscountProviders()).containsExactly(unbounded, current);
+        assertThat(scheduler.getNextBoundaryTime()).isEqualTo(NOW.plus(Duration.ofDays(1)));
+    }
+
+    @Test
+    public void givenScheduledProviders_whenClockPassesBoundaries_thenActivateAndDeactivateWithExclusiveBounds() {
+        //given
+        Instant startTime = NOW.plus(Duration.ofHours(1));
+        Instant finishTime = NOW.plus(Duration.ofHours(2));
+        ScheduledDiscountProvider discountProvider = createProvider(startTime, finishTime);
+        scheduler.schedule(discountProvider);
+        DiscountProviderGroup activeDiscountProviders = scheduler.getActiveDiscountProviders();
+
+        //when
+        //then
+        clock.moveTo(startTime);
+        scheduler.advance();
+        assertThat(activeDiscountProviders.getChildDiscountProviders()).isEmpty();
+
+        clock.moveTo(startTime.plusNanos(1));
+        scheduler.advance();
+        assertThat(activeDiscountProviders.getChildDiscountProviders()).containsExactly(discountProvider);
+
+        clock.moveTo(finishTime.minusNanos(1));
+        scheduler.advance();
+        assertThat(activeDiscountProviders.getChildDiscountProviders()).containsExactly(discountProvider);
+
+        clock.moveTo(finishTime);
+        scheduler.advance();
+        assertThat(activeDiscountProviders.getChildDiscountProviders()).isEmpty();
+        assertThat(scheduler.getNextBoundaryTime()).isEqualTo(Instant.MAX);
+    }
+
+    @Test
+    public void givenBoundariesAtInstantMax_whenScheduleAndAdvance_thenNeverActivateOrDeactivate() {
+        //given
+        ScheduledDiscountProvider neverActive = createProvider(Instant.MAX, null);
+        ScheduledDiscountProvider openEnded = createProvider(NOW.minus(Duration.ofDays(1)), Instant.MAX);
+
+        //when
+        scheduler.scheduleAll(Arrays.asList(neverActive, openEnded));
+        clock.moveTo(NOW.plus(Duration.ofDays(365_000)));
+        scheduler.advance();
+
+        //then
+        assertThat(scheduler.getActiveDiscountProviders().getChildDiscountProviders()).containsExactly(openEnded);
+        assertThat(scheduler.getNextBoundaryTime()).isEqualTo(Instant.MAX);
+    }
+
+    @Test
+    public void givenActivationAndDeactivationAtSameInstant_whenClockReachesIt_thenDeactivateWithoutWaitingForActivation() {
+        //given
+        Instant boundaryTime = NOW.plus(Duration.ofHours(1));
+        ScheduledDiscountProvider ending = createProvider(null, boundaryTime);
+        ScheduledDiscountProvider starting = createProvider(boundaryTime, null);
+        scheduler.scheduleAll(Arrays.asList(ending, starting));
+
+        //when
+        clock.moveTo(boundaryTime);
+        scheduler.advance();
+
+        //then
+        assertThat(scheduler.getActiveDiscountProviders().getChildDiscountProviders()).isEmpty();
+    }
+
+    @Test
+    public void givenProviderActivatedLater_whenAdvance_thenKeepScheduleOrderInActiveGroup() {
+        //given
+        ScheduledDiscountProvider first = createProvider(NOW.plus(Duration.ofHours(1)), null);
+        ScheduledDiscountProvider second = createProvider(null, null);
+        ScheduledDiscountProvider third = createProvider(null, null);
+        scheduler.scheduleAll(Arrays.asList(first, second, third));
+        long version = scheduler.getActiveDiscountProviders().getVersion();
+
+        //when
+        clock.moveTo(NOW.plus(Duration.ofHours(2)));
+        scheduler.advance();
+
+        //then
+        assertThat(scheduler.getActiveDiscountProviders().getChildDiscountProviders()).containsExactly(first, second, third);
+        assertThat(scheduler.getActiveDiscountProviders().getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    public void givenNoBoundaryPassed_whenAdvance_thenDoNotTouchActiveGroup() {
+        //given
+        scheduler.scheduleAll(Arrays.asList(createProvider(null, null), createProvider(NOW.plus(Duration.ofDays(1)), null)));
+        long version = scheduler.getActiveDiscountProviders().getVersion();
+
+        //when
+        clock.moveTo(NOW.plus(Duration.ofHours(23)));
+        scheduler.advance();
+
+        //then
+        assertThat(scheduler.getActiveDiscountProviders().getVersion()).isEqualTo(version);
+        assertThat(scheduler.getActiveCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenScheduledProviders_whenUnschedule_thenRemoveFromActiveGroupAndNeverActivate() {
+        //given
+        ScheduledDiscountProvider active = createProvider(null, null);
+        ScheduledDiscountProvider upcoming = createProvider(NOW.plus(Duration.ofHours(1)), null);
+        scheduler.scheduleAll(Arrays.asList(active, upcoming));
+
+        //when
+        scheduler.unschedule(active);
+        scheduler.unschedule(upcoming);
+        scheduler.unschedule(createProvider(null, null));
+        clock.moveTo(NOW.plus(Duration.ofHours(2)));
+        scheduler.advance();
+
+        //then
+        assertThat(scheduler.getScheduledCount()).isZero();
+        assertThat(scheduler.getActiveDiscountProviders().getChildDiscountProviders()).isEmpty();
+    }
+
+    @Test
+    public void givenAlreadyScheduledProvider_whenScheduleAgain_thenKeepSingleSchedule() {
+        //given
+        ScheduledDiscountProvider discountProvider = createProvider(null, null);
+        scheduler.schedule(discountProvider);
+
+        //when
+        scheduler.scheduleAll(Collections.singletonList(discountProvider));
+
+        //then
+        assertThat(scheduler.getScheduledCount()).isEqualTo(1);
+        assertThat(scheduler.getActiveDiscountProviders().getChildDiscountProviders()).containsExactly(discountProvider);
+    }
+}
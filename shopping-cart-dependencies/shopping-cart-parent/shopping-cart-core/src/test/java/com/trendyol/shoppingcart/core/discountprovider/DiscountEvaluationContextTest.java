@@ -0,0 +1,143 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.discountprovider.listener.DiscountProvidedEvent;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.AppliedDiscount;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class DiscountEvaluationContextTest {
+
+    @Test
+    public void givenShoppingCart_whenShoppingCartIsNull_thenThrowInvalidValueException() {
+        //given
+        ShoppingCart shoppingCart = null;
+
+        //when
+        Throwable throwable = catchThrowable(() -> new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Shopping cart can not be null!");
+    }
+
+    @Test
+    public void givenShoppingCart_whenEvaluationTimeIsNull_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> new DiscountEvaluationContext(mock(ShoppingCart.class), null));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Evaluation time can not be null!");
+    }
+
+    @Test
+    public void givenEvaluationTime_whenFork_thenForkedContextEvaluatesAtTheSameTime() {
+        //given
+        Instant evaluationTime = Instant.parse("2024-01-01T00:00:00Z");
+        DiscountEvaluationContext context = new DiscountEvaluationContext(mock(ShoppingCart.class), evaluationTime);
+
+        //when
+        DiscountEvaluationContext forkedContext = context.fork();
+
+        //then
+        assertThat(context.getEvaluationTime()).isEqualTo(evaluationTime);
+        assertThat(forkedContext.getEvaluationTime()).isEqualTo(evaluationTime);
+    }
+
+    @Test
+    public void givenDiscountEvaluationContext_whenDiscountProvided_thenPassDiscountToShoppingCart() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        DiscountEvaluationContext context = new DiscountEvaluationContext(shoppingCart);
+        Discount discount = mock(Discount.class);
+        DiscountProvidedEvent event = new DiscountProvidedEvent(discount);
+
+        //when
+        context.discountProvided(event);
+
+        //then
+        verify(shoppingCart, times(1)).discountProvided(same(event));
+        assertThat(context.getShoppingCart()).isSameAs(shoppingCart);
+        assertThat(context.getProvidedDiscounts()).containsExactly(discount);
+    }
+
+    @Test
+    public void givenForkedContext_whenDiscountProvided_thenEvaluateDiscountWithoutPassingItToShoppingCart() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        DiscountEvaluationContext forkedContext = new DiscountEvaluationContext(shoppingCart).fork();
+        Discount discount = mock(Discount.class);
+
+        //when
+        forkedContext.discountProvided(new DiscountProvidedEvent(discount));
+
+        //then
+        verify(discount, times(1)).evaluate(same(shoppingCart));
+        verify(discount, never()).merge(any(), any());
+        verify(shoppingCart, never()).discountProvided(any());
+        assertThat(forkedContext.getShoppingCart()).isSameAs(shoppingCart);
+        assertThat(forkedContext.getProvidedDiscounts()).containsExactly(discount);
+    }
+
+    @Test
+    public void givenForkedContexts_whenJoin_thenMergeEvaluatedDiscountsInProvisionOrder() {
+        //given
+        ShoppingCart shoppingCart = mock(ShoppingCart.class);
+        DiscountEvaluationContext context = new DiscountEvaluationContext(shoppingCart);
+        DiscountEvaluationContext forkedContext1 = context.fork();
+        DiscountEvaluationContext forkedContext2 = context.fork();
+        Discount discount1 = mock(Discount.class);
+        Discount discount2 = mock(Discount.class);
+        Discount invalidDiscount = mock(Discount.class);
+        AppliedDiscount appliedDiscount1 = new AppliedDiscount(discount1, Amount.valueOf(1D));
+        AppliedDiscount appliedDiscount2 = new AppliedDiscount(discount2, Amount.valueOf(2D));
+        when(discount1.evaluate(shoppingCart)).thenReturn(appliedDiscount1);
+        when(discount2.evaluate(shoppingCart)).thenReturn(appliedDiscount2);
+        forkedContext2.discountProvided(new DiscountProvidedEvent(discount2));
+        forkedContext1.discountProvided(new DiscountProvidedEvent(discount1));
+        forkedContext1.discountProvided(new DiscountProvidedEvent(invalidDiscount));
+
+        //when
+        context.join(forkedContext1);
+        context.join(forkedContext2);
+
+        //then
+        InOrder inOrder = inOrder(discount1, discount2);
+        inOrder.verify(discount1).merge(same(shoppingCart), same(appliedDiscount1));
+        inOrder.verify(discount2).merge(same(shoppingCart), same(appliedDiscount2));
+        verify(invalidDiscount, never()).merge(any(), any());
+        assertThat(context.getProvidedDiscounts()).containsExactly(discount1, invalidDiscount, discount2);
+    }
+
+    @Test
+    public void givenContextNotForkedFromIt_whenJoin_thenThrowInvalidValueException() {
+        //given
+        DiscountEvaluationContext context = new DiscountEvaluationContext(mock(ShoppingCart.class));
+        DiscountEvaluationContext otherContext = new DiscountEvaluationContext(mock(ShoppingCart.class));
+
+        //when
+        Throwable throwable1 = catchThrowable(() -> context.join(otherContext));
+        Throwable throwable2 = catchThrowable(() -> context.join(otherContext.fork()));
+
+        //then
+        assertThat(throwable1)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Only a context forked from the same cart can be joined!");
+        assertThat(throwable2)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Only a context forked from the same cart can be joined!");
+    }
+}
@@ -5,6 +5,8 @@ import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -283,5 +285,93 @@ public class DiscountProviderGroupTest {
         verify(childGroup2, times(1)).provideDiscount();
     }
 
+    @Test
+    public void givenDiscountProviderGroup_whenProvideDiscountsToContext_thenProvideDiscountsOfAllChildProvidersToContext() {
+        //given
+        DiscountProviderGroup discountProviderGroup = new DiscountProviderGroup();
+        DiscountProvider discountProvider = mock(DiscountProvider.class);
+        DiscountProviderItem discountProviderItem = mock(DiscountProviderItem.class);
+        DiscountProviderGroup childGroup = mock(DiscountProviderGroup.class);
+
+        discountProviderGroup.addDiscountProvider(discountProvider);
+        discountProviderGroup.addDiscountProvider(discountProviderItem);
+        discountProviderGroup.addDiscountProvider(childGroup);
+
+        DiscountEvaluationContext context = new DiscountEvaluationContext(mock(ShoppingCart.class));
+
+        //when
+        discountProviderGroup.provideDiscount(context);
+
+        //then
+        verify(discountProvider, times(1)).provideDiscount(ArgumentMatchers.same(context));
+        verify(discountProviderItem, times(1)).provideDiscount(ArgumentMatchers.same(context));
+        verify(childGroup, times(1)).provideDiscount(ArgumentMatchers.same(context));
+        verify(discountProvider, never()).registerDiscountProviderEventListener(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void givenNestedDiscountProviderGroups_whenSnapshot_thenCopyGroupsAndShareItems() {
+        //given
+        DiscountProviderGroup discountProviderGroup = new DiscountProviderGroup();
+        DiscountProviderGroup childGroup = new DiscountProviderGroup();
+        DiscountProvider discountProvider1 = mock(DiscountProvider.class);
+        DiscountProvider discountProvider2 = mock(DiscountProvider.class);
+        childGroup.addDiscountProvider(discountProvider1);
+        discountProviderGroup.addDiscountProvider(childGroup);
+        discountProviderGroup.addDiscountProvider(discountProvider2);
+
+        //when
+        DiscountProviderGroup snapshot = discountProviderGroup.snapshot();
+        childGroup.removeDiscountProvider(discountProvider1);
+        discountProviderGroup.addDiscountProvider(mock(DiscountProvider.class));
+
+        //then
+        assertThat(snapshot).isNotSameAs(discountProviderGroup);
+        assertThat(snapshot.getChildDiscountProviders()).hasSize(2).contains(discountProvider2);
+        DiscountProviderGroup childSnapshot = (DiscountProviderGroup) snapshot.getChildDiscountProviders().iterator().next();
+        assertThat(childSnapshot).isNotSameAs(childGroup);
+        assertThat(childSnapshot.getChildDiscountProviders()).containsExactly(discountProvider1);
+    }
+
+    @Test
+    public void givenDiscountProviderGroup_whenChildrenChange_thenIncreaseVersion() {
+        //given
+        DiscountProviderGroup discountProviderGroup = new DiscountProviderGroup();
+        DiscountProvider discountProvider = mock(DiscountProvider.class);
+        long initialVersion = discountProviderGroup.getVersion();
+
+        //when
+        discountProviderGroup.addDiscountProvider(discountProvider);
+        long versionAfterAdd = discountProviderGroup.getVersion();
+        discountProviderGroup.addDiscountProvider(discountProvider);
+        long versionAfterDuplicateAdd = discountProviderGroup.getVersion();
+        discountProviderGroup.removeDiscountProvider(discountProvider);
 
+        //then
+        assertThat(versionAfterAdd).isGreaterThan(initialVersion);
+        assertThat(versionAfterDuplicateAdd).isEqualTo(versionAfterAdd);
+        assertThat(discountProviderGroup.getVersion()).isGreaterThan(versionAfterAdd);
+    }
+
+    @Test
+    public void givenDiscountProviderGroup_whenReplaceDiscountProviders_thenSwapChildrenInGivenOrderOnce() {
+        //given
+        DiscountProviderGroup discountProviderGroup = new DiscountProviderGroup();
+        DiscountProvider discountProvider1 = mock(DiscountProvider.class);
+        DiscountProvider discountProvider2 = mock(DiscountProvider.class);
+        DiscountProvider discountProvider3 = mock(DiscountProvider.class);
+        discountProviderGroup.addDiscountProvider(discountProvider1);
+        discountProviderGroup.addDiscountProvider(discountProvider2);
+        long initialVersion = discountProviderGroup.getVersion();
+
+        //when
+        discountProviderGroup.replaceDiscountProviders(List.of(discountProvider3, discountProvider1, discountProvider3));
+        long versionAfterReplace = discountProviderGroup.getVersion();
+        discountProviderGroup.replaceDiscountProviders(List.of(discountProvider3, discountProvider1));
+
+        //then
+        assertThat(discountProviderGroup.getChildDiscountProviders()).containsExactly(discountProvider3, discountProvider1);
+        assertThat(versionAfterReplace).isEqualTo(initialVersion + 1);
+        assertThat(discountProviderGroup.getVersion()).isEqualTo(versionAfterReplace);
+    }
 }
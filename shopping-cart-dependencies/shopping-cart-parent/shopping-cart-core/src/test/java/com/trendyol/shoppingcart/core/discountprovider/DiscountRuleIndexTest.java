@@ -0,0 +1,252 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
+import com.trendyol.shoppingcart.core.domain.discount.validation.DiscountValidationStrategy;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class DiscountRuleIndexTest {
+
+    private final Category food = new Category(Title.valueOf("Food"));
+    private final Category fruit = new Category(food, Title.valueOf("Fruit"));
+    private final Category beverage = new Category(Title.valueOf("Beverage"));
+    private final Product apple = new Product(Title.valueOf("Apple"), Amount.valueOf(10D), fruit);
+    private final Product water = new Product(Title.valueOf("Water"), Amount.valueOf(1D), beverage);
+
+    private DiscountProviderItem createRule(Set<Category> requiredCategories, Set<Product> requiredProducts) {
+        DiscountValidationStrategy validationStrategy = mock(DiscountValidationStrategy.class);
+        when(validationStrategy.getRequiredCategories()).thenReturn(requiredCategories);
+        when(validationStrategy.getRequiredProducts()).thenReturn(requiredProducts);
+        Discount discount = mock(Discount.class);
+        when(discount.getValidationStrategy()).thenReturn(validationStrategy);
+        DiscountProviderItem discountProviderItem = mock(DiscountProviderItem.class);
+        when(discountProviderItem.getDiscount()).thenReturn(discount);
+        return discountProviderItem;
+    }
+
+    @Test
+    public void givenNullDiscountProvider_whenCompile_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> DiscountRuleIndex.compile(null));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Discount provider can not be null!");
+    }
+
+    @Test
+    public void givenNestedGroups_whenCompile_thenFlattenRulesAndSeparateCartWideRules() {
+        //given
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        DiscountProviderGroup campaigns = new DiscountProviderGroup();
+        DiscountProviderGroup coupons = new DiscountProviderGroup();
+        root.addDiscountProvider(campaigns);
+        root.addDiscountProvider(coupons);
+        campaigns.addDiscountProvider(createRule(Collections.singleton(food), Collections.emptySet()));
+        campaigns.addDiscountProvider(createRule(Collections.emptySet(), Collections.singleton(water)));
+        coupons.addDiscountProvider(createRule(Collections.emptySet(), Collections.emptySet()));
+        coupons.addDiscountProvider(mock(DiscountProvider.class));
+
+        //when
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+
+        //then
+        assertThat(discountRuleIndex.getRoot()).isSameAs(root);
+        assertThat(discountRuleIndex.getRuleCount()).isEqualTo(4);
+        assertThat(discountRuleIndex.getCartWideRuleCount()).isEqualTo(2);
+        assertThat(discountRuleIndex.isCurrent()).isTrue();
+    }
+
+    @Test
+    public void givenIndexedRules_whenCandidatesForCart_thenReturnOnlyRulesWithKeysInCartInProvisionOrder() {
+        //given
+        DiscountProviderItem foodCampaign = createRule(Collections.singleton(food), Collections.emptySet());
+        DiscountProviderItem beverageCampaign = createRule(Collections.singleton(beverage), Collections.emptySet());
+        DiscountProviderItem appleCampaign = createRule(Collections.singleton(fruit), Collections.singleton(apple));
+        DiscountProviderItem waterCampaign = createRule(Collections.emptySet(), Collections.singleton(water));
+        DiscountProviderItem coupon = createRule(Collections.emptySet(), Collections.emptySet());
+
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        DiscountProviderGroup campaigns = new DiscountProviderGroup();
+        DiscountProviderGroup coupons = new DiscountProviderGroup();
+        root.addDiscountProvider(campaigns);
+        root.addDiscountProvider(coupons);
+        coupons.addDiscountProvider(coupon);
+        campaigns.addDiscountProvider(appleCampaign);
+        campaigns.addDiscountProvider(beverageCampaign);
+        campaigns.addDiscountProvider(foodCampaign);
+        campaigns.addDiscountProvider(waterCampaign);
+
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.addProduct(apple, Quantity.valueOf(3));
+
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+
+        //when
+        //the apple campaign is reached through its category and its product, food through the ancestor of fruit
+        assertThat(discountRuleIndex.candidatesFor(shoppingCart)).containsExactly(appleCampaign, foodCampaign, coupon);
+        discountRuleIndex.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        InOrder inOrder = inOrder(appleCampaign, foodCampaign, coupon);
+        inOrder.verify(appleCampaign, times(1)).provideDiscount(any(DiscountEvaluationContext.class));
+        inOrder.verify(foodCampaign, times(1)).provideDiscount(any(DiscountEvaluationContext.class));
+        inOrder.verify(coupon, times(1)).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(beverageCampaign, never()).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(waterCampaign, never()).provideDiscount(any(DiscountEvaluationContext.class));
+    }
+
+    @Test
+    public void givenEmptyCart_whenProvideDiscount_thenProvideOnlyCartWideRules() {
+        //given
+        DiscountProviderItem foodCampaign = createRule(Collections.singleton(food), Collections.emptySet());
+        DiscountProvider cartWideProvider = mock(DiscountProvider.class);
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        root.addDiscountProvider(foodCampaign);
+        root.addDiscountProvider(cartWideProvider);
+
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+
+        //when
+        discountRuleIndex.provideDiscount(new DiscountEvaluationContext(new ShoppingCart()));
+
+        //then
+        verify(foodCampaign, never()).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(cartWideProvider, times(1)).provideDiscount(any(DiscountEvaluationContext.class));
+    }
+
+    @Test
+    public void givenCompiledIndex_whenWithParallelProvision_thenShareRulesAndKeepOriginalSequential() {
+        //given
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        root.addDiscountProvider(createRule(Collections.singleton(food), Collections.emptySet()));
+        root.addDiscountProvider(createRule(Collections.emptySet(), Collections.emptySet()));
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+        ParallelProvision parallelProvision = new ParallelProvision();
+
+        //when
+        DiscountRuleIndex parallelRuleIndex = discountRuleIndex.withParallelProvision(parallelProvision);
+
+        //then
+        assertThat(discountRuleIndex.getParallelProvision()).isNull();
+        assertThat(parallelRuleIndex.getParallelProvision()).isSameAs(parallelProvision);
+        assertThat(parallelRuleIndex.getRoot()).isSameAs(root);
+        assertThat(parallelRuleIndex.getRuleCount()).isEqualTo(2);
+        assertThat(parallelRuleIndex.getCartWideRuleCount()).isEqualTo(1);
+        assertThat(parallelRuleIndex.withParallelProvision(parallelProvision)).isSameAs(parallelRuleIndex);
+        assertThat(discountRuleIndex.withParallelProvision(null)).isSameAs(discountRuleIndex);
+        root.addDiscountProvider(mock(DiscountProvider.class));
+        assertThat(parallelRuleIndex.isCurrent()).isFalse();
+    }
+
+    @Test
+    public void givenCompiledIndex_whenNestedGroupChanges_thenIndexIsNotCurrent() {
+        //given
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        DiscountProviderGroup coupons = new DiscountProviderGroup();
+        root.addDiscountProvider(coupons);
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+        assertThat(discountRuleIndex.isCurrent()).isTrue();
+
+        //when
+        coupons.addDiscountProvider(mock(DiscountProvider.class));
+
+        //then
+        assertThat(discountRuleIndex.isCurrent()).isFalse();
+        assertThat(DiscountRuleIndex.compile(root).getRuleCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenCompiledIndex_whenRegisterListener_thenDelegateToRoot() {
+        //given
+        DiscountProvider root = mock(DiscountProvider.class);
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+        ShoppingCart shoppingCart = new ShoppingCart();
+
+        //when
+        discountRuleIndex.registerDiscountProviderEventListener(shoppingCart);
+        discountRuleIndex.provideDiscount();
+        discountRuleIndex.unregisterDiscountProviderEventListener(shoppingCart);
+
+        //then
+        verify(root, times(1)).registerDiscountProviderEventListener(shoppingCart);
+        verify(root, times(1)).provideDiscount();
+        verify(root, times(1)).unregisterDiscountProviderEventListener(shoppingCart);
+    }
+
+    private DiscountProviderItem createThresholdRule(Object competitionKey, String discountName) {
+        Discount discount = mock(Discount.class, withSettings().extraInterfaces(ThresholdRankedDiscount.class));
+        when(((ThresholdRankedDiscount) discount).getCompetitionKey()).thenReturn(competitionKey);
+        when(discount.getDiscountName()).thenReturn(DiscountName.valueOf(discountName));
+        when(discount.getValidationStrategy()).thenReturn(mock(DiscountValidationStrategy.class));
+        DiscountProviderItem discountProviderItem = mock(DiscountProviderItem.class);
+        when(discountProviderItem.getDiscount()).thenReturn(discount);
+        return discountProviderItem;
+    }
+
+    @Test
+    public void givenCompetingThresholdRankedItems_whenCompile_thenMergeThemIntoOneRuleAtFirstPosition() {
+        //given
+        DiscountProviderItem thresholdItem1 = createThresholdRule("MINIMUM_CART_AMOUNT_RATE", "MINIMUM_CART_AMOUNT");
+        DiscountProviderItem thresholdItem2 = createThresholdRule("MINIMUM_CART_AMOUNT_RATE", "MINIMUM_CART_AMOUNT");
+        DiscountProviderItem otherNameItem = createRule(Collections.emptySet(), Collections.emptySet());
+
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        root.addDiscountProvider(thresholdItem1);
+        root.addDiscountProvider(otherNameItem);
+        root.addDiscountProvider(thresholdItem2);
+
+        //when
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+
+        //then
+        assertThat(discountRuleIndex.getRuleCount()).isEqualTo(2);
+        List<DiscountProvider> candidates = discountRuleIndex.candidatesFor(new ShoppingCart());
+        assertThat(candidates).hasSize(2);
+        assertThat(candidates.get(0)).isInstanceOf(ThresholdRuleGroup.class);
+        assertThat(((ThresholdRuleGroup) candidates.get(0)).getItems()).containsExactlyInAnyOrder(thresholdItem1, thresholdItem2);
+        assertThat(candidates.get(1)).isSameAs(otherNameItem);
+    }
+
+    @Test
+    public void givenCompetitorsSeparatedByRuleOfTheSameName_whenCompile_thenKeepThemInProvisionOrder() {
+        //given
+        DiscountProviderItem rateItem1 = createThresholdRule("MINIMUM_CART_AMOUNT_RATE", "MINIMUM_CART_AMOUNT");
+        DiscountProviderItem amountItem = createThresholdRule("MINIMUM_CART_AMOUNT_AMOUNT", "MINIMUM_CART_AMOUNT");
+        DiscountProviderItem rateItem2 = createThresholdRule("MINIMUM_CART_AMOUNT_RATE", "MINIMUM_CART_AMOUNT");
+        DiscountProvider unknownProvider = mock(DiscountProvider.class);
+        DiscountProviderItem rateItem3 = createThresholdRule("MINIMUM_CART_AMOUNT_RATE", "MINIMUM_CART_AMOUNT");
+
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        root.addDiscountProvider(rateItem1);
+        root.addDiscountProvider(amountItem);
+        root.addDiscountProvider(rateItem2);
+        root.addDiscountProvider(unknownProvider);
+        root.addDiscountProvider(rateItem3);
+
+        //when
+        DiscountRuleIndex discountRuleIndex = DiscountRuleIndex.compile(root);
+
+        //then
+        assertThat(discountRuleIndex.candidatesFor(new ShoppingCart()))
+                .containsExactly(rateItem1, amountItem, rateItem2, unknownProvider, rateItem3);
+    }
+}
@@ -0,0 +1,193 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.AppliedDiscount;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ParallelProvisionTest {
+
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+    private final Category category = new Category(Title.valueOf("Category"));
+    private final Product product = new Product(Title.valueOf("Product"), Amount.valueOf(10D), category);
+
+    //a discount valid from a minimum cart amount, a higher discount amount wins and equal ones keep the first provided
+    private static final class MinimumCartAmountDiscount extends Discount {
+
+        private final Amount discountAmount;
+
+        private MinimumCartAmountDiscount(String discountName, Amount minimumCartAmount, Amount discountAmount) {
+            super(DiscountName.valueOf(discountName), shoppingCart -> !shoppingCart.getCartAmount().isLessThan(minimumCartAmount), shoppingCart -> discountAmount);
+            this.discountAmount = discountAmount;
+        }
+
+        @Override
+        public boolean isGreaterThan(Discount other) {
+            return other == null || discountAmount.isGreaterThan(((MinimumCartAmountDiscount) other).discountAmount);
+        }
+    }
+
+    private static DiscountProviderItem createItem(Discount discount) {
+        return new DiscountProviderItem(discount) {
+            @Override
+            public boolean isValid() {
+                return true;
+            }
+        };
+    }
+
+    private static List<AppliedDiscount> appliedDiscountsOf(ShoppingCart shoppingCart) {
+        return new ArrayList<>(shoppingCart.getDiscountMap().values());
+    }
+
+    private DiscountProviderGroup createCatalog(int campaignCount, int couponCount) {
+        return createCatalog(campaignCount, couponCount, List.of(), List.of());
+    }
+
+    private DiscountProviderGroup createCatalog(int campaignCount, int couponCount, List<Discount> extraCampaigns, List<Discount> extraCoupons) {
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        DiscountProviderGroup campaigns = new DiscountProviderGroup();
+        DiscountProviderGroup coupons = new DiscountProviderGroup();
+        root.addDiscountProvider(campaigns);
+        root.addDiscountProvider(coupons);
+        for (int i = 0; i < campaignCount; i++) {
+            //few names and amounts, so many discounts compete and tie with each other
+            campaigns.addDiscountProvider(createItem(new MinimumCartAmountDiscount("CAMPAIGN-" + (i % 7),
+                    Amount.valueOf((double) (i % 13) * 10), Amount.valueOf((double) (i % 5) + 1))));
+        }
+        for (int i = 0; i < couponCount; i++) {
+            coupons.addDiscountProvider(createItem(new MinimumCartAmountDiscount("CAMPAIGN-" + (i % 7),
+                    Amount.ofZero(), Amount.valueOf((double) (i % 5) + 1))));
+        }
+        extraCampaigns.forEach(discount -> campaigns.addDiscountProvider(createItem(discount)));
+        extraCoupons.forEach(discount -> coupons.addDiscountProvider(createItem(discount)));
+        return root;
+    }
+
+    private ShoppingCart createShoppingCart(int quantity) {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.addProduct(product, Quantity.valueOf(quantity));
+        return shoppingCart;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Test
+    public void givenNullForkJoinPool_whenCreateParallelProvision_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> new ParallelProvision(null, 1));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Fork join pool can not be null!");
+    }
+
+    @Test
+    public void givenNonPositiveSequentialThreshold_whenCreateParallelProvision_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> new ParallelProvision(forkJoinPool, 0));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Sequential threshold must be greater than 0!");
+    }
+
+    @Test
+    public void givenDefaultParallelProvision_whenCreate_thenUseCommonPoolAndDefaultThreshold() {
+        //when
+        ParallelProvision parallelProvision = new ParallelProvision();
+
+        //then
+        assertThat(parallelProvision.getForkJoinPool()).isSameAs(ForkJoinPool.commonPool());
+        assertThat(parallelProvision.getSequentialThreshold()).isEqualTo(ParallelProvision.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    @Test
+    public void givenLargeCatalog_whenProvideDiscountInParallel_thenCartIsIdenticalToSequentialProvision() {
+        //given
+        DiscountRuleIndex sequentialIndex = DiscountRuleIndex.compile(createCatalog(500, 300));
+        DiscountRuleIndex parallelIndex = sequentialIndex.withParallelProvision(new ParallelProvision(forkJoinPool, 1));
+        ShoppingCart sequentialShoppingCart = createShoppingCart(7);
+        ShoppingCart parallelShoppingCart = createShoppingCart(7);
+        DiscountEvaluationContext sequentialContext = new DiscountEvaluationContext(sequentialShoppingCart);
+        DiscountEvaluationContext parallelContext = new DiscountEvaluationContext(parallelShoppingCart);
+
+        //when
+        sequentialIndex.provideDiscount(sequentialContext);
+        parallelIndex.provideDiscount(parallelContext);
+        sequentialShoppingCart.applyDiscounts();
+        parallelShoppingCart.applyDiscounts();
+
+        //then
+        assertThat(parallelIndex.getRuleCount()).isEqualTo(800);
+        assertThat(parallelContext.getProvidedDiscounts()).containsExactlyElementsOf(sequentialContext.getProvidedDiscounts());
+        assertThat(appliedDiscountsOf(parallelShoppingCart))
+                .hasSize(7)
+                .containsExactlyElementsOf(appliedDiscountsOf(sequentialShoppingCart));
+        assertThat(appliedDiscountsOf(parallelShoppingCart))
+                .allSatisfy(appliedDiscount -> assertThat(appliedDiscount.getDiscount()).isSameAs(
+                        sequentialShoppingCart.getDiscountMap().get(appliedDiscount.getDiscountName()).getDiscount()));
+        assertThat(parallelShoppingCart.getTotalDiscount()).isEqualTo(sequentialShoppingCart.getTotalDiscount());
+    }
+
+    @Test
+    public void givenEqualCampaignAndCoupon_whenProvideDiscountInParallel_thenKeepCampaignProvidedFirst() {
+        //given
+        MinimumCartAmountDiscount campaign = new MinimumCartAmountDiscount("SHARED", Amount.ofZero(), Amount.valueOf(5D));
+        MinimumCartAmountDiscount coupon = new MinimumCartAmountDiscount("SHARED", Amount.ofZero(), Amount.valueOf(5D));
+        DiscountProviderGroup root = createCatalog(40, 40, List.of(campaign), List.of(coupon));
+        DiscountRuleIndex parallelIndex = DiscountRuleIndex.compile(root).withParallelProvision(new ParallelProvision(forkJoinPool, 1));
+        ShoppingCart shoppingCart = createShoppingCart(1);
+
+        //when
+        parallelIndex.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        assertThat(shoppingCart.getDiscountMap().get(DiscountName.valueOf("SHARED")).getDiscount()).isSameAs(campaign);
+    }
+
+    @Test
+    public void givenFewerCandidatesThanThreshold_whenProvideDiscount_thenProvideOnCallingThread() {
+        //given
+        Thread callingThread = Thread.currentThread();
+        List<Thread> providingThreads = new ArrayList<>();
+        DiscountProviderGroup root = new DiscountProviderGroup();
+        root.addDiscountProvider(new DiscountProviderItem(new MinimumCartAmountDiscount("NAME", Amount.ofZero(), Amount.valueOf(1D))) {
+            @Override
+            public boolean isValid() {
+                providingThreads.add(Thread.currentThread());
+                return true;
+            }
+        });
+        DiscountRuleIndex parallelIndex = DiscountRuleIndex.compile(root).withParallelProvision(new ParallelProvision(forkJoinPool, 2));
+        ShoppingCart shoppingCart = createShoppingCart(1);
+
+        //when
+        parallelIndex.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        assertThat(providingThreads).containsExactly(callingThread);
+        assertThat(shoppingCart.getDiscountMap()).hasSize(1);
+    }
+}
@@ -0,0 +1,161 @@
+package com.trendyol.shoppingcart.core.discountprovider;
+
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.discount.Discount;
+import com.trendyol.shoppingcart.core.domain.discount.ThresholdRankedDiscount;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ThresholdRuleGroupTest {
+
+    private static final DiscountName DISCOUNT_NAME = DiscountName.valueOf("MINIMUM_CART_AMOUNT");
+
+    private final Product product = new Product(Title.valueOf("Product"), Amount.valueOf(10D), new Category(Title.valueOf("Category")));
+
+    //valid from a minimum cart amount, a higher minimum wins first and then a higher discount amount
+    private static final class MinimumCartAmountDiscount extends Discount implements ThresholdRankedDiscount {
+
+        private final Amount minimumCartAmount;
+        private final Amount discountAmount;
+
+        private MinimumCartAmountDiscount(Amount minimumCartAmount, Amount discountAmount) {
+            super(DISCOUNT_NAME, shoppingCart -> !shoppingCart.getCartAmount().isLessThan(minimumCartAmount), shoppingCart -> discountAmount);
+            this.minimumCartAmount = minimumCartAmount;
+            this.discountAmount = discountAmount;
+        }
+
+        @Override
+        public Object getCompetitionKey() {
+            return DISCOUNT_NAME;
+        }
+
+        @Override
+        public long getThreshold() {
+            return minimumCartAmount.minorUnitValue();
+        }
+
+        @Override
+        public long getCartAggregate(ShoppingCart shoppingCart) {
+            return shoppingCart.getCartAmount().minorUnitValue();
+        }
+
+        @Override
+        public boolean isGreaterThan(Discount other) {
+            if (!(other instanceof MinimumCartAmountDiscount)) {
+                return true;
+            }
+            MinimumCartAmountDiscount that = (MinimumCartAmountDiscount) other;
+            int comparison = minimumCartAmount.compareTo(that.minimumCartAmount);
+            return comparison != 0 ? comparison > 0 : discountAmount.isGreaterThan(that.discountAmount);
+        }
+    }
+
+    private DiscountProviderItem createItem(double minimumCartAmount, double discountAmount, boolean valid) {
+        DiscountProviderItem item = mock(DiscountProviderItem.class, withSettings()
+                .useConstructor(new MinimumCartAmountDiscount(Amount.valueOf(minimumCartAmount), Amount.valueOf(discountAmount)))
+                .defaultAnswer(CALLS_REAL_METHODS));
+        when(item.isValid()).thenReturn(valid);
+        return item;
+    }
+
+    private ShoppingCart createShoppingCart(int quantity) {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.addProduct(product, Quantity.valueOf(quantity));
+        return shoppingCart;
+    }
+
+    @Test
+    public void givenCompetingItems_whenCreateThresholdRuleGroup_thenSortItemsFromWeakestToStrongest() {
+        //given
+        DiscountProviderItem item100 = createItem(100D, 10D, true);
+        DiscountProviderItem item50 = createItem(50D, 5D, true);
+        DiscountProviderItem item150 = createItem(150D, 15D, true);
+
+        //when
+        ThresholdRuleGroup thresholdRuleGroup = new ThresholdRuleGroup(List.of(item100, item50, item150));
+
+        //then
+        assertThat(thresholdRuleGroup.getItems()).containsExactly(item50, item100, item150);
+        assertThat(thresholdRuleGroup.getStrongestItem()).isSameAs(item150);
+    }
+
+    @Test
+    public void givenCartAmountBetweenThresholds_whenProvideDiscount_thenProvideOnlyFloorItem() {
+        //given
+        DiscountProviderItem item50 = createItem(50D, 5D, true);
+        DiscountProviderItem item100 = createItem(100D, 10D, true);
+        DiscountProviderItem item150 = createItem(150D, 15D, true);
+        ThresholdRuleGroup thresholdRuleGroup = new ThresholdRuleGroup(List.of(item50, item100, item150));
+        ShoppingCart shoppingCart = createShoppingCart(12);
+
+        //when
+        thresholdRuleGroup.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        assertThat(shoppingCart.getDiscountMap().get(DISCOUNT_NAME).getDiscountAmount()).isEqualTo(Amount.valueOf(10D));
+        verify(item100, times(1)).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(item50, never()).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(item150, never()).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(item150, never()).isValid();
+    }
+
+    @Test
+    public void givenFloorItemIsNotValid_whenProvideDiscount_thenProvideNextWeakerValidItem() {
+        //given
+        DiscountProviderItem item50 = createItem(50D, 5D, true);
+        DiscountProviderItem item100 = createItem(100D, 10D, false);
+        ThresholdRuleGroup thresholdRuleGroup = new ThresholdRuleGroup(List.of(item50, item100));
+        ShoppingCart shoppingCart = createShoppingCart(12);
+
+        //when
+        thresholdRuleGroup.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        assertThat(shoppingCart.getDiscountMap().get(DISCOUNT_NAME).getDiscountAmount()).isEqualTo(Amount.valueOf(5D));
+    }
+
+    @Test
+    public void givenCartAmountBelowAllThresholds_whenProvideDiscount_thenProvideNothing() {
+        //given
+        DiscountProviderItem item50 = createItem(50D, 5D, true);
+        DiscountProviderItem item100 = createItem(100D, 10D, true);
+        ThresholdRuleGroup thresholdRuleGroup = new ThresholdRuleGroup(List.of(item50, item100));
+        ShoppingCart shoppingCart = createShoppingCart(4);
+
+        //when
+        thresholdRuleGroup.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        assertThat(shoppingCart.getDiscountMap()).isEmpty();
+        verify(item50, never()).isValid();
+    }
+
+    @Test
+    public void givenEqualThresholds_whenProvideDiscount_thenProvideGreaterDiscountAndKeepFirstOfEqualOnes() {
+        //given
+        DiscountProviderItem item5 = createItem(50D, 5D, true);
+        DiscountProviderItem item8 = createItem(50D, 8D, true);
+        DiscountProviderItem item8Again = createItem(50D, 8D, true);
+        ThresholdRuleGroup thresholdRuleGroup = new ThresholdRuleGroup(List.of(item8, item5, item8Again));
+        ShoppingCart shoppingCart = createShoppingCart(5);
+
+        //when
+        thresholdRuleGroup.provideDiscount(new DiscountEvaluationContext(shoppingCart));
+
+        //then
+        assertThat(thresholdRuleGroup.getStrongestItem()).isSameAs(item8);
+        verify(item8, times(1)).provideDiscount(any(DiscountEvaluationContext.class));
+        verify(item8Again, never()).provideDiscount(any(DiscountEvaluationContext.class));
+        assertThat(shoppingCart.getDiscountMap().get(DISCOUNT_NAME).getDiscountAmount()).isEqualTo(Amount.valueOf(8D));
+    }
+}
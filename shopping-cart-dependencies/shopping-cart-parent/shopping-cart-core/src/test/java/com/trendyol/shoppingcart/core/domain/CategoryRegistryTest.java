@@ -0,0 +1,70 @@
+package com.trendyol.shoppingcart.core.domain;
+
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CategoryRegistryTest {
+
+    @Test
+    public void givenNullRegistry_whenCreateCategory_thenThrowInvalidValueException() {
+        //given
+        CategoryRegistry registry = null;
+
+        //when
+        Throwable throwable = catchThrowable(() -> new Category(registry, null, Title.valueOf("Category")));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Category registry can not be null!");
+    }
+
+    @Test
+    public void givenSameParentAndTitle_whenIdentifierRequested_thenReturnSameIdentifier() {
+        //given
+        CategoryRegistry registry = new CategoryRegistry();
+        Category parent = new Category(registry, null, Title.valueOf("Parent"));
+
+        //when
+        long id1 = registry.identifierOf(parent, Title.valueOf("Category"));
+        long id2 = registry.identifierOf(parent, Title.valueOf("Category"));
+
+        //then
+        assertThat(id1).isEqualTo(id2);
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenSameTitleDifferentParents_whenIdentifierRequested_thenReturnDifferentIdentifiers() {
+        //given
+        CategoryRegistry registry = new CategoryRegistry();
+        Category parent1 = new Category(registry, null, Title.valueOf("Parent 1"));
+        Category parent2 = new Category(registry, null, Title.valueOf("Parent 2"));
+
+        //when
+        long id1 = registry.identifierOf(parent1, Title.valueOf("Category"));
+        long id2 = registry.identifierOf(parent2, Title.valueOf("Category"));
+
+        //then
+        assertThat(id1).isNotEqualTo(id2);
+    }
+
+    @Test
+    public void givenParentFromRegistry_whenCreateChild_thenChildUsesParentRegistry() {
+        //given
+        CategoryRegistry registry = new CategoryRegistry();
+        Category parent = new Category(registry, null, Title.valueOf("Parent"));
+
+        //when
+        Category child = parent.addChild(Title.valueOf("Child"));
+
+        //then
+        assertThat(child.getRegistry()).isSameAs(registry);
+        assertThat(child.getId()).isEqualTo(registry.identifierOf(parent, Title.valueOf("Child")));
+    }
+}
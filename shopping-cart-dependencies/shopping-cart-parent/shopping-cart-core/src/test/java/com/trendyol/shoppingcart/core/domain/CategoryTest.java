@@ -45,6 +45,119 @@ public class CategoryTest {
         assertThat(category.getTitle()).isEqualTo(title);
     }
 
+    @Test
+    public void givenParent_whenAddChildWithTitle_thenLinkChildToParent() {
+        //given
+        Category parent = new Category(Title.valueOf("Parent"));
+
+        //when
+        Category child = parent.addChild(Title.valueOf("Child"));
+
+        //then
+        assertThat(child.getParent()).isSameAs(parent);
+        assertThat(parent.containsChild(child.getTitle())).isTrue();
+        assertThat(parent.isDescendant(child)).isTrue();
+    }
+
+    @Test
+    public void givenCategoryTree_whenCheckDescendants_thenReturnSubtreeOnly() {
+        //given
+        Category root = new Category(Title.valueOf("Root"));
+        Category parent = root.addChild(Title.valueOf("Parent"));
+        Category child = parent.addChild(Title.valueOf("Child"));
+        Category sibling = root.addChild(Title.valueOf("Sibling"));
+
+        //when
+        assertThat(root.getDescendants()).containsExactlyInAnyOrder(root, parent, child, sibling);
+
+        //then
+        assertThat(parent.getDescendants()).containsExactly(parent, child);
+        assertThat(child.getDescendants()).containsExactly(child);
+        assertThat(root.isDescendant(child)).isTrue();
+        assertThat(parent.isDescendant(parent)).isTrue();
+        assertThat(parent.isDescendant(sibling)).isFalse();
+        assertThat(child.isDescendant(parent)).isFalse();
+        assertThat(parent.isDescendant(null)).isFalse();
+    }
+
+    @Test
+    public void givenCategoryTree_whenChildrenAddedAndRemoved_thenRefreshDescendants() {
+        //given
+        Category root = new Category(Title.valueOf("Root"));
+        Category parent = root.addChild(Title.valueOf("Parent"));
+        assertThat(root.isDescendant(parent)).isTrue();
+
+        //when
+        Category child = parent.addChild(Title.valueOf("Child"));
+        assertThat(root.isDescendant(child)).isTrue();
+        root.removeChild(parent.getTitle());
+
+        //then
+        assertThat(root.isDescendant(parent)).isFalse();
+        assertThat(root.isDescendant(child)).isFalse();
+        assertThat(root.getDescendants()).containsExactly(root);
+        assertThat(parent.getParent()).isNull();
+        assertThat(parent.isDescendant(child)).isTrue();
+    }
+
+    @Test
+    public void givenTwoCategoryTrees_whenOneChanges_thenKeepTheIndexOfTheOther() {
+        //given
+        Category root1 = new Category(Title.valueOf("Indexed Root 1"));
+        Category child1 = root1.addChild(Title.valueOf("Child"));
+        Category root2 = new Category(Title.valueOf("Indexed Root 2"));
+        Category child2 = root2.addChild(Title.valueOf("Child"));
+        assertThat(root1.isDescendant(child1)).isTrue();
+        assertThat(root2.isDescendant(child2)).isTrue();
+
+        //when
+        Category grandChild2 = child2.addChild(Title.valueOf("Grand Child"));
+
+        //then
+        assertThat(child1.isIndexCurrent()).isTrue();
+        assertThat(child2.isIndexCurrent()).isFalse();
+        assertThat(root2.isDescendant(grandChild2)).isTrue();
+        assertThat(root1.isDescendant(grandChild2)).isFalse();
+    }
+
+    @Test
+    public void givenEqualCategoryOfAnotherObjectGraph_whenCheckDescendant_thenFindItByIdentity() {
+        //given
+        Category root = new Category(Title.valueOf("Graph Root"));
+        Category child = root.addChild(Title.valueOf("Child"));
+        Category otherRoot = new Category(Title.valueOf("Graph Root"));
+        Category otherChild = otherRoot.addChild(Title.valueOf("Child"));
+        Category otherSibling = otherRoot.addChild(Title.valueOf("Sibling"));
+
+        //when
+        boolean childIsDescendant = root.isDescendant(otherChild);
+        boolean rootIsDescendantOfChild = child.isDescendant(otherRoot);
+
+        //then
+        assertThat(otherChild).isEqualTo(child).isNotSameAs(child);
+        assertThat(childIsDescendant).isTrue();
+        assertThat(rootIsDescendantOfChild).isFalse();
+        assertThat(root.isDescendant(otherSibling)).isFalse();
+    }
+
+    @Test
+    public void givenCategory_whenParentChanged_thenMoveCategoryUnderNewParent() {
+        //given
+        Category root = new Category(Title.valueOf("Root"));
+        Category parent1 = root.addChild(Title.valueOf("Parent 1"));
+        Category parent2 = root.addChild(Title.valueOf("Parent 2"));
+        Category child = parent1.addChild(Title.valueOf("Child"));
+
+        //when
+        child.setParent(parent2);
+
+        //then
+        assertThat(parent1.containsChild(child.getTitle())).isFalse();
+        assertThat(parent2.containsChild(child.getTitle())).isTrue();
+        assertThat(parent1.isDescendant(child)).isFalse();
+        assertThat(parent2.isDescendant(child)).isTrue();
+    }
+
     @Test
     public void givenNullTitle_whenCreateCategory_thenThrowInvalidValueException() {
         //given
@@ -139,6 +252,110 @@ public class CategoryTest {
         assertThat(category1).isNotEqualTo(category2);
     }
 
+    @Test
+    public void givenCategory_whenChildrenChange_thenIdentityDoesNotChange() {
+        //given
+        Category parent = new Category(Title.valueOf("Parent Category"));
+        Category category = parent.addChild(Title.valueOf("Category"));
+        Category sameCategory = new Category(parent, Title.valueOf("Category"));
+        long id = category.getId();
+        int hashCode = category.hashCode();
+
+        //when
+        category.addChild(Title.valueOf("Child"));
+        category.removeChild(Title.valueOf("Child"));
+
+        //then
+        assertThat(category.getId()).isEqualTo(id);
+        assertThat(category.hashCode()).isEqualTo(hashCode);
+        assertThat(category).isEqualTo(sameCategory);
+        assertThat(category).isEqualByComparingTo(sameCategory);
+    }
+
+    @Test
+    public void givenCategoryWithChild_whenMovedToOtherParent_thenTakeIdentitiesOfTheNewPaths() {
+        //given
+        Category parent = new Category(Title.valueOf("Parent Category"));
+        Category otherParent = new Category(Title.valueOf("Other Parent Category"));
+        Category category = parent.addChild(Title.valueOf("Category"));
+        Category child = category.addChild(Title.valueOf("Child"));
+
+        //when
+        category.setParent(otherParent);
+
+        //then
+        Category sameCategory = new Category(otherParent, Title.valueOf("Category"));
+        assertThat(category).isEqualTo(sameCategory);
+        assertThat(child).isEqualTo(new Category(sameCategory, Title.valueOf("Child")));
+        assertThat(category).isNotEqualTo(new Category(parent, Title.valueOf("Category")));
+    }
+
+    @Test
+    public void givenRootAttachedAsChild_whenCompareWithCategoryCreatedUnderParent_thenReturnEqual() {
+        //given
+        CategoryRegistry registry = new CategoryRegistry();
+        Category parent = new Category(registry, null, Title.valueOf("Parent"));
+        Category root = new Category(registry, null, Title.valueOf("Category"));
+        Category rootChild = root.addChild(Title.valueOf("Child"));
+
+        //when
+        parent.addChild(root);
+
+        //then
+        Category createdUnderParent = new Category(parent, Title.valueOf("Category"));
+        assertThat(root).isEqualTo(createdUnderParent).hasSameHashCodeAs(createdUnderParent);
+        assertThat(rootChild).isEqualTo(new Category(createdUnderParent, Title.valueOf("Child")));
+    }
+
+    @Test
+    public void givenChildOfOtherParent_whenAddChild_thenRemoveItFromItsOldParent() {
+        //given
+        Category parent1 = new Category(Title.valueOf("Parent 1"));
+        Category parent2 = new Category(Title.valueOf("Parent 2"));
+        Category child = parent1.addChild(Title.valueOf("Child"));
+
+        //when
+        parent2.addChild(child);
+
+        //then
+        assertThat(child.getParent()).isSameAs(parent2);
+        assertThat(parent1.containsChild(child.getTitle())).isFalse();
+        assertThat(parent2.containsChild(child.getTitle())).isTrue();
+        assertThat(parent1.isDescendant(child)).isFalse();
+    }
+
+    @Test
+    public void givenCategoryOfOtherRegistry_whenAddChild_thenThrowInvalidValueException() {
+        //given
+        Category parent = new Category(new CategoryRegistry(), null, Title.valueOf("Parent"));
+        Category category = new Category(new CategoryRegistry(), null, Title.valueOf("Category"));
+
+        //when
+        Throwable throwable = catchThrowable(() -> parent.addChild(category));
+
+        //then
+        assertThat(throwable)
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Category Category can not be moved to a category of another registry!");
+        assertThat(category.getParent()).isNull();
+    }
+
+    @Test
+    public void givenSamePathsInDifferentRegistries_whenCheckEquality_thenReturnFalse() {
+        //given
+        CategoryRegistry registry1 = new CategoryRegistry();
+        CategoryRegistry registry2 = new CategoryRegistry();
+        Title title = Title.valueOf("Category");
+
+        //when
+        Category category1 = new Category(registry1, null, title);
+        Category category2 = new Category(registry2, null, title);
+
+        //then
+        assertThat(category1.getId()).isEqualTo(category2.getId());
+        assertThat(category1).isNotEqualTo(category2);
+    }
+
     @Test
     public void givenSameDepthSameParentAndCategory1TitleLessThanCategory2Title_whenCompareCategories_thenReturnNegative() {
         //given
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -72,6 +73,68 @@ public class ShoppingCartTest {
         assertThat(shoppingCart.getDeliveryCost()).isEqualTo(Amount.ofZero());
     }
 
+    @Test
+    public void givenShoppingCart_whenAddSameProductRepeatedly_thenKeepSingleCartItemForProduct() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category category = new Category(Title.valueOf("Category"));
+        Product product1 = new Product(Title.valueOf("Product1"), Amount.valueOf(10D), category);
+        Product product2 = new Product(Title.valueOf("Product2"), Amount.valueOf(15D), category);
+
+        //when
+        shoppingCart.addProduct(product1, Quantity.valueOf(1));
+        shoppingCart.addProduct(product2, Quantity.valueOf(1));
+        shoppingCart.addProduct(product1, Quantity.valueOf(2));
+        shoppingCart.addProduct(product1, Quantity.valueOf(3));
+
+        //then
+        assertThat(shoppingCart.getCartItems()).hasSize(2);
+        assertThat(shoppingCart.getCartItems())
+                .extracting(CartItem::getProduct)
+                .containsExactly(product1, product2);
+        assertThat(shoppingCart.containsProduct(product1)).isTrue();
+        assertThat(shoppingCart.getQuantityOfProductInCart(product1)).isEqualTo(Quantity.valueOf(6));
+        assertThat(shoppingCart.getTotalPriceOfProductInCart(product1)).isEqualTo(Amount.valueOf(60D));
+        assertThat(shoppingCart.getNumberOfDistinctProductInCart()).isEqualTo(Quantity.valueOf(2));
+        assertThat(shoppingCart.getCartAmount()).isEqualTo(Amount.valueOf(75D));
+    }
+
+    @Test
+    public void givenShoppingCart_whenGetCartItems_thenReturnUnmodifiableSetOfLinesInAdditionOrder() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category category = new Category(Title.valueOf("Category"));
+        Product product1 = new Product(Title.valueOf("Product1"), Amount.valueOf(10D), category);
+        Product product2 = new Product(Title.valueOf("Product2"), Amount.valueOf(15D), category);
+        shoppingCart.addProduct(product2, Quantity.valueOf(1));
+        shoppingCart.addProduct(product1, Quantity.valueOf(2));
+
+        //when
+        Set<CartItem> cartItems = shoppingCart.getCartItems();
+        Throwable throwable = catchThrowable(() -> cartItems.add(new CartItem(product1, Quantity.valueOf(1))));
+
+        //then
+        assertThat(cartItems).extracting(CartItem::getProduct).containsExactly(product2, product1);
+        assertThat(cartItems).contains(new CartItem(product1, Quantity.valueOf(2)));
+        assertThat(cartItems).doesNotContain(new CartItem(product1, Quantity.valueOf(1)));
+        assertThat(throwable).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void givenShoppingCart_whenProductNotInCart_thenReturnZeroQuantityAndZeroTotalPrice() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category category = new Category(Title.valueOf("Category"));
+        Product product = new Product(Title.valueOf("Product"), Amount.valueOf(10D), category);
+
+        //when
+        assertThat(shoppingCart.containsProduct(product)).isFalse();
+
+        //then
+        assertThat(shoppingCart.getQuantityOfProductInCart(product)).isEqualTo(Quantity.ofZero());
+        assertThat(shoppingCart.getTotalPriceOfProductInCart(product)).isEqualTo(Amount.ofZero());
+    }
+
     @Test
     public void givenShoppingCart_whenAddMultipleProductsInSameCategory_thenAddProductsToCartAndCalculateCartAmount() {
         //given
@@ -134,6 +197,68 @@ public class ShoppingCartTest {
         assertThat(shoppingCart.getDeliveryCost()).isEqualTo(Amount.ofZero());
     }
 
+    @Test
+    public void givenShoppingCart_whenAddProductsInNestedCategories_thenRollUpCategoryTotalsToAncestors() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category root = new Category(Title.valueOf("Root"));
+        Category parent = root.addChild(Title.valueOf("Parent"));
+        Category child = parent.addChild(Title.valueOf("Child"));
+        Category sibling = root.addChild(Title.valueOf("Sibling"));
+        Product product1 = new Product(Title.valueOf("Product1"), Amount.valueOf(10.5D), parent);
+        Product product2 = new Product(Title.valueOf("Product2"), Amount.valueOf(2.25D), child);
+        Product product3 = new Product(Title.valueOf("Product3"), Amount.valueOf(5D), sibling);
+
+        //when
+        shoppingCart.addProduct(product1, Quantity.valueOf(1));
+        shoppingCart.addProduct(product2, Quantity.valueOf(2));
+        shoppingCart.addProduct(product3, Quantity.valueOf(3));
+        shoppingCart.addProduct(product2, Quantity.valueOf(1));
+
+        //then
+        assertThat(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(child)).isEqualTo(Quantity.valueOf(3));
+        assertThat(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(parent)).isEqualTo(Quantity.valueOf(4));
+        assertThat(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(sibling)).isEqualTo(Quantity.valueOf(3));
+        assertThat(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(root)).isEqualTo(Quantity.valueOf(7));
+        assertThat(shoppingCart.getTotalPriceOfProductsBelongToCategoryInCart(child)).isEqualTo(Amount.valueOf(6.75D));
+        assertThat(shoppingCart.getTotalPriceOfProductsBelongToCategoryInCart(parent)).isEqualTo(Amount.valueOf(17.25D));
+        assertThat(shoppingCart.getTotalPriceOfProductsBelongToCategoryInCart(root)).isEqualTo(Amount.valueOf(32.25D));
+    }
+
+    @Test
+    public void givenShoppingCart_whenAddProductsInNestedCategories_thenReturnProductsAndCategoriesWithAncestors() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category food = new Category(Title.valueOf("Food"));
+        Category fruit = new Category(food, Title.valueOf("Fruit"));
+        Category beverage = new Category(Title.valueOf("Beverage"));
+        Product apple = new Product(Title.valueOf("Apple"), Amount.valueOf(10D), fruit);
+
+        //when
+        shoppingCart.addProduct(apple, Quantity.valueOf(2));
+
+        //then
+        assertThat(shoppingCart.getProductsInCart()).containsExactly(apple);
+        assertThat(shoppingCart.getCategoriesInCart()).containsExactlyInAnyOrder(fruit, food).doesNotContain(beverage);
+    }
+
+    @Test
+    public void givenShoppingCart_whenNoProductsInCategory_thenReturnZeroCategoryTotals() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category root = new Category(Title.valueOf("Root"));
+        Category category = root.addChild(Title.valueOf("Category"));
+        Category emptyCategory = root.addChild(Title.valueOf("Empty Category"));
+        Product product = new Product(Title.valueOf("Product"), Amount.valueOf(10D), category);
+
+        //when
+        shoppingCart.addProduct(product, Quantity.valueOf(1));
+
+        //then
+        assertThat(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(emptyCategory)).isEqualTo(Quantity.ofZero());
+        assertThat(shoppingCart.getTotalPriceOfProductsBelongToCategoryInCart(emptyCategory)).isEqualTo(Amount.ofZero());
+    }
+
     @Test
     public void givenShoppingCart_whenAddNullProduct_thenThrowInvalidValueException() {
         //given
@@ -323,6 +448,51 @@ public class ShoppingCartTest {
         assertThat(shoppingCart.getTotalAmount()).isEqualTo(Amount.valueOf(110D));
     }
 
+    @Test
+    public void givenPricedShoppingCart_whenResetPricing_thenDropDiscountsAndDeliveryCost() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category category = new Category(Title.valueOf("Category"));
+        Product product = new Product(Title.valueOf("Product"), Amount.valueOf(10D), category);
+        shoppingCart.addProduct(product, Quantity.valueOf(10));
+
+        DiscountCalculationStrategy discountCalculationStrategy = mock(DiscountCalculationStrategy.class);
+        when(discountCalculationStrategy.calculateDiscountAmount(shoppingCart)).thenReturn(Amount.valueOf(10D));
+        DiscountValidationStrategy discountValidationStrategy = mock(DiscountValidationStrategy.class);
+        when(discountValidationStrategy.isValid(shoppingCart)).thenReturn(true);
+        Discount discount = mock(Discount.class, withSettings()
+                .useConstructor(DiscountName.valueOf("MOCK"), discountValidationStrategy, discountCalculationStrategy)
+                .defaultAnswer(CALLS_REAL_METHODS));
+        when(discount.isGreaterThan(null)).thenReturn(true);
+        DiscountProvidedEvent event = mock(DiscountProvidedEvent.class);
+        when(event.getDiscount()).thenReturn(discount);
+
+        shoppingCart.discountProvided(event);
+        shoppingCart.applyDiscounts();
+        shoppingCart.setDeliveryCost(Amount.valueOf(20D));
+        shoppingCart.applyDeliveryCost();
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(Amount.valueOf(110D));
+
+        //when
+        shoppingCart.resetPricing();
+
+        //then
+        assertThat(shoppingCart.getDiscountMap()).isEmpty();
+        assertThat(shoppingCart.getCartAmount()).isEqualTo(Amount.valueOf(100D));
+        assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.ofZero());
+        assertThat(shoppingCart.getDeliveryCost()).isEqualTo(Amount.ofZero());
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(Amount.ofZero());
+
+        //pricing again gives the same result instead of discounting twice
+        shoppingCart.discountProvided(event);
+        shoppingCart.applyDiscounts();
+        shoppingCart.setDeliveryCost(Amount.valueOf(20D));
+        shoppingCart.applyDeliveryCost();
+        assertThat(shoppingCart.getCartAmount()).isEqualTo(Amount.valueOf(90D));
+        assertThat(shoppingCart.getTotalDiscount()).isEqualTo(Amount.valueOf(10D));
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(Amount.valueOf(110D));
+    }
+
     @Test
     public void givenShoppingCart_whenMultipleDiscountsProvided_thenApplyDistinctDiscounts() {
         //given
@@ -627,7 +797,7 @@ public class ShoppingCartTest {
                 });
         assertThat(outContent).asString().contains("Cart Amount: " + shoppingCart.getCartAmountWithoutDiscount());
         shoppingCart.getDiscountMap().forEach((key, value) -> assertThat(outContent).asString().contains(key + ": " + value.getDiscountAmount()));
-        assertThat(outContent).asString().contains(discount.getDiscountName() + ": " + discount.getDiscountAmount());
+        assertThat(outContent).asString().contains(discount.getDiscountName() + ": " + shoppingCart.getDiscountMap().get(discount.getDiscountName()).getDiscountAmount());
         assertThat(outContent).asString().contains("Total Discount Amount: " + shoppingCart.getTotalDiscount());
         assertThat(outContent).asString().contains("Total Cart Amount After Discount(s): " + shoppingCart.getCartAmount());
         assertThat(outContent).asString().contains("Delivery Cost: " + shoppingCart.getDeliveryCost());
@@ -636,4 +806,33 @@ public class ShoppingCartTest {
 
         System.setOut(originalOut);
     }
+
+    @Test
+    public void givenPricedShoppingCart_whenCopy_thenKeepEverythingAndChangeIndependently() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Category category = new Category(Title.valueOf("Category"));
+        Product product = new Product(Title.valueOf("Product"), Amount.valueOf(10D), category);
+        shoppingCart.addProduct(product, Quantity.valueOf(2));
+        shoppingCart.setId(7L);
+        shoppingCart.setVersion(3L);
+        shoppingCart.setDeliveryCost(Amount.valueOf(4D));
+        shoppingCart.applyDiscounts();
+        shoppingCart.applyDeliveryCost();
+
+        //when
+        ShoppingCart copy = shoppingCart.copy();
+        copy.addProduct(product, Quantity.valueOf(1));
+        copy.setVersion(4L);
+
+        //then
+        assertThat(shoppingCart.getId()).isEqualTo(copy.getId()).isEqualTo(7L);
+        assertThat(shoppingCart.getVersion()).isEqualTo(3L);
+        assertThat(shoppingCart.getQuantityOfProductInCart(product)).isEqualTo(Quantity.valueOf(2));
+        assertThat(shoppingCart.getQuantityOfProductsBelongsToCategoryInCart(category)).isEqualTo(Quantity.valueOf(2));
+        assertThat(shoppingCart.getTotalAmount()).isEqualTo(Amount.valueOf(24D));
+        assertThat(copy.getQuantityOfProductInCart(product)).isEqualTo(Quantity.valueOf(3));
+        assertThat(copy.getTotalPriceOfProductsBelongToCategoryInCart(category)).isEqualTo(Amount.valueOf(30D));
+        assertThat(copy.getDeliveryCost()).isEqualTo(Amount.valueOf(4D));
+    }
 }
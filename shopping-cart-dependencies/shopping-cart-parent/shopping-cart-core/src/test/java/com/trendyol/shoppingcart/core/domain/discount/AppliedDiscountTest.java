@@ -0,0 +1,77 @@
+package com.trendyol.shoppingcart.core.domain.discount;
+
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.DiscountName;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class AppliedDiscountTest {
+
+    @Test
+    public void givenDiscount_whenDiscountIsNull_thenThrowInvalidValueException() {
+        //given
+        Discount discount = null;
+
+        //when
+        Throwable throwable = catchThrowable(() -> new AppliedDiscount(discount, Amount.valueOf(10D)));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Discount can not be null!");
+    }
+
+    @Test
+    public void givenDiscountAmount_whenDiscountAmountIsNull_thenThrowInvalidValueException() {
+        //given
+        Discount discount = mock(Discount.class);
+
+        //when
+        Throwable throwable = catchThrowable(() -> new AppliedDiscount(discount, null));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Discount amount can not be null!");
+    }
+
+    @Test
+    public void givenDiscountAndAmount_whenCreateAppliedDiscount_thenKeepDiscountAndAmount() {
+        //given
+        Discount discount = mock(Discount.class);
+        when(discount.getDiscountName()).thenReturn(DiscountName.valueOf("NAME"));
+
+        //when
+        AppliedDiscount appliedDiscount = new AppliedDiscount(discount, Amount.valueOf(10D));
+
+        //then
+        assertThat(appliedDiscount.getDiscount()).isSameAs(discount);
+        assertThat(appliedDiscount.getDiscountName()).isEqualTo(DiscountName.valueOf("NAME"));
+        assertThat(appliedDiscount.getDiscountAmount()).isEqualTo(Amount.valueOf(10D));
+    }
+
+    @Test
+    public void givenTwoAppliedDiscounts_whenCompare_thenCompareDiscountDefinitions() {
+        //given
+        Discount discount1 = mock(Discount.class);
+        Discount discount2 = mock(Discount.class);
+        when(discount1.isGreaterThan(discount2)).thenReturn(true);
+        when(discount1.isGreaterThan(null)).thenReturn(true);
+        AppliedDiscount appliedDiscount1 = new AppliedDiscount(discount1, Amount.valueOf(5D));
+        AppliedDiscount appliedDiscount2 = new AppliedDiscount(discount2, Amount.valueOf(10D));
+
+        //when
+        boolean greaterThanOther = appliedDiscount1.isGreaterThan(appliedDiscount2);
+        boolean greaterThanNothing = appliedDiscount1.isGreaterThan(null);
+
+        //then
+        assertThat(greaterThanOther).isTrue();
+        assertThat(greaterThanNothing).isTrue();
+    }
+}
@@ -1,7 +1,9 @@
 package com.trendyol.shoppingcart.core.domain.discount;
 
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
 import com.trendyol.shoppingcart.core.domain.discount.calculation.DiscountCalculationStrategy;
 import com.trendyol.shoppingcart.core.domain.discount.validation.DiscountValidationStrategy;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
 import com.trendyol.shoppingcart.core.domain.value.DiscountName;
 import com.trendyol.shoppingcart.core.exception.InvalidValueException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -10,8 +12,7 @@ import org.mockito.Mockito;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.withSettings;
+import static org.mockito.Mockito.*;
 
 public class DiscountTest {
 
@@ -96,4 +97,56 @@ public class DiscountTest {
                 .isInstanceOf(InvalidValueException.class)
                 .hasMessage("Calculation strategy can not be null!");
     }
+
+    private Discount createDiscount(DiscountValidationStrategy validationStrategy, Amount discountAmount) {
+        return mock(Discount.class, withSettings()
+                .useConstructor(DiscountName.valueOf("DISCOUNT"), validationStrategy, (DiscountCalculationStrategy) shoppingCart -> discountAmount)
+                .defaultAnswer(Mockito.CALLS_REAL_METHODS));
+    }
+
+    @Test
+    public void givenInvalidCart_whenEvaluate_thenReturnNullAndLeaveCartUntouched() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Discount discount = createDiscount(cart -> false, Amount.valueOf(5D));
+
+        //when
+        AppliedDiscount appliedDiscount = discount.evaluate(shoppingCart);
+
+        //then
+        assertThat(appliedDiscount).isNull();
+        assertThat(shoppingCart.getDiscountMap()).isEmpty();
+    }
+
+    @Test
+    public void givenValidCart_whenEvaluate_thenReturnAppliedDiscountWithoutAddingItToCart() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Discount discount = createDiscount(cart -> true, Amount.valueOf(5D));
+
+        //when
+        AppliedDiscount appliedDiscount = discount.evaluate(shoppingCart);
+
+        //then
+        assertThat(appliedDiscount.getDiscount()).isSameAs(discount);
+        assertThat(appliedDiscount.getDiscountAmount()).isEqualTo(Amount.valueOf(5D));
+        assertThat(shoppingCart.getDiscountMap()).isEmpty();
+    }
+
+    @Test
+    public void givenExistingDiscountWithSameName_whenMergeNotGreaterDiscount_thenKeepExistingDiscount() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        Discount existingDiscount = createDiscount(cart -> true, Amount.valueOf(5D));
+        Discount discount = createDiscount(cart -> true, Amount.valueOf(5D));
+        doReturn(true).when(existingDiscount).isGreaterThan(any());
+        doReturn(false).when(discount).isGreaterThan(any());
+        existingDiscount.addTo(shoppingCart);
+
+        //when
+        discount.merge(shoppingCart, discount.evaluate(shoppingCart));
+
+        //then
+        assertThat(shoppingCart.getDiscountMap().get(DiscountName.valueOf("DISCOUNT")).getDiscount()).isSameAs(existingDiscount);
+    }
 }
@@ -0,0 +1,53 @@
+package com.trendyol.shoppingcart.core.domain.value;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AmountAccumulatorTest {
+
+    @Test
+    public void givenEmptyAccumulator_whenToAmount_thenReturnZeroAmount() {
+        //given
+        AmountAccumulator accumulator = new AmountAccumulator();
+
+        //when
+        Amount result = accumulator.toAmount();
+
+        //then
+        assertThat(result).isEqualTo(Amount.ofZero());
+    }
+
+    @Test
+    public void givenAmounts_whenAccumulate_thenReturnExactSum() {
+        //given
+        AmountAccumulator accumulator = new AmountAccumulator();
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            accumulator.add(Amount.valueOf(0.1D));
+        }
+        accumulator.subtract(Amount.valueOf(0.5D));
+
+        //then
+        assertThat(accumulator.toAmount()).isEqualTo(Amount.valueOf(0.5D));
+        assertThat(accumulator.reset().toAmount()).isEqualTo(Amount.ofZero());
+    }
+
+    @Test
+    public void givenAccumulator_whenAddNullAmount_thenThrowInvalidValueException() {
+        //given
+        AmountAccumulator accumulator = new AmountAccumulator();
+
+        //when
+        Throwable throwable = catchThrowable(() -> accumulator.add(null));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Amount can not be null!");
+    }
+}
@@ -193,4 +193,87 @@ public class AmountTest {
                 .isInstanceOf(InvalidValueException.class)
                 .hasMessage("Divisor value can not be negative!");
     }
+
+    @Test
+    public void givenValueWithFloatingPointError_whenCreateAmount_thenRoundToMinorUnitsHalfUp() {
+        //given
+        Double value = 0.1D + 0.2D;
+
+        //when
+        Amount amount = Amount.valueOf(value);
+
+        //then
+        assertThat(amount).isEqualTo(Amount.valueOf(0.3D));
+        assertThat(amount.minorUnitValue()).isEqualTo(30L);
+        assertThat(Amount.valueOf(2.675D).minorUnitValue()).isEqualTo(268L);
+        assertThat(Amount.valueOf(-2.675D).minorUnitValue()).isEqualTo(-268L);
+    }
+
+    @Test
+    public void givenNonFiniteValue_whenCreateAmount_thenThrowInvalidValueException() {
+        //given
+        Double value = Double.NaN;
+
+        //when
+        Throwable throwable = catchThrowable(() -> Amount.valueOf(value));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Amount value must be a finite number!");
+    }
+
+    @Test
+    public void givenAmountAndQuantity_multiplyAmountWithLong_thenReturnExactResult() {
+        //given
+        Amount amount = Amount.valueOf(0.1D);
+
+        //when
+        Amount result = amount.multiply(3L);
+
+        //then
+        assertThat(result).isEqualTo(Amount.valueOf(0.3D));
+        assertThat(result.doubleValue()).isEqualTo(0.3D);
+    }
+
+    @Test
+    public void givenAmountAndBasisPoints_whenCalculatePercentage_thenRoundHalfUp() {
+        //given
+        Amount amount = Amount.valueOf(10.05D);
+
+        //when
+        Amount result = amount.percentage(1_000L);
+
+        //then
+        assertThat(result).isEqualTo(Amount.valueOf(1.01D));
+        assertThat(Amount.valueOf(-10.05D).percentage(1_000L)).isEqualTo(Amount.valueOf(-1.01D));
+        assertThat(Amount.valueOf(100D).percentage(10_000L)).isEqualTo(Amount.valueOf(100D));
+    }
+
+    @Test
+    public void givenZeroAmounts_whenCreateAmount_thenReuseZeroInstance() {
+        //given
+        Amount amount = Amount.valueOf(20D);
+
+        //when
+        Amount result = amount.subtract(Amount.valueOf(20D));
+
+        //then
+        assertThat(result).isSameAs(Amount.ofZero());
+        assertThat(Amount.valueOf(null)).isSameAs(Amount.ofZero());
+    }
+
+    @Test
+    public void givenWholeAmounts_whenCreateAmount_thenReturnSharedInstance() {
+        //given
+        Double value = 25D;
+
+        //when
+        Amount amount = Amount.valueOf(value);
+
+        //then
+        assertThat(amount).isSameAs(Amount.valueOf(value));
+        assertThat(Amount.valueOf(25.5D)).isNotSameAs(Amount.valueOf(25.5D)).isEqualTo(Amount.valueOf(25.5D));
+    }
 }
@@ -181,4 +181,19 @@ public class QuantityTest {
                 .isInstanceOf(InvalidValueException.class)
                 .hasMessage("Divisor value can not be negative!");
     }
+
+    @Test
+    public void givenSmallValues_whenCreateQuantity_thenReturnSharedInstance() {
+        //given
+        Integer value = 5;
+
+        //when
+        Quantity quantity = Quantity.valueOf(value);
+
+        //then
+        assertThat(quantity).isSameAs(Quantity.valueOf(value));
+        assertThat(Quantity.valueOf(2).add(Quantity.valueOf(3))).isSameAs(quantity);
+        assertThat(Quantity.valueOf(null)).isSameAs(Quantity.ofZero());
+        assertThat(Quantity.valueOf(1000)).isNotSameAs(Quantity.valueOf(1000)).isEqualTo(Quantity.valueOf(1000));
+    }
 }
@@ -117,4 +117,34 @@ public class TitleTest {
         Title title2 = Title.valueOf(value2);
         assertThat(title1).isGreaterThan(title2);
     }
+
+    @Test
+    public void givenSameValues_whenCreateInternedTitle_thenReturnSharedInstance() {
+        //given
+        String value1 = new String("Interned Title");
+        String value2 = new String("Interned Title");
+
+        //when
+        Title title1 = Title.interned(value1);
+        Title title2 = Title.interned(value2);
+
+        //then
+        assertThat(title1).isSameAs(title2).isEqualTo(Title.valueOf(value1));
+        assertThat(Title.valueOf(value1)).isNotSameAs(title1);
+    }
+
+    @Test
+    public void givenNullValue_whenCreateInternedTitle_thenThrowInvalidValueException() {
+        //given
+        String value = null;
+
+        //when
+        Throwable throwable = catchThrowable(() -> Title.interned(value));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Title value can not be null!");
+    }
 }
@@ -0,0 +1,67 @@
+package com.trendyol.shoppingcart.core.domain.value;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ValuePoolTest {
+
+    @Test
+    public void givenFactory_whenFactoryIsNull_thenThrowInvalidValueException() {
+        //given
+
+        //when
+        Throwable throwable = catchThrowable(() -> new ValuePool<Title>(null));
+
+        //then
+        assertThat(throwable)
+                .isNotNull()
+                .isInstanceOf(InvalidValueException.class)
+                .hasMessage("Value factory can not be null!");
+    }
+
+    @Test
+    public void givenValuePool_whenInternSameValue_thenReturnSameInstance() {
+        //given
+        ValuePool<Title> pool = new ValuePool<>(Title::valueOf);
+
+        //when
+        Title title1 = pool.intern(new String("Food"));
+        Title title2 = pool.intern(new String("Food"));
+
+        //then
+        assertThat(title1).isSameAs(title2);
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenFullValuePool_whenInternNewValue_thenReturnUnpooledInstance() {
+        //given
+        ValuePool<Title> pool = new ValuePool<>(Title::valueOf, 1);
+        pool.intern("Food");
+
+        //when
+        Title title1 = pool.intern("Beverage");
+        Title title2 = pool.intern("Beverage");
+
+        //then
+        assertThat(title1).isEqualTo(title2).isNotSameAs(title2);
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenValuePool_whenClear_thenForgetPooledValues() {
+        //given
+        ValuePool<Title> pool = new ValuePool<>(Title::valueOf);
+        Title title = pool.intern("Food");
+
+        //when
+        pool.clear();
+
+        //then
+        assertThat(pool.size()).isZero();
+        assertThat(pool.intern("Food")).isEqualTo(title).isNotSameAs(title);
+    }
+}
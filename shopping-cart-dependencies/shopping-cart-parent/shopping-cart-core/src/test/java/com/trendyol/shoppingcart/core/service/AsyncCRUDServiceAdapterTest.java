@@ -0,0 +1,148 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class AsyncCRUDServiceAdapterTest {
+
+    @SuppressWarnings("unchecked")
+    private final CRUDService<String, String> delegate = mock(CRUDService.class);
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCreateAdapter_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new AsyncCRUDServiceAdapter<>(null, executorService, 1));
+        Throwable throwable2 = catchThrowable(() -> new AsyncCRUDServiceAdapter<>(delegate, null, 1));
+        Throwable throwable3 = catchThrowable(() -> new AsyncCRUDServiceAdapter<>(delegate, executorService, 0));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Delegate service can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Executor can not be null!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Maximum concurrency must be greater than 0!");
+    }
+
+    @Test
+    public void givenBlockingService_whenCallAdapter_thenCompleteWithResultsOfBlockingCalls() {
+        //given
+        when(delegate.save("A")).thenReturn("A");
+        when(delegate.get("A")).thenReturn(Optional.of("A"));
+        when(delegate.getAll(anyCollection())).thenReturn(Map.of("A", "A"));
+        AsyncCRUDServiceAdapter<String, String> adapter = new AsyncCRUDServiceAdapter<>(delegate, Runnable::run, 1);
+
+        //when
+        CompletableFuture<String> saved = adapter.save("A").toCompletableFuture();
+        CompletableFuture<Optional<String>> found = adapter.get("A").toCompletableFuture();
+        CompletableFuture<Void> deleted = adapter.delete("B").toCompletableFuture();
+        CompletableFuture<Map<String, String>> batch = adapter.getAll(List.of("A")).toCompletableFuture();
+
+        //then
+        assertThat(saved).isCompletedWithValue("A");
+        assertThat(found).isCompletedWithValue(Optional.of("A"));
+        assertThat(deleted).isCompleted();
+        assertThat(batch).isCompletedWithValue(Map.of("A", "A"));
+        verify(delegate).delete("B");
+        verify(delegate, times(1)).getAll(List.of("A"));
+    }
+
+    @Test
+    public void givenFailingBlockingCall_whenCallAdapter_thenCompleteExceptionally() {
+        //given
+        when(delegate.save("A")).thenThrow(new IllegalStateException("Store is down!"));
+        AsyncCRUDServiceAdapter<String, String> adapter = new AsyncCRUDServiceAdapter<>(delegate, Runnable::run, 1);
+
+        //when
+        CompletableFuture<String> saved = adapter.save("A").toCompletableFuture();
+
+        //then
+        assertThat(catchThrowable(saved::join)).isInstanceOf(CompletionException.class).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(adapter.getRunningCallCount()).isZero();
+    }
+
+    @Test
+    public void givenBlockingCallThrowingError_whenCallAdapter_thenCompleteExceptionallyAndReleaseSlot() {
+        //given
+        when(delegate.save("A")).thenThrow(new StackOverflowError("Store recursed!"));
+        AsyncCRUDServiceAdapter<String, String> adapter = new AsyncCRUDServiceAdapter<>(delegate, executorService, 1);
+
+        //when
+        Throwable throwable = catchThrowable(() -> adapter.save("A").toCompletableFuture().get(5, TimeUnit.SECONDS));
+
+        //then
+        assertThat(throwable).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(adapter.getRunningCallCount()).isZero();
+    }
+
+    @Test
+    public void givenMoreCallsThanMaximumConcurrency_whenCallAdapter_thenRunAtMostMaximumAtATimeAndQueueTheRest() throws InterruptedException {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximumRunning = new AtomicInteger();
+        when(delegate.save(anyString())).thenAnswer(invocation -> {
+            maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            release.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return invocation.getArgument(0);
+        });
+        AsyncCRUDServiceAdapter<String, String> adapter = new AsyncCRUDServiceAdapter<>(delegate, executorService, 2);
+
+        //when
+        List<CompletableFuture<String>> saves = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            saves.add(adapter.save("CART-" + i).toCompletableFuture());
+        }
+        Thread.sleep(100);
+        int pendingWhileBlocked = adapter.getPendingCallCount();
+        release.countDown();
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0])).join();
+
+        //then
+        assertThat(pendingWhileBlocked).isEqualTo(8);
+        assertThat(maximumRunning).hasValue(2);
+        assertThat(saves).allSatisfy(save -> assertThat(save).isCompleted());
+        assertThat(adapter.getRunningCallCount()).isZero();
+    }
+
+    @Test
+    public void givenRejectingExecutor_whenCallAdapter_thenCompleteExceptionallyAndReleaseSlot() {
+        //given
+        AsyncCRUDServiceAdapter<String, String> adapter = new AsyncCRUDServiceAdapter<>(delegate, runnable -> {
+            throw new RejectedExecutionException("Executor is shut down!");
+        }, 1);
+
+        //when
+        CompletableFuture<String> saved = adapter.save("A").toCompletableFuture();
+
+        //then
+        assertThat(catchThrowable(saved::join)).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(adapter.getRunningCallCount()).isZero();
+        assertThat(adapter.getPendingCallCount()).isZero();
+        verify(delegate, never()).save(any());
+    }
+}
@@ -0,0 +1,78 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class BlockingCRUDServiceAdapterTest {
+
+    @SuppressWarnings("unchecked")
+    private final AsyncCRUDService<String, String> delegate = mock(AsyncCRUDService.class);
+
+    private final BlockingCRUDServiceAdapter<String, String> adapter = new BlockingCRUDServiceAdapter<>(delegate);
+
+    @Test
+    public void givenNullDelegate_whenCreateAdapter_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> new BlockingCRUDServiceAdapter<>(null));
+
+        //then
+        assertThat(throwable).isInstanceOf(InvalidValueException.class).hasMessage("Delegate service can not be null!");
+    }
+
+    @Test
+    public void givenAsyncService_whenCallAdapter_thenWaitForResults() {
+        //given
+        when(delegate.save("A")).thenReturn(CompletableFuture.supplyAsync(() -> "A"));
+        when(delegate.get("A")).thenReturn(CompletableFuture.completedFuture(Optional.of("A")));
+        when(delegate.delete("A")).thenReturn(CompletableFuture.completedFuture(null));
+        when(delegate.getAll()).thenReturn(CompletableFuture.completedFuture(List.of("A")));
+        when(delegate.getAll(anyCollection())).thenReturn(CompletableFuture.completedFuture(Map.of("A", "A")));
+
+        //when
+        String saved = adapter.save("A");
+        Optional<String> found = adapter.get("A");
+        adapter.delete("A");
+        List<String> all = adapter.getAll();
+        Map<String, String> batch = adapter.getAll(List.of("A"));
+
+        //then
+        assertThat(saved).isEqualTo("A");
+        assertThat(found).contains("A");
+        assertThat(all).containsExactly("A");
+        assertThat(batch).containsEntry("A", "A");
+        verify(delegate).delete("A");
+    }
+
+    @Test
+    public void givenFailedStage_whenCallAdapter_thenRethrowUncheckedCause() {
+        //given
+        when(delegate.update("A")).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Store is down!")));
+
+        //when
+        Throwable throwable = catchThrowable(() -> adapter.update("A"));
+
+        //then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("Store is down!");
+    }
+
+    @Test
+    public void givenStageFailedWithError_whenCallAdapter_thenRethrowError() {
+        //given
+        when(delegate.save("A")).thenReturn(CompletableFuture.failedFuture(new StackOverflowError("Store recursed!")));
+
+        //when
+        Throwable throwable = catchThrowable(() -> adapter.save("A"));
+
+        //then
+        assertThat(throwable).isInstanceOf(StackOverflowError.class).hasMessage("Store recursed!");
+    }
+}
@@ -0,0 +1,121 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class BloomFilterTest {
+
+    @Test
+    public void givenInvalidSizing_whenCreateBloomFilter_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new BloomFilter<String>(0, 0.01D));
+        Throwable throwable2 = catchThrowable(() -> new BloomFilter<String>(10, 0D));
+        Throwable throwable3 = catchThrowable(() -> new BloomFilter<String>(10, 1D));
+        Throwable throwable4 = catchThrowable(() -> new BloomFilter<String>(10, 0.01D, null));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Expected insertions must be greater than 0!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("False positive rate must be between 0 and 1!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("False positive rate must be between 0 and 1!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Key hash can not be null!");
+    }
+
+    @Test
+    public void givenSizing_whenCreateBloomFilter_thenDeriveOptimalBitAndHashCounts() {
+        //when
+        BloomFilter<String> bloomFilter = new BloomFilter<>(1_000, 0.01D);
+
+        //then
+        //about 9.6 bits and 7 hashes per value for one percent
+        assertThat(bloomFilter.getBitCount()).isEqualTo(9_600);
+        assertThat(bloomFilter.getHashCount()).isEqualTo(7);
+    }
+
+    @Test
+    public void givenPutValues_whenMightContain_thenNeverReturnFalseNegative() {
+        //given
+        BloomFilter<String> bloomFilter = new BloomFilter<>(10_000, 0.01D);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("CODE-" + i);
+        }
+
+        //when
+        //then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(bloomFilter.mightContain("CODE-" + i)).isTrue();
+        }
+        assertThat(bloomFilter.mightContain(null)).isFalse();
+        assertThat(bloomFilter.getInsertionCount()).isEqualTo(10_000);
+    }
+
+    @Test
+    public void givenFullBloomFilter_whenMightContainUnknownValues_thenFalsePositivesStayNearConfiguredRate() {
+        //given
+        BloomFilter<String> bloomFilter = new BloomFilter<>(10_000, 0.01D);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("CODE-" + i);
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain("UNKNOWN-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertThat(falsePositives / 100_000D).isLessThan(0.02D);
+    }
+
+    @Test
+    public void givenValuesWithEqualHashCodes_whenMightContain_thenTellThemApartByTheWholeKey() {
+        //given
+        BloomFilter<String> stringBloomFilter = new BloomFilter<>(1_000, 0.01D);
+        BloomFilter<Long> longBloomFilter = new BloomFilter<>(1_000, 0.01D);
+        stringBloomFilter.put(collidingString(0));
+        longBloomFilter.put(0L);
+
+        //when
+        int stringFalsePositives = 0;
+        int longFalsePositives = 0;
+        for (int i = 1; i < 1_024; i++) {
+            if (stringBloomFilter.mightContain(collidingString(i))) {
+                stringFalsePositives++;
+            }
+            long collidingLong = (long) i << 32 | i;
+            if (longBloomFilter.mightContain(collidingLong)) {
+                longFalsePositives++;
+            }
+        }
+
+        //then
+        assertThat(collidingString(1).hashCode()).isEqualTo(collidingString(0).hashCode());
+        assertThat(stringFalsePositives).isLessThan(10);
+        assertThat(longFalsePositives).isLessThan(10);
+    }
+
+    //"Aa" and "BB" have the same hash code, so do all strings made of ten of them
+    private static String collidingString(int bits) {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            value.append((bits >>> i & 1) == 0 ? "Aa" : "BB");
+        }
+        return value.toString();
+    }
+
+    @Test
+    public void givenNullValue_whenPut_thenThrowInvalidValueException() {
+        //given
+        BloomFilter<String> bloomFilter = new BloomFilter<>(10, 0.01D);
+
+        //when
+        Throwable throwable = catchThrowable(() -> bloomFilter.put(null));
+
+        //then
+        assertThat(throwable).isInstanceOf(InvalidValueException.class).hasMessage("Value can not be null!");
+    }
+}
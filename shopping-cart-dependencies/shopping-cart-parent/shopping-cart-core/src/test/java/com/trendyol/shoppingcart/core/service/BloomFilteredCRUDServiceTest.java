@@ -0,0 +1,151 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class BloomFilteredCRUDServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final CRUDService<String, String> delegate = mock(CRUDService.class);
+
+    //rebuilds wait here until the test runs them
+    private final List<Runnable> scheduledRebuilds = new ArrayList<>();
+
+    private BloomFilteredCRUDService<String, String> createFilteredService(long expectedInsertions) {
+        return new BloomFilteredCRUDService<>(delegate, Function.identity(), expectedInsertions, 0.01D, BloomFilter::hash, scheduledRebuilds::add);
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCreateFilteredService_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new BloomFilteredCRUDService<>(null, Function.identity(), 10, 0.01D));
+        Throwable throwable2 = catchThrowable(() -> new BloomFilteredCRUDService<String, String>(delegate, null, 10, 0.01D));
+        Throwable throwable3 = catchThrowable(() -> createFilteredService(0));
+        Throwable throwable4 = catchThrowable(() -> new BloomFilteredCRUDService<>(delegate, Function.identity(), 10, 0.01D, BloomFilter::hash, null));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Delegate service can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Id extractor can not be null!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Expected insertions must be greater than 0!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Rebuild executor can not be null!");
+        verify(delegate, never()).getAll();
+    }
+
+    @Test
+    public void givenStoredIds_whenGetUnknownId_thenRejectWithoutCallingDelegate() {
+        //given
+        when(delegate.getAll()).thenReturn(List.of("A", "B"));
+        when(delegate.get("A")).thenReturn(Optional.of("A"));
+        BloomFilteredCRUDService<String, String> filteredService = createFilteredService(100);
+
+        //when
+        Optional<String> known = filteredService.get("A");
+        Optional<String> unknown = filteredService.get("UNKNOWN");
+
+        //then
+        assertThat(known).contains("A");
+        assertThat(unknown).isEmpty();
+        verify(delegate, never()).get("UNKNOWN");
+        assertThat(filteredService.getRejectedCount()).isEqualTo(1);
+        assertThat(filteredService.getPassedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenSavedAndUpdatedIds_whenGet_thenPassToDelegate() {
+        //given
+        when(delegate.getAll()).thenReturn(List.of());
+        when(delegate.save("A")).thenReturn("A");
+        when(delegate.update("B")).thenReturn("B");
+        when(delegate.get(anyString())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+        BloomFilteredCRUDService<String, String> filteredService = createFilteredService(100);
+
+        //when
+        filteredService.save("A");
+        filteredService.update("B");
+
+        //then
+        assertThat(filteredService.get("A")).contains("A");
+        assertThat(filteredService.get("B")).contains("B");
+        assertThat(filteredService.getRejectedCount()).isZero();
+    }
+
+    @Test
+    public void givenDeletedId_whenGetBeforeAndAfterRebuild_thenRejectOnlyAfterRebuild() {
+        //given
+        when(delegate.getAll()).thenReturn(List.of("A"), List.of());
+        when(delegate.get("A")).thenReturn(Optional.empty());
+        BloomFilteredCRUDService<String, String> filteredService = createFilteredService(100);
+        filteredService.delete("A");
+
+        //when
+        Optional<String> beforeRebuild = filteredService.get("A");
+        filteredService.rebuild();
+        Optional<String> afterRebuild = filteredService.get("A");
+
+        //then
+        assertThat(beforeRebuild).isEmpty();
+        assertThat(afterRebuild).isEmpty();
+        verify(delegate, times(1)).get("A");
+        assertThat(filteredService.getFalsePositiveCount()).isEqualTo(1);
+        assertThat(filteredService.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenMoreSavesThanExpected_whenSave_thenScheduleOneRebuildOfLargerFilterFromDelegate() {
+        //given
+        List<String> stored = new ArrayList<>();
+        when(delegate.getAll()).thenAnswer(invocation -> new ArrayList<>(stored));
+        when(delegate.save(anyString())).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        BloomFilteredCRUDService<String, String> filteredService = createFilteredService(10);
+        BloomFilter<String> initialBloomFilter = filteredService.getBloomFilter();
+
+        //when
+        for (int i = 0; i < 13; i++) {
+            filteredService.save("ID-" + i);
+        }
+        BloomFilter<String> bloomFilterWhileScheduled = filteredService.getBloomFilter();
+        scheduledRebuilds.forEach(Runnable::run);
+
+        //then
+        assertThat(scheduledRebuilds).hasSize(1);
+        assertThat(bloomFilterWhileScheduled).isSameAs(initialBloomFilter);
+        assertThat(filteredService.getBloomFilter()).isNotSameAs(initialBloomFilter);
+        assertThat(filteredService.getBloomFilter().getExpectedInsertions()).isEqualTo(26);
+        for (int i = 0; i < 13; i++) {
+            assertThat(filteredService.getBloomFilter().mightContain("ID-" + i)).isTrue();
+        }
+        verify(delegate, times(2)).getAll();
+    }
+
+    @Test
+    public void givenStoredIds_whenGetAllAndSaveAll_thenPassOnlyIdsTheFilterMightContain() {
+        //given
+        when(delegate.getAll()).thenReturn(List.of("A"));
+        when(delegate.saveAll(anyCollection())).thenReturn(List.of("B"));
+        when(delegate.getAll(anyCollection())).thenReturn(Map.of("A", "A", "B", "B"));
+        BloomFilteredCRUDService<String, String> filteredService = createFilteredService(100);
+
+        //when
+        filteredService.saveAll(List.of("B"));
+        Map<String, String> items = filteredService.getAll(List.of("A", "UNKNOWN", "B"));
+
+        //then
+        assertThat(items).containsOnlyKeys("A", "B");
+        verify(delegate).getAll(List.of("A", "B"));
+        assertThat(filteredService.getRejectedCount()).isEqualTo(1);
+        assertThat(filteredService.getPassedCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,109 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CRUDServiceTest {
+
+    //a store of strings identified by their first letter, only the single item operations are implemented
+    private static final class ListCRUDService implements CRUDService<String, Character> {
+
+        private final List<String> items = new ArrayList<>();
+        private int getCount;
+
+        @Override
+        public String save(String item) {
+            items.add(item);
+            return item;
+        }
+
+        @Override
+        public Optional<String> get(Character id) {
+            getCount++;
+            return items.stream().filter(item -> item.charAt(0) == id).findFirst();
+        }
+
+        @Override
+        public String update(String item) {
+            return item;
+        }
+
+        @Override
+        public void delete(Character id) {
+            items.removeIf(item -> item.charAt(0) == id);
+        }
+
+        @Override
+        public List<String> getAll() {
+            return new ArrayList<>(items);
+        }
+    }
+
+    private final ListCRUDService crudService = new ListCRUDService();
+
+    @Test
+    public void givenItems_whenSaveAll_thenSaveEveryItemInOrder() {
+        //when
+        List<String> savedItems = crudService.saveAll(Arrays.asList("apple", "banana", "cherry"));
+
+        //then
+        assertThat(savedItems).containsExactly("apple", "banana", "cherry");
+        assertThat(crudService.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenIds_whenGetAll_thenReturnFoundItemsInIdOrderAndLookUpRepeatedIdsOnce() {
+        //given
+        crudService.saveAll(Arrays.asList("apple", "banana", "cherry"));
+
+        //when
+        Map<Character, String> items = crudService.getAll(Arrays.asList('c', 'x', 'a', 'c'));
+
+        //then
+        assertThat(items).containsExactly(Map.entry('c', "cherry"), Map.entry('a', "apple"));
+        assertThat(crudService.getCount).isEqualTo(3);
+    }
+
+    @Test
+    public void givenNullArguments_whenCallBatchOperations_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> crudService.saveAll(null));
+        Throwable throwable2 = catchThrowable(() -> crudService.getAll(null));
+        Throwable throwable3 = catchThrowable(() -> crudService.getPage(-1, 10));
+        Throwable throwable4 = catchThrowable(() -> crudService.getPage(0, 0));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Items can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Ids can not be null!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Offset can not be negative!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Limit must be greater than 0!");
+    }
+
+    @Test
+    public void givenItems_whenGetPagesAndStream_thenCoverEveryItemInOrder() {
+        //given
+        crudService.saveAll(Arrays.asList("apple", "banana", "cherry"));
+
+        //when
+        List<String> firstPage = crudService.getPage(0, 2);
+        List<String> secondPage = crudService.getPage(2, 2);
+        List<String> pastEnd = crudService.getPage(5, 2);
+        List<String> streamed = crudService.stream().collect(Collectors.toList());
+
+        //then
+        assertThat(firstPage).containsExactly("apple", "banana");
+        assertThat(secondPage).containsExactly("cherry");
+        assertThat(pastEnd).isEmpty();
+        assertThat(streamed).containsExactly("apple", "banana", "cherry");
+    }
+}
@@ -0,0 +1,274 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class CachingCRUDServiceTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final Duration REFRESH_AFTER = Duration.ofMinutes(5);
+
+    @SuppressWarnings("unchecked")
+    private final CRUDService<String, String> delegate = mock(CRUDService.class);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    //refresh tasks wait here until the test runs them
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+
+    private final CachingCRUDService<String, String> cachingService = createCachingService(3);
+
+    //values are ids followed by a version, like "id:1"
+    private CachingCRUDService<String, String> createCachingService(int maximumSize) {
+        return new CachingCRUDService<>(delegate, value -> value.split(":")[0], maximumSize, TIME_TO_LIVE, REFRESH_AFTER, refreshTasks::add, clock);
+    }
+
+    private void runRefreshTasks() {
+        List<Runnable> tasks = new ArrayList<>(refreshTasks);
+        refreshTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCreateCachingService_thenThrowInvalidValueException() {
+        //given
+        Function<String, String> idExtractor = Function.identity();
+
+        //when
+        Throwable throwable1 = catchThrowable(() -> new CachingCRUDService<>(null, idExtractor, 1, TIME_TO_LIVE));
+        Throwable throwable2 = catchThrowable(() -> new CachingCRUDService<>(delegate, null, 1, TIME_TO_LIVE));
+        Throwable throwable3 = catchThrowable(() -> new CachingCRUDService<>(delegate, idExtractor, 0, TIME_TO_LIVE));
+        Throwable throwable4 = catchThrowable(() -> new CachingCRUDService<>(delegate, idExtractor, 1, Duration.ZERO));
+        Throwable throwable5 = catchThrowable(() -> new CachingCRUDService<>(delegate, idExtractor, 1, REFRESH_AFTER, TIME_TO_LIVE, Runnable::run, clock));
+        Throwable throwable6 = catchThrowable(() -> new CachingCRUDService<>(delegate, idExtractor, 1, TIME_TO_LIVE, REFRESH_AFTER, null, clock));
+        Throwable throwable7 = catchThrowable(() -> new CachingCRUDService<>(delegate, idExtractor, 1, TIME_TO_LIVE, REFRESH_AFTER, Runnable::run, null));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Delegate service can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Id extractor can not be null!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Maximum size must be greater than 0!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Time to live must be greater than 0!");
+        assertThat(throwable5).isInstanceOf(InvalidValueException.class).hasMessage("Refresh after must be greater than 0 and not greater than time to live!");
+        assertThat(throwable6).isInstanceOf(InvalidValueException.class).hasMessage("Refresh executor can not be null!");
+        assertThat(throwable7).isInstanceOf(InvalidValueException.class).hasMessage("Clock can not be null!");
+    }
+
+    @Test
+    public void givenCachedValue_whenGetAgain_thenServeFromCacheAndCountHit() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"));
+        when(delegate.get("B")).thenReturn(Optional.empty());
+
+        //when
+        Optional<String> first = cachingService.get("A");
+        Optional<String> second = cachingService.get("A");
+        cachingService.get("B");
+        Optional<String> absent = cachingService.get("B");
+
+        //then
+        assertThat(first).contains("A:1");
+        assertThat(second).contains("A:1");
+        assertThat(absent).isEmpty();
+        verify(delegate, times(1)).get("A");
+        verify(delegate, times(1)).get("B");
+        assertThat(cachingService.getHitCount()).isEqualTo(2);
+        assertThat(cachingService.getMissCount()).isEqualTo(2);
+        assertThat(cachingService.getHitRate()).isEqualTo(0.5D);
+    }
+
+    @Test
+    public void givenExpiredValue_whenGet_thenLoadFromDelegate() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"), Optional.of("A:2"));
+        cachingService.get("A");
+
+        //when
+        clock.moveBy(TIME_TO_LIVE);
+        Optional<String> value = cachingService.get("A");
+
+        //then
+        assertThat(value).contains("A:2");
+        assertThat(cachingService.getMissCount()).isEqualTo(2);
+        assertThat(refreshTasks).isEmpty();
+    }
+
+    @Test
+    public void givenValueOlderThanRefreshTime_whenGet_thenServeCachedValueAndRefreshOnceInBackground() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"), Optional.of("A:2"));
+        cachingService.get("A");
+        clock.moveBy(REFRESH_AFTER);
+
+        //when
+        Optional<String> first = cachingService.get("A");
+        Optional<String> second = cachingService.get("A");
+        runRefreshTasks();
+        Optional<String> refreshed = cachingService.get("A");
+
+        //then
+        assertThat(first).contains("A:1");
+        assertThat(second).contains("A:1");
+        assertThat(refreshed).contains("A:2");
+        assertThat(refreshTasks).isEmpty();
+        assertThat(cachingService.getRefreshCount()).isEqualTo(1);
+        verify(delegate, times(2)).get("A");
+    }
+
+    @Test
+    public void givenCachedValues_whenUpdateSaveAndDelete_thenInvalidate() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"), Optional.of("A:2"));
+        when(delegate.get("B")).thenReturn(Optional.empty(), Optional.of("B:1"));
+        when(delegate.get("C")).thenReturn(Optional.of("C:1"), Optional.empty());
+        when(delegate.update("A:2")).thenReturn("A:2");
+        when(delegate.save("B:1")).thenReturn("B:1");
+        cachingService.get("A");
+        cachingService.get("B");
+        cachingService.get("C");
+
+        //when
+        cachingService.update("A:2");
+        cachingService.save("B:1");
+        cachingService.delete("C");
+
+        //then
+        assertThat(cachingService.get("A")).contains("A:2");
+        assertThat(cachingService.get("B")).contains("B:1");
+        assertThat(cachingService.get("C")).isEmpty();
+        verify(delegate).delete("C");
+    }
+
+    @Test
+    public void givenRefreshRunningDuringUpdate_whenRefreshCompletes_thenDoNotCacheStaleValue() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"), Optional.of("A:1"), Optional.of("A:2"));
+        when(delegate.update("A:2")).thenReturn("A:2");
+        cachingService.get("A");
+        clock.moveBy(REFRESH_AFTER);
+        cachingService.get("A");
+        cachingService.update("A:2");
+
+        //when
+        runRefreshTasks();
+        Optional<String> value = cachingService.get("A");
+
+        //then
+        assertThat(value).contains("A:2");
+        assertThat(cachingService.getRefreshCount()).isZero();
+    }
+
+    @Test
+    public void givenRefreshRunningDuringUpdateOfAnotherId_whenRefreshCompletes_thenCacheRefreshedValue() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"), Optional.of("A:2"));
+        when(delegate.update("B:2")).thenReturn("B:2");
+        cachingService.get("A");
+        clock.moveBy(REFRESH_AFTER);
+        cachingService.get("A");
+        cachingService.update("B:2");
+
+        //when
+        runRefreshTasks();
+        Optional<String> value = cachingService.get("A");
+
+        //then
+        assertThat(value).contains("A:2");
+        assertThat(cachingService.getRefreshCount()).isEqualTo(1);
+        verify(delegate, times(2)).get("A");
+    }
+
+    @Test
+    public void givenOnlyTimeToLive_whenCreateCachingService_thenRefreshAheadFromThreeQuartersOfIt() {
+        //when
+        CachingCRUDService<String, String> defaultCachingService = new CachingCRUDService<>(delegate, Function.identity(), 1, Duration.ofMinutes(4));
+
+        //then
+        assertThat(defaultCachingService.getTimeToLive()).isEqualTo(Duration.ofMinutes(4));
+        assertThat(defaultCachingService.getRefreshAfter()).isEqualTo(Duration.ofMinutes(3));
+    }
+
+    @Test
+    public void givenFullCache_whenLoadMore_thenEvictOldestNotRecentlyHitEntry() {
+        //given
+        when(delegate.get(anyString())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0) + ":1"));
+        cachingService.get("A");
+        cachingService.get("B");
+        cachingService.get("C");
+        cachingService.get("A");
+
+        //when
+        cachingService.get("D");
+
+        //then
+        assertThat(cachingService.size()).isEqualTo(3);
+        assertThat(cachingService.getEvictionCount()).isEqualTo(1);
+        cachingService.get("A");
+        cachingService.get("C");
+        cachingService.get("D");
+        verify(delegate, times(1)).get("A");
+        verify(delegate, times(1)).get("C");
+        cachingService.get("B");
+        verify(delegate, times(2)).get("B");
+    }
+
+    @Test
+    public void givenGetAll_whenCall_thenPassThroughDelegate() {
+        //given
+        when(delegate.getAll()).thenReturn(List.of("A:1"));
+
+        //when
+        List<String> values = cachingService.getAll();
+
+        //then
+        assertThat(values).containsExactly("A:1");
+        assertThat(cachingService.getHitCount()).isZero();
+        assertThat(cachingService.getDelegate()).isSameAs(delegate);
+    }
+
+    @Test
+    public void givenSomeCachedIds_whenGetAll_thenLoadOnlyMissingIdsInOneDelegateCall() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"));
+        when(delegate.getAll(anyCollection())).thenReturn(Map.of("B", "B:1"));
+        cachingService.get("A");
+
+        //when
+        Map<String, String> items = cachingService.getAll(List.of("B", "A", "C"));
+        Map<String, String> cachedItems = cachingService.getAll(List.of("C", "B"));
+
+        //then
+        assertThat(items).containsExactly(Map.entry("B", "B:1"), Map.entry("A", "A:1"));
+        assertThat(cachedItems).containsExactly(Map.entry("B", "B:1"));
+        verify(delegate, times(1)).getAll(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of("B", "C"))));
+        assertThat(cachingService.getHitCount()).isEqualTo(3);
+        assertThat(cachingService.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenCachedValues_whenSaveAll_thenInvalidateEverySavedId() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.empty(), Optional.of("A:1"));
+        when(delegate.saveAll(anyCollection())).thenReturn(List.of("A:1", "B:1"));
+        cachingService.get("A");
+
+        //when
+        cachingService.saveAll(List.of("A:1", "B:1"));
+
+        //then
+        assertThat(cachingService.get("A")).contains("A:1");
+        assertThat(cachingService.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,191 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class ExpiringCRUDServiceTest {
+
+    private static final Duration TIME_TO_IDLE = Duration.ofMinutes(30);
+    private static final Duration TICK = Duration.ofSeconds(1);
+
+    @SuppressWarnings("unchecked")
+    private final CRUDService<String, String> delegate = mock(CRUDService.class);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private final List<String> expiredItems = new ArrayList<>();
+
+    //values are ids followed by a version, like "id:1"
+    private final ExpiringCRUDService<String, String> expiringService =
+            new ExpiringCRUDService<>(delegate, value -> value.split(":")[0], TIME_TO_IDLE, TICK, expiredItems::add, clock);
+
+    @Test
+    public void givenInvalidArguments_whenCreateExpiringService_thenThrowInvalidValueException() {
+        //given
+        Function<String, String> idExtractor = Function.identity();
+        Consumer<String> listener = item -> {
+        };
+
+        //when
+        Throwable throwable1 = catchThrowable(() -> new ExpiringCRUDService<>(null, idExtractor, TIME_TO_IDLE, listener));
+        Throwable throwable2 = catchThrowable(() -> new ExpiringCRUDService<>(delegate, null, TIME_TO_IDLE, listener));
+        Throwable throwable3 = catchThrowable(() -> new ExpiringCRUDService<>(delegate, idExtractor, Duration.ZERO, listener));
+        Throwable throwable4 = catchThrowable(() -> new ExpiringCRUDService<>(delegate, idExtractor, TIME_TO_IDLE, null));
+        Throwable throwable5 = catchThrowable(() -> new ExpiringCRUDService<>(delegate, idExtractor, TIME_TO_IDLE, TICK, listener, null));
+        Throwable throwable6 = catchThrowable(() -> expiringService.expireAfter("A", Duration.ofSeconds(-1)));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Delegate service can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Id extractor can not be null!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Time to idle must be greater than 0!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Expiry listener can not be null!");
+        assertThat(throwable5).isInstanceOf(InvalidValueException.class).hasMessage("Clock can not be null!");
+        assertThat(throwable6).isInstanceOf(InvalidValueException.class).hasMessage("Time to idle must be greater than 0!");
+    }
+
+    @Test
+    public void givenIdleItem_whenExpireIdle_thenHandItToListenerAndDeleteIt() {
+        //given
+        when(delegate.save("A:1")).thenReturn("A:1");
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"));
+        expiringService.save("A:1");
+
+        //when
+        clock.moveBy(TIME_TO_IDLE.minusSeconds(1));
+        int expiredEarly = expiringService.expireIdle();
+        clock.moveBy(Duration.ofSeconds(1));
+        int expired = expiringService.expireIdle();
+
+        //then
+        assertThat(expiredEarly).isZero();
+        assertThat(expired).isEqualTo(1);
+        assertThat(expiredItems).containsExactly("A:1");
+        verify(delegate).delete("A");
+        assertThat(expiringService.getTrackedCount()).isZero();
+        assertThat(expiringService.getExpiredCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenItemReadMeanwhile_whenExpireIdle_thenRescheduleItFromTheLastRead() {
+        //given
+        when(delegate.save("A:1")).thenReturn("A:1");
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"));
+        expiringService.save("A:1");
+        clock.moveBy(Duration.ofMinutes(20));
+        expiringService.get("A");
+
+        //when
+        clock.moveBy(Duration.ofMinutes(10));
+        int expiredAtFirstDeadline = expiringService.expireIdle();
+        clock.moveBy(Duration.ofMinutes(20));
+        int expiredAtSecondDeadline = expiringService.expireIdle();
+
+        //then
+        assertThat(expiredAtFirstDeadline).isZero();
+        assertThat(expiredAtSecondDeadline).isEqualTo(1);
+        assertThat(expiringService.getRescheduledCount()).isEqualTo(1);
+        verify(delegate, times(1)).delete("A");
+    }
+
+    @Test
+    public void givenTimeToIdleOfOneId_whenExpireIdle_thenExpireItOnItsOwnDeadline() {
+        //given
+        when(delegate.saveAll(anyCollection())).thenReturn(List.of("A:1", "B:1"));
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"));
+        expiringService.saveAll(List.of("A:1", "B:1"));
+        expiringService.expireAfter("A", Duration.ofMinutes(5));
+
+        //when
+        clock.moveBy(Duration.ofMinutes(5));
+        int expired = expiringService.expireIdle();
+
+        //then
+        assertThat(expired).isEqualTo(1);
+        assertThat(expiredItems).containsExactly("A:1");
+        assertThat(expiringService.getTrackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenDeletedOrUnreadItems_whenExpireIdle_thenIgnoreThem() {
+        //given
+        when(delegate.save(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(delegate.get("B")).thenReturn(Optional.empty());
+        when(delegate.getAll()).thenReturn(List.of("C:1"));
+        expiringService.save("A:1");
+        expiringService.save("B:1");
+        expiringService.delete("A");
+        expiringService.getAll();
+
+        //when
+        clock.moveBy(TIME_TO_IDLE);
+        int expired = expiringService.expireIdle();
+
+        //then
+        assertThat(expired).isZero();
+        assertThat(expiredItems).isEmpty();
+        verify(delegate, never()).get("A");
+        verify(delegate, never()).get("C");
+        verify(delegate, never()).delete("B");
+    }
+
+    @Test
+    public void givenFailingListener_whenExpireIdle_thenKeepItemAndTrackItAgain() {
+        //given
+        ExpiringCRUDService<String, String> failingService = new ExpiringCRUDService<>(delegate, value -> value.split(":")[0], TIME_TO_IDLE, TICK,
+                item -> {
+                    throw new IllegalStateException("Cold store is down!");
+                }, clock);
+        when(delegate.getAll(anyCollection())).thenReturn(Map.of("A", "A:1"));
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"));
+        failingService.getAll(List.of("A"));
+
+        //when
+        clock.moveBy(TIME_TO_IDLE);
+        int expired = failingService.expireIdle();
+
+        //then
+        assertThat(expired).isZero();
+        verify(delegate, never()).delete("A");
+        assertThat(failingService.getTrackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenItemWrittenWhileItExpires_whenExpireIdle_thenKeepItAndTrackItFromTheWrite() {
+        //given
+        AtomicReference<ExpiringCRUDService<String, String>> service = new AtomicReference<>();
+        service.set(new ExpiringCRUDService<>(delegate, value -> value.split(":")[0], TIME_TO_IDLE, TICK,
+                item -> service.get().update("A:2"), clock));
+        when(delegate.save("A:1")).thenReturn("A:1");
+        when(delegate.update("A:2")).thenReturn("A:2");
+        when(delegate.get("A")).thenReturn(Optional.of("A:1"));
+        service.get().save("A:1");
+
+        //when
+        clock.moveBy(TIME_TO_IDLE);
+        int expired = service.get().expireIdle();
+        clock.moveBy(TIME_TO_IDLE.minusSeconds(1));
+        int expiredBeforeNewDeadline = service.get().expireIdle();
+
+        //then
+        assertThat(expired).isZero();
+        assertThat(expiredBeforeNewDeadline).isZero();
+        verify(delegate, never()).delete("A");
+        assertThat(service.get().getTrackedCount()).isEqualTo(1);
+        assertThat(service.get().getExpiredCount()).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import com.trendyol.shoppingcart.core.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ExpiringShoppingCartServiceTest {
+
+    private static final Duration TIME_TO_IDLE = Duration.ofMinutes(30);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    public void givenNullColdStore_whenDemoteTo_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable = catchThrowable(() -> ExpiringShoppingCartService.demoteTo(null));
+
+        //then
+        assertThat(throwable).isInstanceOf(InvalidValueException.class).hasMessage("Cold shopping cart service can not be null!");
+    }
+
+    @Test
+    public void givenIdleCartDemotedBefore_whenExpireIdle_thenDemoteItToColdStoreAgain() {
+        //given
+        InMemoryShoppingCartService hotService = new InMemoryShoppingCartService();
+        InMemoryShoppingCartService coldService = new InMemoryShoppingCartService();
+        ShoppingCart demotedBefore = new ShoppingCart();
+        demotedBefore.setId(1L);
+        coldService.save(demotedBefore);
+        coldService.save(demotedBefore);
+        ExpiringShoppingCartService expiringService = new ExpiringShoppingCartService(hotService, TIME_TO_IDLE, Duration.ofSeconds(1),
+                ExpiringShoppingCartService.demoteTo(coldService), clock);
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.setId(1L);
+        expiringService.save(shoppingCart);
+
+        //when
+        clock.moveBy(TIME_TO_IDLE);
+        int expired = expiringService.expireIdle();
+
+        //then
+        assertThat(expired).isEqualTo(1);
+        assertThat(hotService.get(1L)).isEmpty();
+        assertThat(coldService.get(1L)).get().extracting(ShoppingCart::getVersion).isEqualTo(3L);
+    }
+}
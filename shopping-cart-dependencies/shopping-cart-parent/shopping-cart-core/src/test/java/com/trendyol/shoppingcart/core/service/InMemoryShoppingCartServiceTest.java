@@ -0,0 +1,221 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.exception.ConcurrentUpdateException;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class InMemoryShoppingCartServiceTest {
+
+    private final InMemoryShoppingCartService shoppingCartService = new InMemoryShoppingCartService();
+
+    private static ShoppingCart cartWithVersion(Long id, Long version) {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.setId(id);
+        shoppingCart.setVersion(version);
+        return shoppingCart;
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCallService_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new InMemoryShoppingCartService(0));
+        Throwable throwable2 = catchThrowable(() -> shoppingCartService.save(null));
+        Throwable throwable3 = catchThrowable(() -> shoppingCartService.update(new ShoppingCart()));
+        Throwable throwable4 = catchThrowable(() -> shoppingCartService.get(null));
+        Throwable throwable5 = catchThrowable(() -> shoppingCartService.getPage(-1, 1));
+        Throwable throwable6 = catchThrowable(() -> shoppingCartService.getPage(0, 0));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Expected size must be greater than 0!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Shopping cart can not be null!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Shopping cart id can not be null!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Id can not be null!");
+        assertThat(throwable5).isInstanceOf(InvalidValueException.class).hasMessage("Offset can not be negative!");
+        assertThat(throwable6).isInstanceOf(InvalidValueException.class).hasMessage("Limit must be greater than 0!");
+    }
+
+    @Test
+    public void givenCartsWithoutId_whenSave_thenAllocateIdsAndStartAtVersionOne() {
+        //given
+        ShoppingCart shoppingCart1 = new ShoppingCart();
+        ShoppingCart shoppingCart2 = new ShoppingCart();
+
+        //when
+        shoppingCartService.save(shoppingCart1);
+        shoppingCartService.save(shoppingCart2);
+
+        //then
+        assertThat(shoppingCart1.getId()).isEqualTo(1L);
+        assertThat(shoppingCart2.getId()).isEqualTo(2L);
+        assertThat(shoppingCart1.getVersion()).isEqualTo(1L);
+        assertThat(shoppingCartService.get(2L)).get().isNotSameAs(shoppingCart2).extracting(ShoppingCart::getId).isEqualTo(2L);
+        assertThat(shoppingCartService.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenCartWithId_whenSave_thenKeepIdAndAllocateLaterIdsAfterIt() {
+        //given
+        ShoppingCart shoppingCart1 = cartWithVersion(10L, null);
+        ShoppingCart shoppingCart2 = new ShoppingCart();
+
+        //when
+        shoppingCartService.save(shoppingCart1);
+        shoppingCartService.save(shoppingCart2);
+
+        //then
+        assertThat(shoppingCart1.getId()).isEqualTo(10L);
+        assertThat(shoppingCart2.getId()).isEqualTo(11L);
+        assertThat(shoppingCartService.getLastAllocatedId()).isEqualTo(11L);
+    }
+
+    @Test
+    public void givenCartReadAtCurrentVersion_whenUpdate_thenIncreaseVersion() {
+        //given
+        shoppingCartService.save(cartWithVersion(1L, null));
+
+        //when
+        ShoppingCart updated = shoppingCartService.update(cartWithVersion(1L, 1L));
+
+        //then
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThat(shoppingCartService.get(1L)).get().extracting(ShoppingCart::getVersion).isEqualTo(2L);
+    }
+
+    @Test
+    public void givenCartReadAtOlderVersion_whenUpdate_thenThrowConcurrentUpdateExceptionAndKeepStoredCart() {
+        //given
+        ShoppingCart stored = shoppingCartService.save(cartWithVersion(1L, null));
+        shoppingCartService.update(cartWithVersion(1L, 1L));
+        ShoppingCart stale = cartWithVersion(1L, 1L);
+
+        //when
+        Throwable throwable = catchThrowable(() -> shoppingCartService.update(stale));
+
+        //then
+        assertThat(throwable).isInstanceOf(ConcurrentUpdateException.class).hasMessage("Shopping cart 1 is at version 2, not at version 1!");
+        assertThat(shoppingCartService.get(1L)).get().isNotSameAs(stored).isNotSameAs(stale);
+        assertThat(shoppingCartService.getConflictCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTwoReadersOfTheSameCart_whenBothUpdate_thenRejectTheSecondAndKeepTheStoredCartUnchanged() {
+        //given
+        shoppingCartService.save(cartWithVersion(1L, null));
+        ShoppingCart reader1 = shoppingCartService.get(1L).orElseThrow();
+        ShoppingCart reader2 = shoppingCartService.get(1L).orElseThrow();
+
+        //when
+        shoppingCartService.update(reader1);
+        reader2.setDeliveryCost(Amount.valueOf(5D));
+        Throwable throwable = catchThrowable(() -> shoppingCartService.update(reader2));
+
+        //then
+        assertThat(reader1).isNotSameAs(reader2);
+        assertThat(throwable).isInstanceOf(ConcurrentUpdateException.class).hasMessage("Shopping cart 1 is at version 2, not at version 1!");
+        assertThat(shoppingCartService.get(1L).orElseThrow().getDeliveryCost()).isEqualTo(Amount.ofZero());
+    }
+
+    @Test
+    public void givenDeletedCart_whenUpdate_thenThrowConcurrentUpdateException() {
+        //given
+        shoppingCartService.save(cartWithVersion(1L, null));
+        shoppingCartService.delete(1L);
+
+        //when
+        Throwable throwable = catchThrowable(() -> shoppingCartService.update(cartWithVersion(1L, 1L)));
+
+        //then
+        assertThat(throwable).isInstanceOf(ConcurrentUpdateException.class).hasMessage("Shopping cart 1 does not exist!");
+        assertThat(shoppingCartService.get(1L)).isEmpty();
+    }
+
+    @Test
+    public void givenCartWithoutVersion_whenUpdate_thenWriteUnconditionally() {
+        //given
+        shoppingCartService.save(cartWithVersion(1L, null));
+        shoppingCartService.update(cartWithVersion(1L, 1L));
+
+        //when
+        ShoppingCart updated = shoppingCartService.update(cartWithVersion(1L, null));
+
+        //then
+        assertThat(updated.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    public void givenStoredCarts_whenScanAndPage_thenVisitEveryCartOnce() {
+        //given
+        IntStream.range(0, 25).forEach(i -> shoppingCartService.save(new ShoppingCart()));
+
+        //when
+        List<ShoppingCart> pages = new ArrayList<>();
+        for (long offset = 0; offset < shoppingCartService.count(); offset += 10) {
+            pages.addAll(shoppingCartService.getPage(offset, 10));
+        }
+        Spliterator<ShoppingCart> spliterator = shoppingCartService.spliterator();
+        List<ShoppingCart> scanned = StreamSupport.stream(spliterator, true).collect(Collectors.toList());
+
+        //then
+        assertThat(pages).extracting(ShoppingCart::getId).hasSize(25).doesNotHaveDuplicates().isSorted();
+        assertThat(scanned).extracting(ShoppingCart::getId)
+                .containsExactlyInAnyOrderElementsOf(shoppingCartService.getAll().stream().map(ShoppingCart::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void givenCartDeletedBetweenPages_whenGetPageAfterLastId_thenContinueAfterTheLastCartOfThePreviousPage() {
+        //given
+        IntStream.range(0, 30).forEach(i -> shoppingCartService.save(new ShoppingCart()));
+        List<ShoppingCart> firstPage = shoppingCartService.getPageAfter(null, 10);
+
+        //when
+        shoppingCartService.delete(1L);
+        shoppingCartService.delete(11L);
+        List<ShoppingCart> secondPage = shoppingCartService.getPageAfter(firstPage.get(9).getId(), 10);
+        List<ShoppingCart> pageAskedAgain = shoppingCartService.getPageAfter(firstPage.get(9).getId(), 10);
+        List<ShoppingCart> pageByOffset = shoppingCartService.getPage(10, 10);
+
+        //then
+        assertThat(firstPage).extracting(ShoppingCart::getId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(secondPage).extracting(ShoppingCart::getId).containsExactly(12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L, 21L);
+        assertThat(pageAskedAgain).extracting(ShoppingCart::getId).isEqualTo(secondPage.stream().map(ShoppingCart::getId).collect(Collectors.toList()));
+        assertThat(pageByOffset).extracting(ShoppingCart::getId).containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L, 21L, 22L);
+    }
+
+    @Test
+    public void givenConcurrentSaves_whenSave_thenAllocateDistinctIds() throws Exception {
+        //given
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        try {
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> IntStream.range(0, 1_000).forEach(j -> shoppingCartService.save(new ShoppingCart()))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        //then
+        assertThat(shoppingCartService.count()).isEqualTo(4_000);
+        assertThat(shoppingCartService.getLastAllocatedId()).isEqualTo(4_000);
+    }
+}
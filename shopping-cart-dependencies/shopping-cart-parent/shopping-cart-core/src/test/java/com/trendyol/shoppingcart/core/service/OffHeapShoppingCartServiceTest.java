@@ -0,0 +1,207 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.codec.BinaryShoppingCartCodec;
+import com.trendyol.shoppingcart.core.codec.ShoppingCartCodec;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.exception.ConcurrentUpdateException;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class OffHeapShoppingCartServiceTest {
+
+    private static final int SLAB_SIZE = 1024;
+
+    private static final Category CATEGORY = new Category(Title.valueOf("Off Heap Food"));
+
+    private static final ShoppingCartCodec CODEC = new BinaryShoppingCartCodec(List.of(CATEGORY));
+
+    private final OffHeapShoppingCartService service = new OffHeapShoppingCartService(CODEC, SLAB_SIZE, 4);
+
+    private static ShoppingCart cartOf(String title, int quantity) {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.addProduct(new Product(Title.valueOf(title), Amount.valueOf(12.5D), CATEGORY), Quantity.valueOf(quantity));
+        return shoppingCart;
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCreateService_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new OffHeapShoppingCartService(null));
+        Throwable throwable2 = catchThrowable(() -> new OffHeapShoppingCartService(CODEC, 1000, 4));
+        Throwable throwable3 = catchThrowable(() -> new OffHeapShoppingCartService(CODEC, 32, 4));
+        Throwable throwable4 = catchThrowable(() -> new OffHeapShoppingCartService(CODEC, SLAB_SIZE, 0));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Codec can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Slab size must be a power of 2 not less than 64!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Slab size must be a power of 2 not less than 64!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Expected size must be greater than 0!");
+    }
+
+    @Test
+    public void givenSavedCart_whenGet_thenMaterializeNewCartWithIdAndVersion() {
+        //given
+        ShoppingCart shoppingCart = service.save(cartOf("apple", 3));
+
+        //when
+        ShoppingCart found = service.get(shoppingCart.getId()).orElseThrow();
+        found.addProduct(new Product(Title.valueOf("banana"), Amount.valueOf(1D), CATEGORY), Quantity.valueOf(1));
+
+        //then
+        assertThat(shoppingCart.getId()).isEqualTo(1L);
+        assertThat(found).isNotSameAs(shoppingCart);
+        assertThat(found.getVersion()).isEqualTo(1L);
+        assertThat(found.getCartItems()).hasSize(2);
+        ShoppingCart foundAgain = service.get(1L).orElseThrow();
+        assertThat(foundAgain.getCartItems()).hasSize(1);
+        assertThat(foundAgain.getTotalQuantityOfProductsInCart()).isEqualTo(Quantity.valueOf(3));
+        assertThat(foundAgain.getCartAmountWithoutDiscount()).isEqualTo(Amount.valueOf(37.5D));
+        assertThat(service.get(2L)).isEmpty();
+    }
+
+    @Test
+    public void givenCartReadAtOlderVersion_whenUpdate_thenThrowConcurrentUpdateException() {
+        //given
+        service.save(cartOf("apple", 1));
+        ShoppingCart first = service.get(1L).orElseThrow();
+        ShoppingCart second = service.get(1L).orElseThrow();
+        service.update(first);
+
+        //when
+        Throwable throwable1 = catchThrowable(() -> service.update(second));
+        Throwable throwable2 = catchThrowable(() -> {
+            ShoppingCart deleted = cartOf("apple", 1);
+            deleted.setId(7L);
+            service.update(deleted);
+        });
+
+        //then
+        assertThat(throwable1).isInstanceOf(ConcurrentUpdateException.class).hasMessage("Shopping cart 1 is at version 2, not at version 1!");
+        assertThat(throwable2).isInstanceOf(ConcurrentUpdateException.class).hasMessage("Shopping cart 7 does not exist!");
+        assertThat(service.get(1L).orElseThrow().getVersion()).isEqualTo(2L);
+        assertThat(service.getConflictCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenCartGrowingOutOfItsBlock_whenUpdate_thenMoveItAndReuseTheFreedBlock() {
+        //given
+        service.save(cartOf("apple", 1));
+        ShoppingCart grown = service.get(1L).orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            grown.addProduct(new Product(Title.valueOf("product " + i), Amount.valueOf(2D), CATEGORY), Quantity.valueOf(1));
+        }
+        long usedBytesBefore = service.getUsedBytes();
+
+        //when
+        service.update(grown);
+        long usedBytesAfterUpdate = service.getUsedBytes();
+        service.save(cartOf("pear", 1));
+
+        //then
+        assertThat(usedBytesBefore).isEqualTo(OffHeapShoppingCartService.MIN_BLOCK_SIZE);
+        assertThat(usedBytesAfterUpdate).isGreaterThan(usedBytesBefore);
+        assertThat(service.getUsedBytes()).isEqualTo(usedBytesAfterUpdate + OffHeapShoppingCartService.MIN_BLOCK_SIZE);
+        assertThat(service.get(1L).orElseThrow().getCartItems()).hasSize(6);
+        assertThat(service.get(2L).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(service.getSlabCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenManyCarts_whenDeleteEveryOther_thenKeepTheRestFindableAndReuseTheirBlocks() {
+        //given
+        for (int i = 0; i < 200; i++) {
+            service.save(cartOf("apple", i % 5 + 1));
+        }
+        int slabCount = service.getSlabCount();
+
+        //when
+        LongStream.rangeClosed(1, 200).filter(id -> id % 2 == 0).forEach(service::delete);
+        for (int i = 0; i < 100; i++) {
+            service.save(cartOf("apple", 1));
+        }
+
+        //then
+        assertThat(service.count()).isEqualTo(200);
+        assertThat(service.getSlabCount()).isEqualTo(slabCount);
+        assertThat(service.get(2L)).isEmpty();
+        assertThat(service.get(199L).orElseThrow().getTotalQuantityOfProductsInCart()).isEqualTo(Quantity.valueOf(4));
+        assertThat(LongStream.rangeClosed(1, 300).filter(id -> service.get(id).isPresent()).count()).isEqualTo(200);
+        assertThat(service.getLastAllocatedId()).isEqualTo(300L);
+    }
+
+    @Test
+    public void givenCartsSpanningSlabs_whenScanAndPage_thenVisitEveryCartOnce() {
+        //given
+        for (int i = 0; i < 60; i++) {
+            service.save(cartOf("apple", 1));
+        }
+        service.delete(30L);
+
+        //when
+        List<ShoppingCart> page = service.getPage(50, 20);
+        List<Long> scannedIds = service.stream().map(ShoppingCart::getId).collect(Collectors.toList());
+
+        //then
+        assertThat(service.getSlabCount()).isGreaterThan(1);
+        assertThat(page).hasSize(9);
+        assertThat(scannedIds).hasSize(59).doesNotHaveDuplicates().doesNotContain(30L);
+        assertThat(service.getAll()).hasSize(59);
+    }
+
+    @Test
+    public void givenStoredCarts_whenCreateSpliterator_thenEstimateTheStoredCartCount() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            service.save(cartOf("apple", 1));
+        }
+
+        //when
+        Spliterator<ShoppingCart> spliterator = service.spliterator();
+
+        //then
+        assertThat(spliterator.estimateSize()).isEqualTo(5);
+    }
+
+    @Test
+    public void givenCartLargerThanSlab_whenSave_thenThrowInvalidValueException() {
+        //given
+        ShoppingCart shoppingCart = new ShoppingCart();
+        for (int i = 0; i < 100; i++) {
+            shoppingCart.addProduct(new Product(Title.valueOf("large product " + i), Amount.valueOf(2D), CATEGORY), Quantity.valueOf(1));
+        }
+
+        //when
+        Throwable throwable = catchThrowable(() -> service.save(shoppingCart));
+
+        //then
+        assertThat(throwable).isInstanceOf(InvalidValueException.class).hasMessage("Encoded shopping cart does not fit in a slab!");
+        assertThat(service.count()).isZero();
+    }
+
+    @Test
+    public void givenClosedService_whenGet_thenThrowIllegalStateException() {
+        //given
+        service.save(cartOf("apple", 1));
+        service.close();
+
+        //when
+        Throwable throwable = catchThrowable(() -> service.get(1L));
+
+        //then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("Off heap shopping cart store is closed!");
+        assertThat(service.getReservedBytes()).isZero();
+    }
+}
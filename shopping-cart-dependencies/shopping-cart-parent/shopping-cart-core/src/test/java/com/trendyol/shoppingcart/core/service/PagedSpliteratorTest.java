@@ -0,0 +1,161 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PagedSpliteratorTest {
+
+    //a store that reads by offset and counts its page reads, getAll is not used
+    private static final class PagingCRUDService implements CRUDService<Integer, Integer> {
+
+        private final List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger pageReadCount = new AtomicInteger();
+
+        private PagingCRUDService(int itemCount) {
+            IntStream.range(0, itemCount).forEach(items::add);
+        }
+
+        @Override
+        public Integer save(Integer item) {
+            items.add(item);
+            return item;
+        }
+
+        @Override
+        public Optional<Integer> get(Integer id) {
+            return items.contains(id) ? Optional.of(id) : Optional.empty();
+        }
+
+        @Override
+        public Integer update(Integer item) {
+            return item;
+        }
+
+        @Override
+        public void delete(Integer id) {
+            items.remove(id);
+        }
+
+        @Override
+        public List<Integer> getAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long count() {
+            return items.size();
+        }
+
+        @Override
+        public List<Integer> getPage(long offset, int limit) {
+            pageReadCount.incrementAndGet();
+            synchronized (items) {
+                int from = (int) Math.min(offset, items.size());
+                return new ArrayList<>(items.subList(from, Math.min(from + limit, items.size())));
+            }
+        }
+
+        @Override
+        public Spliterator<Integer> spliterator() {
+            return new PagedSpliterator<>(this, 10);
+        }
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCreatePagedSpliterator_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new PagedSpliterator<>(null));
+        Throwable throwable2 = catchThrowable(() -> new PagedSpliterator<>(new PagingCRUDService(1), 0));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Crud service can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Page size must be greater than 0!");
+    }
+
+    @Test
+    public void givenPagingStore_whenStream_thenReadPageByPageInOrder() {
+        //given
+        PagingCRUDService crudService = new PagingCRUDService(25);
+
+        //when
+        List<Integer> items = crudService.stream().collect(Collectors.toList());
+
+        //then
+        assertThat(items).containsExactlyElementsOf(IntStream.range(0, 25).boxed().collect(Collectors.toList()));
+        assertThat(crudService.pageReadCount).hasValue(3);
+    }
+
+    @Test
+    public void givenPagingStore_whenStreamIsShortCircuited_thenReadOnlyNeededPages() {
+        //given
+        PagingCRUDService crudService = new PagingCRUDService(1_000);
+
+        //when
+        List<Integer> items = crudService.stream().limit(15).collect(Collectors.toList());
+
+        //then
+        assertThat(items).hasSize(15);
+        assertThat(crudService.pageReadCount).hasValue(2);
+    }
+
+    @Test
+    public void givenPagingStore_whenSplit_thenSplitAtPageBoundariesIntoDisjointRanges() {
+        //given
+        PagedSpliterator<Integer> spliterator = new PagedSpliterator<>(new PagingCRUDService(45), 10);
+
+        //when
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        List<Integer> prefixItems = new ArrayList<>();
+        List<Integer> suffixItems = new ArrayList<>();
+        prefix.forEachRemaining(prefixItems::add);
+        spliterator.forEachRemaining(suffixItems::add);
+
+        //then
+        assertThat(prefixItems).containsExactlyElementsOf(IntStream.range(0, 20).boxed().collect(Collectors.toList()));
+        assertThat(suffixItems).containsExactlyElementsOf(IntStream.range(20, 45).boxed().collect(Collectors.toList()));
+        assertThat(spliterator.trySplit()).isNull();
+    }
+
+    @Test
+    public void givenPagingStore_whenParallelStream_thenVisitEveryItemOnce() {
+        //given
+        PagingCRUDService crudService = new PagingCRUDService(10_000);
+
+        //when
+        List<Integer> items = StreamSupport.stream(crudService.spliterator(), true).collect(Collectors.toList());
+
+        //then
+        assertThat(items).containsExactlyElementsOf(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+        assertThat(crudService.pageReadCount).hasValue(1_000);
+    }
+
+    @Test
+    public void givenStoreShrinkingDuringScan_whenStream_thenStopAtItsEnd() {
+        //given
+        PagingCRUDService crudService = new PagingCRUDService(30);
+        Spliterator<Integer> spliterator = crudService.spliterator();
+        for (int i = 0; i < 20; i++) {
+            crudService.delete(i);
+        }
+
+        //when
+        List<Integer> items = new ArrayList<>();
+        spliterator.forEachRemaining(items::add);
+
+        //then
+        assertThat(items).containsExactlyElementsOf(IntStream.range(20, 30).boxed().collect(Collectors.toList()));
+    }
+}
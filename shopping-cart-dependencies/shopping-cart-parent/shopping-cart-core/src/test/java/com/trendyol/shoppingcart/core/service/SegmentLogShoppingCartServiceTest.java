@@ -0,0 +1,343 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.codec.ShoppingCartCodec;
+import com.trendyol.shoppingcart.core.domain.CartItem;
+import com.trendyol.shoppingcart.core.domain.Category;
+import com.trendyol.shoppingcart.core.domain.Product;
+import com.trendyol.shoppingcart.core.domain.ShoppingCart;
+import com.trendyol.shoppingcart.core.domain.value.Amount;
+import com.trendyol.shoppingcart.core.domain.value.Quantity;
+import com.trendyol.shoppingcart.core.domain.value.Title;
+import com.trendyol.shoppingcart.core.exception.ConcurrentUpdateException;
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SegmentLogShoppingCartServiceTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    private static final Category CATEGORY = new Category(Title.valueOf("Food"));
+
+    private static final ShoppingCartCodec CODEC = new TitleQuantityCodec();
+
+    @TempDir
+    Path directory;
+
+    private final List<SegmentLogShoppingCartService> openServices = new ArrayList<>();
+
+    //keeps the title, price and quantity of every line, all products are in one category
+    private static final class TitleQuantityCodec implements ShoppingCartCodec {
+
+        @Override
+        public byte[] encode(ShoppingCart shoppingCart) {
+            List<byte[]> titles = shoppingCart.getCartItems().stream()
+                    .map(cartItem -> cartItem.getProduct().getTitle().getValue().getBytes(StandardCharsets.UTF_8))
+                    .collect(Collectors.toList());
+            ByteBuffer buffer = ByteBuffer.allocate(4 + titles.stream().mapToInt(title -> 16 + title.length).sum());
+            buffer.putInt(titles.size());
+            int i = 0;
+            for (CartItem cartItem : shoppingCart.getCartItems()) {
+                byte[] title = titles.get(i++);
+                buffer.putInt(title.length).put(title);
+                buffer.putLong(cartItem.getUnitPrice().minorUnitValue());
+                buffer.putInt(cartItem.getQuantity().intValue());
+            }
+            return buffer.array();
+        }
+
+        @Override
+        public ShoppingCart decode(ByteBuffer buffer) {
+            ShoppingCart shoppingCart = new ShoppingCart();
+            int itemCount = buffer.getInt();
+            for (int i = 0; i < itemCount; i++) {
+                byte[] title = new byte[buffer.getInt()];
+                buffer.get(title);
+                Amount price = Amount.ofMinorUnits(buffer.getLong());
+                shoppingCart.addProduct(new Product(Title.valueOf(new String(title, StandardCharsets.UTF_8)), price, CATEGORY), Quantity.valueOf(buffer.getInt()));
+            }
+            return shoppingCart;
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        openServices.forEach(SegmentLogShoppingCartService::close);
+    }
+
+    private SegmentLogShoppingCartService open() {
+        SegmentLogShoppingCartService service = new SegmentLogShoppingCartService(directory, CODEC, SEGMENT_SIZE);
+        openServices.add(service);
+        return service;
+    }
+
+    private static ShoppingCart cartOf(String title, int quantity) {
+        ShoppingCart shoppingCart = new ShoppingCart();
+        shoppingCart.addProduct(new Product(Title.valueOf(title), Amount.valueOf(12.5D), CATEGORY), Quantity.valueOf(quantity));
+        return shoppingCart;
+    }
+
+    private static Quantity quantityOf(ShoppingCart shoppingCart) {
+        return shoppingCart.getTotalQuantityOfProductsInCart();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCreateService_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new SegmentLogShoppingCartService(null, CODEC));
+        Throwable throwable2 = catchThrowable(() -> new SegmentLogShoppingCartService(directory, null));
+        Throwable throwable3 = catchThrowable(() -> new SegmentLogShoppingCartService(directory, CODEC, SegmentLogShoppingCartService.HEADER_SIZE));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Directory can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Codec can not be null!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Segment size must be greater than 25!");
+    }
+
+    @Test
+    public void givenSavedCarts_whenGet_thenDecodeFromLogWithIdAndVersion() {
+        //given
+        SegmentLogShoppingCartService service = open();
+        ShoppingCart shoppingCart = service.save(cartOf("apple", 3));
+
+        //when
+        ShoppingCart found = service.get(shoppingCart.getId()).orElseThrow();
+
+        //then
+        assertThat(shoppingCart.getId()).isEqualTo(1L);
+        assertThat(found).isNotSameAs(shoppingCart);
+        assertThat(found.getId()).isEqualTo(1L);
+        assertThat(found.getVersion()).isEqualTo(1L);
+        assertThat(quantityOf(found)).isEqualTo(Quantity.valueOf(3));
+        assertThat(found.getCartAmountWithoutDiscount()).isEqualTo(Amount.valueOf(37.5D));
+        assertThat(service.get(2L)).isEmpty();
+    }
+
+    @Test
+    public void givenCartReadAtOlderVersion_whenUpdate_thenThrowConcurrentUpdateException() {
+        //given
+        SegmentLogShoppingCartService service = open();
+        service.save(cartOf("apple", 1));
+        ShoppingCart first = service.get(1L).orElseThrow();
+        ShoppingCart second = service.get(1L).orElseThrow();
+        service.update(first);
+
+        //when
+        Throwable throwable = catchThrowable(() -> service.update(second));
+
+        //then
+        assertThat(throwable).isInstanceOf(ConcurrentUpdateException.class).hasMessage("Shopping cart 1 is at version 2, not at version 1!");
+        assertThat(service.get(1L).orElseThrow().getVersion()).isEqualTo(2L);
+        assertThat(service.getConflictCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenWritesSpanningSegments_whenReopen_thenReplayLogToTheSameState() {
+        //given
+        SegmentLogShoppingCartService service = open();
+        for (int i = 0; i < 100; i++) {
+            service.save(cartOf("apple", i + 1));
+        }
+        ShoppingCart updated = service.get(7L).orElseThrow();
+        updated.addProduct(new Product(Title.valueOf("pear"), Amount.valueOf(1D), CATEGORY), Quantity.valueOf(1));
+        service.update(updated);
+        service.delete(8L);
+        service.close();
+
+        //when
+        SegmentLogShoppingCartService reopened = open();
+        ShoppingCart saved = reopened.save(cartOf("plum", 1));
+
+        //then
+        assertThat(reopened.getSegmentCount()).isGreaterThan(1);
+        assertThat(reopened.getReplayedRecordCount()).isEqualTo(102);
+        assertThat(reopened.count()).isEqualTo(100);
+        assertThat(reopened.get(8L)).isEmpty();
+        assertThat(quantityOf(reopened.get(7L).orElseThrow())).isEqualTo(Quantity.valueOf(8));
+        assertThat(reopened.get(7L).orElseThrow().getVersion()).isEqualTo(2L);
+        assertThat(quantityOf(reopened.get(100L).orElseThrow())).isEqualTo(Quantity.valueOf(100));
+        assertThat(saved.getId()).isEqualTo(101L);
+    }
+
+    @Test
+    public void givenTornRecordAtTheEndOfTheLog_whenReopen_thenDiscardItAndKeepAppending() throws IOException {
+        //given
+        SegmentLogShoppingCartService service = open();
+        service.save(cartOf("apple", 1));
+        service.save(cartOf("pear", 2));
+        service.close();
+        Path segment = segmentFiles().get(0);
+        int tail = (int) (2L * (SegmentLogShoppingCartService.HEADER_SIZE + CODEC.encode(cartOf("apple", 1)).length));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            //a record whose length made it to disk but whose content did not
+            channel.write(ByteBuffer.allocate(8).putInt(0, 60).putInt(4, 12345), tail);
+        }
+
+        //when
+        SegmentLogShoppingCartService reopened = open();
+        reopened.save(cartOf("plum", 3));
+        reopened.close();
+        SegmentLogShoppingCartService reopenedAgain = open();
+
+        //then
+        assertThat(reopenedAgain.count()).isEqualTo(3);
+        assertThat(quantityOf(reopenedAgain.get(3L).orElseThrow())).isEqualTo(Quantity.valueOf(3));
+    }
+
+    @Test
+    public void givenSnapshot_whenReopen_thenReplayOnlyRecordsWrittenAfterIt() {
+        //given
+        SegmentLogShoppingCartService service = open();
+        for (int i = 0; i < 50; i++) {
+            service.save(cartOf("apple", 1));
+        }
+        service.snapshot();
+        service.delete(1L);
+        service.save(cartOf("pear", 2));
+        service.close();
+
+        //when
+        SegmentLogShoppingCartService reopened = open();
+
+        //then
+        assertThat(reopened.getReplayedRecordCount()).isEqualTo(2);
+        assertThat(reopened.count()).isEqualTo(50);
+        assertThat(reopened.get(1L)).isEmpty();
+        assertThat(quantityOf(reopened.get(51L).orElseThrow())).isEqualTo(Quantity.valueOf(2));
+        assertThat(reopened.getLastAllocatedId()).isEqualTo(51L);
+    }
+
+    @Test
+    public void givenWritesWhileSnapshotIsTaken_whenReopen_thenRecoverTheLatestVersionOfEveryCart() throws InterruptedException {
+        //given
+        SegmentLogShoppingCartService service = open();
+        for (int i = 0; i < 20; i++) {
+            service.save(cartOf("apple", 1));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            for (long round = 0; writing.get(); round++) {
+                service.update(service.get(round % 20 + 1).orElseThrow());
+            }
+        });
+        writer.start();
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            service.snapshot();
+        }
+        writing.set(false);
+        writer.join();
+        List<Long> versions = service.stream().sorted(Comparator.comparing(ShoppingCart::getId)).map(ShoppingCart::getVersion).collect(Collectors.toList());
+        service.close();
+        SegmentLogShoppingCartService reopened = open();
+
+        //then
+        assertThat(reopened.stream().sorted(Comparator.comparing(ShoppingCart::getId)).map(ShoppingCart::getVersion).collect(Collectors.toList()))
+                .isEqualTo(versions);
+    }
+
+    @Test
+    public void givenDamagedSnapshot_whenReopen_thenReplayWholeLog() throws IOException {
+        //given
+        SegmentLogShoppingCartService service = open();
+        for (int i = 0; i < 10; i++) {
+            service.save(cartOf("apple", 1));
+        }
+        service.snapshot();
+        service.close();
+        Files.write(directory.resolve("index.snapshot"), new byte[]{1, 2, 3});
+
+        //when
+        SegmentLogShoppingCartService reopened = open();
+
+        //then
+        assertThat(reopened.getReplayedRecordCount()).isEqualTo(10);
+        assertThat(reopened.count()).isEqualTo(10);
+    }
+
+    @Test
+    public void givenSegmentsOfReplacedCarts_whenCompact_thenDeleteThemAndKeepLiveCarts() throws IOException {
+        //given
+        SegmentLogShoppingCartService service = open();
+        for (int i = 0; i < 10; i++) {
+            service.save(cartOf("apple", 1));
+        }
+        for (int round = 0; round < 20; round++) {
+            for (long id = 1; id <= 5; id++) {
+                service.update(service.get(id).orElseThrow());
+            }
+        }
+        service.delete(10L);
+        int segmentsBefore = service.getSegmentCount();
+
+        //when
+        int compacted = service.compact();
+        service.close();
+        SegmentLogShoppingCartService reopened = open();
+
+        //then
+        assertThat(compacted).isGreaterThan(0);
+        assertThat(segmentFiles()).hasSize(segmentsBefore - compacted);
+        assertThat(reopened.count()).isEqualTo(9);
+        assertThat(reopened.get(10L)).isEmpty();
+        assertThat(reopened.get(1L).orElseThrow().getVersion()).isEqualTo(21L);
+        assertThat(reopened.get(9L).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void givenStoredCarts_whenScanAndPage_thenVisitEveryCartOnce() {
+        //given
+        SegmentLogShoppingCartService service = open();
+        for (int i = 0; i < 25; i++) {
+            service.save(cartOf("apple", 1));
+        }
+
+        //when
+        List<ShoppingCart> page = service.getPage(20, 10);
+        List<Long> scannedIds = service.stream().map(ShoppingCart::getId).collect(Collectors.toList());
+
+        //then
+        assertThat(page).extracting(ShoppingCart::getId).containsExactly(21L, 22L, 23L, 24L, 25L);
+        assertThat(scannedIds).hasSize(25).doesNotHaveDuplicates().isSorted();
+        assertThat(service.count()).isEqualTo(25);
+        assertThat(service.getAll()).hasSize(25);
+    }
+
+    @Test
+    public void givenClosedService_whenSave_thenThrowIllegalStateException() {
+        //given
+        SegmentLogShoppingCartService service = open();
+        service.close();
+
+        //when
+        Throwable throwable = catchThrowable(() -> service.save(cartOf("apple", 1)));
+
+        //then
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("Shopping cart log is closed!");
+    }
+}
@@ -0,0 +1,106 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class TimingWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    public void givenInvalidArguments_whenCreateWheel_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new TimingWheel<String>(Duration.ZERO, 8, 2, 0L));
+        Throwable throwable2 = catchThrowable(() -> new TimingWheel<String>(TICK, 6, 2, 0L));
+        Throwable throwable3 = catchThrowable(() -> new TimingWheel<String>(TICK, 8, 0, 0L));
+        Throwable throwable4 = catchThrowable(() -> new TimingWheel<String>(TICK, 1 << 16, 4, 0L));
+        Throwable throwable5 = catchThrowable(() -> new TimingWheel<String>(TICK, 8, 2, 0L).schedule(null, 10L));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Tick duration must be at least 1 millisecond!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Wheel size must be a power of 2 greater than 1!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Level count must be greater than 0!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Wheel of 4 levels of 65536 slots does not fit in a long!");
+        assertThat(throwable5).isInstanceOf(InvalidValueException.class).hasMessage("Value can not be null!");
+    }
+
+    @Test
+    public void givenTimeouts_whenAdvance_thenFireOnlyThoseDueRoundingDeadlinesUpToTicks() {
+        //given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 2, 1_000L);
+        wheel.schedule("A", 1_030L);
+        wheel.schedule("B", 1_041L);
+        wheel.schedule("C", 990L);
+
+        //when
+        int firedAtStart = wheel.advance(1_000L, fired::add);
+        int firedAt1040 = wheel.advance(1_040L, fired::add);
+        int firedAt1050 = wheel.advance(1_050L, fired::add);
+
+        //then
+        assertThat(firedAtStart).isEqualTo(1);
+        assertThat(firedAt1040).isEqualTo(1);
+        assertThat(firedAt1050).isEqualTo(1);
+        assertThat(fired).containsExactly("C", "A", "B");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void givenDeadlinesAcrossLevelsAndBeyondTheWheel_whenAdvance_thenFireEachOnItsTick() {
+        //given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 3, 0L);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 10L * (1 + random.nextInt(1_000));
+            deadlines.add(deadline);
+            wheel.schedule(Long.toString(deadline), deadline);
+        }
+
+        //when
+        List<String> late = new ArrayList<>();
+        for (long now = 0; now <= 10_000L; now += 10L) {
+            long currentNow = now;
+            wheel.advance(now, value -> {
+                if (Long.parseLong(value) != currentNow) {
+                    late.add(value + "@" + currentNow);
+                }
+                fired.add(value);
+            });
+        }
+
+        //then
+        assertThat(late).isEmpty();
+        assertThat(fired).hasSize(deadlines.size());
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void givenCancelledTimeout_whenAdvance_thenDoNotFireIt() {
+        //given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 2, 0L);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("A", 500L);
+        wheel.schedule("B", 500L);
+
+        //when
+        boolean cancelledOnce = wheel.cancel(cancelled);
+        boolean cancelledTwice = wheel.cancel(cancelled);
+        wheel.advance(1_000L, fired::add);
+
+        //then
+        assertThat(cancelledOnce).isTrue();
+        assertThat(cancelledTwice).isFalse();
+        assertThat(cancelled.isScheduled()).isFalse();
+        assertThat(fired).containsExactly("B");
+    }
+}
@@ -0,0 +1,202 @@
+package com.trendyol.shoppingcart.core.service;
+
+import com.trendyol.shoppingcart.core.exception.InvalidValueException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class WriteBehindCRUDServiceTest {
+
+    private static final Duration LONG_INTERVAL = Duration.ofMinutes(1);
+
+    @SuppressWarnings("unchecked")
+    private final CRUDService<String, String> delegate = mock(CRUDService.class);
+
+    private final List<WriteBehindCRUDService<String, String>> services = new ArrayList<>();
+
+    public WriteBehindCRUDServiceTest() {
+        when(delegate.saveAll(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        services.forEach(WriteBehindCRUDService::close);
+    }
+
+    private WriteBehindCRUDService<String, String> create(int queueCapacity, int flushSize, Duration flushInterval) {
+        WriteBehindCRUDService<String, String> service = new WriteBehindCRUDService<>(delegate, queueCapacity, flushSize, flushInterval);
+        services.add(service);
+        return service;
+    }
+
+    @Test
+    public void givenInvalidArguments_whenCreateService_thenThrowInvalidValueException() {
+        //when
+        Throwable throwable1 = catchThrowable(() -> new WriteBehindCRUDService<>(null, 1, 1, LONG_INTERVAL));
+        Throwable throwable2 = catchThrowable(() -> new WriteBehindCRUDService<>(delegate, 0, 1, LONG_INTERVAL));
+        Throwable throwable3 = catchThrowable(() -> new WriteBehindCRUDService<>(delegate, 1, 0, LONG_INTERVAL));
+        Throwable throwable4 = catchThrowable(() -> new WriteBehindCRUDService<>(delegate, 1, 1, Duration.ofMillis(-1)));
+
+        //then
+        assertThat(throwable1).isInstanceOf(InvalidValueException.class).hasMessage("Delegate service can not be null!");
+        assertThat(throwable2).isInstanceOf(InvalidValueException.class).hasMessage("Queue capacity must be greater than 0!");
+        assertThat(throwable3).isInstanceOf(InvalidValueException.class).hasMessage("Flush size must be greater than 0!");
+        assertThat(throwable4).isInstanceOf(InvalidValueException.class).hasMessage("Flush interval can not be negative!");
+    }
+
+    @Test
+    public void givenFullBatch_whenSave_thenFlushOneSaveAllAndAcknowledgeEachSave() {
+        //given
+        WriteBehindCRUDService<String, String> service = create(10, 3, LONG_INTERVAL);
+
+        //when
+        CompletableFuture<String> save1 = service.save("A").toCompletableFuture();
+        CompletableFuture<String> save2 = service.save("B").toCompletableFuture();
+        CompletableFuture<String> save3 = service.save("C").toCompletableFuture();
+
+        //then
+        assertThat(save3.orTimeout(5, TimeUnit.SECONDS).join()).isEqualTo("C");
+        assertThat(save1).isCompletedWithValue("A");
+        assertThat(save2).isCompletedWithValue("B");
+        verify(delegate, times(1)).saveAll(List.of("A", "B", "C"));
+        verify(delegate, never()).save(any());
+        assertThat(service.getFlushCount()).isEqualTo(1);
+        assertThat(service.getSavedCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenBatchBelowFlushSize_whenIntervalPasses_thenFlushWhatIsQueued() {
+        //given
+        WriteBehindCRUDService<String, String> service = create(10, 100, Duration.ofMillis(20));
+
+        //when
+        CompletableFuture<String> save1 = service.save("A").toCompletableFuture();
+        CompletableFuture<String> save2 = service.save("A").toCompletableFuture();
+
+        //then
+        assertThat(save2.orTimeout(5, TimeUnit.SECONDS).join()).isEqualTo("A");
+        assertThat(save1).isCompletedWithValue("A");
+        verify(delegate, times(1)).saveAll(List.of("A"));
+    }
+
+    @Test
+    public void givenSavesFollowedByOtherOperations_whenFlush_thenRunThemInQueueOrder() {
+        //given
+        when(delegate.get("A")).thenReturn(Optional.of("A"));
+        WriteBehindCRUDService<String, String> service = create(10, 10, Duration.ofMillis(20));
+
+        //when
+        service.save("A");
+        service.delete("B");
+        service.save("C");
+        CompletableFuture<Optional<String>> found = service.get("A").toCompletableFuture();
+        service.flush().toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join();
+
+        //then
+        assertThat(found).isCompletedWithValue(Optional.of("A"));
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).saveAll(List.of("A"));
+        inOrder.verify(delegate).delete("B");
+        inOrder.verify(delegate).saveAll(List.of("C"));
+        inOrder.verify(delegate).get("A");
+    }
+
+    @Test
+    public void givenFailingDelegate_whenFlush_thenFailEverySaveOfTheBatch() {
+        //given
+        reset(delegate);
+        when(delegate.saveAll(anyCollection())).thenThrow(new IllegalStateException("Store is down!"));
+        WriteBehindCRUDService<String, String> service = create(10, 2, LONG_INTERVAL);
+
+        //when
+        CompletableFuture<String> save1 = service.save("A").toCompletableFuture();
+        CompletableFuture<String> save2 = service.save("B").toCompletableFuture();
+
+        //then
+        assertThat(catchThrowable(() -> save2.orTimeout(5, TimeUnit.SECONDS).join())).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(save1).isCompletedExceptionally();
+        assertThat(service.getFlushCount()).isZero();
+    }
+
+    @Test
+    public void givenDelegateThrowingError_whenFlush_thenFailTheBatchAndKeepFlushing() {
+        //given
+        reset(delegate);
+        when(delegate.saveAll(anyCollection()))
+                .thenThrow(new AssertionError("Store is broken!"))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+        when(delegate.get("A")).thenThrow(new StackOverflowError());
+        WriteBehindCRUDService<String, String> service = create(10, 1, LONG_INTERVAL);
+
+        //when
+        CompletableFuture<String> failedSave = service.save("A").toCompletableFuture();
+        CompletableFuture<Optional<String>> failedGet = service.get("A").toCompletableFuture();
+        CompletableFuture<String> save = service.save("B").toCompletableFuture();
+
+        //then
+        assertThat(save.orTimeout(5, TimeUnit.SECONDS).join()).isEqualTo("B");
+        assertThat(catchThrowable(failedSave::join)).hasCauseInstanceOf(AssertionError.class);
+        assertThat(catchThrowable(failedGet::join)).hasCauseInstanceOf(StackOverflowError.class);
+    }
+
+    @Test
+    public void givenFullQueue_whenSave_thenWaitForRoom() throws InterruptedException {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch flushing = new CountDownLatch(1);
+        reset(delegate);
+        when(delegate.saveAll(anyCollection())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ArrayList<>(invocation.<Collection<String>>getArgument(0));
+        });
+        WriteBehindCRUDService<String, String> service = create(1, 1, Duration.ZERO);
+        service.save("A");
+        flushing.await(5, TimeUnit.SECONDS);
+        service.save("B");
+
+        //when
+        Thread saver = new Thread(() -> service.save("C"));
+        saver.start();
+        saver.join(200);
+        boolean waitedForRoom = saver.isAlive();
+        release.countDown();
+        saver.join(5_000);
+        long backpressureCount = service.getBackpressureCount();
+        service.flush().toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join();
+
+        //then
+        assertThat(waitedForRoom).isTrue();
+        assertThat(backpressureCount).isEqualTo(1);
+        assertThat(service.getSavedCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenQueuedSaves_whenClose_thenFlushThemAndRejectLaterOperations() {
+        //given
+        WriteBehindCRUDService<String, String> service = create(10, 100, LONG_INTERVAL);
+        CompletableFuture<String> queued = service.save("A").toCompletableFuture();
+
+        //when
+        service.close();
+        CompletableFuture<String> rejected = service.save("B").toCompletableFuture();
+
+        //then
+        assertThat(queued).isCompletedWithValue("A");
+        assertThat(catchThrowable(rejected::join)).hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Write-behind service is closed!");
+    }
+}